@@ -1,45 +1,169 @@
 package ATM;
 
+import ATM.Journal.Journal;
+import ATM.Journal.RestockEntry;
+import ATM.Metrics.Counter;
+import ATM.Metrics.LatencyHistogram;
+import ATM.Metrics.MetricsRegistry;
+
 import java.io.*;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
- * Represents an ATM, including its bill denominations.
+ * Represents an ATM, including its bill denominations. The ATM is one terminal of a Bank's ATMFleet, and has its own
+ * alerts and deposits files.
+ * <p>
+ * The number of bills of each denomination is kept in a cassette which is updated atomically, so adding bills never
+ * waits for a lock. Choosing, reserving and dispensing the bills for a withdrawal are synchronized on the ATM, so one
+ * ATM may be used by several sessions at once. Adding bills while a withdrawal is being planned is safe, since it can
+ * only make more bills available.
+ * <p>
+ * A withdrawal first reserves its bills, which chooses them once and sets them aside, and then commits the reservation
+ * to dispense them. Reserved bills are not available to other withdrawals, so a withdrawal which has been checked
+ * cannot be left short by another withdrawal before it is committed.
  */
 public class ATM implements Serializable {
     private final int billQuantityLimit = 1000;
     private final int billMinimumLimit = 20;
+    private final static int[] DENOMINATIONS = {50, 20, 10, 5};
+    private final static LatencyHistogram RESERVE_TIME = MetricsRegistry.DEFAULT.histogram("ATM bill reservation");
+    private final static Counter REFUSED_WITHDRAWALS = MetricsRegistry.DEFAULT.counter("ATM withdrawals refused");
+    /**
+     * The ID of the terminal which uses the original alerts and deposits files.
+     */
+    public final static String DEFAULT_TERMINAL_ID = "default";
+    private final static Pattern TERMINAL_ID = Pattern.compile("[A-Za-z0-9_-]+");
     private final ATMCalculator calculator;
+    private final String terminalID;
     private final String alertsFileName;
     private final String depositsFileName;
-    private int fives;
-    private int tens;
-    private int twenties;
-    private int fifties;
-    private int totalDollarAmount;
+    private final AtomicIntegerArray cassettes;
+    private transient Journal journal;
+    private transient AlertLog alertLog;
+    private transient ATMFleet fleet;
+    private transient AtomicIntegerArray restockAlerted;
+    private transient int[] reservedBills;
+    private transient int reservedDollarAmount;
+    private transient List<DispenseReservation> reservations;
 
     /**
-     * Initialize this ATM with no bills.
+     * Initialize this ATM as the default terminal with no bills.
      */
     public ATM() {
-        this.fifties = 0;
-        this.twenties = 0;
-        this.tens = 0;
-        this.fives = 0;
-        this.totalDollarAmount = 0;
+        this(DEFAULT_TERMINAL_ID);
+    }
+
+    /**
+     * Initialize this ATM as a terminal with no bills. The default terminal uses externalFiles/alerts.txt and
+     * externalFiles/deposits.txt, and any other terminal uses alerts-ID.txt and deposits-ID.txt for its ID. Since the
+     * ID is part of these file names, it may only contain letters, digits, underscores and hyphens.
+     *
+     * @param terminalID The ID of this terminal.
+     * @throws IllegalArgumentException if the ID contains any other character, or is empty.
+     */
+    public ATM(String terminalID) {
+        if (!isValidTerminalID(terminalID)) {
+            throw new IllegalArgumentException("Invalid terminal ID: " + terminalID);
+        }
+        this.terminalID = terminalID;
+        this.cassettes = new AtomicIntegerArray(DENOMINATIONS.length);
         this.calculator = new ATMCalculator(this);
-        alertsFileName = "externalFiles/alerts.txt";
-        depositsFileName = "externalFiles/deposits.txt";
+        if (terminalID.equals(DEFAULT_TERMINAL_ID)) {
+            alertsFileName = "externalFiles/alerts.txt";
+            depositsFileName = "externalFiles/deposits.txt";
+        } else {
+            alertsFileName = "externalFiles/alerts-" + terminalID + ".txt";
+            depositsFileName = "externalFiles/deposits-" + terminalID + ".txt";
+        }
+        this.restockAlerted = new AtomicIntegerArray(DENOMINATIONS.length);
+        initializeReservations();
+    }
+
+    /**
+     * Deserialize this ATM, treating every denomination already below the minimum as having been alerted.
+     *
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        restockAlerted = new AtomicIntegerArray(DENOMINATIONS.length);
+        restoreRestockAlerts();
+        initializeReservations();
+    }
+
+    /**
+     * Start with no bills reserved.
+     */
+    private void initializeReservations() {
+        reservedBills = new int[DENOMINATIONS.length];
+        reservedDollarAmount = 0;
+        reservations = new ArrayList<>();
+    }
+
+    /**
+     * Get the ID of this terminal.
+     *
+     * @return the terminal ID.
+     */
+    public String getTerminalID() {
+        return terminalID;
+    }
+
+    /**
+     * Set the ATMFleet which is told whenever the bills in this ATM change, so it can keep totals for the whole fleet.
+     *
+     * @param fleet The fleet this ATM belongs to.
+     */
+    void setFleet(ATMFleet fleet) {
+        this.fleet = fleet;
+    }
+
+    /**
+     * Set the Journal used to record bills being added to this ATM.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
     /**
-     * Return the name of the alerts file.
+     * Check whether a terminal ID may be used, that is whether it is made only of letters, digits, underscores and
+     * hyphens.
      *
-     * @return the name of the alters file.
+     * @param terminalID The terminal ID.
+     * @return true if the ID is valid, false otherwise.
      */
-    public String getAlertsFileName() {
-        return alertsFileName;
+    public static boolean isValidTerminalID(String terminalID) {
+        return terminalID != null && TERMINAL_ID.matcher(terminalID).matches();
+    }
+
+    /**
+     * Set the AlertLog to which restock alerts are appended.
+     *
+     * @param alertLog The AlertLog to append alerts to.
+     */
+    public synchronized void setAlertLog(AlertLog alertLog) {
+        this.alertLog = alertLog;
+    }
+
+    /**
+     * Return the AlertLog to which restock alerts are appended, which is the alerts file unless another AlertLog has
+     * been set.
+     *
+     * @return the AlertLog of this ATM.
+     */
+    public synchronized AlertLog getAlertLog() {
+        if (alertLog == null) {
+            alertLog = new AlertLog(alertsFileName, alertsFileName.replace(".txt", "Offsets.txt"));
+        }
+        return alertLog;
     }
 
     /**
@@ -47,44 +171,130 @@ public class ATM implements Serializable {
      *
      * @param dollars The amount to withdraw, in dollars.
      */
-    public boolean withdraw(int dollars) {
-        boolean success = false;
-        int[] billAmounts = {fifties, twenties, tens, fives};
-        if (calculator.canWithdrawBasic(dollars)) {
-            if (dollars == this.totalDollarAmount) {
-//                defaults to everything
-                success = true;
-            } else {
-                int[] potentialSolution = calculator.canWithdrawAdvanced(dollars);
-                if (potentialSolution[0] != -1) {
-                    billAmounts = Arrays.copyOf(potentialSolution, potentialSolution.length);
-                    success = true;
-                }
-            }
-        }
-        if (success) {
-            withdraw(dollars, billAmounts);
-        } else {
+    public synchronized boolean withdraw(int dollars) {
+        DispenseReservation reservation = reserve(dollars, 0);
+        if (reservation == null) {
             System.out.println("Withdrawal unsuccessful. Please check that the amount is a multiple of 5. If it is " +
                     "already a multiple of 5, a manager should restock the ATM shortly.");
+            return false;
+        }
+        return commit(reservation);
+    }
+
+    /**
+     * Choose the bills for a withdrawal and hold them, so they are not used by any other withdrawal.
+     *
+     * @param dollars    The amount to withdraw, in dollars.
+     * @param holdMillis How long to hold the bills before they are released if the reservation is not committed, in
+     *                   milliseconds.
+     * @return the reservation, or null if the amount cannot be dispensed from the bills which are not held.
+     */
+    public synchronized DispenseReservation reserve(int dollars, long holdMillis) {
+        long now = System.nanoTime();
+        releaseExpired(now);
+        updateRestockAlerts(true);
+        int[] billAmounts = new int[DENOMINATIONS.length];
+        if (!calculator.canWithdrawBasic(dollars) || !calculator.planWithdrawal(dollars, billAmounts)) {
+            REFUSED_WITHDRAWALS.increment();
+            RESERVE_TIME.recordSince(now);
+            return null;
         }
-        if (needsRestock()) {
-            alertRestock();
+        DispenseReservation reservation = new DispenseReservation(dollars, billAmounts,
+                now + holdMillis * 1000000L);
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            reservedBills[i] += billAmounts[i];
         }
-        return success;
+        reservedDollarAmount += dollars;
+        reservations.add(reservation);
+        RESERVE_TIME.recordSince(now);
+        return reservation;
     }
 
-    private boolean needsRestock() {
-        return (fifties < billMinimumLimit || twenties < billMinimumLimit ||
-                tens < billMinimumLimit || fives < billMinimumLimit);
+    /**
+     * Dispense the bills held by a reservation. A reservation which has expired can still be committed until another
+     * withdrawal releases it, since its bills are held until then.
+     *
+     * @param reservation The reservation to commit.
+     * @return true if the bills were dispensed, false if the reservation was already committed, released or expired.
+     */
+    public synchronized boolean commit(DispenseReservation reservation) {
+        if (!reservation.isActive()) {
+            return false;
+        }
+        unreserve(reservation);
+        withdraw(reservation.getDollars(), reservation.getBillAmounts());
+        updateRestockAlerts(true);
+        return true;
+    }
+
+    /**
+     * Return the bills held by a reservation to the bills available for withdrawals. Does nothing if the reservation
+     * was already committed, released or expired.
+     *
+     * @param reservation The reservation to release.
+     */
+    public synchronized void release(DispenseReservation reservation) {
+        if (reservation.isActive()) {
+            unreserve(reservation);
+        }
+    }
+
+    /**
+     * Release every reservation which has expired.
+     *
+     * @param now The current value of System.nanoTime().
+     */
+    private void releaseExpired(long now) {
+        Iterator<DispenseReservation> iterator = reservations.iterator();
+        while (iterator.hasNext()) {
+            DispenseReservation reservation = iterator.next();
+            if (reservation.isExpired(now)) {
+                iterator.remove();
+                endReservation(reservation);
+            }
+        }
+    }
+
+    /**
+     * Stop holding the bills of an active reservation.
+     *
+     * @param reservation The reservation.
+     */
+    private void unreserve(DispenseReservation reservation) {
+        reservations.remove(reservation);
+        endReservation(reservation);
+    }
+
+    /**
+     * Return the bills of a reservation which is no longer in the list of reservations, and mark it as ended.
+     *
+     * @param reservation The reservation.
+     */
+    private void endReservation(DispenseReservation reservation) {
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            reservedBills[i] -= reservation.getBillAmount(i);
+        }
+        reservedDollarAmount -= reservation.getDollars();
+        reservation.end();
+    }
+
+    /**
+     * Remove bills which were dispensed by a withdrawal recorded in the Journal. Nothing is printed and no restock
+     * alert is appended, since both happened when the withdrawal was first made.
+     *
+     * @param billAmounts The number of fifties, twenties, tens and fives dispensed.
+     */
+    public synchronized void removeDispensed(int[] billAmounts) {
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            changeBillCount(i, -billAmounts[i]);
+        }
+        restoreRestockAlerts();
     }
 
     private void withdraw(int dollars, int[] billAmounts) {
-        this.totalDollarAmount = getNewTotalDollarAmount(-dollars); //subtracting dollars from total
-        this.fifties -= billAmounts[0];
-        this.twenties -= billAmounts[1];
-        this.tens -= billAmounts[2];
-        this.fives -= billAmounts[3];
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            changeBillCount(i, -billAmounts[i]);
+        }
         System.out.println(withdrawalMessage(dollars, billAmounts[0], billAmounts[1], billAmounts[2], billAmounts[3]));
     }
 
@@ -114,73 +324,172 @@ public class ATM implements Serializable {
      * @param count        The number of bills to add.
      */
     public void add(int denomination, int count) {
-        switch (denomination) {
-            case 50: {
-                fifties += count;
-                this.totalDollarAmount = getNewTotalDollarAmount(50 * count);
-                break;
-            }
-            case 20: {
-                twenties += count;
-                this.totalDollarAmount = getNewTotalDollarAmount(20 * count);
-                break;
-            }
-            case 10: {
-                tens += count;
-                this.totalDollarAmount = getNewTotalDollarAmount(10 * count);
-                break;
-            }
-            case 5: {
-                fives += count;
-                this.totalDollarAmount = getNewTotalDollarAmount(5 * count);
-                break;
+        int index = getDenominationIndex(denomination);
+        if (index < 0) {
+            return;
+        }
+        changeBillCount(index, count);
+        updateRestockAlerts(false);
+        if (journal != null) {
+            journal.append(new RestockEntry(terminalID, denomination, count));
+        }
+    }
+
+    /**
+     * Add bills to the ATM, unless this would put more than the bill quantity limit of the denomination in the ATM.
+     * The limit is checked and the bills are added in one atomic step.
+     *
+     * @param denomination The bill denomination to add.
+     * @param count        The number of bills to add.
+     * @return true if the bills were added, false if there is no room for them.
+     */
+    public boolean restock(int denomination, int count) {
+        int index = getDenominationIndex(denomination);
+        if (index < 0) {
+            return false;
+        }
+        int current;
+        do {
+            current = cassettes.get(index);
+            if (current + count > billQuantityLimit) {
+                return false;
             }
+        } while (!cassettes.compareAndSet(index, current, current + count));
+        if (fleet != null) {
+            fleet.billsChanged(index, count);
+        }
+        updateRestockAlerts(false);
+        if (journal != null) {
+            journal.append(new RestockEntry(terminalID, denomination, count));
         }
+        return true;
     }
 
-    public boolean canWithdraw(int dollars) {
-        if (needsRestock()) {
-            alertRestock();
+    public synchronized boolean canWithdraw(int dollars) {
+        releaseExpired(System.nanoTime());
+        updateRestockAlerts(true);
+        return calculator.canWithdrawBasic(dollars) && calculator.planWithdrawal(dollars, new int[4]);
+    }
+
+    /**
+     * Get the index of a denomination in DENOMINATIONS.
+     *
+     * @param denomination The bill denomination.
+     * @return the index of the denomination, or -1 if it is not a denomination this ATM holds.
+     */
+    static int getDenominationIndex(int denomination) {
+        switch (denomination) {
+            case 50:
+                return 0;
+            case 20:
+                return 1;
+            case 10:
+                return 2;
+            case 5:
+                return 3;
+            default:
+                return -1;
         }
-        int[] potentialSolution = calculator.canWithdrawAdvanced(dollars);
-        return potentialSolution[0] != -1;
     }
 
     /**
-     * Recalculate the dollar amount stored in this ATM through calculating a known difference.
+     * Get the denomination at an index in DENOMINATIONS.
      *
-     * @param difference The signed difference in dollars to add.
-     *                   Positive means a deposit occurred.
-     *                   Negative means a withdrawal occurred.
+     * @param index The index of the denomination.
+     * @return the bill denomination.
      */
-    private int getNewTotalDollarAmount(int difference) {
-        return this.totalDollarAmount + difference;
+    static int getDenomination(int index) {
+        return DENOMINATIONS[index];
     }
 
     /**
-     * Write a message to the alerts file indicating which bills need to be restocked.
+     * Get the number of denominations an ATM holds.
+     *
+     * @return the number of denominations.
      */
-    private void alertRestock() {
-        StringBuilder restock = new StringBuilder("Need to restock:\n");
-        if (this.fifties < billMinimumLimit) {
-            restock.append("$50 bills.\n");
-        }
-        if (this.twenties < billMinimumLimit) {
-            restock.append("$20 bills.\n");
+    static int getDenominationCount() {
+        return DENOMINATIONS.length;
+    }
+
+    /**
+     * Get the number of bills of a denomination in this ATM.
+     *
+     * @param index The index of the denomination in DENOMINATIONS.
+     * @return the number of bills.
+     */
+    int getBillCount(int index) {
+        return cassettes.get(index);
+    }
+
+    /**
+     * Atomically change the number of bills of a denomination in this ATM, and tell the fleet.
+     *
+     * @param index The index of the denomination in DENOMINATIONS.
+     * @param delta The number of bills added, or minus the number removed.
+     */
+    private void changeBillCount(int index, int delta) {
+        cassettes.addAndGet(index, delta);
+        if (fleet != null) {
+            fleet.billsChanged(index, delta);
         }
-        if (this.tens < billMinimumLimit) {
-            restock.append("$10 bills.\n");
+    }
+
+    /**
+     * Get the amount of cash in this ATM.
+     *
+     * @return the amount of cash, in dollars.
+     */
+    int getTotalDollarAmount() {
+        int total = 0;
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            total += DENOMINATIONS[i] * cassettes.get(i);
         }
-        if (this.fives < billMinimumLimit) {
-            restock.append("$5 bills.\n");
+        return total;
+    }
+
+    /**
+     * Get the number of bills of a denomination in this ATM which are not held by a reservation.
+     *
+     * @param index The index of the denomination in DENOMINATIONS.
+     * @return the number of available bills.
+     */
+    private int getAvailableBillCount(int index) {
+        return getBillCount(index) - reservedBills[index];
+    }
+
+    /**
+     * Get the amount of cash in this ATM which is not held by a reservation.
+     *
+     * @return the available amount of cash, in dollars.
+     */
+    private int getAvailableDollarAmount() {
+        return getTotalDollarAmount() - reservedDollarAmount;
+    }
+
+    /**
+     * Update the restock alert of each denomination. A denomination is alerted once when it falls below the minimum,
+     * and can only be alerted again after it has been restocked to at least the minimum. The alerted flags are changed
+     * atomically, so this may be called without holding the ATM's lock.
+     *
+     * @param alert Whether to append an alert for each denomination which has newly fallen below the minimum.
+     */
+    private void updateRestockAlerts(boolean alert) {
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            if (getBillCount(i) >= billMinimumLimit) {
+                restockAlerted.set(i, 0);
+            } else if (alert && restockAlerted.compareAndSet(i, 0, 1)) {
+                getAlertLog().append("Need to restock: $" + DENOMINATIONS[i] + " bills.");
+            }
         }
-        try {
-            FileWriter outFile = new FileWriter(alertsFileName, true);
-            BufferedWriter writer = new BufferedWriter(outFile);
-            writer.write(restock.toString());
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("Something went wrong with writing to alerts.txt.");
+    }
+
+    /**
+     * Treat every denomination which is below the minimum as already alerted, since it was alerted when it fell below
+     * the minimum before this ATM was saved.
+     */
+    void restoreRestockAlerts() {
+        for (int i = 0; i < DENOMINATIONS.length; i++) {
+            restockAlerted.set(i, getBillCount(i) < billMinimumLimit ? 1 : 0);
         }
     }
 
@@ -190,7 +499,7 @@ public class ATM implements Serializable {
      * @return the number of fives.
      */
     public int getFives() {
-        return fives;
+        return cassettes.get(3);
     }
 
     /**
@@ -199,7 +508,7 @@ public class ATM implements Serializable {
      * @return the number of tens.
      */
     public int getTens() {
-        return tens;
+        return cassettes.get(2);
     }
 
     /**
@@ -208,7 +517,7 @@ public class ATM implements Serializable {
      * @return the number of twenties.
      */
     public int getTwenties() {
-        return twenties;
+        return cassettes.get(1);
     }
 
     /**
@@ -217,16 +526,7 @@ public class ATM implements Serializable {
      * @return the number of fifties.
      */
     public int getFifties() {
-        return fifties;
-    }
-
-    /**
-     * Get the number of cash in this ATM.
-     *
-     * @return the amount of cash.
-     */
-    private int getTotalDollarAmount() {
-        return totalDollarAmount;
+        return cassettes.get(0);
     }
 
     /**
@@ -245,33 +545,25 @@ public class ATM implements Serializable {
      */
     public String stockLevel() {
         return "ATM currently has:\n" +
-                fifties + " $50 bills\n" +
-                twenties + " $20 bills\n" +
-                tens + " $10 bills\n" +
-                fives + " $5 bills\n" +
+                getFifties() + " $50 bills\n" +
+                getTwenties() + " $20 bills\n" +
+                getTens() + " $10 bills\n" +
+                getFives() + " $5 bills\n" +
                 "The limit of this ATM is " + billQuantityLimit + " of each type of bill";
     }
 
     /**
-     * Parse the deposits file.
+     * Read the deposits file of this terminal.
      *
-     * @return an ArrayList containing information about the deposits listed in the deposits file.
+     * @return the deposits listed in the deposits file, or an empty slip if the file cannot be read.
      */
-    public ArrayList<String[]> getDeposits() {
-        ArrayList<String[]> depositsList = new ArrayList<>();
+    public DepositSlip readDeposits() {
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(depositsFileName));
-            String line = reader.readLine();
-            while (line != null) {
-                String[] deposit = line.split("[$#]");
-                depositsList.add(deposit);
-                line = reader.readLine();
-            }
-            reader.close();
-        } catch (Exception e) {
+            return DepositSlipReader.read(depositsFileName);
+        } catch (IOException e) {
             System.out.println("File cannot be accessed");
+            return new DepositSlip();
         }
-        return depositsList;
     }
 
     class ATMCalculator implements Serializable {
@@ -284,96 +576,57 @@ public class ATM implements Serializable {
 
         /**
          * Determine whether a withdrawal from this ATM is possible, only checking that the dollar amount is not greater
-         * than what the ATM is holding onto, and that the dollar amount desired is a multiple of 5.
+         * than what the ATM is holding onto outside of reservations, and that the dollar amount desired is a multiple
+         * of 5.
          *
          * @param dollars The amount to withdraw.
          * @return true if the withdrawal is not possible, false otherwise.
          */
         boolean canWithdrawBasic(int dollars) {
-            return (dollars <= atm.getTotalDollarAmount() && dollars % 5 == 0);
+            return (dollars <= atm.getAvailableDollarAmount() && dollars % 5 == 0);
         }
 
         /**
-         * Determine whether a withdrawal from this ATM is possible, using combinations.
+         * Find the bills to dispense for a withdrawal from the bills which are not held by a reservation, using as many
+         * large bills as possible: the most fifties for which the rest can still be made up, then the most twenties,
+         * then the most tens, then fives.
+         * <p>
+         * Once the number of fifties is chosen, taking the most twenties and then the most tens leaves the least for
+         * the smaller bills, so the rest can be made up if and only if it is no more than the value of the tens and
+         * fives in stock, and it is a multiple of 10 or there is at least one five. Only the number of fifties needs
+         * to be searched, from the most possible downwards, and the search stops as soon as fewer fifties can no
+         * longer help. This takes at most one step per fifty and no memory besides billAmounts.
          *
-         * @param dollars The amount to withdraw.
-         * @return true if the withdrawal is not possible, false otherwise.
+         * @param dollars     The amount to withdraw.
+         * @param billAmounts An array of length 4 to fill with the number of fifties, twenties, tens and fives.
+         * @return true if the amount can be dispensed, false otherwise.
          */
-
-        int[] canWithdrawAdvanced(int dollars) {
-            ArrayList<Integer[]> refinedSolutions = findWithdrawalSolutions(dollars, new int[]{50, 20, 10, 5},
-                    new int[]{atm.getFifties(), atm.getTwenties(), atm.getTens(), atm.getFives()},
-                    new int[]{0, 0, 0, 0}, 0);
-
-            if (refinedSolutions.size() == 0) {
-                return new int[]{-1, -1, -1, -1};
-            } else {
-                Integer[] solution = refinedSolutions.get(0);
-                return new int[]{solution[0], solution[1], solution[2], solution[3]};
+        boolean planWithdrawal(int dollars, int[] billAmounts) {
+            if (dollars < 0 || dollars % 5 != 0) {
+                return false;
             }
-        }
-
-        /**
-         * Finds the solutions to a dollar amount desired to withdraw.
-         *
-         * @param dollars               The amount to withdraw.
-         * @param denominations         The bill denominations available to choose from.
-         * @param billStock             The stock of the bills.
-         * @param billStockingVariation An arrangement of bill stock to be tested on.
-         * @param position              The index/position of which variations is being incremented on, i.e. the index associated with
-         *                              a certain denomination of which the billStockingVariation is incrementing on.
-         * @return An ArrayList of all possible solutions.
-         */
-        private ArrayList<Integer[]> findWithdrawalSolutions(int dollars, int[] denominations, int[] billStock, int[]
-                billStockingVariation, int position) {
-            ArrayList<Integer[]> viableVariations = new ArrayList<>();
-            int combinationValue = computeDenominationCombination(denominations, billStockingVariation);
-            if (combinationValue == dollars) {
-                viableVariations.add(myCopy(billStockingVariation));
-            } else if (combinationValue < dollars) {
-                for (int i = position; i < denominations.length; i++) {
-                    if (billStock[i] > billStockingVariation[i]) {
-                        int[] newVariation = billStockingVariation.clone();
-                        newVariation[i]++;
-                        ArrayList<Integer[]> newList = findWithdrawalSolutions(dollars, denominations, billStock,
-                                newVariation, i);
-                        if (newList != null) {
-                            viableVariations.addAll(newList);
-                        }
-                    }
-                }
-            }
-            return viableVariations;
-        }
-
-        /**
-         * Computes the maximum sum possible with this arrangement of denominations and denomination amounts.
-         *
-         * @param denominations      The bill denominations available to choose from.
-         * @param billStockVariation The bill stocking variation being looked at
-         * @return The sum of this denomination-stocking arrangement.
-         */
-        private int computeDenominationCombination(int[] denominations, int[] billStockVariation) {
-            int sum = 0;
-            for (int i = 0; i < billStockVariation.length; i++) {
-                sum += denominations[i] * billStockVariation[i];
+            if (dollars % 10 != 0 && atm.getAvailableBillCount(3) == 0) {
+                return false;
             }
-            return sum;
-        }
-
-        /**
-         * Creates a copy of an Integer[] from an int[]. Necessary due to not finding something similar to int[]'s deep
-         * copying methods.
-         *
-         * @param arr The array to copy.
-         * @return arr, but as an Integer[]
-         */
-        private Integer[] myCopy(int[] arr) {
-            Integer[] copy = new Integer[arr.length];
-            for (int i = 0; i < arr.length; i++) {
-                copy[i] = arr[i];
+            int smallBillsValue = 10 * atm.getAvailableBillCount(2) + 5 * atm.getAvailableBillCount(3);
+            for (int numFifties = Math.min(atm.getAvailableBillCount(0), dollars / 50); numFifties >= 0; numFifties--) {
+                int afterFifties = dollars - 50 * numFifties;
+                int numTwenties = Math.min(atm.getAvailableBillCount(1), afterFifties / 20);
+                int afterTwenties = afterFifties - 20 * numTwenties;
+                if (afterTwenties <= smallBillsValue) {
+                    int numTens = Math.min(atm.getAvailableBillCount(2), afterTwenties / 10);
+                    billAmounts[0] = numFifties;
+                    billAmounts[1] = numTwenties;
+                    billAmounts[2] = numTens;
+                    billAmounts[3] = (afterTwenties - 10 * numTens) / 5;
+                    return true;
+                }
+                if (numTwenties == atm.getAvailableBillCount(1)) {
+                    // Every twenty is already used, so fewer fifties would only leave more for the smaller bills.
+                    return false;
+                }
             }
-            return copy;
+            return false;
         }
     }
 }
@@ -0,0 +1,228 @@
+package ATM;
+
+import ATM.Journal.Journal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A registry of the ATM terminals of a Bank, all served by one bank process.
+ * <p>
+ * Terminals are looked up by ID and kept in the order they were added. The fleet keeps a running total of the bills of
+ * each denomination across every terminal: each ATM tells its fleet whenever its bills change, so the total cash in
+ * the fleet is found without visiting the terminals. The totals are not saved; they are rebuilt from the terminals
+ * when a fleet is deserialized.
+ * <p>
+ * Each thread can be bound to the terminal it is serving, so that privileges performed by a session act on the
+ * session's terminal. A thread which has not been bound uses the default terminal.
+ */
+public class ATMFleet implements Serializable {
+
+    private final ConcurrentHashMap<String, ATM> terminals;
+    private final CopyOnWriteArrayList<String> terminalOrder;
+    private transient AtomicLongArray billTotals;
+    private transient ThreadLocal<ATM> currentTerminal;
+    private transient Journal journal;
+
+    /**
+     * Initialize this ATMFleet with no terminals.
+     */
+    public ATMFleet() {
+        this.terminals = new ConcurrentHashMap<>();
+        this.terminalOrder = new CopyOnWriteArrayList<>();
+        initializeTotals();
+    }
+
+    /**
+     * Deserialize this ATMFleet, then rebuild the bill totals from its terminals.
+     *
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        initializeTotals();
+        for (ATM atm : terminals.values()) {
+            register(atm);
+        }
+    }
+
+    /**
+     * Start with no bills counted and no thread bound to a terminal.
+     */
+    private void initializeTotals() {
+        billTotals = new AtomicLongArray(ATM.getDenominationCount());
+        currentTerminal = new ThreadLocal<>();
+    }
+
+    /**
+     * Add a terminal to this fleet, replacing any terminal with the same ID.
+     *
+     * @param atm The terminal to add.
+     */
+    public synchronized void addTerminal(ATM atm) {
+        ATM replaced = terminals.put(atm.getTerminalID(), atm);
+        if (replaced == null) {
+            terminalOrder.add(atm.getTerminalID());
+        } else {
+            replaced.setFleet(null);
+            for (int i = 0; i < ATM.getDenominationCount(); i++) {
+                billsChanged(i, -replaced.getBillCount(i));
+            }
+        }
+        atm.setJournal(journal);
+        register(atm);
+    }
+
+    /**
+     * Count the bills of a terminal in the fleet totals, and have it report all further changes.
+     *
+     * @param atm The terminal.
+     */
+    private void register(ATM atm) {
+        atm.setFleet(this);
+        for (int i = 0; i < ATM.getDenominationCount(); i++) {
+            billsChanged(i, atm.getBillCount(i));
+        }
+    }
+
+    /**
+     * Get a terminal, adding a new terminal with no bills if there is none with the given ID.
+     *
+     * @param terminalID The ID of the terminal.
+     * @return the terminal.
+     */
+    public ATM getTerminal(String terminalID) {
+        ATM atm = terminals.get(terminalID);
+        if (atm == null) {
+            synchronized (this) {
+                atm = terminals.get(terminalID);
+                if (atm == null) {
+                    atm = new ATM(terminalID);
+                    addTerminal(atm);
+                }
+            }
+        }
+        return atm;
+    }
+
+    /**
+     * Check whether this fleet has a terminal.
+     *
+     * @param terminalID The ID of the terminal.
+     * @return true if there is a terminal with the given ID, false otherwise.
+     */
+    public boolean containsTerminal(String terminalID) {
+        return terminals.containsKey(terminalID);
+    }
+
+    /**
+     * Get the default terminal, adding it if it does not exist.
+     *
+     * @return the default terminal.
+     */
+    public ATM getDefaultTerminal() {
+        return getTerminal(ATM.DEFAULT_TERMINAL_ID);
+    }
+
+    /**
+     * Get every terminal in this fleet, in the order they were added.
+     *
+     * @return the terminals.
+     */
+    public List<ATM> getTerminals() {
+        List<ATM> orderedTerminals = new ArrayList<>(terminalOrder.size());
+        for (String terminalID : terminalOrder) {
+            orderedTerminals.add(terminals.get(terminalID));
+        }
+        return orderedTerminals;
+    }
+
+    /**
+     * Get the IDs of every terminal in this fleet, in the order they were added.
+     *
+     * @return the terminal IDs.
+     */
+    public List<String> getTerminalIDs() {
+        return new ArrayList<>(terminalOrder);
+    }
+
+    /**
+     * Bind the current thread to a terminal, so privileges performed on this thread act on it.
+     *
+     * @param terminalID The ID of the terminal.
+     */
+    public void setCurrentTerminal(String terminalID) {
+        currentTerminal.set(getTerminal(terminalID));
+    }
+
+    /**
+     * Get the terminal the current thread is bound to.
+     *
+     * @return the bound terminal, or the default terminal if the current thread has not been bound.
+     */
+    public ATM getCurrentTerminal() {
+        ATM atm = currentTerminal.get();
+        return atm != null ? atm : getDefaultTerminal();
+    }
+
+    /**
+     * Unbind the current thread from its terminal.
+     */
+    public void clearCurrentTerminal() {
+        currentTerminal.remove();
+    }
+
+    /**
+     * Record a change in the number of bills of a denomination in one of this fleet's terminals.
+     *
+     * @param index The index of the denomination.
+     * @param delta The number of bills added, or minus the number removed.
+     */
+    void billsChanged(int index, int delta) {
+        billTotals.addAndGet(index, delta);
+    }
+
+    /**
+     * Get the number of bills of a denomination across every terminal in this fleet.
+     *
+     * @param denomination The bill denomination.
+     * @return the number of bills, or 0 if no ATM holds the denomination.
+     */
+    public long getTotalBills(int denomination) {
+        int index = ATM.getDenominationIndex(denomination);
+        return index < 0 ? 0 : billTotals.get(index);
+    }
+
+    /**
+     * Get the amount of cash across every terminal in this fleet.
+     *
+     * @return the total cash on hand, in dollars.
+     */
+    public long getTotalCash() {
+        long total = 0;
+        for (int i = 0; i < ATM.getDenominationCount(); i++) {
+            total += ATM.getDenomination(i) * billTotals.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Record bills added to every terminal in this fleet, and to terminals added later, in a Journal.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public synchronized void setJournal(Journal journal) {
+        this.journal = journal;
+        for (ATM atm : terminals.values()) {
+            atm.setJournal(journal);
+        }
+    }
+}
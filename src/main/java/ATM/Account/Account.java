@@ -1,24 +1,26 @@
 package ATM.Account;
 
+import ATM.Money;
 import ATM.Transaction.Transaction;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * A class representing a bank account.
+ * A class representing a bank account. Balances are kept in cents; the methods taking or returning amounts in dollars
+ * convert them to and from cents.
  */
 public abstract class Account implements Serializable {
 
-    private final double overdraftLimit;
+    private final long overdraftLimit;
     private final Date creationDate;
     private final List<String> users;
-    private final List<Transaction> transactions;
-    private final String accountID;
-    private double balance;
+    private final TransactionHistory transactions;
+    private String accountID;
+    private volatile long balance;
 
     /**
      * Initialize this Account with an initial user, an overdraft limit and a creation date.
@@ -29,12 +31,12 @@ public abstract class Account implements Serializable {
      */
     public Account(String username, Date creationDate, double overdraftLimit) {
         this.accountID = UUID.randomUUID().toString();
-        this.overdraftLimit = overdraftLimit;
+        this.overdraftLimit = Money.toCents(overdraftLimit);
         this.creationDate = creationDate;
-        this.transactions = new ArrayList<>();
-        this.users = new ArrayList<>();
+        this.transactions = new TransactionHistory();
+        this.users = new CopyOnWriteArrayList<>();
         addUser(username);
-        setBalance(0);
+        setBalanceCents(0);
     }
 
     /**
@@ -49,38 +51,55 @@ public abstract class Account implements Serializable {
     /**
      * Increase this Account's balance by an amount.
      *
-     * @param amount The amount to increase the balance.
+     * @param amount The amount in cents to increase the balance.
      */
-    private void increaseBalance(double amount) {
-        setBalance(balance + amount);
+    private void increaseBalance(long amount) {
+        setBalanceCents(balance + amount);
     }
 
     /**
      * Decrease this Account's balance by an amount.
      *
-     * @param amount The amount to decrease the balance.
+     * @param amount The amount in cents to decrease the balance.
      */
-    private void decreaseBalance(double amount) {
-        setBalance(balance - amount);
+    private void decreaseBalance(long amount) {
+        setBalanceCents(balance - amount);
     }
 
     /**
      * Get this Account's balance.
      *
-     * @return the balance.
+     * @return the balance in dollars.
      */
     double getBalance() {
+        return Money.toDollars(balance);
+    }
+
+    /**
+     * Get this Account's balance.
+     *
+     * @return the balance in cents.
+     */
+    long getBalanceCents() {
         return balance;
     }
 
     /**
-     * Set this Account's balance.
+     * Set this Account's balance, rounded to the nearest cent.
      *
-     * @param balance The balance to set.
+     * @param balance The balance to set, in dollars.
      */
     void setBalance(double balance) {
+        setBalanceCents(Money.toCents(balance));
+    }
+
+    /**
+     * Set this Account's balance.
+     *
+     * @param balance The balance to set, in cents.
+     */
+    void setBalanceCents(long balance) {
         this.balance = balance;
-        roundBalance();
     }
 
     /**
@@ -92,6 +111,26 @@ public abstract class Account implements Serializable {
         return creationDate;
     }
 
+    /**
+     * Get the usernames of this Account's owners.
+     *
+     * @return the usernames of the owners.
+     */
+    List<String> getUsers() {
+        return users;
+    }
+
+    /**
+     * Restore the ID and balance of this Account when it is read from the Bank's saved state.
+     *
+     * @param accountID The ID of this Account.
+     * @param balance   The balance of this Account, in cents.
+     */
+    void restore(String accountID, long balance) {
+        this.accountID = accountID;
+        setBalanceCents(balance);
+    }
+
     /**
      * Add a new user to this Account's list of owners.
      *
@@ -114,52 +153,92 @@ public abstract class Account implements Serializable {
     }
 
     /**
-     * Add a transaction to this Account's list of transactions.
+     * Add a transaction to this Account's history of transactions, as the most recent transaction.
      *
      * @param transaction The transaction to add.
      */
     public void addTransaction(Transaction transaction) {
-        transactions.add(0, transaction);
+        transactions.add(transaction);
     }
 
     /**
      * Check whether an amount can be safely withdrawn from this Account.
      *
-     * @param amount The amount to withdraw.
+     * @param amount The amount to withdraw, in dollars.
      * @return true if the amount can be withdrawn safely, false otherwise.
      */
     public boolean canWithdraw(double amount) {
+        return canWithdrawCents(Money.toCents(amount));
+    }
+
+    /**
+     * Check whether an amount can be safely withdrawn from this Account.
+     *
+     * @param amount The amount to withdraw, in cents.
+     * @return true if the amount can be withdrawn safely, false otherwise.
+     */
+    public boolean canWithdrawCents(long amount) {
         return balance - amount >= overdraftLimit && amount > 0;
     }
 
     /**
      * Check whether an amount can be safely deposited into this Account.
      *
-     * @param amount The amount to deposit.
+     * @param amount The amount to deposit, in dollars.
      * @return true if the amount can be deposited safely, false otherwise.
      */
     public boolean canDeposit(double amount) {
+        return canDepositCents(Money.toCents(amount));
+    }
+
+    /**
+     * Check whether an amount can be safely deposited into this Account.
+     *
+     * @param amount The amount to deposit, in cents.
+     * @return true if the amount can be deposited safely, false otherwise.
+     */
+    public boolean canDepositCents(long amount) {
         return amount > 0;
     }
 
     /**
      * Check whether an amount can be transferred from this Account to another Account.
      *
-     * @param amount The amount to transfer.
+     * @param amount The amount to transfer, in dollars.
      * @return true if the amount can be safely transferred out, false otherwise.
      */
     public boolean canTransferOut(double amount) {
-        return canWithdraw(amount);
+        return canTransferOutCents(Money.toCents(amount));
+    }
+
+    /**
+     * Check whether an amount can be transferred from this Account to another Account.
+     *
+     * @param amount The amount to transfer, in cents.
+     * @return true if the amount can be safely transferred out, false otherwise.
+     */
+    public boolean canTransferOutCents(long amount) {
+        return canWithdrawCents(amount);
     }
 
     /**
      * Withdraw an amount from this account.
      *
-     * @param amount The amount to withdraw.
+     * @param amount The amount to withdraw, in dollars.
      * @return true if the withdrawal is successful, false otherwise.
      */
     public boolean withdraw(double amount) {
-        if (canWithdraw(amount)) {
+        return withdrawCents(Money.toCents(amount));
+    }
+
+    /**
+     * Withdraw an amount from this account.
+     *
+     * @param amount The amount to withdraw, in cents.
+     * @return true if the withdrawal is successful, false otherwise.
+     */
+    public boolean withdrawCents(long amount) {
+        if (canWithdrawCents(amount)) {
             decreaseBalance(amount);
             return true;
         }
@@ -169,11 +248,21 @@ public abstract class Account implements Serializable {
     /**
      * Deposit an amount into this account.
      *
-     * @param amount The amount to deposit.
+     * @param amount The amount to deposit, in dollars.
      * @return true if the deposit is successful, false otherwise.
      */
     public boolean deposit(double amount) {
-        if (canDeposit(amount)) {
+        return depositCents(Money.toCents(amount));
+    }
+
+    /**
+     * Deposit an amount into this account.
+     *
+     * @param amount The amount to deposit, in cents.
+     * @return true if the deposit is successful, false otherwise.
+     */
+    public boolean depositCents(long amount) {
+        if (canDepositCents(amount)) {
             increaseBalance(amount);
             return true;
         }
@@ -189,13 +278,6 @@ public abstract class Account implements Serializable {
         return false;
     }
 
-    /**
-     * Round this Account's balance to two decimal places.
-     */
-    private void roundBalance() {
-        balance = Math.round(balance * 100.) / 100.;
-    }
-
     /**
      * Return a String representing the balance of this account for display purposes.
      *
@@ -208,10 +290,24 @@ public abstract class Account implements Serializable {
      */
     void update() {}
 
-    List<Transaction> getTransactionsList() {
+    /**
+     * Get this Account's history of transactions.
+     *
+     * @return the history of transactions.
+     */
+    TransactionHistory getTransactionHistory() {
         return transactions;
     }
 
+    /**
+     * Get all of this Account's transactions, most recent first.
+     *
+     * @return a view of the transactions.
+     */
+    List<Transaction> getTransactionsList() {
+        return transactions.getAll();
+    }
+
     public char getCurrencySymbol() {
         return '$';
     }
@@ -0,0 +1,217 @@
+package ATM.Account;
+
+import ATM.ATM;
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.Transaction.Transaction;
+import ATM.Transaction.TransactionCodec;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A class used to write and read the Accounts of an AccountManager in the compact binary format of the Bank's saved
+ * state. Each Transaction is written once, even if it is recorded by two Accounts, and each Account's history is
+ * written as a list of indices into the written Transactions. The numbers of the cheques already deposited are written
+ * after the Accounts.
+ */
+public class AccountCodec {
+
+    private final static int CHEQUING = 0;
+    private final static int SAVINGS = 1;
+    private final static int CREDIT_CARD = 2;
+    private final static int LINE_OF_CREDIT = 3;
+    private final static int CASHABLE_GIC = 4;
+    private final static int FOREIGN_CURRENCY = 5;
+
+    /**
+     * Write the Accounts and Transactions of an AccountManager.
+     *
+     * @param accountManager     The AccountManager to write.
+     * @param output             The stream to write to.
+     * @param transactionIndices A map to fill with the index of each Transaction written.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(AccountManager accountManager, CodecOutput output,
+                             Map<Transaction, Integer> transactionIndices) throws IOException {
+        Collection<Account> accounts = accountManager.getAccounts();
+        output.writeVarInt(accounts.size());
+        List<Transaction> transactions = new ArrayList<>();
+        for (Account account : accounts) {
+            writeAccount(account, output);
+            for (Transaction transaction : account.getTransactionsList()) {
+                if (!transactionIndices.containsKey(transaction)) {
+                    transactionIndices.put(transaction, transactions.size());
+                    transactions.add(transaction);
+                }
+            }
+        }
+
+        output.writeVarInt(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransactionCodec.write(transaction, output);
+        }
+
+        for (Account account : accounts) {
+            List<Transaction> history = account.getTransactionsList();
+            output.writeVarInt(history.size());
+            for (Transaction transaction : history) {
+                output.writeVarInt(transactionIndices.get(transaction));
+            }
+        }
+
+        Collection<Long> cheques = accountManager.getDepositedCheques();
+        output.writeVarInt(cheques.size());
+        for (long chequeNumber : cheques) {
+            output.writeLong(chequeNumber);
+        }
+    }
+
+    /**
+     * Read Accounts and Transactions into an AccountManager.
+     *
+     * @param input          The stream to read from.
+     * @param accountManager The AccountManager to add the Accounts to.
+     * @param atm            The ATM used by withdrawals.
+     * @param accounts       A map to fill with each Account read, by ID.
+     * @param transactions   A list to fill with each Transaction read, in the order they were written.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static void read(CodecInput input, AccountManager accountManager, ATM atm, Map<String, Account> accounts,
+                            List<Transaction> transactions) throws IOException {
+        int numAccounts = input.readVarInt();
+        List<Account> readOrder = new ArrayList<>(numAccounts);
+        for (int i = 0; i < numAccounts; i++) {
+            Account account = readAccount(input);
+            accounts.put(account.getID(), account);
+            readOrder.add(account);
+        }
+
+        int numTransactions = input.readVarInt();
+        for (int i = 0; i < numTransactions; i++) {
+            transactions.add(TransactionCodec.read(input, accounts, atm,
+                    accountManager.getAccountsCurrencyExchange()));
+        }
+
+        for (Account account : readOrder) {
+            int[] history = new int[input.readVarInt()];
+            for (int i = 0; i < history.length; i++) {
+                history[i] = input.readVarInt();
+            }
+            // The history is written newest first, and each Transaction added becomes the most recent
+            for (int i = history.length - 1; i >= 0; i--) {
+                account.addTransaction(transactions.get(history[i]));
+            }
+            accountManager.addAccount(account);
+        }
+
+        int numCheques = input.readVarInt();
+        for (int i = 0; i < numCheques; i++) {
+            accountManager.getDepositedCheques().add(input.readLong());
+        }
+    }
+
+    /**
+     * Write a single Account, without its Transactions.
+     *
+     * @param account The Account to write.
+     * @param output  The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeAccount(Account account, CodecOutput output) throws IOException {
+        output.writeByte(getType(account));
+        output.writeString(account.getID());
+        output.writeDate(account.getCreationDate());
+        output.writeLong(account.getBalanceCents());
+        List<String> users = account.getUsers();
+        output.writeVarInt(users.size());
+        for (String username : users) {
+            output.writeString(username);
+        }
+        if (account instanceof ChequingAccount) {
+            output.writeBoolean(account.isPrimary());
+        } else if (account instanceof ForeignCurrencyAccount) {
+            ForeignCurrencyAccount foreignAccount = (ForeignCurrencyAccount) account;
+            output.writeBoolean(foreignAccount.isCurrencyPermanentlySet());
+            output.writeString(foreignAccount.getCurrencyCode());
+        }
+    }
+
+    /**
+     * Read a single Account, without its Transactions.
+     *
+     * @param input The stream to read from.
+     * @return the Account read.
+     * @throws IOException if an I/O error occurs or the Account is malformed.
+     */
+    private static Account readAccount(CodecInput input) throws IOException {
+        int type = input.readByte();
+        String accountID = input.readString();
+        Date creationDate = input.readDate();
+        long balance = input.readLong();
+        int numUsers = input.readVarInt();
+        List<String> users = new ArrayList<>(numUsers);
+        for (int i = 0; i < numUsers; i++) {
+            users.add(input.readString());
+        }
+
+        String firstUser = users.isEmpty() ? null : users.get(0);
+        Account account;
+        switch (type) {
+            case CHEQUING:
+                ChequingAccount chequingAccount = new ChequingAccount(firstUser, creationDate);
+                chequingAccount.setPrimary(input.readBoolean());
+                account = chequingAccount;
+                break;
+            case SAVINGS:
+                account = new SavingsAccount(firstUser, creationDate);
+                break;
+            case CREDIT_CARD:
+                account = new CreditCardAccount(firstUser, creationDate);
+                break;
+            case LINE_OF_CREDIT:
+                account = new LineOfCreditAccount(firstUser, creationDate);
+                break;
+            case CASHABLE_GIC:
+                account = new CashableGIC(firstUser, creationDate);
+                break;
+            case FOREIGN_CURRENCY:
+                ForeignCurrencyAccount foreignAccount = new ForeignCurrencyAccount(firstUser, creationDate);
+                boolean currencySet = input.readBoolean();
+                String currencyCode = input.readString();
+                if (currencySet) {
+                    foreignAccount.setCurrencyCode(currencyCode);
+                }
+                account = foreignAccount;
+                break;
+            default:
+                throw new IOException("Unknown account type " + type);
+        }
+        for (String username : users) {
+            account.addUser(username);
+        }
+        account.restore(accountID, balance);
+        return account;
+    }
+
+    /**
+     * Get the type code of an Account.
+     *
+     * @param account The Account.
+     * @return the type code of the Account.
+     */
+    private static int getType(Account account) {
+        if (account instanceof ChequingAccount) {
+            return CHEQUING;
+        } else if (account instanceof SavingsAccount) {
+            return SAVINGS;
+        } else if (account instanceof CreditCardAccount) {
+            return CREDIT_CARD;
+        } else if (account instanceof LineOfCreditAccount) {
+            return LINE_OF_CREDIT;
+        } else if (account instanceof CashableGIC) {
+            return CASHABLE_GIC;
+        }
+        return FOREIGN_CURRENCY;
+    }
+}
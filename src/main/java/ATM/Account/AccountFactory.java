@@ -42,8 +42,66 @@ public class AccountFactory implements Serializable {
      * @return The new Account, or null if an invalid accountType was given.
      */
     public Account getAccount(String accountType, String username) {
+        return getAccount(accountType, username, bankTimeManager.getCurrentTime());
+    }
+
+    /**
+     * Recreate an account recorded in the Journal, with the accountID, creation date and owners it was created with,
+     * and no balance.
+     *
+     * @param accountID    The ID of the account.
+     * @param accountType  A String representing the Account type.
+     * @param creationDate The date the account was created.
+     * @param owners       The usernames of the owners of the account, first owner first.
+     * @param primary      Whether the account is its first owner's primary chequing account.
+     * @return The Account, or null if an invalid accountType or no owner was given.
+     */
+    public static Account restoreAccount(String accountID, String accountType, Date creationDate, List<String> owners,
+                                         boolean primary) {
+        Account account = owners.isEmpty() ? null : getAccount(accountType, owners.get(0), creationDate);
+        if (account != null) {
+            for (String username : owners) {
+                account.addUser(username);
+            }
+            if (account instanceof ChequingAccount) {
+                ((ChequingAccount) account).setPrimary(primary);
+            }
+            account.restore(accountID, 0);
+        }
+        return account;
+    }
+
+    /**
+     * Get the type of an account, as given to getAccount.
+     *
+     * @param account The account.
+     * @return A String representing the Account type.
+     */
+    public static String getAccountType(Account account) {
+        if (account instanceof ChequingAccount) {
+            return "Chequing Account";
+        } else if (account instanceof SavingsAccount) {
+            return "Savings Account";
+        } else if (account instanceof CreditCardAccount) {
+            return "Credit Card Account";
+        } else if (account instanceof LineOfCreditAccount) {
+            return "Line of Credit Account";
+        } else if (account instanceof CashableGIC) {
+            return "Cashable GIC";
+        }
+        return "Foreign Currency Account";
+    }
+
+    /**
+     * Instantiate a new account created at a given time.
+     *
+     * @param accountType A String representing the Account type.
+     * @param username    The username of the first Account owner.
+     * @param currentTime The creation date of the Account.
+     * @return The new Account, or null if an invalid accountType was given.
+     */
+    private static Account getAccount(String accountType, String username, Date currentTime) {
         Account account = null;
-        Date currentTime = bankTimeManager.getCurrentTime();
 
         switch (accountType) {
             case ("Chequing Account"): {
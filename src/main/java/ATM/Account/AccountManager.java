@@ -2,35 +2,264 @@ package ATM.Account;
 
 import ATM.ATM;
 import ATM.CurrencyExchange;
+import ATM.DepositSlip;
+import ATM.DepositSummary;
+import ATM.Money;
+import ATM.Batch.BatchProgress;
 import ATM.FinanceProduct.FinanceProduct;
+import ATM.Journal.*;
+import ATM.Metrics.Counter;
+import ATM.Metrics.LatencyHistogram;
+import ATM.Metrics.MetricsRegistry;
 import ATM.Transaction.*;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /**
  * A class used for managing a collection of accounts.
+ * <p>
+ * Accounts are kept in the order they were added. Besides the accounts themselves, an AccountManager indexes the IDs
+ * of the accounts owned by each user, and the ID of each user's primary account, so that looking up a user's accounts
+ * does not require scanning every account. The index is not saved; it is rebuilt from the accounts when an
+ * AccountManager is deserialized.
+ * <p>
+ * An AccountManager may be used by several sessions at once. Each account is guarded by one of a fixed number of
+ * striped locks, chosen by its ID, and every operation which changes a balance holds the locks of the accounts it
+ * involves. A transfer takes the locks of its two accounts in the order of their stripes, so two transfers can never
+ * wait for each other. Changes made from outside, such as reverting a transaction or settling a product's payments,
+ * go through revert and runLocked so they hold the same locks. Adding accounts and owners is synchronized on the
+ * AccountManager.
  */
 public class AccountManager implements Serializable {
 
-    private final HashMap<String, Account> accounts;
+    private final static int LOCK_STRIPES = 256;
+    private final static LatencyHistogram TRANSFER_TIME = MetricsRegistry.DEFAULT.histogram("Account transfer");
+    private final static LatencyHistogram WITHDRAWAL_TIME = MetricsRegistry.DEFAULT.histogram("Account withdrawal");
+    private final static Counter FAILED_TRANSFERS = MetricsRegistry.DEFAULT.counter("Account transfers failed");
+    private final static Counter FAILED_WITHDRAWALS = MetricsRegistry.DEFAULT.counter("Account withdrawals failed");
+
+    private final ConcurrentHashMap<String, Account> accounts;
+    private final ConcurrentLinkedQueue<String> accountOrder;
     private final CurrencyExchange accountsCurrencyExchange;
+    private final Set<Long> depositedCheques;
+    private transient ConcurrentHashMap<String, List<String>> ownedAccountIDs;
+    private transient ConcurrentHashMap<String, String> primaryAccountIDs;
+    private transient ReentrantLock[] locks;
+    private transient Journal journal;
+    private transient OutgoingPaymentWriter outgoingPayments;
 
     /**
      * Initialize this AccountManager with an empty collection of accounts.
      */
     public AccountManager() {
-        this.accounts = new HashMap<>();
+        this.accounts = new ConcurrentHashMap<>();
+        this.accountOrder = new ConcurrentLinkedQueue<>();
         accountsCurrencyExchange = new CurrencyExchange();
+        this.depositedCheques = ConcurrentHashMap.newKeySet();
+        indexAccounts();
+        initializeLocks();
+    }
+
+    /**
+     * Deserialize this AccountManager, then rebuild the index of the accounts owned by each user and its locks.
+     *
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        indexAccounts();
+        initializeLocks();
+    }
+
+    /**
+     * Rebuild the index of the accounts owned by each user from the accounts in this AccountManager.
+     */
+    private void indexAccounts() {
+        ownedAccountIDs = new ConcurrentHashMap<>();
+        primaryAccountIDs = new ConcurrentHashMap<>();
+        for (Account account : getAccounts()) {
+            for (String username : account.getUsers()) {
+                indexOwner(account, username);
+            }
+        }
+    }
+
+    /**
+     * Create the striped locks guarding the accounts in this AccountManager.
+     */
+    private void initializeLocks() {
+        locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Get the stripe of the lock guarding an account.
+     *
+     * @param accountID The ID of the account.
+     * @return the index of the lock guarding the account.
+     */
+    private int getStripe(String accountID) {
+        int hash = accountID.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Acquire the lock guarding an account.
+     *
+     * @param accountID The ID of the account.
+     */
+    private void lock(String accountID) {
+        locks[getStripe(accountID)].lock();
+    }
+
+    /**
+     * Release the lock guarding an account.
+     *
+     * @param accountID The ID of the account.
+     */
+    private void unlock(String accountID) {
+        locks[getStripe(accountID)].unlock();
+    }
+
+    /**
+     * Acquire the locks guarding two accounts, in the order of their stripes.
+     *
+     * @param firstID  The ID of the first account.
+     * @param secondID The ID of the second account.
+     */
+    private void lock(String firstID, String secondID) {
+        int first = getStripe(firstID);
+        int second = getStripe(secondID);
+        locks[Math.min(first, second)].lock();
+        if (first != second) {
+            locks[Math.max(first, second)].lock();
+        }
+    }
+
+    /**
+     * Release the locks guarding two accounts.
+     *
+     * @param firstID  The ID of the first account.
+     * @param secondID The ID of the second account.
+     */
+    private void unlock(String firstID, String secondID) {
+        int first = getStripe(firstID);
+        int second = getStripe(secondID);
+        if (first != second) {
+            locks[Math.max(first, second)].unlock();
+        }
+        locks[Math.min(first, second)].unlock();
+    }
+
+    /**
+     * Record in the index that a user owns an Account. The first primary Account a user owns becomes their primary
+     * account.
+     *
+     * @param account  The Account.
+     * @param username The username of the owner.
+     */
+    private void indexOwner(Account account, String username) {
+        List<String> accountIDs = ownedAccountIDs.get(username);
+        if (accountIDs == null) {
+            accountIDs = new CopyOnWriteArrayList<>();
+            ownedAccountIDs.put(username, accountIDs);
+        }
+        accountIDs.add(account.getID());
+        if (account.isPrimary()) {
+            primaryAccountIDs.putIfAbsent(username, account.getID());
+        }
     }
 
     /**
-     * Add a new Account to this AccountManager.
+     * Remove every owner of an Account from the index.
+     *
+     * @param account The Account.
+     */
+    private void unindexOwners(Account account) {
+        for (String username : account.getUsers()) {
+            List<String> accountIDs = ownedAccountIDs.get(username);
+            if (accountIDs != null) {
+                accountIDs.remove(account.getID());
+            }
+            if (account.getID().equals(primaryAccountIDs.get(username))) {
+                primaryAccountIDs.remove(username);
+            }
+        }
+    }
+
+    /**
+     * Set the Journal used to record changes to the accounts in this AccountManager.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Set the channel to which bill payments made from the accounts in this AccountManager are written.
+     *
+     * @param outgoingPayments The channel to the outgoing payments file.
+     */
+    public void setOutgoingPayments(OutgoingPaymentWriter outgoingPayments) {
+        this.outgoingPayments = outgoingPayments;
+    }
+
+    /**
+     * Record an entry in this AccountManager's Journal, if it has one.
+     *
+     * @param entry The entry to record.
+     */
+    private void record(JournalEntry entry) {
+        if (journal != null) {
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Add a new Account to this AccountManager. A ChequingAccount must be made primary before it is added.
      *
      * @param account The Account to add.
      */
-    public void addAccount(Account account) {
-        accounts.put(account.getID(), account);
+    public synchronized void addAccount(Account account) {
+        Account replaced = accounts.put(account.getID(), account);
+        if (replaced != null) {
+            unindexOwners(replaced);
+        } else {
+            accountOrder.add(account.getID());
+        }
+        for (String username : account.getUsers()) {
+            indexOwner(account, username);
+        }
+        record(new AccountCreatedEntry(account.getID(), AccountFactory.getAccountType(account),
+                account.getCreationDate(), account.getUsers(), account.isPrimary()));
+    }
+
+    /**
+     * Get all the Accounts in this AccountManager.
+     *
+     * @return the Accounts.
+     */
+    Collection<Account> getAccounts() {
+        List<Account> orderedAccounts = new ArrayList<>(accounts.size());
+        for (String accountID : accountOrder) {
+            orderedAccounts.add(accounts.get(accountID));
+        }
+        return orderedAccounts;
     }
 
     /**
@@ -40,13 +269,22 @@ public class AccountManager implements Serializable {
      * @return a list of accountIDs associated with the user's owned accounts.
      */
     public List<String> getAccountIDs(String username) {
-        List<String> accountIDs = new ArrayList<>();
-        for (Account account : accounts.values()) {
-            if (account.ownedBy(username)) {
-                accountIDs.add(account.getID());
-            }
+        List<String> accountIDs = ownedAccountIDs.get(username);
+        if (accountIDs == null) {
+            return new ArrayList<>();
         }
-        return accountIDs;
+        return new ArrayList<>(accountIDs);
+    }
+
+    /**
+     * Get the users who own at least one account.
+     *
+     * @return the usernames of the owners, in alphabetical order.
+     */
+    public List<String> getOwners() {
+        List<String> owners = new ArrayList<>(ownedAccountIDs.keySet());
+        Collections.sort(owners);
+        return owners;
     }
 
     /**
@@ -57,13 +295,11 @@ public class AccountManager implements Serializable {
      * @throws NoSuchElementException if the user has no primary account in this AccountManager.
      */
     String getPrimaryAccountID(String username) throws NoSuchElementException {
-        List<String> accountIDs = getAccountIDs(username);
-        for (String accountID : accountIDs) {
-            if (accounts.get(accountID).isPrimary()) {
-                return accountID;
-            }
+        String accountID = primaryAccountIDs.get(username);
+        if (accountID == null) {
+            throw new NoSuchElementException("primary account or user not found");
         }
-        throw new NoSuchElementException("primary account or user not found");
+        return accountID;
     }
 
     /**
@@ -87,10 +323,39 @@ public class AccountManager implements Serializable {
      * @return true if the payment was successful, false otherwise.
      */
     public boolean payBill(String fromID, double amount, Date date, String payee) {
-        if (accounts.containsKey(fromID)) {
-            Account fromAccount = accounts.get(fromID);
-            Transaction t = new BillPaymentTransaction(fromAccount, amount, date, payee);
-            return t.execute();
+        return payBill(fromID, amount, date, payee, 0);
+    }
+
+    /**
+     * Pay a bill from an Account contained in this AccountManager, which was given a sequence number in the outgoing
+     * payments file when it was first paid. Used to replay a bill payment: it is only written to the file again if it
+     * did not reach the file before the program stopped.
+     *
+     * @param fromID          The ID of the account from which to transfer.
+     * @param amount          The amount of the bill payment.
+     * @param date            The date of the transaction.
+     * @param payee           The name of the payee.
+     * @param paymentSequence The sequence number the payment was given, or 0 if it has not been written to the file.
+     * @return true if the payment was successful, false otherwise.
+     */
+    public boolean payBill(String fromID, double amount, Date date, String payee, long paymentSequence) {
+        Account fromAccount = accounts.get(fromID);
+        OutgoingPaymentWriter outgoing = outgoingPayments;
+        if (outgoing != null && paymentSequence > 0 && paymentSequence <= outgoing.getRecoveredSequence()) {
+            outgoing = null;
+        }
+        if (fromAccount != null) {
+            lock(fromID);
+            try {
+                // The payment is recorded before it is queued, so it never reaches outgoing.txt before the Journal
+                Transaction t = new BillPaymentTransaction(fromAccount, amount, date, payee, outgoing,
+                        sequence -> record(new BillPaymentEntry(fromID, amount, date, payee, sequence)));
+                if (t.execute()) {
+                    return true;
+                }
+            } finally {
+                unlock(fromID);
+            }
         }
         return false;
     }
@@ -104,18 +369,88 @@ public class AccountManager implements Serializable {
      * @return true if the deposit was successful, false otherwise.
      */
     public boolean deposit(String toID, double amount, Date date) {
-        if (accounts.containsKey(toID)) {
-            Account toAccount = accounts.get(toID);
+        Account toAccount = accounts.get(toID);
+        if (toAccount != null) {
             if (toAccount instanceof ForeignCurrencyAccount) {
                 return false;
-            } else {
+            }
+            lock(toID);
+            try {
                 Transaction t = new DepositTransaction(toAccount, amount, date);
-                return t.execute();
+                if (t.execute()) {
+                    record(new DepositEntry(toID, amount, date));
+                    return true;
+                }
+            } finally {
+                unlock(toID);
             }
         }
         return false;
     }
 
+    /**
+     * Get the numbers of every cheque deposited into an Account contained in this AccountManager.
+     *
+     * @return the cheque numbers, which may be added to when the AccountManager is loaded.
+     */
+    Set<Long> getDepositedCheques() {
+        return depositedCheques;
+    }
+
+    /**
+     * Deposit every deposit on a DepositSlip into an Account contained in this AccountManager. The account's lock is
+     * acquired once for the whole slip, and the deposits posted are recorded in the Journal as a single entry. A
+     * cheque whose number has already been deposited, from this slip or any other, is left out as a duplicate, so
+     * posting the same deposits file again does not deposit its cheques twice.
+     *
+     * @param toID The ID of the account receiving the deposits.
+     * @param slip The deposits to post.
+     * @param date The date of the deposits.
+     * @return a summary of the deposits posted and those which could not be.
+     */
+    public DepositSummary depositAll(String toID, DepositSlip slip, Date date) {
+        DepositSummary summary = new DepositSummary(slip);
+        Account toAccount = accounts.get(toID);
+        if (toAccount == null || toAccount instanceof ForeignCurrencyAccount) {
+            for (int i = 0; i < slip.size(); i++) {
+                summary.failed();
+            }
+            return summary;
+        }
+        long[] amounts = new long[slip.size()];
+        long[] chequeNumbers = new long[slip.size()];
+        int posted = 0;
+        lock(toID);
+        try {
+            for (int i = 0; i < slip.size(); i++) {
+                long cents = slip.getAmount(i);
+                if (slip.isCheque(i) && !depositedCheques.add(slip.getChequeNumber(i))) {
+                    summary.duplicate();
+                    continue;
+                }
+                Transaction t = new DepositTransaction(toAccount, Money.toDollars(cents), date);
+                if (t.execute()) {
+                    amounts[posted] = cents;
+                    chequeNumbers[posted] = slip.getChequeNumber(i);
+                    posted++;
+                    summary.posted(cents, slip.isCheque(i));
+                } else {
+                    if (slip.isCheque(i)) {
+                        depositedCheques.remove(slip.getChequeNumber(i));
+                    }
+                    summary.failed();
+                }
+            }
+            if (posted > 0) {
+                record(new DepositSlipEntry(toID, Arrays.copyOf(amounts, posted),
+                        Arrays.copyOf(chequeNumbers, posted), date));
+            }
+        } finally {
+            unlock(toID);
+        }
+        return summary;
+    }
+
     /**
      * Withdraw an amount from an Account contained in this AccountManager.
      *
@@ -126,16 +461,41 @@ public class AccountManager implements Serializable {
      * @return true if the withdrawal was successful, false otherwise.
      */
     public boolean withdraw(String fromID, int amount, Date date, ATM atm) {
-        if (accounts.containsKey(fromID)) {
-            Account fromAccount = accounts.get(fromID);
-            if (fromAccount instanceof ForeignCurrencyAccount) {
-                return false;
-            } else {
-                Transaction t = new WithdrawalTransaction(fromAccount, amount, date, atm);
-                return t.execute();
+        return withdraw(fromID, amount, date, atm, null);
+    }
+
+    /**
+     * Withdraw an amount from an Account contained in this AccountManager, removing given bills from the ATM. Used to
+     * replay a withdrawal with the bills it dispensed when it was first made.
+     *
+     * @param fromID The ID of the account from which to withdraw.
+     * @param amount The amount to withdraw.
+     * @param date   The date of the withdrawal.
+     * @param atm    The ATM from which to withdraw.
+     * @param bills  The number of fifties, twenties, tens and fives dispensed, or null if the ATM is to choose them.
+     * @return true if the withdrawal was successful, false otherwise.
+     */
+    public boolean withdraw(String fromID, int amount, Date date, ATM atm, int[] bills) {
+        long start = System.nanoTime();
+        boolean success = false;
+        Account fromAccount = accounts.get(fromID);
+        if (fromAccount != null && !(fromAccount instanceof ForeignCurrencyAccount)) {
+            lock(fromID);
+            try {
+                WithdrawalTransaction t = new WithdrawalTransaction(fromAccount, amount, date, atm, bills);
+                if (t.execute()) {
+                    record(new WithdrawalEntry(atm.getTerminalID(), fromID, amount, date, t.getDispensedBills()));
+                    success = true;
+                }
+            } finally {
+                unlock(fromID);
             }
         }
-        return false;
+        WITHDRAWAL_TIME.recordSince(start);
+        if (!success) {
+            FAILED_WITHDRAWALS.increment();
+        }
+        return success;
     }
 
     /**
@@ -148,14 +508,46 @@ public class AccountManager implements Serializable {
      * @return true if the transfer was successful, false otherwise.
      */
     public boolean transfer(String fromID, String toID, double amount, Date date) {
-        boolean containsAccounts = accounts.containsKey(fromID) && accounts.containsKey(toID);
-        if (containsAccounts) {
-            Account fromAccount = accounts.get(fromID);
-            Account toAccount = accounts.get(toID);
-            Transaction t = new TransferTransaction(fromAccount, toAccount, amount, date, accountsCurrencyExchange);
-            return t.execute();
+        return transfer(fromID, toID, amount, date, -1);
+    }
+
+    /**
+     * Transfer an amount between two accounts contained in this AccountManager, crediting a given amount to the
+     * receiving account. Used to replay a transfer at the exchange rate it was first made at.
+     *
+     * @param fromID   The ID of the account from which to transfer.
+     * @param toID     The ID of the account receiving the transfer.
+     * @param amount   The amount to transfer.
+     * @param date     The date of the transfer.
+     * @param credited The amount to credit in cents of the receiving account's currency, or -1 to convert the amount
+     *                 at the current exchange rate.
+     * @return true if the transfer was successful, false otherwise.
+     */
+    public boolean transfer(String fromID, String toID, double amount, Date date, long credited) {
+        long start = System.nanoTime();
+        boolean success = false;
+        Account fromAccount = accounts.get(fromID);
+        Account toAccount = accounts.get(toID);
+        if (fromAccount != null && toAccount != null) {
+            TransferTransaction t = new TransferTransaction(fromAccount, toAccount, amount, date,
+                    accountsCurrencyExchange, credited);
+            if (prefetchRate(t)) {
+                lock(fromID, toID);
+                try {
+                    if (executeConverting(t)) {
+                        record(new TransferEntry(fromID, toID, amount, date, t.getCreditedCents()));
+                        success = true;
+                    }
+                } finally {
+                    unlock(fromID, toID);
+                }
+            }
         }
-        return false;
+        TRANSFER_TIME.recordSince(start);
+        if (!success) {
+            FAILED_TRANSFERS.increment();
+        }
+        return success;
     }
 
     /**
@@ -169,21 +561,122 @@ public class AccountManager implements Serializable {
      * @return true if the transfer was successful, false otherwise.
      */
     public boolean transferToUser(String fromID, String toUser, double amount, Date date) {
-        Account toAccount;
+        return transferToUser(fromID, toUser, amount, date, -1);
+    }
+
+    /**
+     * Transfer from an account contained in this AccountManager to the primary chequing account of another user,
+     * crediting a given amount to that account. Used to replay a transfer at the exchange rate it was first made at.
+     *
+     * @param fromID   The ID of the account from which to transfer.
+     * @param toUser   The username of the user receiving the transfer.
+     * @param amount   The amount to transfer.
+     * @param date     The date of the transfer.
+     * @param credited The amount to credit in cents of the receiving account's currency, or -1 to convert the amount
+     *                 at the current exchange rate.
+     * @return true if the transfer was successful, false otherwise.
+     */
+    public boolean transferToUser(String fromID, String toUser, double amount, Date date, long credited) {
+        String toID;
         try {
-            String toID = getPrimaryAccountID(toUser);
-            toAccount = accounts.get(toID);
+            toID = getPrimaryAccountID(toUser);
         } catch (NoSuchElementException e) {
             return false;
         }
-        if (accounts.containsKey(fromID)) {
-            Account fromAccount = accounts.get(fromID);
-            Transaction t = new TransferToUserTransaction(fromAccount, toAccount, amount, date, toUser, accountsCurrencyExchange);
-            return t.execute();
+        Account fromAccount = accounts.get(fromID);
+        Account toAccount = accounts.get(toID);
+        if (fromAccount != null) {
+            TransferToUserTransaction t = new TransferToUserTransaction(fromAccount, toAccount, amount, date, toUser,
+                    accountsCurrencyExchange, credited);
+            if (!prefetchRate(t)) {
+                return false;
+            }
+            lock(fromID, toID);
+            try {
+                if (executeConverting(t)) {
+                    record(new TransferToUserEntry(fromID, toUser, amount, date, t.getCreditedCents()));
+                    return true;
+                }
+            } finally {
+                unlock(fromID, toID);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fetch the exchange rate a transfer converts its amount at, if it is not already in the rate table. Called
+     * before the accounts are locked, so no lock is held while waiting for the exchange rate API.
+     *
+     * @param transfer The transfer.
+     * @return true if the transfer can be converted, false if its exchange rate is unavailable.
+     */
+    private boolean prefetchRate(TransferTransaction transfer) {
+        if (transfer.prefetchRate()) {
+            return true;
         }
+        System.out.println("Warning: the exchange rate for a transfer from " + transfer.getAccountID() + " to "
+                + transfer.getOtherAccountID() + " is unavailable.");
         return false;
     }
 
+    /**
+     * Execute a transfer at the exchange rate in the rate table. Fails if the rate became unusable after it was
+     * prefetched, for example because the currency of an account was set in the meantime.
+     *
+     * @param transfer The transfer to execute.
+     * @return true if the transfer was executed, false otherwise.
+     */
+    private boolean executeConverting(TransferTransaction transfer) {
+        try {
+            return transfer.execute();
+        } catch (IllegalStateException e) {
+            System.out.println("Warning: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Revert a Transaction made on Accounts contained in this AccountManager, holding the locks of every Account it
+     * changes.
+     *
+     * @param transaction The Transaction to revert.
+     * @return true if the Transaction was reverted, false otherwise.
+     */
+    public boolean revert(Transaction transaction) {
+        if (transaction instanceof TransferTransaction && !prefetchRate((TransferTransaction) transaction)) {
+            return false;
+        }
+        String firstID = transaction.getAccountID();
+        String secondID = transaction.getOtherAccountID();
+        lock(firstID, secondID);
+        try {
+            return transaction.revert();
+        } catch (IllegalStateException e) {
+            System.out.println("Warning: " + e.getMessage());
+            return false;
+        } finally {
+            unlock(firstID, secondID);
+        }
+    }
+
+    /**
+     * Run an action which changes the balance of an Account contained in this AccountManager from outside it, such as
+     * a product settling its payments, holding the lock guarding the Account.
+     *
+     * @param accountID The ID of the Account.
+     * @param action    The action to run.
+     * @return the result of the action.
+     */
+    public boolean runLocked(String accountID, BooleanSupplier action) {
+        lock(accountID);
+        try {
+            return action.getAsBoolean();
+        } finally {
+            unlock(accountID);
+        }
+    }
+
     /**
      * Return the toString for the Account with a given ID.
      *
@@ -222,7 +715,7 @@ public class AccountManager implements Serializable {
     public String getAccountsOwnedSummaryString(String username) {
         StringBuilder accountsOwnedSummary = new StringBuilder();
         accountsOwnedSummary.append("Total balance: $");
-        accountsOwnedSummary.append(String.format("%.2f", getTotalBalance(username)));
+        accountsOwnedSummary.append(Money.format(getTotalBalance(username)));
         accountsOwnedSummary.append("\n\nAccounts:");
         for (String accountID : getAccountIDs(username)) {
             accountsOwnedSummary.append("\n");
@@ -235,8 +728,138 @@ public class AccountManager implements Serializable {
      * Call the update method on all Accounts in this AccountManager.
      */
     public void updateAll() {
-        for (Account account : accounts.values()) {
-            account.update();
+        updateAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Call the update method on all Accounts in this AccountManager, splitting the Accounts across a ForkJoinPool.
+     * Each Account is updated independently under its own lock, so the result does not depend on the order in which
+     * the Accounts are updated.
+     *
+     * @param pool The pool in which to update the Accounts.
+     * @return the number of Accounts updated.
+     */
+    public int updateAll(ForkJoinPool pool) {
+        return updateAll(pool, 1, null, null);
+    }
+
+    /**
+     * Call the update method on all Accounts in this AccountManager once for each of a number of months, as a job of
+     * an end-of-day batch. The Accounts are split across a ForkJoinPool as by updateAll, and each Account is updated
+     * for every month at once under its lock.
+     * <p>
+     * The new balance of each Account the update changed is recorded in the Journal together with the job, and each
+     * Account updated is recorded in the batch's progress, so a job which is interrupted or fails is resumed from the
+     * Accounts it had not updated.
+     *
+     * @param pool     The pool in which to update the Accounts.
+     * @param months   The number of times to update each Account.
+     * @param job      The name of the batch job, or null if the update is not part of a batch.
+     * @param progress The progress of the batch, or null if the update is not part of a batch.
+     * @return the number of Accounts updated.
+     */
+    public int updateAll(ForkJoinPool pool, int months, String job, BatchProgress progress) {
+        Account[] snapshot = getAccounts().toArray(new Account[0]);
+        pool.invoke(new UpdateTask(snapshot, 0, snapshot.length, months, job, progress));
+        return snapshot.length;
+    }
+
+    /**
+     * Update an Account for a batch job, unless the job has already updated it.
+     *
+     * @param account  The Account to update.
+     * @param months   The number of times to update the Account.
+     * @param job      The name of the batch job, or null if the update is not part of a batch.
+     * @param progress The progress of the batch, or null if the update is not part of a batch.
+     */
+    private void update(Account account, int months, String job, BatchProgress progress) {
+        String accountID = account.getID();
+        lock(accountID);
+        try {
+            if (progress != null && progress.isUpdated(job, accountID)) {
+                return;
+            }
+            long before = account.getBalanceCents();
+            for (int month = 0; month < months; month++) {
+                account.update();
+            }
+            if (account.getBalanceCents() != before) {
+                record(new AccountUpdatedEntry(job, accountID, account.getBalanceCents()));
+            }
+            if (progress != null) {
+                progress.updated(job, accountID);
+            }
+        } finally {
+            unlock(accountID);
+        }
+    }
+
+    /**
+     * Apply a month-end update recorded in the Journal to an Account, setting its balance and recording it in the
+     * batch's progress.
+     *
+     * @param job       The name of the batch job which updated the Account, or null if it was not part of a batch.
+     * @param accountID The ID of the Account.
+     * @param balance   The balance of the Account after the update, in cents.
+     * @param progress  The progress of the batch.
+     */
+    public void applyUpdate(String job, String accountID, long balance, BatchProgress progress) {
+        Account account = accounts.get(accountID);
+        lock(accountID);
+        try {
+            account.setBalanceCents(balance);
+            if (job != null) {
+                progress.updated(job, accountID);
+            }
+        } finally {
+            unlock(accountID);
+        }
+    }
+
+    /**
+     * A task which updates a range of Accounts, splitting the range in half until it is small enough to update
+     * directly.
+     */
+    private class UpdateTask extends RecursiveAction {
+
+        private final static int THRESHOLD = 64;
+        private final Account[] accounts;
+        private final int start;
+        private final int end;
+        private final int months;
+        private final String job;
+        private final BatchProgress progress;
+
+        /**
+         * Initialize this UpdateTask with a range of Accounts.
+         *
+         * @param accounts The Accounts to update.
+         * @param start    The index of the first Account in the range.
+         * @param end      The index after the last Account in the range.
+         * @param months   The number of times to update each Account.
+         * @param job      The name of the batch job, or null if the update is not part of a batch.
+         * @param progress The progress of the batch, or null if the update is not part of a batch.
+         */
+        UpdateTask(Account[] accounts, int start, int end, int months, String job, BatchProgress progress) {
+            this.accounts = accounts;
+            this.start = start;
+            this.end = end;
+            this.months = months;
+            this.job = job;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    update(accounts[i], months, job, progress);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new UpdateTask(accounts, start, middle, months, job, progress),
+                        new UpdateTask(accounts, middle, end, months, job, progress));
+            }
         }
     }
 
@@ -249,8 +872,45 @@ public class AccountManager implements Serializable {
      */
     public Transaction getTransactionByIndex(String accountID, int transactionNum) {
         Account account = accounts.get(accountID);
-        List<Transaction> transactions = account.getTransactionsList();
-        return transactions.get(transactionNum);
+        lock(accountID);
+        try {
+            return account.getTransactionHistory().get(transactionNum);
+        } finally {
+            unlock(accountID);
+        }
+    }
+
+    /**
+     * Get the position of a Transaction in the history of an Account, counted from the oldest Transaction. Unlike
+     * the index used by getTransactionByIndex, this position does not change when new Transactions are added.
+     *
+     * @param accountID   The ID of the account which recorded the Transaction.
+     * @param transaction The Transaction.
+     * @return the position of the Transaction, or -1 if the Account did not record it.
+     */
+    public int getTransactionPosition(String accountID, Transaction transaction) {
+        lock(accountID);
+        try {
+            return accounts.get(accountID).getTransactionHistory().getPosition(transaction);
+        } finally {
+            unlock(accountID);
+        }
+    }
+
+    /**
+     * Get a Transaction from an Account in this AccountManager at a position counted from the oldest Transaction.
+     *
+     * @param accountID The ID of the account which recorded the Transaction.
+     * @param position  The position of the Transaction.
+     * @return the Transaction.
+     */
+    public Transaction getTransactionByPosition(String accountID, int position) {
+        lock(accountID);
+        try {
+            return accounts.get(accountID).getTransactionHistory().getByPosition(position);
+        } finally {
+            unlock(accountID);
+        }
     }
 
     /**
@@ -262,23 +922,48 @@ public class AccountManager implements Serializable {
      */
     public List<Transaction> getRecentAccountTransactions(String accountID, int numTransactionsToDisplay) {
         Account account = accounts.get(accountID);
-        List<Transaction> transactions = account.getTransactionsList();
-        if (numTransactionsToDisplay >= transactions.size()) {
-            return transactions;
+        lock(accountID);
+        try {
+            return account.getTransactionHistory().getRecent(numTransactionsToDisplay);
+        } finally {
+            unlock(accountID);
         }
-        return transactions.subList(0, numTransactionsToDisplay);
+    }
+
+    /**
+     * Get the balance of an Account in this AccountManager.
+     *
+     * @param accountID The ID of the Account.
+     * @return the balance of the Account, in cents.
+     */
+    public long getBalanceCents(String accountID) {
+        return accounts.get(accountID).getBalanceCents();
+    }
+
+    /**
+     * Check whether a user is in good standing, meaning their accounts are not in debt overall.
+     *
+     * @param username The username of the User.
+     * @return true if the sum of the User's account balances is not negative, false otherwise.
+     */
+    public boolean isInGoodStanding(String username) {
+        return getTotalBalance(username) >= 0;
     }
 
     /**
      * Get the sum of the balances of a given User's accounts.
      *
      * @param username The username of the User.
-     * @return the sum of the User's account balances.
+     * @return the sum of the User's account balances, in cents.
      */
-    private double getTotalBalance(String username) {
-        double sum = 0;
-        for (String accountID : getAccountIDs(username)) {
-            sum += accounts.get(accountID).getBalance();
+    private long getTotalBalance(String username) {
+        long sum = 0;
+        List<String> accountIDs = ownedAccountIDs.get(username);
+        if (accountIDs == null) {
+            return sum;
+        }
+        for (String accountID : accountIDs) {
+            sum += accounts.get(accountID).getBalanceCents();
         }
         return sum;
     }
@@ -291,12 +976,50 @@ public class AccountManager implements Serializable {
      * @return the success or fail of the operation
      */
     public boolean setCurrencyType(String accountID, String currencyCode) {
+        return setCurrencyType(accountID, currencyCode, -1);
+    }
+
+    /**
+     * Sets the currency type of a Foreign Currency Account and its balance in the new type. Used to replay a change of
+     * currency at the exchange rate it was first made at.
+     *
+     * @param accountID    ID of the account
+     * @param currencyCode the new type of currency
+     * @param balance      the balance in the new type of currency in cents, or -1 to convert the original balance at
+     *                     the current exchange rate
+     * @return the success or fail of the operation
+     */
+    public boolean setCurrencyType(String accountID, String currencyCode, long balance) {
         Account account = accounts.get(accountID);
         if (account instanceof ForeignCurrencyAccount) {
-            String originalCurrency = ((ForeignCurrencyAccount) account).getCurrencyCode();
-            double originalBalance = account.getBalance();
-            account.setBalance(accountsCurrencyExchange.getActualConvertedAmount(originalBalance, originalCurrency, currencyCode));
-            return ((ForeignCurrencyAccount) account).setCurrencyCode(currencyCode);
+            // The rate is fetched before locking, so the account is never locked while waiting for the API
+            if (balance < 0 && !accountsCurrencyExchange.prefetchRate(
+                    ((ForeignCurrencyAccount) account).getCurrencyCode(), currencyCode)) {
+                System.out.println("Warning: the exchange rate to " + currencyCode + " is unavailable.");
+                return false;
+            }
+            lock(accountID);
+            try {
+                if (balance >= 0) {
+                    account.setBalanceCents(balance);
+                } else {
+                    String originalCurrency = ((ForeignCurrencyAccount) account).getCurrencyCode();
+                    double originalBalance = account.getBalance();
+                    try {
+                        account.setBalance(accountsCurrencyExchange.getPrefetchedConvertedAmount(originalBalance,
+                                originalCurrency, currencyCode));
+                    } catch (IllegalStateException e) {
+                        System.out.println("Warning: " + e.getMessage());
+                        return false;
+                    }
+                }
+                if (((ForeignCurrencyAccount) account).setCurrencyCode(currencyCode)) {
+                    record(new CurrencySetEntry(accountID, currencyCode, account.getBalanceCents()));
+                    return true;
+                }
+            } finally {
+                unlock(accountID);
+            }
         }
         return false;
     }
@@ -317,7 +1040,18 @@ public class AccountManager implements Serializable {
         return accountsCurrencyExchange;
     }
 
-    public void addUser(String accountID, String username) {
-        accounts.get(accountID).addUser(username);
+    /**
+     * Add an owner to an Account in this AccountManager.
+     *
+     * @param accountID The ID of the account.
+     * @param username  The username of the new owner.
+     */
+    public synchronized void addUser(String accountID, String username) {
+        Account account = accounts.get(accountID);
+        if (!account.ownedBy(username)) {
+            account.addUser(username);
+            indexOwner(account, username);
+        }
+        record(new AuthorizedUserEntry(accountID, username));
     }
 }
@@ -1,5 +1,7 @@
 package ATM.Account;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
@@ -20,6 +22,6 @@ abstract class AssetAccount extends Account {
 
     @Override
     String getBalanceString() {
-        return String.format("%.2f", getBalance());
+        return Money.format(getBalanceCents());
     }
 }
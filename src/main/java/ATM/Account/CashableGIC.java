@@ -1,12 +1,14 @@
 package ATM.Account;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
  * A class representing Cashable GIC program.
  */
 class CashableGIC extends AssetAccount {
-    private final int investment;
+    private final long investment;
     private final double interestRate;
 
     /**
@@ -17,7 +19,7 @@ class CashableGIC extends AssetAccount {
      */
     CashableGIC(String username, Date creationDate) {
         super(username, creationDate, 5000);
-        this.investment = 5000;
+        this.investment = Money.toCents(5000);
         this.interestRate = 0.005;
 
     }
@@ -26,8 +28,8 @@ class CashableGIC extends AssetAccount {
      * Increment account balance with interest only if balance is larger than 5000.
      */
     private void payInterest() {
-        if (getBalance() > 5000) {
-            setBalance(getBalance() + investment * interestRate);
+        if (getBalanceCents() > investment) {
+            setBalanceCents(getBalanceCents() + Money.multiply(investment, interestRate, Money.INTEREST_ROUNDING));
         }
     }
 
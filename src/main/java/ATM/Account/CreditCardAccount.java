@@ -18,7 +18,7 @@ public class CreditCardAccount extends DebtAccount {
     }
 
     @Override
-    public boolean canTransferOut(double amount) {
+    public boolean canTransferOutCents(long amount) {
         return false;
     }
 
@@ -1,5 +1,7 @@
 package ATM.Account;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
@@ -19,9 +21,6 @@ abstract class DebtAccount extends Account {
 
     @Override
     String getBalanceString() {
-        if (getBalance() == 0.0) {
-            return String.format("%.2f", getBalance());
-        }
-        return String.format("%.2f", -getBalance());
+        return Money.format(-getBalanceCents());
     }
 }
@@ -1,5 +1,7 @@
 package ATM.Account;
 
+import ATM.Money;
+
 import java.util.Date;
 
 public class ForeignCurrencyAccount extends Account {
@@ -59,6 +61,15 @@ public class ForeignCurrencyAccount extends Account {
         return false;
     }
 
+    /**
+     * Check whether the currency of this account has been set.
+     *
+     * @return true if the currency has been set, false otherwise.
+     */
+    boolean isCurrencyPermanentlySet() {
+        return currencyPermanentlySet;
+    }
+
     public String getCurrencyCode() {
         return currencyCode;
     }
@@ -70,7 +81,7 @@ public class ForeignCurrencyAccount extends Account {
 
     @Override
     String getBalanceString() {
-        return String.format("%.2f", getBalance());
+        return Money.format(getBalanceCents());
     }
 
 
@@ -1,5 +1,7 @@
 package ATM.Account;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
@@ -21,7 +23,7 @@ class SavingsAccount extends AssetAccount {
      * Increase this SavingsAccount's balance by 0.1%.
      */
     private void compoundInterest() {
-        setBalance(getBalance() * 1.001);
+        setBalanceCents(getBalanceCents() + Money.multiply(getBalanceCents(), 0.001, Money.INTEREST_ROUNDING));
     }
 
     @Override
@@ -0,0 +1,185 @@
+package ATM.Account;
+
+import ATM.Transaction.Transaction;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The transaction history of an Account.
+ * <p>
+ * Transactions are appended to the end of an array in the order they happen, so adding one takes amortized constant
+ * time, and a Transaction never moves once it has been added. Transactions are read newest first by counting back
+ * from the end of the array. Because the array is only ever appended to, a view of the most recent Transactions can be
+ * handed out without copying: it remembers how many Transactions there were when it was created, and is not affected
+ * by Transactions added later.
+ */
+class TransactionHistory implements Serializable {
+
+    private final static int INITIAL_CAPACITY = 8;
+
+    private transient Transaction[] transactions;
+    private transient int size;
+
+    /**
+     * Initialize this TransactionHistory with no transactions.
+     */
+    TransactionHistory() {
+        this.transactions = new Transaction[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add a Transaction as the most recent Transaction.
+     *
+     * @param transaction The Transaction to add.
+     */
+    void add(Transaction transaction) {
+        if (size == transactions.length) {
+            transactions = Arrays.copyOf(transactions, size * 2);
+        }
+        transactions[size++] = transaction;
+    }
+
+    /**
+     * Get the number of Transactions in this TransactionHistory.
+     *
+     * @return the number of Transactions.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get a Transaction by its index counted from the most recent Transaction, which has index 0.
+     *
+     * @param index The index of the Transaction.
+     * @return the Transaction.
+     * @throws IndexOutOfBoundsException if there is no Transaction with the given index.
+     */
+    Transaction get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return transactions[size - 1 - index];
+    }
+
+    /**
+     * Get a Transaction by its position counted from the oldest Transaction, which has position 0.
+     *
+     * @param position The position of the Transaction.
+     * @return the Transaction.
+     * @throws IndexOutOfBoundsException if there is no Transaction at the given position.
+     */
+    Transaction getByPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+        }
+        return transactions[position];
+    }
+
+    /**
+     * Get the position of a Transaction counted from the oldest Transaction.
+     *
+     * @param transaction The Transaction.
+     * @return the position of the Transaction, or -1 if it is not in this TransactionHistory.
+     */
+    int getPosition(Transaction transaction) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (transactions[i] == transaction) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get a view of the most recent Transactions, newest first. The view is not affected by Transactions added later.
+     *
+     * @param count The maximum number of Transactions to include.
+     * @return the most recent Transactions.
+     */
+    List<Transaction> getRecent(int count) {
+        return new RecentView(transactions, size, Math.max(0, Math.min(count, size)));
+    }
+
+    /**
+     * Get a view of every Transaction, newest first. The view is not affected by Transactions added later.
+     *
+     * @return all the Transactions.
+     */
+    List<Transaction> getAll() {
+        return new RecentView(transactions, size, size);
+    }
+
+    /**
+     * Serialize this TransactionHistory, writing only the Transactions and not the unused part of the array.
+     *
+     * @param output The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeObject(ObjectOutputStream output) throws IOException {
+        output.defaultWriteObject();
+        output.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            output.writeObject(transactions[i]);
+        }
+    }
+
+    /**
+     * Deserialize this TransactionHistory.
+     *
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        size = input.readInt();
+        transactions = new Transaction[Math.max(INITIAL_CAPACITY, size)];
+        for (int i = 0; i < size; i++) {
+            transactions[i] = (Transaction) input.readObject();
+        }
+    }
+
+    /**
+     * A read-only view of the most recent Transactions in an array, newest first.
+     */
+    private static class RecentView extends AbstractList<Transaction> implements RandomAccess {
+
+        private final Transaction[] transactions;
+        private final int end;
+        private final int count;
+
+        /**
+         * Initialize this RecentView.
+         *
+         * @param transactions The array of Transactions, oldest first.
+         * @param end          The number of Transactions in the array when this view was created.
+         * @param count        The number of Transactions in this view.
+         */
+        RecentView(Transaction[] transactions, int end, int count) {
+            this.transactions = transactions;
+            this.end = end;
+            this.count = count;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            return transactions[end - 1 - index];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package ATM;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An append-only log of ATM alerts, read by any number of consumers.
+ * <p>
+ * Alerts are only ever appended to the log file. Each consumer has an offset, which is the position in the log file up
+ * to which it has read, so reading the new alerts never changes the log and one consumer reading does not hide the
+ * alerts from another. The offsets are saved in a separate file, with one line per consumer holding its name, its
+ * offset and the time it last read the log, separated by tabs. The file is replaced as a whole, by writing a temporary
+ * file, forcing it to disk and renaming it over the old one, whenever an offset changes.
+ * <p>
+ * Offsets count every byte ever appended to the log, including alerts which have since been removed by compaction. A
+ * compacted log starts with a header line holding the number of bytes removed from it, so compaction only replaces
+ * the log file, in one atomic rename, and never needs to change the offsets. A log without a header has had nothing
+ * removed.
+ * <p>
+ * Compaction only removes alerts which every consumer has read, so a consumer which stops reading would keep every
+ * alert after its offset forever. The offset of a consumer which has not read the log for idleExpiryMillis
+ * milliseconds is therefore forgotten when the log is compacted, and that consumer is treated like one which has never
+ * read it.
+ */
+public class AlertLog {
+
+    private final static String HEADER_PREFIX = "#removed\t";
+    private final static long DEFAULT_IDLE_EXPIRY_MILLIS = TimeUnit.DAYS.toMillis(30);
+
+    private final String fileName;
+    private final String offsetsFileName;
+    private final long idleExpiryMillis;
+    private final Clock clock;
+    private Map<String, ConsumerOffset> offsets;
+
+    /**
+     * Initialize this AlertLog with the name of the log file and the file in which consumer offsets are saved. The
+     * offsets of consumers which have not read the log for 30 days are forgotten when it is compacted.
+     *
+     * @param fileName        The file to which alerts are appended.
+     * @param offsetsFileName The file in which consumer offsets are saved.
+     */
+    public AlertLog(String fileName, String offsetsFileName) {
+        this(fileName, offsetsFileName, DEFAULT_IDLE_EXPIRY_MILLIS, Clock.systemUTC());
+    }
+
+    /**
+     * Initialize this AlertLog with the name of the log file, the file in which consumer offsets are saved, and how
+     * long a consumer may go without reading before its offset is forgotten.
+     *
+     * @param fileName         The file to which alerts are appended.
+     * @param offsetsFileName  The file in which consumer offsets are saved.
+     * @param idleExpiryMillis How long a consumer may go without reading the log before its offset is forgotten.
+     * @param clock            The clock giving the time each consumer reads the log.
+     */
+    public AlertLog(String fileName, String offsetsFileName, long idleExpiryMillis, Clock clock) {
+        this.fileName = fileName;
+        this.offsetsFileName = offsetsFileName;
+        this.idleExpiryMillis = idleExpiryMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Append an alert to the log.
+     *
+     * @param alert The alert to append, without a line separator.
+     */
+    public synchronized void append(String alert) {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(fileName, true), StandardCharsets.UTF_8)) {
+            writer.write(alert);
+            writer.write('\n');
+        } catch (IOException e) {
+            System.out.println("Warning: could not write to the alerts file. " + e);
+        }
+    }
+
+    /**
+     * Read the alerts appended since a consumer last read the log, and move the consumer's offset past them.
+     *
+     * @param consumer The name of the consumer.
+     * @return the new alerts, one per line.
+     * @throws IOException if an I/O error occurs while reading the log or saving the offsets.
+     */
+    public synchronized String readNew(String consumer) throws IOException {
+        loadOffsets();
+        File file = new File(fileName);
+        long offset = offsets.containsKey(consumer) ? offsets.get(consumer).offset : 0;
+        if (!file.exists()) {
+            return "";
+        }
+        byte[] bytes;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            long[] header = readHeader(input);
+            long removed = header[0];
+            long end = removed + input.length() - header[1];
+            if (offset < removed || offset > end) {
+                // The log was replaced by another file, so every alert in it is new.
+                offset = removed;
+            }
+            bytes = new byte[(int) (end - offset)];
+            input.seek(header[1] + offset - removed);
+            input.readFully(bytes);
+        }
+        offsets.put(consumer, new ConsumerOffset(offset + bytes.length, clock.millis()));
+        saveOffsets();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Remove the alerts which every known consumer has read from the start of the log. The remaining alerts are
+     * written after a new header to a temporary file, which is forced to disk and renamed over the log, so a crash
+     * leaves either the old log or the compacted one, and the offsets are right for either. A consumer which has never
+     * read the log keeps no offset, so it will only see the alerts appended after the last compaction. The offsets of
+     * idle consumers are forgotten first.
+     *
+     * @return the number of bytes of alerts removed from the log.
+     * @throws IOException if an I/O error occurs while rewriting the log or saving the offsets.
+     */
+    public synchronized long compact() throws IOException {
+        loadOffsets();
+        expireIdleConsumers();
+        File file = new File(fileName);
+        if (offsets.isEmpty() || !file.exists()) {
+            return 0;
+        }
+        File temporary = new File(fileName + ".tmp");
+        long read;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            long[] header = readHeader(input);
+            long removed = header[0];
+            long length = input.length() - header[1];
+            long offset = Long.MAX_VALUE;
+            for (ConsumerOffset consumerOffset : offsets.values()) {
+                offset = Math.min(offset, Math.max(removed, Math.min(consumerOffset.offset, removed + length)));
+            }
+            read = offset - removed;
+            if (read == 0) {
+                return 0;
+            }
+            try (FileOutputStream output = new FileOutputStream(temporary)) {
+                output.write((HEADER_PREFIX + offset + "\n").getBytes(StandardCharsets.UTF_8));
+                input.getChannel().transferTo(header[1] + read, length - read, output.getChannel());
+                output.getFD().sync();
+            }
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        return read;
+    }
+
+    /**
+     * Forget the offsets of the consumers which have not read the log for idleExpiryMillis milliseconds.
+     *
+     * @throws IOException if an I/O error occurs while saving the offsets.
+     */
+    private void expireIdleConsumers() throws IOException {
+        long now = clock.millis();
+        boolean expired = false;
+        Iterator<Map.Entry<String, ConsumerOffset>> entries = offsets.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, ConsumerOffset> entry = entries.next();
+            if (now - entry.getValue().lastReadMillis >= idleExpiryMillis) {
+                System.out.println("Warning: forgetting the alert offset of " + entry.getKey() + ", who has not read "
+                        + "the alerts recently.");
+                entries.remove();
+                expired = true;
+            }
+        }
+        if (expired) {
+            saveOffsets();
+        }
+    }
+
+    /**
+     * Read the header of the log, if it has one.
+     *
+     * @param input The log file.
+     * @return the number of bytes removed from the log, then the length of the header.
+     * @throws IOException if an I/O error occurs while reading the log.
+     */
+    private long[] readHeader(RandomAccessFile input) throws IOException {
+        byte[] prefix = HEADER_PREFIX.getBytes(StandardCharsets.UTF_8);
+        if (input.length() < prefix.length) {
+            return new long[]{0, 0};
+        }
+        byte[] bytes = new byte[prefix.length];
+        input.seek(0);
+        input.readFully(bytes);
+        if (!Arrays.equals(bytes, prefix)) {
+            return new long[]{0, 0};
+        }
+        long removed = 0;
+        int next = input.read();
+        while (next >= '0' && next <= '9') {
+            removed = removed * 10 + (next - '0');
+            next = input.read();
+        }
+        return new long[]{removed, input.getFilePointer()};
+    }
+
+    /**
+     * Load the consumer offsets from the offsets file, the first time they are needed. A consumer saved without the
+     * time it last read the log is treated as having read it now.
+     *
+     * @throws IOException if an I/O error occurs while reading the offsets file.
+     */
+    private void loadOffsets() throws IOException {
+        if (offsets != null) {
+            return;
+        }
+        offsets = new LinkedHashMap<>();
+        File file = new File(offsetsFileName);
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String[] fields = line.split("\t");
+                if (fields.length == 2 || fields.length == 3) {
+                    try {
+                        long lastReadMillis = fields.length == 3 ? Long.parseLong(fields[2]) : clock.millis();
+                        offsets.put(fields[0], new ConsumerOffset(Long.parseLong(fields[1]), lastReadMillis));
+                    } catch (NumberFormatException e) {
+                        System.out.println("Warning: ignoring an invalid alert offset. " + e);
+                    }
+                }
+                line = reader.readLine();
+            }
+        }
+    }
+
+    /**
+     * Replace the offsets file with the current consumer offsets. They are written to a temporary file, which is
+     * forced to disk and renamed over the offsets file, so a crash leaves either the old offsets or the new ones.
+     *
+     * @throws IOException if an I/O error occurs while writing the offsets file.
+     */
+    private void saveOffsets() throws IOException {
+        File file = new File(offsetsFileName);
+        File temporary = new File(offsetsFileName + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temporary)) {
+            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+            for (Map.Entry<String, ConsumerOffset> entry : offsets.entrySet()) {
+                ConsumerOffset consumerOffset = entry.getValue();
+                writer.write(entry.getKey() + "\t" + consumerOffset.offset + "\t" + consumerOffset.lastReadMillis
+                        + "\n");
+            }
+            writer.flush();
+            output.getFD().sync();
+        }
+        Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * The offset of a consumer, and the time it last read the log.
+     */
+    private static class ConsumerOffset {
+
+        private final long offset;
+        private final long lastReadMillis;
+
+        /**
+         * Initialize this ConsumerOffset.
+         *
+         * @param offset         The position in the log up to which the consumer has read.
+         * @param lastReadMillis The time the consumer last read the log, in milliseconds since the epoch.
+         */
+        ConsumerOffset(long offset, long lastReadMillis) {
+            this.offset = offset;
+            this.lastReadMillis = lastReadMillis;
+        }
+    }
+}
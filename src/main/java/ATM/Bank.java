@@ -1,48 +1,82 @@
 package ATM;
 
 import ATM.Account.AccountManager;
+import ATM.Batch.BatchProgress;
 import ATM.FinanceProduct.ProductManager;
+import ATM.Journal.Journal;
 import ATM.Request.RequestManager;
 import ATM.User.UserManager;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
- * Represents a Bank, including its customers, employees, and ATM.
+ * Represents a Bank, including its customers, employees, and ATM terminals.
  */
 public class Bank implements Serializable {
 
-    private static final long serialVersionUID = 4L;
+    private static final long serialVersionUID = 5L;
 
-    private final ATM atm;
+    private final ATMFleet fleet;
     private final AccountManager accountManager;
     private final ProductManager productManager;
     private final UserManager userManager;
     private final RequestManager requestManager;
     private final BankTimeManager bankTimeManager;
+    private BatchProgress batchProgress;
+    private long journalSequence;
 
     /**
-     * Initialize this Bank with an ATM.
+     * Initialize this Bank with an ATM, which is the first terminal in its fleet.
      *
-     * @param atm this Bank's ATM.
+     * @param atm this Bank's first ATM.
      */
     public Bank(ATM atm, AccountManager accountManager, ProductManager productManager, UserManager userManager,
                 RequestManager requestManager, BankTimeManager bankTimeManager) {
-        this.atm = atm;
+        this.fleet = new ATMFleet();
+        fleet.addTerminal(atm);
         this.accountManager = accountManager;
         this.productManager = productManager;
         this.userManager = userManager;
         this.requestManager = requestManager;
         this.bankTimeManager = bankTimeManager;
+        this.batchProgress = new BatchProgress();
+        productManager.setAccountManager(accountManager);
     }
 
     /**
-     * Get this Bank's ATM.
+     * Deserialize this Bank, giving it an empty BatchProgress if it was saved before batches were tracked, and give its
+     * ProductManager its AccountManager again.
      *
-     * @return this Bank's ATM.
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        productManager.setAccountManager(accountManager);
+        if (batchProgress == null) {
+            batchProgress = new BatchProgress();
+        }
+    }
+
+    /**
+     * Get this Bank's default ATM terminal.
+     *
+     * @return this Bank's default ATM.
      */
     public ATM getATM() {
-        return atm;
+        return fleet.getDefaultTerminal();
+    }
+
+    /**
+     * Get the registry of this Bank's ATM terminals.
+     *
+     * @return this Bank's ATMFleet.
+     */
+    public ATMFleet getFleet() {
+        return fleet;
     }
 
     public UserManager getUserManager() {
@@ -64,4 +98,46 @@ public class Bank implements Serializable {
     public BankTimeManager getBankTimeManager() {
         return bankTimeManager;
     }
+
+    /**
+     * Get the progress of this Bank's end-of-day batches.
+     *
+     * @return this Bank's BatchProgress.
+     */
+    public BatchProgress getBatchProgress() {
+        return batchProgress;
+    }
+
+    /**
+     * Get the sequence number of the last journal entry included in this Bank's saved state.
+     *
+     * @return the sequence number of the last journal entry.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * Set the sequence number of the last journal entry included in this Bank's saved state.
+     *
+     * @param journalSequence the sequence number of the last journal entry.
+     */
+    void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    /**
+     * Record all further changes to this Bank in a Journal.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    void setJournal(Journal journal) {
+        fleet.setJournal(journal);
+        accountManager.setJournal(journal);
+        productManager.setJournal(journal);
+        userManager.setJournal(journal);
+        requestManager.setJournal(journal);
+        bankTimeManager.setJournal(journal);
+        batchProgress.setJournal(journal);
+    }
 }
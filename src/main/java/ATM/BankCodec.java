@@ -0,0 +1,221 @@
+package ATM;
+
+import ATM.Account.Account;
+import ATM.Account.AccountCodec;
+import ATM.Batch.BatchProgress;
+import ATM.FinanceProduct.ProductCodec;
+import ATM.Journal.ReplayContext;
+import ATM.Metrics.LatencyHistogram;
+import ATM.Metrics.MetricsRegistry;
+import ATM.Request.RequestCodec;
+import ATM.Transaction.Transaction;
+import ATM.User.UserCodec;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * A utility class used to save and load the state of a Bank in a compact, versioned binary format.
+ * <p>
+ * Only the data needed to rebuild the Bank is written: no class descriptors, no field names, and no objects which can
+ * be reconstructed from the rest of the Bank, such as roles, privileges and the ATM's calculator. The file starts with
+ * a magic number and a format version, and files of any other version are rejected instead of misread. Banks saved by
+ * the versions of the program which serialized the whole Bank object are read by the LegacyBankReader instead.
+ */
+class BankCodec {
+
+    final static int MAGIC = 0x42414E4B;
+    final static int VERSION = 8;
+    private final static LatencyHistogram SAVE_TIME = MetricsRegistry.DEFAULT.histogram("Bank snapshot save");
+
+    /**
+     * Write the state of a Bank to a given file.
+     * <p>
+     * The state is written to a temporary file beside it and forced to disk, then renamed over the file, so a crash
+     * while saving leaves either the previous save or the new one, never a partly written file.
+     *
+     * @param bank     The Bank to write.
+     * @param filename The file to write to.
+     * @throws IOException if an I/O exception occurs while writing to the file.
+     */
+    void write(Bank bank, String filename) throws IOException {
+        long start = System.nanoTime();
+        Path target = Paths.get(filename).toAbsolutePath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        FileOutputStream outputFile = new FileOutputStream(temporary.toFile());
+        try {
+            BufferedOutputStream output = new BufferedOutputStream(outputFile);
+            write(bank, output);
+            output.flush();
+            outputFile.getFD().sync();
+        } finally {
+            outputFile.close();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(target.getParent());
+        SAVE_TIME.recordSince(start);
+    }
+
+    /**
+     * Force a renamed directory entry to disk, on platforms which allow a directory to be opened for syncing.
+     *
+     * @param directory The directory.
+     */
+    private void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Write the state of a Bank to a stream.
+     *
+     * @param bank   The Bank to write.
+     * @param stream The stream to write to.
+     * @throws IOException if an I/O exception occurs while writing to the stream.
+     */
+    void write(Bank bank, OutputStream stream) throws IOException {
+        CodecOutput output = new CodecOutput(stream);
+        output.writeInt(MAGIC);
+        output.writeVarInt(VERSION);
+        output.writeLong(bank.getJournalSequence());
+        output.writeDate(bank.getBankTimeManager().getDate());
+        writeBatchProgress(bank.getBatchProgress(), output);
+
+        List<ATM> terminals = bank.getFleet().getTerminals();
+        output.writeVarInt(terminals.size());
+        for (ATM atm : terminals) {
+            output.writeString(atm.getTerminalID());
+            output.writeInt(atm.getFives());
+            output.writeInt(atm.getTens());
+            output.writeInt(atm.getTwenties());
+            output.writeInt(atm.getFifties());
+        }
+
+        Map<Transaction, Integer> transactionIndices = new IdentityHashMap<>();
+        AccountCodec.write(bank.getAccountManager(), output, transactionIndices);
+        ProductCodec.write(bank.getProductManager(), output);
+        UserCodec.write(bank.getUserManager(), output);
+        RequestCodec.write(bank.getRequestManager(), output, transactionIndices);
+        output.flush();
+    }
+
+    /**
+     * Read the state of a Bank from a given file into the empty Bank of a ReplayContext.
+     *
+     * @param filename The file to read from.
+     * @param context  The empty Bank to fill, and the factories used to rebuild its users and requests.
+     * @throws IOException if an I/O error occurs, or the file is not a Bank written in a supported version.
+     */
+    void read(String filename, ReplayContext context) throws IOException {
+        FileInputStream inputFile = new FileInputStream(filename);
+        try {
+            read(new BufferedInputStream(inputFile), context);
+        } finally {
+            inputFile.close();
+        }
+    }
+
+    /**
+     * Read the state of a Bank from a stream into the empty Bank of a ReplayContext.
+     *
+     * @param stream  The stream to read from.
+     * @param context The empty Bank to fill, and the factories used to rebuild its users and requests.
+     * @throws IOException if an I/O error occurs, or the stream is not a Bank written in a supported version.
+     */
+    void read(InputStream stream, ReplayContext context) throws IOException {
+        CodecInput input = new CodecInput(stream);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a saved Bank.");
+        }
+        int version = input.readVarInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported saved Bank version " + version + ".");
+        }
+
+        Bank bank = context.getBank();
+        bank.setJournalSequence(input.readLong());
+        bank.getBankTimeManager().setDate(input.readDate());
+        readBatchProgress(bank.getBatchProgress(), input);
+
+        int terminalCount = input.readVarInt();
+        for (int i = 0; i < terminalCount; i++) {
+            ATM terminal = bank.getFleet().getTerminal(input.readString());
+            terminal.add(5, input.readInt());
+            terminal.add(10, input.readInt());
+            terminal.add(20, input.readInt());
+            terminal.add(50, input.readInt());
+            terminal.restoreRestockAlerts();
+        }
+        ATM atm = bank.getATM();
+
+        Map<String, Account> accounts = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        AccountCodec.read(input, bank.getAccountManager(), atm, accounts, transactions);
+        ProductCodec.read(input, bank.getProductManager(), accounts);
+        UserCodec.read(input, bank.getUserManager(), context.getUserFactory());
+        RequestCodec.read(input, bank.getRequestManager(), context.getAccountFactory(), context.getProductsFactory(),
+                transactions);
+    }
+
+    /**
+     * Write the progress of a Bank's end-of-day batches.
+     *
+     * @param progress The progress to write.
+     * @param output   The output to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeBatchProgress(BatchProgress progress, CodecOutput output) throws IOException {
+        LocalDate closedDay = progress.getClosedDay();
+        output.writeBoolean(closedDay != null);
+        if (closedDay != null) {
+            output.writeLong(closedDay.toEpochDay());
+        }
+        List<String> completedJobs = progress.getCompletedJobs();
+        output.writeVarInt(completedJobs.size());
+        for (String name : completedJobs) {
+            output.writeString(name);
+        }
+        Map<String, List<String>> updatedAccounts = progress.getUpdatedAccounts();
+        output.writeVarInt(updatedAccounts.size());
+        for (Map.Entry<String, List<String>> job : updatedAccounts.entrySet()) {
+            output.writeString(job.getKey());
+            output.writeVarInt(job.getValue().size());
+            for (String accountID : job.getValue()) {
+                output.writeString(accountID);
+            }
+        }
+    }
+
+    /**
+     * Read the progress of a Bank's end-of-day batches.
+     *
+     * @param progress The progress to restore.
+     * @param input    The input to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void readBatchProgress(BatchProgress progress, CodecInput input) throws IOException {
+        LocalDate closedDay = input.readBoolean() ? LocalDate.ofEpochDay(input.readLong()) : null;
+        int count = input.readVarInt();
+        List<String> completedJobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            completedJobs.add(input.readString());
+        }
+        Map<String, List<String>> updatedAccounts = new LinkedHashMap<>();
+        int jobCount = input.readVarInt();
+        for (int i = 0; i < jobCount; i++) {
+            String name = input.readString();
+            int accountCount = input.readVarInt();
+            List<String> accountIDs = new ArrayList<>(accountCount);
+            for (int j = 0; j < accountCount; j++) {
+                accountIDs.add(input.readString());
+            }
+            updatedAccounts.put(name, accountIDs);
+        }
+        progress.restore(closedDay, completedJobs, updatedAccounts);
+    }
+}
@@ -1,16 +1,73 @@
 package ATM;
 
+import ATM.Journal.DateSetEntry;
+import ATM.Journal.Journal;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * The clock of a Bank. The bank keeps its own day, which is set by an employee and moves forward as the clock passes
+ * midnight, while the time of day follows a Clock, the system clock unless another is set.
+ * <p>
+ * The day is held as an immutable LocalDate, so it can be read from any session without locking. The difference
+ * between the start of the bank's day and the start of the clock's day is worked out once per day of the clock and
+ * cached, so reading the current time only adds the cached offset to the clock's time, and creates no objects. The
+ * offset is a whole number of days, so on a day when daylight saving time changes, times of day may be off by the
+ * shift.
+ * <p>
+ * Once the date has been set, the day of the bank rolls over with the clock: when the clock passes midnight, the day
+ * of the bank moves forward by the same number of days, and the new date is recorded in the Journal as if it had been
+ * set. DayListeners are told whenever the day moves forward, whether it rolled over, was set to a later day, or was
+ * moved forward when the program shut down.
+ */
 public class BankTimeManager implements Serializable {
 
-    private final SimpleDateFormat dayFormat = new SimpleDateFormat("yyyy MM dd");
-    private final SimpleDateFormat hourMinuteFormat = new SimpleDateFormat("HH:mm");
-    private final SimpleDateFormat customDates = new SimpleDateFormat("yyyy MM dd HH:mm");
-    private Date bankDate;
+    private final static long MILLIS_PER_MINUTE = 60 * 1000;
+
+    private volatile LocalDate bankDay;
+    private transient volatile Clock clock = Clock.systemDefaultZone();
+    private transient volatile DayOffset offset;
+    private transient volatile boolean warnedUnset;
+    private transient Journal journal;
+    private transient CopyOnWriteArrayList<DayListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Set the Journal used to record changes to the date of this Bank.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Add a listener to be told whenever the day of this Bank moves forward.
+     *
+     * @param listener The listener.
+     */
+    public void addDayListener(DayListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Set the clock which gives the time of day of this Bank, and the day until the date of this bank is set. Tests
+     * use a fixed or offset clock to control the time.
+     *
+     * @param clock The clock.
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+        offset = null;
+    }
 
     /**
      * Set ths date of this Bank.
@@ -18,16 +75,46 @@ public class BankTimeManager implements Serializable {
      * @param date The date to set.
      */
     public void setDate(Date date) {
-        bankDate = date;
+        LocalDate previous = bankDay;
+        bankDay = date == null ? null : Instant.ofEpochMilli(date.getTime()).atZone(clock.getZone()).toLocalDate();
+        if (journal != null) {
+            journal.append(new DateSetEntry(date));
+        }
+        if (previous != null && bankDay != null && bankDay.isAfter(previous)) {
+            notifyListeners(previous, bankDay);
+        }
+    }
+
+    /**
+     * Set the date of this Bank from a year, month and day.
+     *
+     * @param year  The year.
+     * @param month The month, from 1 to 12.
+     * @param day   The day of the month.
+     * @throws java.time.DateTimeException if the year, month and day are not a valid date.
+     */
+    public void setDate(int year, int month, int day) {
+        setDate(toDate(LocalDate.of(year, month, day)));
     }
 
     /**
-     * Gets the desired format of dates of this bank
+     * Get the date of this Bank as it was last set, which may be null.
      *
-     * @return SimpleDateFormat object
+     * @return the start of the day of this Bank, or null if it has not been set.
      */
-    public SimpleDateFormat getDateFormat() {
-        return dayFormat;
+    Date getDate() {
+        LocalDate day = bankDay;
+        return day == null ? null : toDate(day);
+    }
+
+    /**
+     * Get the day of this Bank, or the day of the clock if the date has not been set.
+     *
+     * @return the current day.
+     */
+    public LocalDate getDay() {
+        LocalDate day = bankDay;
+        return day == null ? LocalDate.now(clock) : day;
     }
 
     /**
@@ -36,28 +123,90 @@ public class BankTimeManager implements Serializable {
      * @return the current date and time.
      */
     public Date getCurrentTime() {
-        Date currentTime = new Date();
-        try {
-            String currentDay = dayFormat.format(bankDate);
-            String currentHrMin = hourMinuteFormat.format(new Date());
-            currentTime = customDates.parse(currentDay + " " + currentHrMin);
-        } catch (Exception e) {
+        return new Date(now());
+    }
+
+    /**
+     * Get the current date and time of this bank, to the minute: the day of this bank at the time of day of the clock.
+     *
+     * @return the current time, in milliseconds since the epoch.
+     */
+    public long now() {
+        Clock clock = this.clock;
+        long millis = clock.millis();
+        DayOffset current = offset;
+        if (current == null || !current.covers(millis, bankDay, clock)) {
+            current = computeOffset(millis, clock);
+            offset = current;
+        }
+        long time = millis + current.offsetMillis;
+        return time - Math.floorMod(time, MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * Work out the offset between the day of this bank and the day of the clock, first rolling the day of this bank
+     * over if the clock has passed midnight since the offset was last worked out, and recording the new date.
+     *
+     * @param millis The time of the clock.
+     * @param clock  The clock.
+     * @return the offset, valid until the clock reaches the next day or the date of this bank changes.
+     */
+    private synchronized DayOffset computeOffset(long millis, Clock clock) {
+        DayOffset previous = offset;
+        if (previous != null && previous.covers(millis, bankDay, clock)) {
+            return previous;
+        }
+        ZoneId zone = clock.getZone();
+        LocalDate clockDay = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        LocalDate day = bankDay;
+        if (previous != null && previous.clock == clock && previous.bankDay != null && previous.bankDay == day
+                && clockDay.isAfter(previous.clockDay)) {
+            day = day.plusDays(ChronoUnit.DAYS.between(previous.clockDay, clockDay));
+            bankDay = day;
+            if (journal != null) {
+                journal.append(new DateSetEntry(toDate(day)));
+            }
+            notifyListeners(previous.bankDay, day);
+        }
+        if (day == null && !warnedUnset) {
+            warnedUnset = true;
             System.out.println("Warning: The date has not been set. The system date has been used instead.");
         }
-        return currentTime;
+        long clockDayStart = clockDay.atStartOfDay(zone).toInstant().toEpochMilli();
+        long clockDayEnd = clockDay.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long bankDayStart = day == null ? clockDayStart : day.atStartOfDay(zone).toInstant().toEpochMilli();
+        return new DayOffset(day, clock, clockDay, clockDayStart, clockDayEnd, bankDayStart - clockDayStart);
+    }
+
+    /**
+     * Convert a day to the Date at its start, in the zone of the clock.
+     *
+     * @param day The day.
+     * @return the start of the day.
+     */
+    private Date toDate(LocalDate day) {
+        return new Date(day.atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
     }
 
     /**
      * Increment the date of this bank by 1 day.
      */
     void updateDate() {
-        if (bankDate == null) {
-            bankDate = new Date();
+        LocalDate previous = getDay();
+        bankDay = previous.plusDays(1);
+        notifyListeners(previous, bankDay);
+    }
+
+    /**
+     * Tell every listener that the day of this bank has moved forward.
+     *
+     * @param from The previous day.
+     * @param to   The new day.
+     */
+    private void notifyListeners(LocalDate from, LocalDate to) {
+        for (DayListener listener : listeners) {
+            listener.dayChanged(from, to);
         }
-        Calendar c = Calendar.getInstance();
-        c.setTime(bankDate);
-        c.add(Calendar.DATE, 1);
-        bankDate = c.getTime();
     }
 
     /**
@@ -66,8 +215,57 @@ public class BankTimeManager implements Serializable {
      * @return true if it is the first day of the month, false otherwise.
      */
     boolean isStartOfMonth() {
-        Calendar c = Calendar.getInstance();
-        c.setTime(getCurrentTime());
-        return c.get(Calendar.DAY_OF_MONTH) == 1;
+        return getDay().getDayOfMonth() == 1;
+    }
+
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        clock = Clock.systemDefaultZone();
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * The offset from the day of the clock to the day of the bank, for one day of the clock.
+     */
+    private static class DayOffset {
+
+        private final LocalDate bankDay;
+        private final Clock clock;
+        private final LocalDate clockDay;
+        private final long clockDayStart;
+        private final long clockDayEnd;
+        private final long offsetMillis;
+
+        /**
+         * Initialize this DayOffset.
+         *
+         * @param bankDay       The day of the bank it was worked out for, or null if the date was not set.
+         * @param clock         The clock it was worked out for.
+         * @param clockDay      The day of the clock it was worked out for.
+         * @param clockDayStart The start of the day of the clock, in milliseconds since the epoch.
+         * @param clockDayEnd   The start of the next day of the clock, in milliseconds since the epoch.
+         * @param offsetMillis  The milliseconds to add to the time of the clock to get the time of the bank.
+         */
+        DayOffset(LocalDate bankDay, Clock clock, LocalDate clockDay, long clockDayStart, long clockDayEnd,
+                  long offsetMillis) {
+            this.bankDay = bankDay;
+            this.clock = clock;
+            this.clockDay = clockDay;
+            this.clockDayStart = clockDayStart;
+            this.clockDayEnd = clockDayEnd;
+            this.offsetMillis = offsetMillis;
+        }
+
+        /**
+         * Check whether this offset still applies.
+         *
+         * @param millis  The time of the clock.
+         * @param bankDay The current day of the bank.
+         * @param clock   The current clock.
+         * @return true if this offset was worked out for the same day of the bank, clock and day of the clock.
+         */
+        boolean covers(long millis, LocalDate bankDay, Clock clock) {
+            return this.bankDay == bankDay && this.clock == clock && millis >= clockDayStart && millis < clockDayEnd;
+        }
     }
 }
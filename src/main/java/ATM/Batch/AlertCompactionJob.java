@@ -0,0 +1,36 @@
+package ATM.Batch;
+
+import ATM.ATM;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An end-of-day job which removes the alerts every consumer has read from the alert logs of the ATM terminals.
+ */
+public class AlertCompactionJob implements BatchJob {
+
+    public final static String NAME = "Alert compaction";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Compact the alert log of every terminal.
+     *
+     * @param run The batch being run.
+     * @throws UncheckedIOException if an alert log could not be compacted.
+     */
+    @Override
+    public void run(BatchRun run) {
+        for (ATM atm : run.getBank().getFleet().getTerminals()) {
+            try {
+                atm.getAlertLog().compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ATM.Batch;
+
+/**
+ * A job run by a BatchScheduler at the end of each day or month.
+ */
+public interface BatchJob {
+
+    /**
+     * Get the name of this job, which identifies it to the jobs which depend on it and in the saved progress of a
+     * batch.
+     *
+     * @return the name of this job.
+     */
+    String getName();
+
+    /**
+     * Run this job for a batch. A job may throw a RuntimeException if it fails, in which case the jobs which depend on
+     * it are not run and the batch is retried from this job the next time the scheduler runs.
+     *
+     * @param run The batch being run.
+     */
+    void run(BatchRun run);
+}
@@ -0,0 +1,157 @@
+package ATM.Batch;
+
+import ATM.Journal.BatchClosedEntry;
+import ATM.Journal.BatchJobCompletedEntry;
+import ATM.Journal.Journal;
+import ATM.Journal.JournalEntry;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The progress of a Bank's end-of-day batches: the last day closed by a batch which finished, the jobs of the current
+ * batch which have already been run, and the accounts which the jobs still running have already updated. It is saved
+ * with the Bank, and jobs finishing and batches closing are recorded in its Journal, so a batch which was interrupted
+ * or had a job fail is resumed from the jobs, and the accounts, which had not been done.
+ * <p>
+ * An account being updated is not recorded here but by the manager which updated it, in the same entry as the
+ * account's new balance, so the update and its progress are always replayed together.
+ */
+public class BatchProgress implements Serializable {
+
+    private LocalDate closedDay;
+    private final Set<String> completedJobs = new LinkedHashSet<>();
+    private final Map<String, Set<String>> updatedAccounts = new LinkedHashMap<>();
+    private transient Journal journal;
+
+    /**
+     * Set the Journal used to record jobs finishing and batches closing.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Record an entry in this BatchProgress's Journal, if it has one.
+     *
+     * @param entry The entry to record.
+     */
+    private void record(JournalEntry entry) {
+        if (journal != null) {
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Get the last day closed by a batch which finished.
+     *
+     * @return the last closed day, or null if no batch has been run.
+     */
+    public synchronized LocalDate getClosedDay() {
+        return closedDay;
+    }
+
+    /**
+     * Get the names of the jobs of the current batch which have been run.
+     *
+     * @return the names of the completed jobs, in the order they finished.
+     */
+    public synchronized List<String> getCompletedJobs() {
+        return new ArrayList<>(completedJobs);
+    }
+
+    /**
+     * Get the accounts already updated by each job of the current batch which has not finished.
+     *
+     * @return the IDs of the updated accounts, by the name of the job which updated them.
+     */
+    public synchronized Map<String, List<String>> getUpdatedAccounts() {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> job : updatedAccounts.entrySet()) {
+            copy.put(job.getKey(), new ArrayList<>(job.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Check whether a job of the current batch has been run.
+     *
+     * @param name The name of the job.
+     * @return true if the job has been run, false otherwise.
+     */
+    synchronized boolean isCompleted(String name) {
+        return completedJobs.contains(name);
+    }
+
+    /**
+     * Check whether a job of the current batch has already updated an account.
+     *
+     * @param name      The name of the job.
+     * @param accountID The ID of the account.
+     * @return true if the job has updated the account, false otherwise.
+     */
+    public synchronized boolean isUpdated(String name, String accountID) {
+        Set<String> accountIDs = updatedAccounts.get(name);
+        return accountIDs != null && accountIDs.contains(accountID);
+    }
+
+    /**
+     * Record that a job of the current batch has updated an account. This is not recorded in the Journal; the
+     * entry recording the update records it.
+     *
+     * @param name      The name of the job.
+     * @param accountID The ID of the account.
+     */
+    public synchronized void updated(String name, String accountID) {
+        Set<String> accountIDs = updatedAccounts.get(name);
+        if (accountIDs == null) {
+            accountIDs = new LinkedHashSet<>();
+            updatedAccounts.put(name, accountIDs);
+        }
+        accountIDs.add(accountID);
+    }
+
+    /**
+     * Record a job of the current batch as run.
+     *
+     * @param name The name of the job.
+     */
+    public synchronized void complete(String name) {
+        completedJobs.add(name);
+        updatedAccounts.remove(name);
+        record(new BatchJobCompletedEntry(name));
+    }
+
+    /**
+     * Record the current batch as finished, closing every day up to a given day.
+     *
+     * @param day The day the batch closed.
+     */
+    public synchronized void close(LocalDate day) {
+        closedDay = day;
+        completedJobs.clear();
+        updatedAccounts.clear();
+        record(new BatchClosedEntry(day));
+    }
+
+    /**
+     * Restore this BatchProgress as it was saved.
+     *
+     * @param closedDay       The last closed day, or null if no batch has been run.
+     * @param completedJobs   The names of the jobs of the current batch which had been run.
+     * @param updatedAccounts The IDs of the accounts already updated by each job which had not finished.
+     */
+    public synchronized void restore(LocalDate closedDay, List<String> completedJobs,
+                                     Map<String, List<String>> updatedAccounts) {
+        this.closedDay = closedDay;
+        this.completedJobs.clear();
+        this.completedJobs.addAll(completedJobs);
+        this.updatedAccounts.clear();
+        for (Map.Entry<String, List<String>> job : updatedAccounts.entrySet()) {
+            this.updatedAccounts.put(job.getKey(), new LinkedHashSet<>(job.getValue()));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ATM.Batch;
+
+import ATM.Bank;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The days closed by one batch of a BatchScheduler, and the Bank and pool its jobs run against.
+ */
+public class BatchRun {
+
+    private final Bank bank;
+    private final ForkJoinPool pool;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Initialize this BatchRun.
+     *
+     * @param bank The Bank the jobs run against.
+     * @param pool The pool in which the jobs may split their work.
+     * @param from The last day closed by the previous batch.
+     * @param to   The day the Bank has moved forward to.
+     */
+    BatchRun(Bank bank, ForkJoinPool pool, LocalDate from, LocalDate to) {
+        this.bank = bank;
+        this.pool = pool;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Get the number of days closed by this batch.
+     *
+     * @return the number of days from the previous batch to the current day.
+     */
+    public int getDays() {
+        return (int) ChronoUnit.DAYS.between(from, to);
+    }
+
+    /**
+     * Get the number of months closed by this batch.
+     *
+     * @return the number of firsts of the month after the previous batch, up to and including the current day.
+     */
+    public int getMonths() {
+        return (to.getYear() - from.getYear()) * 12 + to.getMonthValue() - from.getMonthValue();
+    }
+}
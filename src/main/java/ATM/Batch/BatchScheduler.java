@@ -0,0 +1,358 @@
+package ATM.Batch;
+
+import ATM.Bank;
+import ATM.DayListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a Bank's end-of-day and end-of-month jobs whenever the day of the Bank moves forward.
+ * <p>
+ * Jobs are registered with the names of the jobs they depend on, which must be registered first. When the day moves
+ * forward, a batch closes every day since the last batch: each job starts as soon as the jobs it depends on have
+ * finished, so independent jobs run in parallel in a ForkJoinPool. End-of-month jobs only run when the batch passes
+ * the first of a month, and are told how many months it passed. Batches run one at a time on a thread of their own,
+ * so the session which moved the day forward is not held up.
+ * <p>
+ * Each job which finishes is recorded in the BatchProgress of the Bank, and in its Journal. If a job fails, the jobs
+ * which depend on it are not run and the batch is left open; the next batch, or a call to resume after the Bank is
+ * loaded again, runs only the jobs which had not finished. Month-end jobs also record each account they update, so a
+ * job which failed part way does not update the same account twice.
+ */
+public class BatchScheduler implements DayListener {
+
+    /**
+     * When a job is run.
+     */
+    public enum Schedule {
+        END_OF_DAY, END_OF_MONTH
+    }
+
+    /**
+     * What happened to a job in a batch.
+     */
+    public enum Status {
+        RAN, ALREADY_RAN, NOT_DUE, FAILED, BLOCKED
+    }
+
+    private final Bank bank;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner;
+    private final List<Registration> jobs;
+    private final Map<String, Registration> jobsByName;
+
+    /**
+     * Initialize this BatchScheduler with no jobs, running them in the common ForkJoinPool.
+     *
+     * @param bank The Bank the jobs run against.
+     */
+    public BatchScheduler(Bank bank) {
+        this(bank, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialize this BatchScheduler with no jobs.
+     *
+     * @param bank The Bank the jobs run against.
+     * @param pool The pool in which to run the jobs.
+     */
+    public BatchScheduler(Bank bank, ForkJoinPool pool) {
+        this.bank = bank;
+        this.pool = pool;
+        this.runner = Executors.newSingleThreadExecutor();
+        this.jobs = new ArrayList<>();
+        this.jobsByName = new HashMap<>();
+    }
+
+    /**
+     * Register a job to run in every batch.
+     *
+     * @param job          The job.
+     * @param schedule     When the job is run.
+     * @param dependencies The names of the jobs which must finish before this job starts.
+     * @throws IllegalArgumentException if a job with the same name is registered, or a dependency is not.
+     */
+    public synchronized void register(BatchJob job, Schedule schedule, String... dependencies) {
+        if (jobsByName.containsKey(job.getName())) {
+            throw new IllegalArgumentException("A job named " + job.getName() + " is already registered.");
+        }
+        List<Registration> required = new ArrayList<>();
+        for (String dependency : dependencies) {
+            Registration registration = jobsByName.get(dependency);
+            if (registration == null) {
+                throw new IllegalArgumentException("The job " + dependency + " must be registered before "
+                        + job.getName() + ".");
+            }
+            required.add(registration);
+        }
+        Registration registration = new Registration(job, schedule, required);
+        jobs.add(registration);
+        jobsByName.put(job.getName(), registration);
+    }
+
+    /**
+     * Run a batch on the scheduler's thread when the day of the Bank moves forward.
+     *
+     * @param from The previous day of the Bank.
+     * @param to   The new day of the Bank.
+     */
+    @Override
+    public void dayChanged(LocalDate from, LocalDate to) {
+        resume();
+    }
+
+    /**
+     * Run any batch which is due on the scheduler's thread, such as one left open when the Bank was last saved.
+     */
+    public void resume() {
+        try {
+            runner.execute(() -> {
+                Report report = runPending();
+                if (report != null) {
+                    System.out.println(report);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.out.println("Warning: the batch scheduler has been shut down. " + e);
+        }
+    }
+
+    /**
+     * Run a batch closing every day since the last batch, if the day of the Bank has moved forward since then. The
+     * first time this is called for a Bank, the current day is recorded as closed and nothing is run.
+     *
+     * @return a report of the jobs run, or null if no batch was due.
+     */
+    public synchronized Report runPending() {
+        BatchProgress progress = bank.getBatchProgress();
+        LocalDate today = bank.getBankTimeManager().getDay();
+        LocalDate closedDay = progress.getClosedDay();
+        if (closedDay == null || today.isBefore(closedDay)) {
+            progress.close(today);
+            return null;
+        }
+        if (!today.isAfter(closedDay)) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        BatchRun run = new BatchRun(bank, pool, closedDay, today);
+        Map<Registration, CompletableFuture<JobResult>> results = new HashMap<>();
+        for (Registration registration : jobs) {
+            List<CompletableFuture<JobResult>> dependencies = new ArrayList<>();
+            for (Registration dependency : registration.dependencies) {
+                dependencies.add(results.get(dependency));
+            }
+            results.put(registration, CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignored -> runJob(registration, run, dependencies), pool));
+        }
+
+        List<JobResult> jobResults = new ArrayList<>();
+        boolean finished = true;
+        for (Registration registration : jobs) {
+            JobResult result = results.get(registration).join();
+            jobResults.add(result);
+            finished &= result.succeeded();
+        }
+        if (finished) {
+            progress.close(today);
+        }
+        return new Report(closedDay, today, jobResults, System.nanoTime() - start);
+    }
+
+    /**
+     * Run a job in a batch once the jobs it depends on have finished.
+     *
+     * @param registration The job.
+     * @param run          The batch.
+     * @param dependencies The results of the jobs it depends on, which have all finished.
+     * @return what happened to the job.
+     */
+    private JobResult runJob(Registration registration, BatchRun run,
+                             List<CompletableFuture<JobResult>> dependencies) {
+        String name = registration.job.getName();
+        for (CompletableFuture<JobResult> dependency : dependencies) {
+            if (!dependency.join().succeeded()) {
+                return new JobResult(name, Status.BLOCKED, 0);
+            }
+        }
+        BatchProgress progress = bank.getBatchProgress();
+        if (progress.isCompleted(name)) {
+            return new JobResult(name, Status.ALREADY_RAN, 0);
+        }
+        if (registration.schedule == Schedule.END_OF_MONTH && run.getMonths() == 0) {
+            return new JobResult(name, Status.NOT_DUE, 0);
+        }
+        long start = System.nanoTime();
+        try {
+            registration.job.run(run);
+        } catch (RuntimeException e) {
+            System.out.println("Warning: the batch job " + name + " failed. " + e);
+            return new JobResult(name, Status.FAILED, System.nanoTime() - start);
+        }
+        progress.complete(name);
+        return new JobResult(name, Status.RAN, System.nanoTime() - start);
+    }
+
+    /**
+     * Stop accepting batches, and wait for any batch which is running or waiting to finish.
+     */
+    public void shutdown() {
+        runner.shutdown();
+        try {
+            while (!runner.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("Warning: still waiting for the end-of-day batch to finish.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Warning: stopped waiting for the end-of-day batch to finish. " + e);
+        }
+    }
+
+    /**
+     * A registered job, with when it runs and the jobs it depends on.
+     */
+    private static class Registration {
+
+        private final BatchJob job;
+        private final Schedule schedule;
+        private final List<Registration> dependencies;
+
+        /**
+         * Initialize this Registration.
+         *
+         * @param job          The job.
+         * @param schedule     When the job is run.
+         * @param dependencies The jobs which must finish before this job starts.
+         */
+        Registration(BatchJob job, Schedule schedule, List<Registration> dependencies) {
+            this.job = job;
+            this.schedule = schedule;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * What happened to one job in a batch, and how long it took.
+     */
+    public static class JobResult {
+
+        private final String name;
+        private final Status status;
+        private final long nanos;
+
+        /**
+         * Initialize this JobResult.
+         *
+         * @param name   The name of the job.
+         * @param status What happened to the job.
+         * @param nanos  The time the job took, in nanoseconds.
+         */
+        JobResult(String name, Status status, long nanos) {
+            this.name = name;
+            this.status = status;
+            this.nanos = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Check whether the jobs which depend on this job may run.
+         *
+         * @return true unless the job failed or was blocked.
+         */
+        boolean succeeded() {
+            return status != Status.FAILED && status != Status.BLOCKED;
+        }
+    }
+
+    /**
+     * The result of one batch.
+     */
+    public static class Report {
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final List<JobResult> results;
+        private final long nanos;
+
+        /**
+         * Initialize this Report.
+         *
+         * @param from    The last day closed by the previous batch.
+         * @param to      The day closed by this batch.
+         * @param results What happened to each job, in the order they were registered.
+         * @param nanos   The time taken, in nanoseconds.
+         */
+        Report(LocalDate from, LocalDate to, List<JobResult> results, long nanos) {
+            this.from = from;
+            this.to = to;
+            this.results = results;
+            this.nanos = nanos;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        public List<JobResult> getResults() {
+            return results;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Get what happened to a job.
+         *
+         * @param name The name of the job.
+         * @return the status of the job, or null if it is not part of this batch.
+         */
+        public Status getStatus(String name) {
+            for (JobResult result : results) {
+                if (result.getName().equals(name)) {
+                    return result.getStatus();
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("End-of-day batch from %s to %s in %.3f ms", from, to, nanos / 1e6));
+            for (JobResult result : results) {
+                report.append("\n    ").append(result.getName()).append(": ").append(result.getStatus());
+                if (result.getStatus() == Status.RAN || result.getStatus() == Status.FAILED) {
+                    report.append(String.format(" in %.3f ms", result.getNanos() / 1e6));
+                }
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ATM.Batch;
+
+/**
+ * A month-end job which updates every account once for each month the batch passed, such as to add interest. Each
+ * account's update is journaled with its progress, so the job resumes from the accounts it had not updated.
+ */
+public class InterestAccrualJob implements BatchJob {
+
+    public final static String NAME = "Interest accrual";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run(BatchRun run) {
+        run.getBank().getAccountManager().updateAll(run.getPool(), run.getMonths(), NAME,
+                run.getBank().getBatchProgress());
+    }
+}
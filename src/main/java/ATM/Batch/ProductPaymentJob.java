@@ -0,0 +1,22 @@
+package ATM.Batch;
+
+/**
+ * A month-end job which catches every product up by the months the batch passed, making or skipping its payments.
+ * The products of each associated account are journaled with its progress, so the job resumes from the accounts
+ * whose products it had not caught up.
+ */
+public class ProductPaymentJob implements BatchJob {
+
+    public final static String NAME = "Product payments";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void run(BatchRun run) {
+        run.getBank().getProductManager().catchUpAll(run.getMonths(), run.getPool(), NAME,
+                run.getBank().getBatchProgress());
+    }
+}
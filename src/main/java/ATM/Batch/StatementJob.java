@@ -0,0 +1,72 @@
+package ATM.Batch;
+
+import ATM.Account.AccountManager;
+import ATM.FinanceProduct.ProductManager;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+/**
+ * A month-end job which writes a statement of every customer's accounts and products for the month which ended.
+ * <p>
+ * The statements are written to one file per month in a directory, named statements-yyyy-mm.txt after the month they
+ * cover. If the batch passed several months, only the last month gets a statement.
+ */
+public class StatementJob implements BatchJob {
+
+    public final static String NAME = "Statement generation";
+
+    private final String directory;
+
+    /**
+     * Initialize this StatementJob with the directory in which to write statements.
+     *
+     * @param directory The directory, which is created if it does not exist.
+     */
+    public StatementJob(String directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Write the statements for the month before the current day of a batch.
+     *
+     * @param run The batch being run.
+     * @throws UncheckedIOException if the statements could not be written.
+     */
+    @Override
+    public void run(BatchRun run) {
+        AccountManager accountManager = run.getBank().getAccountManager();
+        ProductManager productManager = run.getBank().getProductManager();
+        YearMonth month = YearMonth.from(run.getTo()).minusMonths(1);
+        File file = getStatementFile(month);
+        file.getParentFile().mkdirs();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            for (String username : accountManager.getOwners()) {
+                writer.write("Statement for " + username + " for " + month + "\n");
+                writer.write(accountManager.getAccountsOwnedSummaryString(username));
+                writer.write("\n");
+                writer.write(productManager.getOwnerProductInfo(username));
+                writer.write("\n\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Get the file holding the statements for a month.
+     *
+     * @param month The month.
+     * @return the statements file.
+     */
+    public File getStatementFile(YearMonth month) {
+        return new File(directory, "statements-" + month + ".txt");
+    }
+}
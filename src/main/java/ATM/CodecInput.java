@@ -0,0 +1,99 @@
+package ATM;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A stream used to read the saved state of a Bank written by a CodecOutput.
+ */
+public class CodecInput {
+
+    private final DataInputStream input;
+    private final List<String> dictionary;
+
+    /**
+     * Initialize this CodecInput with an underlying stream.
+     *
+     * @param input The stream to read from.
+     */
+    public CodecInput(InputStream input) {
+        this.input = new DataInputStream(input);
+        this.dictionary = new ArrayList<>();
+    }
+
+    /**
+     * Read a non-negative int written by CodecOutput.writeVarInt.
+     *
+     * @return the value read.
+     * @throws IOException if an I/O error occurs.
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable-length integer");
+            }
+            b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read a String written by CodecOutput.writeString.
+     *
+     * @return the String read, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    public String readString() throws IOException {
+        int code = readVarInt();
+        if (code == 0) {
+            return null;
+        } else if (code == 1) {
+            String value = input.readUTF();
+            dictionary.add(value);
+            return value;
+        } else if (code - 2 < dictionary.size()) {
+            return dictionary.get(code - 2);
+        }
+        throw new IOException("Unknown string reference " + code);
+    }
+
+    /**
+     * Read a Date written by CodecOutput.writeDate.
+     *
+     * @return the Date read, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    public Date readDate() throws IOException {
+        long time = input.readLong();
+        return time == Long.MIN_VALUE ? null : new Date(time);
+    }
+
+    public boolean readBoolean() throws IOException {
+        return input.readBoolean();
+    }
+
+    public int readByte() throws IOException {
+        return input.readByte();
+    }
+
+    public int readInt() throws IOException {
+        return input.readInt();
+    }
+
+    public long readLong() throws IOException {
+        return input.readLong();
+    }
+
+    public double readDouble() throws IOException {
+        return input.readDouble();
+    }
+}
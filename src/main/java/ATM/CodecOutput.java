@@ -0,0 +1,102 @@
+package ATM;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A stream used to write the saved state of a Bank in a compact binary format. Counts and indices are written as
+ * variable-length integers, and each distinct String is written only once, after which it is referred to by index.
+ */
+public class CodecOutput {
+
+    private final DataOutputStream output;
+    private final Map<String, Integer> dictionary;
+
+    /**
+     * Initialize this CodecOutput with an underlying stream.
+     *
+     * @param output The stream to write to.
+     */
+    public CodecOutput(OutputStream output) {
+        this.output = new DataOutputStream(output);
+        this.dictionary = new HashMap<>();
+    }
+
+    /**
+     * Write a non-negative int using as few bytes as possible.
+     *
+     * @param value The value to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Write a String, or a reference to it if it has already been written.
+     *
+     * @param value The String to write, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarInt(index + 2);
+        } else {
+            dictionary.put(value, dictionary.size());
+            writeVarInt(1);
+            output.writeUTF(value);
+        }
+    }
+
+    /**
+     * Write a Date.
+     *
+     * @param date The Date to write, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeDate(Date date) throws IOException {
+        output.writeLong(date == null ? Long.MIN_VALUE : date.getTime());
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        output.writeBoolean(value);
+    }
+
+    public void writeByte(int value) throws IOException {
+        output.writeByte(value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        output.writeInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        output.writeLong(value);
+    }
+
+    public void writeDouble(double value) throws IOException {
+        output.writeDouble(value);
+    }
+
+    /**
+     * Flush the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void flush() throws IOException {
+        output.flush();
+    }
+}
@@ -1,38 +1,118 @@
 package ATM;
 
+import ATM.Metrics.Counter;
+import ATM.Metrics.LatencyHistogram;
+import ATM.Metrics.MetricsRegistry;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Must import Google Gson
  * Project Structure -> Modules -> main -> + -> Library -> From Maven -> com.google.code.gson:gson:2.8.5
+ * <p>
+ * Exchange rates are kept in a table keyed by currency pair, so a conversion only goes to the exchange rate API the
+ * first time a pair is used. A rate is fresh for ttlMillis milliseconds after it was fetched. After that it is stale:
+ * it is still used, but a refresh is started in the background, so a slow API never holds up a transfer. A background
+ * thread also refreshes every rate in the table before it becomes stale. A rate which could not be refreshed for
+ * maxStaleMillis milliseconds is too old to use, and conversions at it fail until it is fetched again.
+ * <p>
+ * Conversions made while holding account locks use only the rate table, and never wait for the API. The rate is
+ * prefetched before the locks are taken.
  **/
 
 public class CurrencyExchange implements Serializable {
 
+    private final static String DEFAULT_URL = "https://v3.exchangerate-api.com/pair/e0d0c515c4454ca6e8223f6d";
+    private final static long DEFAULT_TTL_MILLIS = 10 * 60 * 1000;
+    private final static long DEFAULT_MAX_STALE_MILLIS = 60 * 60 * 1000;
+    private final static int TIMEOUT_MILLIS = 5000;
+    private final static LatencyHistogram LOOKUP_TIME = MetricsRegistry.DEFAULT.histogram("Exchange rate lookup");
+    private final static Counter FETCHES = MetricsRegistry.DEFAULT.counter("Exchange rates fetched");
+    private final static Counter STALE_READS = MetricsRegistry.DEFAULT.counter("Exchange rates read stale");
+
     private final String myURL;
 
     private final double margin;
 
     private final List<String> supportedCurrencies;
 
+    private final long ttlMillis;
+
+    private final long maxStaleMillis;
+
+    private transient ConcurrentHashMap<String, CachedRate> rates;
+
+    private transient Set<String> refreshing;
+
+    private transient ScheduledExecutorService refresher;
+
     /**
      * Initializes a currency exchange
      */
     public CurrencyExchange() {
+        this(DEFAULT_URL, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Initializes a currency exchange which fetches rates from a given exchange rate API
+     * @param url       the base URL of the exchange rate API, to which /XXX/YYY is appended for each pair
+     * @param ttlMillis how long a fetched rate stays fresh, in milliseconds
+     */
+    public CurrencyExchange(String url, long ttlMillis) {
+        this(url, ttlMillis, Math.max(ttlMillis, DEFAULT_MAX_STALE_MILLIS));
+    }
+
+    /**
+     * Initializes a currency exchange which fetches rates from a given exchange rate API, and refuses to convert at
+     * rates older than a given age
+     * @param url            the base URL of the exchange rate API, to which /XXX/YYY is appended for each pair
+     * @param ttlMillis      how long a fetched rate stays fresh, in milliseconds
+     * @param maxStaleMillis how long a fetched rate may be used, in milliseconds
+     */
+    public CurrencyExchange(String url, long ttlMillis, long maxStaleMillis) {
         this.margin = 0.00;
         supportedCurrencies = new ArrayList<>();
         addDefaultAvailableCurrency();
-        myURL = "https://v3.exchangerate-api.com/pair/e0d0c515c4454ca6e8223f6d";
+        myURL = url;
+        this.ttlMillis = ttlMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        initializeRates();
+    }
+
+    /**
+     * Deserialize this currency exchange, starting with an empty rate table
+     * @param input the stream to read from
+     * @throws IOException            if an I/O error occurs
+     * @throws ClassNotFoundException if the class of a serialized object could not be found
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        initializeRates();
+    }
+
+    /**
+     * Creates the empty rate table
+     */
+    private void initializeRates() {
+        rates = new ConcurrentHashMap<>();
+        refreshing = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -70,18 +150,22 @@ public class CurrencyExchange implements Serializable {
      * Returns a JsonObject containing relevant info regarding the exchange rates between two currencies
      * @param originalCurrency  the currency being set as the baseline
      * @param convertToCurrency the currency being compared to the original currency
-     * @return A JsonObject from the exchange rate API
+     * @return A JsonObject from the exchange rate API, or null if the API could not be reached
      */
     private JsonObject getConversionDataObject(String originalCurrency, String convertToCurrency) {
         JsonObject jsonObject;
         try {
             URL url = new URL(myURL + "/" + originalCurrency + "/" + convertToCurrency);
             HttpURLConnection request = (HttpURLConnection) url.openConnection();
+            request.setConnectTimeout(TIMEOUT_MILLIS);
+            request.setReadTimeout(TIMEOUT_MILLIS);
             request.connect();
 
-            JsonParser jp = new JsonParser();
-            JsonElement root = jp.parse(new InputStreamReader((InputStream) request.getContent()));
-            jsonObject = root.getAsJsonObject();
+            try (InputStreamReader reader = new InputStreamReader(request.getInputStream(), "UTF-8")) {
+                JsonParser jp = new JsonParser();
+                JsonElement root = jp.parse(reader);
+                jsonObject = root.getAsJsonObject();
+            }
         } catch (Exception e) {
             return null;
         }
@@ -95,20 +179,166 @@ public class CurrencyExchange implements Serializable {
      * @return a string: The conversion rate from XXX to YYY is #.##
      */
     public String getResultsString(String originalCurrency, String convertToCurrency) {
-        JsonObject jsonObject = getConversionDataObject(originalCurrency, convertToCurrency);
-        assert jsonObject != null;
-        return "The conversion rate from " + jsonObject.get("from") +
-                " to " + jsonObject.get("to") +
-                " is " + jsonObject.get("rate").toString();
+        return "The conversion rate from \"" + originalCurrency +
+                "\" to \"" + convertToCurrency +
+                "\" is " + getConversionRate(originalCurrency, convertToCurrency);
     }
 
     /**
-     * Returns the exchange rate between two currencies
-     * @param jsonObject the object that the data is extracted from
+     * Returns the exchange rate between two currencies from the rate table. A pair which is not in the table yet, or
+     * whose rate is too old to use, is fetched from the API, and a stale rate is returned while a fresh one is fetched
+     * in the background.
+     * @param originalCurrency  the currency being set as the baseline
+     * @param convertToCurrency the currency being compared to the original currency
      * @return a double, the exchange rate
+     * @throws IllegalStateException if the pair has no usable rate in the table and the API could not provide it
+     */
+    public double getConversionRate(String originalCurrency, String convertToCurrency) {
+        return getRate(originalCurrency, convertToCurrency, true);
+    }
+
+    /**
+     * Makes sure the rate table holds a usable exchange rate between two currencies, fetching it from the API if it
+     * does not. Called before taking the locks under which the rate is used.
+     * @param originalCurrency  the currency being set as the baseline
+     * @param convertToCurrency the currency being compared to the original currency
+     * @return true if the rate table holds a usable rate, false if the API could not provide one
+     */
+    public boolean prefetchRate(String originalCurrency, String convertToCurrency) {
+        try {
+            getRate(originalCurrency, convertToCurrency, true);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns an exchange rate from the rate table, starting a refresh in the background if it is stale
+     * @param originalCurrency  the currency being set as the baseline
+     * @param convertToCurrency the currency being compared to the original currency
+     * @param fetch             whether to fetch a missing or unusable rate from the API, rather than fail
+     * @return the exchange rate
+     * @throws IllegalStateException if there is no usable rate for the pair
      */
-    private double getConversionRate(JsonObject jsonObject) {
-        return jsonObject.get("rate").getAsDouble();
+    private double getRate(String originalCurrency, String convertToCurrency, boolean fetch) {
+        if (originalCurrency.equals(convertToCurrency)) {
+            return 1;
+        }
+        long start = System.nanoTime();
+        String pair = originalCurrency + "/" + convertToCurrency;
+        CachedRate cached = rates.get(pair);
+        if (cached != null && start - cached.fetchedAt >= TimeUnit.MILLISECONDS.toNanos(maxStaleMillis)) {
+            cached = null;
+        }
+        if (cached == null) {
+            cached = fetch ? fetchRate(pair) : null;
+            if (cached == null) {
+                throw new IllegalStateException("The exchange rate from " + originalCurrency + " to " +
+                        convertToCurrency + " is unavailable.");
+            }
+        } else if (start - cached.fetchedAt >= TimeUnit.MILLISECONDS.toNanos(ttlMillis)) {
+            STALE_READS.increment();
+            refreshInBackground(pair);
+        }
+        LOOKUP_TIME.recordSince(start);
+        return cached.rate;
+    }
+
+    /**
+     * Fetches the rate of a currency pair from the API and stores it in the rate table
+     * @param pair the currency pair, as XXX/YYY
+     * @return the fetched rate, or null if the API could not provide it
+     */
+    private CachedRate fetchRate(String pair) {
+        int separator = pair.indexOf('/');
+        JsonObject jsonObject = getConversionDataObject(pair.substring(0, separator), pair.substring(separator + 1));
+        if (jsonObject == null || !jsonObject.has("rate")) {
+            return null;
+        }
+        CachedRate fetched = new CachedRate(jsonObject.get("rate").getAsDouble(), System.nanoTime());
+        rates.put(pair, fetched);
+        FETCHES.increment();
+        startRefresher();
+        return fetched;
+    }
+
+    /**
+     * Fetches the rate of a currency pair in the background, unless it is already being fetched. The stale rate stays
+     * in the table if the fetch fails.
+     * @param pair the currency pair, as XXX/YYY
+     */
+    private void refreshInBackground(final String pair) {
+        if (!refreshing.add(pair)) {
+            return;
+        }
+        try {
+            startRefresher().execute(() -> {
+                try {
+                    refresh(pair);
+                } finally {
+                    refreshing.remove(pair);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(pair);
+        }
+    }
+
+    /**
+     * Fetches the rate of a currency pair, keeping the old rate if the fetch fails
+     * @param pair the currency pair, as XXX/YYY
+     */
+    private void refresh(String pair) {
+        if (fetchRate(pair) == null) {
+            System.out.println("Warning: the exchange rate for " + pair + " could not be refreshed.");
+        }
+    }
+
+    /**
+     * Refreshes every rate in the table which is more than half way to becoming stale
+     */
+    private void refreshAgingRates() {
+        long now = System.nanoTime();
+        long halfTtl = TimeUnit.MILLISECONDS.toNanos(ttlMillis) / 2;
+        for (Map.Entry<String, CachedRate> entry : rates.entrySet()) {
+            String pair = entry.getKey();
+            if (now - entry.getValue().fetchedAt >= halfTtl && refreshing.add(pair)) {
+                try {
+                    refresh(pair);
+                } finally {
+                    refreshing.remove(pair);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the background thread which refreshes the rate table, if it has not been started
+     * @return the executor of the background thread
+     */
+    private synchronized ScheduledExecutorService startRefresher() {
+        if (refresher == null) {
+            refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Exchange rate refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1, ttlMillis / 2);
+            refresher.scheduleWithFixedDelay(this::refreshAgingRates, period, period, TimeUnit.MILLISECONDS);
+        }
+        return refresher;
+    }
+
+    /**
+     * Stops the background thread which refreshes the rate table. Rates already in the table are still used, and it
+     * is restarted when a new rate is fetched.
+     */
+    public synchronized void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
     }
 
     /**
@@ -119,9 +349,7 @@ public class CurrencyExchange implements Serializable {
      * @return a double of the resulting amount of YYY currency after the exchange
      */
     private double getConvertedAmount(double originalAmount, String originalCurrency, String convertToCurrency) {
-        JsonObject conversionJson = getConversionDataObject(originalCurrency, convertToCurrency);
-        assert conversionJson != null;
-        double conversionRate = getConversionRate(conversionJson);
+        double conversionRate = getConversionRate(originalCurrency, convertToCurrency);
         return originalAmount * conversionRate;
     }
 
@@ -145,4 +373,37 @@ public class CurrencyExchange implements Serializable {
         double amountAfterMargins = getAmountAfterMargins(originalAmount);
         return getConvertedAmount(amountAfterMargins, originalCurrency, convertToCurrency);
     }
+
+    /**
+     * Returns the actual amount of currency after an exchange at this bank, at the rate in the rate table. Never waits
+     * for the API, so it may be called while holding account locks.
+     * @param originalAmount    the amount of XXX currency
+     * @param originalCurrency  the type of the initial currency
+     * @param convertToCurrency the type of the currency to be exchanged into
+     * @return a double of the resulting amount of YYY currency after the exchange
+     * @throws IllegalStateException if the rate table holds no usable rate for the pair
+     */
+    public double getPrefetchedConvertedAmount(double originalAmount, String originalCurrency,
+                                               String convertToCurrency) {
+        return getAmountAfterMargins(originalAmount) * getRate(originalCurrency, convertToCurrency, false);
+    }
+
+    /**
+     * An exchange rate and the time it was fetched
+     */
+    private static class CachedRate {
+
+        private final double rate;
+        private final long fetchedAt;
+
+        /**
+         * Initializes a CachedRate
+         * @param rate      the exchange rate
+         * @param fetchedAt the value of System.nanoTime() when the rate was fetched
+         */
+        CachedRate(double rate, long fetchedAt) {
+            this.rate = rate;
+            this.fetchedAt = fetchedAt;
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package ATM;
+
+import java.time.LocalDate;
+
+/**
+ * A listener which is told when the day of a Bank moves forward.
+ */
+public interface DayListener {
+
+    /**
+     * Called after the day of the Bank has moved forward. This may be called from a session's thread, so it should
+     * return quickly and leave any lengthy work to another thread.
+     *
+     * @param from The previous day of the Bank.
+     * @param to   The new day of the Bank.
+     */
+    void dayChanged(LocalDate from, LocalDate to);
+}
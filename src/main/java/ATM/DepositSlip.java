@@ -0,0 +1,184 @@
+package ATM;
+
+import java.util.Arrays;
+
+/**
+ * The cash and cheques read from a deposits file, to be posted to one account together.
+ * <p>
+ * Amounts are kept in cents in growable primitive arrays, so a slip with tens of thousands of cheques does not create
+ * an object per deposit. Each cheque number may only be deposited once per slip: a cheque whose number has already
+ * been added is counted as a duplicate and left out. Cheques deposited from earlier slips are left out by the
+ * AccountManager. Cheque numbers are tracked in an open-addressing hash set of longs.
+ */
+public class DepositSlip {
+
+    private final static long CASH = -1;
+    private final static long EMPTY = Long.MIN_VALUE;
+
+    private long[] amounts;
+    private long[] chequeNumbers;
+    private int size;
+    private long[] seenCheques;
+    private int seenChequeCount;
+    private int duplicateCheques;
+    private int malformedLines;
+
+    /**
+     * Initialize this DepositSlip with no deposits.
+     */
+    public DepositSlip() {
+        amounts = new long[16];
+        chequeNumbers = new long[16];
+        seenCheques = new long[32];
+        Arrays.fill(seenCheques, EMPTY);
+    }
+
+    /**
+     * Add a cash deposit to this slip.
+     *
+     * @param cents The amount of cash, in cents.
+     */
+    public void addCash(long cents) {
+        append(cents, CASH);
+    }
+
+    /**
+     * Add a cheque to this slip, unless a cheque with the same number has already been added.
+     *
+     * @param cents        The amount of the cheque, in cents.
+     * @param chequeNumber The number of the cheque, which must not be negative.
+     * @return true if the cheque was added, false if it is a duplicate.
+     */
+    public boolean addCheque(long cents, long chequeNumber) {
+        if (!markCheque(chequeNumber)) {
+            duplicateCheques++;
+            return false;
+        }
+        append(cents, chequeNumber);
+        return true;
+    }
+
+    /**
+     * Count a line of the deposits file which could not be read as a deposit.
+     */
+    void addMalformedLine() {
+        malformedLines++;
+    }
+
+    /**
+     * Append a deposit to the arrays, growing them if necessary.
+     *
+     * @param cents        The amount, in cents.
+     * @param chequeNumber The cheque number, or CASH.
+     */
+    private void append(long cents, long chequeNumber) {
+        if (size == amounts.length) {
+            amounts = Arrays.copyOf(amounts, size * 2);
+            chequeNumbers = Arrays.copyOf(chequeNumbers, size * 2);
+        }
+        amounts[size] = cents;
+        chequeNumbers[size] = chequeNumber;
+        size++;
+    }
+
+    /**
+     * Add a cheque number to the set of cheques seen on this slip.
+     *
+     * @param chequeNumber The cheque number.
+     * @return true if the number had not been seen before, false otherwise.
+     */
+    private boolean markCheque(long chequeNumber) {
+        if ((seenChequeCount + 1) * 2 > seenCheques.length) {
+            long[] old = seenCheques;
+            seenCheques = new long[old.length * 2];
+            Arrays.fill(seenCheques, EMPTY);
+            for (long number : old) {
+                if (number != EMPTY) {
+                    insertCheque(number);
+                }
+            }
+        }
+        if (!insertCheque(chequeNumber)) {
+            return false;
+        }
+        seenChequeCount++;
+        return true;
+    }
+
+    /**
+     * Insert a cheque number into the hash set, which must have a free slot.
+     *
+     * @param chequeNumber The cheque number.
+     * @return true if it was inserted, false if it was already present.
+     */
+    private boolean insertCheque(long chequeNumber) {
+        int mask = seenCheques.length - 1;
+        long hash = chequeNumber * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (seenCheques[slot] != EMPTY) {
+            if (seenCheques[slot] == chequeNumber) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        seenCheques[slot] = chequeNumber;
+        return true;
+    }
+
+    /**
+     * Get the number of deposits on this slip, not counting duplicate cheques or malformed lines.
+     *
+     * @return the number of deposits.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the amount of a deposit.
+     *
+     * @param index The position of the deposit on this slip.
+     * @return the amount, in cents.
+     */
+    public long getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Check whether a deposit is a cheque.
+     *
+     * @param index The position of the deposit on this slip.
+     * @return true if the deposit is a cheque, false if it is cash.
+     */
+    public boolean isCheque(int index) {
+        return chequeNumbers[index] != CASH;
+    }
+
+    /**
+     * Get the number of a cheque.
+     *
+     * @param index The position of the deposit on this slip.
+     * @return the cheque number, or -1 if the deposit is cash.
+     */
+    public long getChequeNumber(int index) {
+        return chequeNumbers[index];
+    }
+
+    /**
+     * Get the number of cheques left out because a cheque with the same number was already on this slip.
+     *
+     * @return the number of duplicate cheques.
+     */
+    public int getDuplicateCheques() {
+        return duplicateCheques;
+    }
+
+    /**
+     * Get the number of lines of the deposits file which could not be read as a deposit.
+     *
+     * @return the number of malformed lines.
+     */
+    public int getMalformedLines() {
+        return malformedLines;
+    }
+}
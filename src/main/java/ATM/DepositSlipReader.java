@@ -0,0 +1,168 @@
+package ATM;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A reader which streams a deposits file into a DepositSlip.
+ * <p>
+ * The file is read through a FileChannel into a fixed buffer, and each line is parsed byte by byte as it is found, so
+ * no String is created per line and the file is never held in memory as a whole. Lines have the formats
+ * <pre>
+ *     cash $&lt;AMOUNT&gt;
+ *     cheque $&lt;AMOUNT&gt; #&lt;CHEQUE NUMBER&gt;
+ * </pre>
+ * where the amount is in dollars with up to two decimal places and the cheque number is a whole number. Blank lines
+ * are skipped, and any other line is counted as malformed.
+ */
+public class DepositSlipReader {
+
+    private final static int BUFFER_SIZE = 64 * 1024;
+    private final static int MAX_AMOUNT_DIGITS = 13;
+    private final static int MAX_CHEQUE_DIGITS = 18;
+
+    private byte[] line = new byte[128];
+    private int lineLength;
+
+    /**
+     * Read a deposits file.
+     *
+     * @param fileName The name of the deposits file.
+     * @return the deposits listed in the file.
+     * @throws IOException if an I/O error occurs while reading the file.
+     */
+    public static DepositSlip read(String fileName) throws IOException {
+        return new DepositSlipReader().readFile(fileName);
+    }
+
+    /**
+     * Read a deposits file, one buffer at a time.
+     *
+     * @param fileName The name of the deposits file.
+     * @return the deposits listed in the file.
+     * @throws IOException if an I/O error occurs while reading the file.
+     */
+    private DepositSlip readFile(String fileName) throws IOException {
+        DepositSlip slip = new DepositSlip();
+        try (FileChannel channel = new FileInputStream(fileName).getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        parseLine(slip);
+                        lineLength = 0;
+                    } else {
+                        appendToLine(b);
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        parseLine(slip);
+        return slip;
+    }
+
+    /**
+     * Add a byte to the current line, growing the line if necessary.
+     *
+     * @param b The byte.
+     */
+    private void appendToLine(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, lineLength * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    /**
+     * Parse the current line and add its deposit to a slip.
+     *
+     * @param slip The slip to add the deposit to.
+     */
+    private void parseLine(DepositSlip slip) {
+        int end = lineLength;
+        while (end > 0 && isSpace(line[end - 1])) {
+            end--;
+        }
+        int i = 0;
+        while (i < end && isSpace(line[i])) {
+            i++;
+        }
+        if (i == end) {
+            return;
+        }
+
+        while (i < end && line[i] != '$') {
+            i++;
+        }
+        i++;
+        long cents = 0;
+        int digits = 0;
+        while (i < end && isDigit(line[i]) && digits < MAX_AMOUNT_DIGITS) {
+            cents = cents * 10 + (line[i++] - '0');
+            digits++;
+        }
+        if (digits == 0 || digits == MAX_AMOUNT_DIGITS) {
+            slip.addMalformedLine();
+            return;
+        }
+        cents *= 100;
+        if (i < end && line[i] == '.') {
+            i++;
+            int place = 10;
+            while (i < end && isDigit(line[i]) && place > 0) {
+                cents += (line[i++] - '0') * place;
+                place /= 10;
+            }
+        }
+        while (i < end && isSpace(line[i])) {
+            i++;
+        }
+
+        if (i == end) {
+            slip.addCash(cents);
+            return;
+        }
+        if (line[i] != '#') {
+            slip.addMalformedLine();
+            return;
+        }
+        i++;
+        long chequeNumber = 0;
+        digits = 0;
+        while (i < end && isDigit(line[i]) && digits < MAX_CHEQUE_DIGITS) {
+            chequeNumber = chequeNumber * 10 + (line[i++] - '0');
+            digits++;
+        }
+        if (digits == 0 || i != end) {
+            slip.addMalformedLine();
+            return;
+        }
+        slip.addCheque(cents, chequeNumber);
+    }
+
+    /**
+     * Check whether a byte is an ASCII digit.
+     *
+     * @param b The byte.
+     * @return true if it is a digit, false otherwise.
+     */
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Check whether a byte is a space, tab or carriage return.
+     *
+     * @param b The byte.
+     * @return true if it is white space within a line, false otherwise.
+     */
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
@@ -0,0 +1,119 @@
+package ATM;
+
+/**
+ * The result of posting a DepositSlip to an account.
+ */
+public class DepositSummary {
+
+    private int cashDeposits;
+    private long cashCents;
+    private int chequeDeposits;
+    private long chequeCents;
+    private int failedDeposits;
+    private int duplicateCheques;
+    private final int malformedLines;
+
+    /**
+     * Initialize this DepositSummary for a slip, with nothing posted yet.
+     *
+     * @param slip The slip being posted.
+     */
+    public DepositSummary(DepositSlip slip) {
+        this.duplicateCheques = slip.getDuplicateCheques();
+        this.malformedLines = slip.getMalformedLines();
+    }
+
+    /**
+     * Record a deposit from the slip which was posted.
+     *
+     * @param cents  The amount deposited, in cents.
+     * @param cheque Whether the deposit was a cheque.
+     */
+    public void posted(long cents, boolean cheque) {
+        if (cheque) {
+            chequeDeposits++;
+            chequeCents += cents;
+        } else {
+            cashDeposits++;
+            cashCents += cents;
+        }
+    }
+
+    /**
+     * Record a cheque from the slip which was left out because it had already been deposited from another slip.
+     */
+    public void duplicate() {
+        duplicateCheques++;
+    }
+
+    /**
+     * Record a deposit from the slip which could not be posted.
+     */
+    public void failed() {
+        failedDeposits++;
+    }
+
+    /**
+     * Get the number of deposits posted.
+     *
+     * @return the number of cash and cheque deposits posted.
+     */
+    public int getPostedDeposits() {
+        return cashDeposits + chequeDeposits;
+    }
+
+    /**
+     * Get the total amount posted.
+     *
+     * @return the amount of cash and cheques posted, in cents.
+     */
+    public long getPostedCents() {
+        return cashCents + chequeCents;
+    }
+
+    /**
+     * Get the number of deposits which could not be posted.
+     *
+     * @return the number of failed deposits.
+     */
+    public int getFailedDeposits() {
+        return failedDeposits;
+    }
+
+    /**
+     * Get the number of cheques left out because their number appeared earlier on the slip or was already deposited.
+     *
+     * @return the number of duplicate cheques.
+     */
+    public int getDuplicateCheques() {
+        return duplicateCheques;
+    }
+
+    /**
+     * Get the number of lines of the deposits file which could not be read as a deposit.
+     *
+     * @return the number of malformed lines.
+     */
+    public int getMalformedLines() {
+        return malformedLines;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Processed ").append(cashDeposits).append(" cash deposit(s) totalling $")
+                .append(Money.format(cashCents)).append('\n');
+        summary.append("Processed ").append(chequeDeposits).append(" cheque deposit(s) totalling $")
+                .append(Money.format(chequeCents)).append('\n');
+        if (failedDeposits > 0) {
+            summary.append("Could not process ").append(failedDeposits).append(" deposit(s)\n");
+        }
+        if (duplicateCheques > 0) {
+            summary.append("Rejected ").append(duplicateCheques).append(" duplicate cheque(s)\n");
+        }
+        if (malformedLines > 0) {
+            summary.append("Skipped ").append(malformedLines).append(" unreadable line(s)\n");
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package ATM;
+
+/**
+ * A set of bills held in an ATM for one withdrawal.
+ * <p>
+ * A DispenseReservation is created by ATM.reserve, which chooses the bills once and sets them aside so no other
+ * withdrawal can use them. It is then either committed, which dispenses the bills, or released, which returns them to
+ * the bills available for other withdrawals. A reservation which is neither committed nor released before it expires
+ * is released by the ATM the next time it checks or reserves bills. Its state is guarded by the ATM which created it.
+ */
+public class DispenseReservation {
+
+    private final int dollars;
+    private final int[] billAmounts;
+    private final long expiresAt;
+    private boolean active;
+
+    /**
+     * Initialize this DispenseReservation.
+     *
+     * @param dollars     The amount to withdraw, in dollars.
+     * @param billAmounts The number of fifties, twenties, tens and fives held.
+     * @param expiresAt   The value of System.nanoTime() after which the bills are no longer held.
+     */
+    DispenseReservation(int dollars, int[] billAmounts, long expiresAt) {
+        this.dollars = dollars;
+        this.billAmounts = billAmounts;
+        this.expiresAt = expiresAt;
+        this.active = true;
+    }
+
+    /**
+     * Get the amount this reservation holds.
+     *
+     * @return the amount, in dollars.
+     */
+    public int getDollars() {
+        return dollars;
+    }
+
+    /**
+     * Get the number of bills of a denomination this reservation holds.
+     *
+     * @param index 0 for fifties, 1 for twenties, 2 for tens, and 3 for fives.
+     * @return the number of bills.
+     */
+    public int getBillAmount(int index) {
+        return billAmounts[index];
+    }
+
+    /**
+     * Get the number of fifties, twenties, tens and fives this reservation holds.
+     *
+     * @return the number of bills of each denomination.
+     */
+    int[] getBillAmounts() {
+        return billAmounts;
+    }
+
+    /**
+     * Check whether this reservation has expired.
+     *
+     * @param now The current value of System.nanoTime().
+     * @return true if the bills are no longer held, false otherwise.
+     */
+    boolean isExpired(long now) {
+        return now - expiresAt > 0;
+    }
+
+    /**
+     * Check whether this reservation still holds its bills.
+     *
+     * @return true if it has not been committed, released or expired, false otherwise.
+     */
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Mark this reservation as no longer holding its bills.
+     */
+    void end() {
+        active = false;
+    }
+}
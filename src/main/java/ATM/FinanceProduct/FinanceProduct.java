@@ -1,6 +1,7 @@
 package ATM.FinanceProduct;
 
 import ATM.Account.Account;
+import ATM.Money;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -13,8 +14,9 @@ public abstract class FinanceProduct implements Serializable {
     private final String username;
     private String InitialInfo;
     private final Date creationDate;
-    private double Investment;
-    private double PaymentDue;
+    private long Investment;
+    private long PaymentDue;
+    private transient String terms;
 
     /**
      * Initialize a finance product with duration of the product,
@@ -28,9 +30,9 @@ public abstract class FinanceProduct implements Serializable {
 
     FinanceProduct(String username,int duration, double investment, Date creationDate) {
         this.username = username;
-        this.Investment = investment;
+        this.Investment = Money.toCents(investment);
         this.duration = 12 * duration;
-        this.PaymentDue = investment / this.duration;
+        this.PaymentDue = getInstalment(Investment);
         this.creationDate = creationDate;
     }
 
@@ -60,12 +62,21 @@ public abstract class FinanceProduct implements Serializable {
         return associated;
     }
 
+    /**
+     * Get the ID of the associated account.
+     *
+     * @return The ID of the account associated with this product.
+     */
+    public String getAssociatedID() {
+        return associated.getID();
+    }
+
     /**
      * Get total investment in this product.
      *
-     * @return Total investment
+     * @return Total investment in cents.
      */
-    double getInvestment() {
+    long getInvestment() {
         return Investment;
     }
 
@@ -87,6 +98,30 @@ public abstract class FinanceProduct implements Serializable {
         this.InterestRate = e;
     }
 
+    /**
+     * Get the interest rate of this product.
+     *
+     * @return interest rate of this product.
+     */
+    double getInterestRate() {
+        return InterestRate;
+    }
+
+    /**
+     * Restore the remaining duration, investment, and payment due of this product when it is read from the Bank's
+     * saved state.
+     *
+     * @param duration   The remaining duration of this product in unit of month.
+     * @param investment The remaining investment in this product, in cents.
+     * @param paymentDue The amount to be paid for the next update cycle, in cents.
+     */
+    void restore(int duration, long investment, long paymentDue) {
+        this.duration = duration;
+        this.Investment = investment;
+        this.PaymentDue = paymentDue;
+        this.terms = null;
+    }
+
     /**
      * Gets information of this product upon creation.
      *
@@ -123,12 +158,47 @@ public abstract class FinanceProduct implements Serializable {
     /**
      * Get the amount to be paid for current update cycle.
      *
-     * @return The amount to be paid.
+     * @return The amount to be paid, in cents.
      */
-    double getPaymentDue() {
+    long getPaymentDue() {
         return PaymentDue;
     }
 
+    /**
+     * Get the remaining terms of this product, as shown in its summary. The terms are described once and kept until
+     * the product next changes.
+     *
+     * @return The remaining terms of this product.
+     */
+    String getTerms() {
+        String cached = terms;
+        if (cached == null) {
+            cached = describeTerms();
+            terms = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Describe the remaining terms of this product, such as the amount left and the amount of the next payment.
+     *
+     * @return The remaining terms of this product.
+     */
+    abstract String describeTerms();
+
+    /**
+     * Split an amount into equal payments over the remaining duration of this product.
+     *
+     * @param amount The amount to split, in cents.
+     * @return The amount of each payment, in cents, or the whole amount if no months remain.
+     */
+    private long getInstalment(long amount) {
+        if (duration <= 0) {
+            return amount;
+        }
+        return Money.divide(amount, duration, Money.INSTALMENT_ROUNDING);
+    }
+
     /**
      * Updates duration of this product.
      */
@@ -140,7 +210,7 @@ public abstract class FinanceProduct implements Serializable {
      * Updates total investment.
      */
     private void UpdateInvestment() {
-        this.Investment += Investment * (InterestRate / 12);
+        this.Investment += Money.multiply(Investment, InterestRate / 12, Money.INTEREST_ROUNDING);
     }
 
     /**
@@ -151,10 +221,11 @@ public abstract class FinanceProduct implements Serializable {
             this.Investment -= PaymentDue;
             UpdateInvestment();
             UpdateDuration();
-            this.PaymentDue = Investment / duration;
+            this.PaymentDue = getInstalment(Investment);
         } else {
             this.Investment -= PaymentDue;
         }
+        terms = null;
     }
 
     public abstract boolean initializable();
@@ -166,16 +237,131 @@ public abstract class FinanceProduct implements Serializable {
         if (duration > 0) {
             UpdateDuration();
             UpdateInvestment();
-            this.PaymentDue += (Investment - PaymentDue) / duration;
+            this.PaymentDue += getInstalment(Investment - PaymentDue);
         } else {
             UpdateInvestment();
             this.PaymentDue = Investment;
         }
+        terms = null;
+    }
+
+    /**
+     * Check whether the payment for a cycle can be settled with the associated account.
+     *
+     * @param amount The amount of the payment, in cents.
+     * @return true if the payment can be settled, false otherwise.
+     */
+    abstract boolean canSettle(long amount);
+
+    /**
+     * Settle the payment for a cycle with the associated account.
+     *
+     * @param amount The amount of the payment, in cents.
+     */
+    abstract void settle(long amount);
+
+    /**
+     * Make the payment for current cycle if the associated account can settle it, or skip it otherwise.
+     */
+    void update() {
+        if (canSettle(PaymentDue)) {
+            settle(PaymentDue);
+            MakePaymentDue();
+        } else {
+            SkipPaymentDue();
+        }
+    }
+
+    /**
+     * Advance this product by a number of cycles, as if update had been called once for each.
+     * <p>
+     * While payments are made, the payment due grows by the monthly interest each cycle, so the payments over any
+     * number of cycles form a geometric series. The longest run of cycles whose payments the associated account can
+     * settle together is found by binary search on the sum of the series, then settled with one payment and applied
+     * in closed form, rounding to the cent once rather than each cycle, so the result can differ from updating each
+     * cycle by rounding. Cycles in which the account runs short, and cycles after the product's duration, are
+     * updated one at a time.
+     *
+     * @param months The number of cycles to advance.
+     */
+    void catchUp(int months) {
+        while (months > 0) {
+            int affordable = 0;
+            if (duration > 1 && canSettle(PaymentDue)) {
+                affordable = findAffordableMonths(Math.min(months, duration));
+            }
+            if (affordable > 1) {
+                settle(Math.round(getPaidOver(affordable)));
+                Investment = Math.round(getInvestmentAfter(affordable));
+                duration -= affordable;
+                PaymentDue = getInstalment(Investment);
+                terms = null;
+                months -= affordable;
+            } else {
+                update();
+                months--;
+            }
+        }
+    }
 
+    /**
+     * Find the largest number of cycles whose payments the associated account can settle together.
+     *
+     * @param limit The largest number of cycles to consider, no more than the remaining duration.
+     * @return the number of cycles, at least 1 if the payment due can be settled.
+     */
+    private int findAffordableMonths(int limit) {
+        int low = 1;
+        int high = limit;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (canSettle(Math.round(getPaidOver(middle)))) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
 
+    /**
+     * Get the total of the payments made over a number of cycles, if every payment is made. The first payment is the
+     * payment due, after which each payment is the remaining investment divided by the remaining cycles, which grows
+     * by the monthly interest rate each cycle.
+     *
+     * @param months The number of cycles, between 1 and the remaining duration.
+     * @return the total paid, in cents, before rounding.
+     */
+    private double getPaidOver(int months) {
+        double rate = InterestRate / 12;
+        double paid = PaymentDue;
+        if (months > 1) {
+            double nextPayment = (Investment - PaymentDue) * (1 + rate) / (duration - 1);
+            int remaining = months - 1;
+            if (rate == 0) {
+                paid += nextPayment * remaining;
+            } else {
+                paid += nextPayment * (Math.pow(1 + rate, remaining) - 1) / rate;
+            }
+        }
+        return paid;
     }
 
-    abstract void update();
+    /**
+     * Get the investment remaining after a number of cycles, if every payment is made.
+     *
+     * @param months The number of cycles, between 1 and the remaining duration.
+     * @return the remaining investment, in cents, before rounding.
+     */
+    private double getInvestmentAfter(int months) {
+        double rate = InterestRate / 12;
+        double afterFirst = (Investment - PaymentDue) * (1 + rate);
+        if (months == 1) {
+            return afterFirst;
+        }
+        double nextPayment = afterFirst / (duration - 1);
+        return nextPayment * Math.pow(1 + rate, months - 1) * (duration - months);
+    }
 
 
 }
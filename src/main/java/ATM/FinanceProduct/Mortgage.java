@@ -1,5 +1,7 @@
 package ATM.FinanceProduct;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
@@ -26,7 +28,7 @@ class Mortgage extends FinanceProduct {
     public void setInitialInfo() {
         setInitialInfo("\nMortgage belonging to customer: " + getUsername() + "\n" +
                 "Associated account: " + getAssociated().toString() + "\n" +
-                "Principal: " + String.format("%.2f", getInvestment()) + "\n" +
+                "Principal: " + Money.format(getInvestment()) + "\n" +
                 "Will last for " + getDuration() + " months\n" +
                 "Created on :" + getCreationDate() + "\n");
 
@@ -42,33 +44,31 @@ class Mortgage extends FinanceProduct {
         return true;
     }
 
-    /**
-     * Make a payment if the associated account has enough balance.
-     */
     @Override
-    void update() {
-        boolean check = getAssociated().canWithdraw(getPaymentDue());
+    boolean canSettle(long amount) {
+        return getAssociated().canWithdrawCents(amount);
+    }
 
-        if (check) {
-            getAssociated().withdraw(getPaymentDue());
-            MakePaymentDue();
-        }
+    @Override
+    void settle(long amount) {
+        getAssociated().withdrawCents(amount);
+    }
 
-        else {
-            SkipPaymentDue();
-        }
+    @Override
+    String describeTerms() {
+        return "Principal remain: " + Money.format(getInvestment()) + "\n" +
+                "Amount due next: " + Money.format(getPaymentDue()) + "\n" +
+                "Will last for " + getDuration() + " months\n";
     }
 
     @Override
     public String toString() {
-        if (getDuration() <= 0 && getInvestment() < 0.001) {
+        if (getDuration() <= 0 && getInvestment() <= 0) {
             return getInitialInfo() + "MORTGAGE COMPLETED\n";
         } else {
             return "\nMortgage belonging to customer: " + getUsername() + "\n" +
                     "Associated account: " + getAssociated().toString() + "\n" +
-                    "Principal remain: " + String.format("%.2f", getInvestment()) + "\n" +
-                    "Amount due next: " + String.format("%.2f", getPaymentDue()) + "\n" +
-                    "Will last for " + getDuration() + " months\n";
+                    getTerms();
         }
 
     }
@@ -1,5 +1,7 @@
 package ATM.FinanceProduct;
 
+import ATM.Money;
+
 import java.util.Date;
 
 /**
@@ -25,7 +27,7 @@ class NonRedeemableGIC extends FinanceProduct {
     public void setInitialInfo() {
         setInitialInfo("\nNR-GIC belonging belongs to customer: " + getUsername() + "\n" +
                 "Associated account: " + getAssociated().toString() + "\n" +
-                "Investment: " + String.format("%.2f", getInvestment()) + "\n" +
+                "Investment: " + Money.format(getInvestment()) + "\n" +
                 "Will last for " + getDuration() + " months\n" +
                 "Created on :" + getCreationDate() + "\n");
     }
@@ -36,37 +38,38 @@ class NonRedeemableGIC extends FinanceProduct {
      */
     @Override
     public boolean initializable() {
-        boolean check = getAssociated().canWithdraw(getInvestment());
+        boolean check = getAssociated().canWithdrawCents(getInvestment());
         if (check) {
-            getAssociated().withdraw(getInvestment());
+            getAssociated().withdrawCents(getInvestment());
         }
         return check;
     }
 
     @Override
-    void update() {
-        boolean check = getAssociated().canDeposit(getPaymentDue());
+    boolean canSettle(long amount) {
+        return getAssociated().canDepositCents(amount);
+    }
 
-        if (check) {
-            getAssociated().deposit(getPaymentDue());
-            MakePaymentDue();
-        }
+    @Override
+    void settle(long amount) {
+        getAssociated().depositCents(amount);
+    }
 
-        else {
-            SkipPaymentDue();
-        }
+    @Override
+    String describeTerms() {
+        return "Investment remain: " + Money.format(getInvestment()) + "\n" +
+                "Amount to pay next: " + Money.format(getPaymentDue()) + "\n" +
+                "Will last for " + getDuration() + " months\n";
     }
 
     @Override
     public String toString() {
-        if (getDuration() < 0 && getInvestment() < 0.001) {
+        if (getDuration() < 0 && getInvestment() <= 0) {
             return getInitialInfo() + "GIC COMPLETED\n";
         } else {
             return "\nNR-GIC belonging to customer: " + getUsername() + "\n" +
                     "Associated account: " + getAssociated().toString() + "\n" +
-                    "Investment remain: " + String.format("%.2f", getInvestment()) + "\n" +
-                    "Amount to pay next: " + String.format("%.2f", getPaymentDue()) + "\n" +
-                    "Will last for " + getDuration() + " months\n";
+                    getTerms();
         }
 
     }
@@ -0,0 +1,81 @@
+package ATM.FinanceProduct;
+
+import ATM.Account.Account;
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A class used to write and read the products of a ProductManager in the compact binary format of the Bank's saved
+ * state. Associated accounts are written as their IDs.
+ */
+public class ProductCodec {
+
+    private final static int MORTGAGE = 0;
+    private final static int NON_REDEEMABLE_GIC = 1;
+
+    /**
+     * Write the products of a ProductManager.
+     *
+     * @param productManager The ProductManager to write.
+     * @param output         The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(ProductManager productManager, CodecOutput output) throws IOException {
+        output.writeVarInt(productManager.getProducts().size());
+        for (FinanceProduct product : productManager.getProducts()) {
+            output.writeByte(product instanceof Mortgage ? MORTGAGE : NON_REDEEMABLE_GIC);
+            output.writeString(product.getUsername());
+            output.writeString(product.getAssociated() == null ? null : product.getAssociated().getID());
+            output.writeDate(product.getCreationDate());
+            output.writeDouble(product.getInterestRate());
+            output.writeInt(product.getDuration());
+            output.writeLong(product.getInvestment());
+            output.writeLong(product.getPaymentDue());
+            output.writeString(product.getInitialInfo());
+        }
+    }
+
+    /**
+     * Read products into a ProductManager.
+     *
+     * @param input          The stream to read from.
+     * @param productManager The ProductManager to add the products to.
+     * @param accounts       The accounts which products may be associated with, by ID.
+     * @throws IOException if an I/O error occurs or the data is malformed.
+     */
+    public static void read(CodecInput input, ProductManager productManager, Map<String, Account> accounts)
+            throws IOException {
+        int numProducts = input.readVarInt();
+        for (int i = 0; i < numProducts; i++) {
+            int type = input.readByte();
+            String username = input.readString();
+            String accountID = input.readString();
+            Date creationDate = input.readDate();
+            double interestRate = input.readDouble();
+            int duration = input.readInt();
+            long investment = input.readLong();
+            long paymentDue = input.readLong();
+            String initialInfo = input.readString();
+
+            FinanceProduct product;
+            switch (type) {
+                case MORTGAGE:
+                    product = new Mortgage(username, 1, creationDate, interestRate, 0);
+                    break;
+                case NON_REDEEMABLE_GIC:
+                    product = new NonRedeemableGIC(username, 1, creationDate, interestRate, 0);
+                    break;
+                default:
+                    throw new IOException("Unknown product type " + type);
+            }
+            product.restore(duration, investment, paymentDue);
+            product.setInitialInfo(initialInfo);
+            product.setAssociated(accounts.get(accountID));
+            productManager.addProduct(product);
+        }
+    }
+}
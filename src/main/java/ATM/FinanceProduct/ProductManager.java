@@ -1,33 +1,372 @@
 package ATM.FinanceProduct;
 
+import ATM.Account.Account;
+import ATM.Account.AccountManager;
+import ATM.Batch.BatchProgress;
+import ATM.Journal.Journal;
+import ATM.Journal.JournalEntry;
+import ATM.Journal.ProductsUpdatedEntry;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A class represent Product Manager.
+ * <p>
+ * Besides the products themselves, a ProductManager indexes the products owned by each user, so showing a user's
+ * products does not scan every product, and keeps running totals of the bank's exposure: the principal outstanding on
+ * mortgages and the amount owed on GICs. The totals are adjusted whenever a product is added or updated, rather than
+ * summed over every product when they are read. The index and totals are not saved; they are rebuilt from the
+ * products when a ProductManager is deserialized.
  */
 public class ProductManager implements Serializable {
 
     private final List<FinanceProduct> FinanceProducts;
+    private transient AccountManager accountManager;
+    private transient Journal journal;
+    private transient ConcurrentHashMap<String, List<FinanceProduct>> productsByUser;
+    private transient LongAdder mortgagePrincipal;
+    private transient LongAdder gicLiability;
 
     /**
      * Initialize Product manager with an empty array list.
      */
     public ProductManager() {
         this.FinanceProducts = new ArrayList<>();
+        indexProducts();
+    }
+
+    /**
+     * Deserialize this ProductManager, then rebuild the index of the products owned by each user and the exposure
+     * totals.
+     *
+     * @param input The stream to read from.
+     * @throws IOException            if an I/O error occurs.
+     * @throws ClassNotFoundException if the class of a serialized object could not be found.
+     */
+    private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        indexProducts();
+    }
+
+    /**
+     * Rebuild the index of the products owned by each user and the exposure totals from the products in this
+     * ProductManager.
+     */
+    private void indexProducts() {
+        productsByUser = new ConcurrentHashMap<>();
+        mortgagePrincipal = new LongAdder();
+        gicLiability = new LongAdder();
+        for (FinanceProduct product : FinanceProducts) {
+            indexProduct(product);
+        }
+    }
+
+    /**
+     * Record a product in the index of the products owned by each user and in the exposure totals.
+     *
+     * @param product The product.
+     */
+    private void indexProduct(FinanceProduct product) {
+        List<FinanceProduct> owned = productsByUser.get(product.getUsername());
+        if (owned == null) {
+            owned = new CopyOnWriteArrayList<>();
+            productsByUser.put(product.getUsername(), owned);
+        }
+        owned.add(product);
+        exposureChanged(product, product.getInvestment());
+    }
+
+    /**
+     * Adjust the exposure totals for a change in the amount remaining on a product.
+     *
+     * @param product The product which changed.
+     * @param delta   The change in the amount remaining, in cents.
+     */
+    private void exposureChanged(FinanceProduct product, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (product instanceof Mortgage) {
+            mortgagePrincipal.add(delta);
+        } else if (product instanceof NonRedeemableGIC) {
+            gicLiability.add(delta);
+        }
+    }
+
+    /**
+     * Set the AccountManager holding the accounts products are associated with, whose locks are held while products
+     * settle their payments.
+     *
+     * @param accountManager The AccountManager.
+     */
+    public void setAccountManager(AccountManager accountManager) {
+        this.accountManager = accountManager;
     }
 
-    public void addProduct(FinanceProduct product) {
+    /**
+     * Set the Journal used to record the month-end updates of the products in this ProductManager.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Record an entry in this ProductManager's Journal, if it has one.
+     *
+     * @param entry The entry to record.
+     */
+    private void record(JournalEntry entry) {
+        if (journal != null) {
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Add a product to this ProductManager. Products may be added by several threads at once.
+     *
+     * @param product The product to add.
+     */
+    public synchronized void addProduct(FinanceProduct product) {
         FinanceProducts.add(product);
+        indexProduct(product);
+    }
+
+    /**
+     * Get all the products in this ProductManager.
+     *
+     * @return a copy of the list of products, in the order they were added.
+     */
+    synchronized List<FinanceProduct> getProducts() {
+        return new ArrayList<>(FinanceProducts);
+    }
+
+    /**
+     * Get the principal outstanding on every mortgage, which customers owe the bank.
+     *
+     * @return the total principal remaining, in cents.
+     */
+    public long getMortgagePrincipal() {
+        return mortgagePrincipal.sum();
+    }
+
+    /**
+     * Get the amount remaining on every GIC, which the bank owes customers.
+     *
+     * @return the total investment remaining, in cents.
+     */
+    public long getGICLiability() {
+        return gicLiability.sum();
+    }
+
+    /**
+     * Advance a product by a number of months, and adjust the exposure totals by the change in its amount remaining.
+     *
+     * @param product The product to update.
+     * @param months  The number of months to advance.
+     */
+    private void update(FinanceProduct product, int months) {
+        long before = product.getInvestment();
+        if (months == 1) {
+            product.update();
+        } else {
+            product.catchUp(months);
+        }
+        exposureChanged(product, product.getInvestment() - before);
     }
 
     /**
      * Update all products in for this month.
      */
     public void updateAll() {
-        for (FinanceProduct product : FinanceProducts) {
-            product.update();
+        updateAll(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Update all products for this month, splitting them across a ForkJoinPool. Products are grouped by their
+     * associated account, and the groups are updated in parallel. The products in a group are updated one at a time in
+     * the order they were added, so when an account cannot cover every payment, the same products are paid as if they
+     * had all been updated in order.
+     *
+     * @param pool The pool in which to update the products.
+     * @return the number of products updated.
+     */
+    public int updateAll(ForkJoinPool pool) {
+        return catchUpAll(1, pool);
+    }
+
+    /**
+     * Advance all products by a number of months, splitting them across a ForkJoinPool as updateAll does. Each product
+     * is advanced by every month at once, in closed form while its associated account can cover its payments, so
+     * products sharing an account are caught up one after another rather than month by month.
+     *
+     * @param months The number of months to advance.
+     * @param pool   The pool in which to update the products.
+     * @return the number of products updated.
+     */
+    public int catchUpAll(int months, ForkJoinPool pool) {
+        return catchUpAll(months, pool, null, null);
+    }
+
+    /**
+     * Advance all products by a number of months as a job of an end-of-day batch, as catchUpAll does.
+     * <p>
+     * The new state of the products sharing an account and the account's new balance are recorded in the Journal
+     * together with the job, and each account whose products were caught up is recorded in the batch's progress, so
+     * a job which is interrupted or fails is resumed from the accounts whose products it had not caught up.
+     *
+     * @param months   The number of months to advance.
+     * @param pool     The pool in which to update the products.
+     * @param job      The name of the batch job, or null if the update is not part of a batch.
+     * @param progress The progress of the batch, or null if the update is not part of a batch.
+     * @return the number of products updated.
+     */
+    public int catchUpAll(int months, ForkJoinPool pool, String job, BatchProgress progress) {
+        List<FinanceProduct> products = getProducts();
+        Map<Account, List<Integer>> productsByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < products.size(); i++) {
+            List<Integer> group = productsByAccount.get(products.get(i).getAssociated());
+            if (group == null) {
+                group = new ArrayList<>();
+                productsByAccount.put(products.get(i).getAssociated(), group);
+            }
+            group.add(i);
+        }
+        List<List<Integer>> groups = new ArrayList<>(productsByAccount.values());
+        pool.invoke(new UpdateTask(products, groups, 0, groups.size(), months, job, progress));
+        return products.size();
+    }
+
+    /**
+     * Advance the products sharing an associated account, one at a time in the order they were added, unless the
+     * batch job has already caught them up.
+     *
+     * @param products The products of this ProductManager.
+     * @param group    The indices of the products sharing an associated account.
+     * @param months   The number of months to advance.
+     * @param job      The name of the batch job, or null if the update is not part of a batch.
+     * @param progress The progress of the batch, or null if the update is not part of a batch.
+     * @return true.
+     */
+    private boolean updateGroup(List<FinanceProduct> products, List<Integer> group, int months, String job,
+                                BatchProgress progress) {
+        String accountID = products.get(group.get(0)).getAssociatedID();
+        if (progress != null && progress.isUpdated(job, accountID)) {
+            return true;
+        }
+        int[] indices = new int[group.size()];
+        int[] durations = new int[group.size()];
+        long[] investments = new long[group.size()];
+        long[] paymentsDue = new long[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            FinanceProduct product = products.get(group.get(i));
+            update(product, months);
+            indices[i] = group.get(i);
+            durations[i] = product.getDuration();
+            investments[i] = product.getInvestment();
+            paymentsDue[i] = product.getPaymentDue();
+        }
+        if (journal != null) {
+            record(new ProductsUpdatedEntry(job, accountID, accountManager.getBalanceCents(accountID), indices,
+                    durations, investments, paymentsDue));
+        }
+        if (progress != null) {
+            progress.updated(job, accountID);
+        }
+        return true;
+    }
+
+    /**
+     * Apply a catch-up of the products sharing an associated account recorded in the Journal, restoring the state of
+     * the products and the balance of the account, and recording it in the batch's progress.
+     *
+     * @param job         The name of the batch job which updated the products, or null if it was not part of a batch.
+     * @param accountID   The ID of the associated account.
+     * @param balance     The balance of the account after the update, in cents.
+     * @param indices     The index of each product in this ProductManager.
+     * @param durations   The remaining duration of each product.
+     * @param investments The remaining investment in each product, in cents.
+     * @param paymentsDue The next payment due on each product, in cents.
+     * @param progress    The progress of the batch.
+     */
+    public void applyUpdate(String job, String accountID, long balance, int[] indices, int[] durations,
+                            long[] investments, long[] paymentsDue, BatchProgress progress) {
+        List<FinanceProduct> products = getProducts();
+        for (int i = 0; i < indices.length; i++) {
+            FinanceProduct product = products.get(indices[i]);
+            long before = product.getInvestment();
+            product.restore(durations[i], investments[i], paymentsDue[i]);
+            exposureChanged(product, product.getInvestment() - before);
+        }
+        accountManager.applyUpdate(job, accountID, balance, progress);
+    }
+
+    /**
+     * A task which updates a range of groups of products, splitting the range in half until it is small enough to
+     * update directly.
+     */
+    private class UpdateTask extends RecursiveAction {
+
+        private final static int THRESHOLD = 16;
+        private final List<FinanceProduct> products;
+        private final List<List<Integer>> groups;
+        private final int start;
+        private final int end;
+        private final int months;
+        private final String job;
+        private final BatchProgress progress;
+
+        /**
+         * Initialize this UpdateTask with a range of groups.
+         *
+         * @param products The products of this ProductManager.
+         * @param groups   The indices of the products sharing each associated account.
+         * @param start    The index of the first group in the range.
+         * @param end      The index after the last group in the range.
+         * @param months   The number of months to advance each product.
+         * @param job      The name of the batch job, or null if the update is not part of a batch.
+         * @param progress The progress of the batch, or null if the update is not part of a batch.
+         */
+        UpdateTask(List<FinanceProduct> products, List<List<Integer>> groups, int start, int end, int months,
+                   String job, BatchProgress progress) {
+            this.products = products;
+            this.groups = groups;
+            this.start = start;
+            this.end = end;
+            this.months = months;
+            this.job = job;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    List<Integer> group = groups.get(i);
+                    if (accountManager == null) {
+                        updateGroup(products, group, months, job, progress);
+                    } else {
+                        accountManager.runLocked(products.get(group.get(0)).getAssociatedID(),
+                                () -> updateGroup(products, group, months, job, progress));
+                    }
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new UpdateTask(products, groups, start, middle, months, job, progress),
+                        new UpdateTask(products, groups, middle, end, months, job, progress));
+            }
         }
     }
 
@@ -37,20 +376,20 @@ public class ProductManager implements Serializable {
      * @return Information of all products
      */
     public String getOwnerProductInfo(String username){
+        List<FinanceProduct> owned = productsByUser.get(username);
+        if (owned == null || owned.isEmpty()) {
+            return "No products.";
+        }
         StringBuilder toPrint = new StringBuilder();
-        for (FinanceProduct product:FinanceProducts){
-            if (product.getUsername().equals(username)){
-                toPrint.append(product.toString());
-            }
+        for (FinanceProduct product : owned) {
+            toPrint.append(product.toString());
         }
-
-        if (toPrint.toString().equals("")){return "No products.";}
-        else{return toPrint.toString();}
+        return toPrint.toString();
     }
 
     public String toString() {
         StringBuilder toPrint = new StringBuilder();
-        for (FinanceProduct product : FinanceProducts) {
+        for (FinanceProduct product : getProducts()) {
             toPrint.append(product.toString());
         }
         return toPrint.toString();
@@ -47,7 +47,7 @@ public class GraphicalInputReader {
             try {
                 return Double.parseDouble(inputString);
             } catch (NumberFormatException e) {
-                JOptionPane.showMessageDialog(frame, "Input must be a number", title, JOptionPane.ERROR_MESSAGE);
+                showInputError("Input must be a number", title);
             }
         }
     }
@@ -66,7 +66,7 @@ public class GraphicalInputReader {
             try {
                 return Integer.parseInt(inputString);
             } catch (NumberFormatException e) {
-                JOptionPane.showMessageDialog(frame, "Input must be an integer", title, JOptionPane.ERROR_MESSAGE);
+                showInputError("Input must be an integer", title);
             }
         }
     }
@@ -85,7 +85,7 @@ public class GraphicalInputReader {
             if (inputDouble > 0) {
                 return inputDouble;
             } else {
-                JOptionPane.showMessageDialog(frame, "Input must be positive", title, JOptionPane.ERROR_MESSAGE);
+                showInputError("Input must be positive", title);
             }
         }
     }
@@ -104,11 +104,21 @@ public class GraphicalInputReader {
             if (inputInt >= 0) {
                 return inputInt;
             } else {
-                JOptionPane.showMessageDialog(frame, "Input must be a non-negative integer", title, JOptionPane.ERROR_MESSAGE);
+                showInputError("Input must be a non-negative integer", title);
             }
         }
     }
 
+    /**
+     * Tell the user that their input was invalid, before they are asked again.
+     *
+     * @param message The error message to display.
+     * @param title   The text to appear in the title bar of the dialog.
+     */
+    protected void showInputError(String message, String title) {
+        JOptionPane.showMessageDialog(frame, message, title, JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Get a user selection from a list of options.
      *
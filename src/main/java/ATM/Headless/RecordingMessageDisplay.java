@@ -0,0 +1,59 @@
+package ATM.Headless;
+
+import ATM.GUI.MessageDisplay;
+
+/**
+ * A MessageDisplay which opens no dialogs, and instead counts the messages shown and keeps the last of them.
+ */
+public class RecordingMessageDisplay extends MessageDisplay {
+
+    private int messages;
+    private int errors;
+    private String lastMessage;
+
+    /**
+     * Initialize this RecordingMessageDisplay.
+     */
+    public RecordingMessageDisplay() {
+        super(null);
+    }
+
+    @Override
+    public void showMessage(String message, String title) {
+        messages++;
+        lastMessage = message;
+    }
+
+    @Override
+    public void showErrorMessage(String message, String title) {
+        errors++;
+        lastMessage = message;
+    }
+
+    /**
+     * Get the number of messages shown, not counting error messages.
+     *
+     * @return the number of messages.
+     */
+    public int getMessages() {
+        return messages;
+    }
+
+    /**
+     * Get the number of error messages shown.
+     *
+     * @return the number of error messages.
+     */
+    public int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Get the last message or error message shown.
+     *
+     * @return the last message, or null if none has been shown.
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+}
@@ -0,0 +1,101 @@
+package ATM.Headless;
+
+import ATM.GUI.GraphicalInputReader;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A GraphicalInputReader which opens no dialogs, and instead takes each input from a script.
+ * <p>
+ * Each step of the script answers one prompt. A prompt for text or a number takes the step as typed. A prompt to
+ * select from a list of options selects the first option whose text starts with the step, so a menu option is selected
+ * by its name and an account by its type (e.g. "Chequing Account"); if no option matches and the step is a number, it
+ * is taken as the index of the option.
+ */
+public class ScriptedInputReader extends GraphicalInputReader {
+
+    private final Iterator<String> steps;
+    private int stepsTaken;
+
+    /**
+     * Initialize this ScriptedInputReader with the steps of a script, which may be generated as they are read.
+     *
+     * @param steps The steps of the script.
+     */
+    public ScriptedInputReader(Iterator<String> steps) {
+        super(null);
+        this.steps = steps;
+    }
+
+    /**
+     * Get the number of steps of the script used so far.
+     *
+     * @return the number of steps taken.
+     */
+    public int getStepsTaken() {
+        return stepsTaken;
+    }
+
+    @Override
+    public String getString(String message, String title) {
+        return nextStep(title);
+    }
+
+    @Override
+    public int getSelectionFromOptions(List<?> options, String title) {
+        String step = nextStep(title);
+        int index = findOption(options, step);
+        if (index < 0) {
+            throw new IllegalStateException("Step " + stepsTaken + " \"" + step + "\" matches none of the options of \""
+                    + title + "\": " + options);
+        }
+        return index;
+    }
+
+    /**
+     * Find the option selected by a line of text: the first option whose text starts with the line, or if there is
+     * none, the option at the index given by the line.
+     *
+     * @param options The options.
+     * @param line    The line of text.
+     * @return the index of the selected option, or -1 if the line selects none of them.
+     */
+    public static int findOption(List<?> options, String line) {
+        for (int i = 0; i < options.size() && !line.isEmpty(); i++) {
+            if (options.get(i).toString().startsWith(line)) {
+                return i;
+            }
+        }
+        try {
+            int index = Integer.parseInt(line);
+            if (index >= 0 && index < options.size()) {
+                return index;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        return -1;
+    }
+
+    /**
+     * Stop the script, rather than asking again, when a step is not valid input.
+     */
+    @Override
+    protected void showInputError(String message, String title) {
+        throw new IllegalStateException("Step " + stepsTaken + " is not valid input for \"" + title + "\": " + message);
+    }
+
+    /**
+     * Take the next step of the script.
+     *
+     * @param title The title of the prompt which the step answers.
+     * @return the step.
+     */
+    private String nextStep(String title) {
+        if (!steps.hasNext()) {
+            throw new IllegalStateException("The script ended at the prompt \"" + title + "\".");
+        }
+        stepsTaken++;
+        return steps.next();
+    }
+}
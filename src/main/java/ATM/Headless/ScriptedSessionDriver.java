@@ -0,0 +1,189 @@
+package ATM.Headless;
+
+import ATM.LoginManager;
+import ATM.Session.CommandListener;
+import ATM.Session.MenuCache;
+import ATM.Session.Session;
+import ATM.User.User;
+import ATM.User.UserManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Runs Sessions without a GUI, replaying scripted menu choices and inputs, so that the whole program can be driven
+ * under load or in a test. The time taken by each command, and by each login, is reported to a CommandListener, such
+ * as a CommandMetrics.
+ * <p>
+ * A script file has one step per line. A line "login username password" starts a new Session, and each other line
+ * answers one prompt of that Session (see ScriptedInputReader). Blank lines and lines starting with # are skipped.
+ */
+public class ScriptedSessionDriver {
+
+    public final static String LOGIN = "Log in";
+
+    private final UserManager userManager;
+    private final LoginManager loginManager;
+    private final MenuCache menuCache;
+    private final CommandListener commandListener;
+
+    /**
+     * Initialize this ScriptedSessionDriver.
+     *
+     * @param userManager     The UserManager holding the users who log in.
+     * @param menuCache       The cache of the menus of the users.
+     * @param commandListener The listener told the time taken by each command and each login. It may be shared by
+     *                        several drivers.
+     */
+    public ScriptedSessionDriver(UserManager userManager, MenuCache menuCache, CommandListener commandListener) {
+        this.userManager = userManager;
+        this.loginManager = new LoginManager(userManager);
+        this.menuCache = menuCache;
+        this.commandListener = commandListener;
+    }
+
+    /**
+     * Log a user in and run a Session, taking its inputs from the steps of a script until the user exits.
+     *
+     * @param username The username to log in with.
+     * @param password The password to log in with.
+     * @param steps    The steps of the script, which may be generated as they are read.
+     * @return the result of the Session.
+     */
+    public Result run(String username, String password, Iterator<String> steps) {
+        long start = System.nanoTime();
+        if (!loginManager.login(username, password)) {
+            return new Result(username, false, false, true, 0, new RecordingMessageDisplay(), "Login failed");
+        }
+        User user = userManager.getUser(username);
+        ScriptedInputReader inputReader = new ScriptedInputReader(steps);
+        RecordingMessageDisplay messageDisplay = new RecordingMessageDisplay();
+        Session session = new Session(user, menuCache.getMenu(user), inputReader, messageDisplay);
+        session.setCommandListener(commandListener);
+        commandListener.commandExecuted(LOGIN, System.nanoTime() - start);
+
+        try {
+            boolean continueProgram = session.run();
+            return new Result(username, true, true, continueProgram, inputReader.getStepsTaken(), messageDisplay,
+                    null);
+        } catch (RuntimeException e) {
+            System.out.println("Warning: the scripted session of " + username + " stopped. " + e.getMessage());
+            return new Result(username, true, false, true, inputReader.getStepsTaken(), messageDisplay,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Run every Session of a script file, one after another.
+     *
+     * @param script The script.
+     * @return the result of each Session, in order.
+     * @throws IOException if the script cannot be read, or a step comes before the first login.
+     */
+    public List<Result> runScript(BufferedReader script) throws IOException {
+        List<String[]> logins = new ArrayList<>();
+        List<List<String>> sessionSteps = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] words = line.trim().split("\\s+");
+            if (words[0].equals("login") && words.length == 3) {
+                logins.add(words);
+                sessionSteps.add(new ArrayList<>());
+            } else if (sessionSteps.isEmpty()) {
+                throw new IOException("Line " + lineNumber + " of the script comes before the first login.");
+            } else {
+                sessionSteps.get(sessionSteps.size() - 1).add(line.trim());
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < logins.size(); i++) {
+            results.add(run(logins.get(i)[1], logins.get(i)[2], sessionSteps.get(i).iterator()));
+        }
+        return results;
+    }
+
+    /**
+     * The result of a scripted Session.
+     */
+    public static class Result {
+
+        private final String username;
+        private final boolean loggedIn;
+        private final boolean completed;
+        private final boolean continueProgram;
+        private final int steps;
+        private final int messages;
+        private final int errors;
+        private final String failure;
+
+        /**
+         * Initialize this Result.
+         *
+         * @param username        The username logged in with.
+         * @param loggedIn        Whether the login succeeded.
+         * @param completed       Whether the Session ran until the user exited.
+         * @param continueProgram Whether the user left the ATM running when they exited.
+         * @param steps           The number of steps of the script taken.
+         * @param messageDisplay  The display which recorded the messages shown in the Session.
+         * @param failure         Why the Session stopped before the user exited, or null if it did not.
+         */
+        Result(String username, boolean loggedIn, boolean completed, boolean continueProgram, int steps,
+               RecordingMessageDisplay messageDisplay, String failure) {
+            this.username = username;
+            this.loggedIn = loggedIn;
+            this.completed = completed;
+            this.continueProgram = continueProgram;
+            this.steps = steps;
+            this.messages = messageDisplay.getMessages();
+            this.errors = messageDisplay.getErrors();
+            this.failure = failure;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public boolean isLoggedIn() {
+            return loggedIn;
+        }
+
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public boolean isContinueProgram() {
+            return continueProgram;
+        }
+
+        public int getSteps() {
+            return steps;
+        }
+
+        public int getMessages() {
+            return messages;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public String getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return username + ": " + (completed ? "completed" : failure) + " after " + steps + " steps, " + messages
+                    + " messages, " + errors + " errors";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ATM.Journal;
+
+import ATM.Account.AccountFactory;
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A JournalEntry recording the creation of a new account, with its accountID, type, creation date and owners, so that
+ * the account is recreated with the same accountID when replayed.
+ */
+public class AccountCreatedEntry extends JournalEntry {
+
+    private final String accountID;
+    private final String accountType;
+    private final Date creationDate;
+    private final List<String> owners;
+    private final boolean primary;
+
+    /**
+     * Initialize this AccountCreatedEntry with the accountID, type, creation date and owners of the new account.
+     *
+     * @param accountID    The ID of the new account.
+     * @param accountType  The type of the new account, as given to the AccountFactory.
+     * @param creationDate The date the account was created.
+     * @param owners       The usernames of the owners of the account, first owner first.
+     * @param primary      Whether the account is its first owner's primary chequing account.
+     */
+    public AccountCreatedEntry(String accountID, String accountType, Date creationDate, List<String> owners,
+                               boolean primary) {
+        this.accountID = accountID;
+        this.accountType = accountType;
+        this.creationDate = creationDate;
+        this.owners = new ArrayList<>(owners);
+        this.primary = primary;
+    }
+
+    /**
+     * Read an AccountCreatedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    AccountCreatedEntry(CodecInput input) throws IOException {
+        accountID = input.readString();
+        accountType = input.readString();
+        creationDate = input.readDate();
+        int numOwners = input.readVarInt();
+        owners = new ArrayList<>(numOwners);
+        for (int i = 0; i < numOwners; i++) {
+            owners.add(input.readString());
+        }
+        primary = input.readBoolean();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.ACCOUNT_CREATED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(accountID);
+        output.writeString(accountType);
+        output.writeDate(creationDate);
+        output.writeVarInt(owners.size());
+        for (String username : owners) {
+            output.writeString(username);
+        }
+        output.writeBoolean(primary);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().addAccount(AccountFactory.restoreAccount(accountID, accountType,
+                creationDate, owners, primary));
+    }
+}
@@ -0,0 +1,55 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.Request.AccountRequest;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording a request for a new account.
+ */
+public class AccountRequestEntry extends JournalEntry {
+
+    private final String username;
+    private final String accountType;
+
+    /**
+     * Initialize this AccountRequestEntry with a username and an account type.
+     *
+     * @param username    The user who requested the account.
+     * @param accountType The type of account requested.
+     */
+    public AccountRequestEntry(String username, String accountType) {
+        this.username = username;
+        this.accountType = accountType;
+    }
+
+    /**
+     * Read an AccountRequestEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    AccountRequestEntry(CodecInput input) throws IOException {
+        username = input.readString();
+        accountType = input.readString();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.ACCOUNT_REQUEST;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(username);
+        output.writeString(accountType);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        AccountRequest request = new AccountRequest(username, accountType, context.getAccountFactory());
+        context.getBank().getRequestManager().addRequest(request);
+    }
+}
@@ -0,0 +1,60 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the balance of an account after a month-end update, such as adding interest, and the batch
+ * job which updated it, if any.
+ */
+public class AccountUpdatedEntry extends JournalEntry {
+
+    private final String job;
+    private final String accountID;
+    private final long balance;
+
+    /**
+     * Initialize this AccountUpdatedEntry with the job, the account, and its new balance.
+     *
+     * @param job       The name of the batch job which updated the account, or null if it was not run by a batch.
+     * @param accountID The ID of the account.
+     * @param balance   The balance of the account after the update, in cents.
+     */
+    public AccountUpdatedEntry(String job, String accountID, long balance) {
+        this.job = job;
+        this.accountID = accountID;
+        this.balance = balance;
+    }
+
+    /**
+     * Read an AccountUpdatedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    AccountUpdatedEntry(CodecInput input) throws IOException {
+        job = input.readString();
+        accountID = input.readString();
+        balance = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.ACCOUNT_UPDATED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(job);
+        output.writeString(accountID);
+        output.writeLong(balance);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().applyUpdate(job, accountID, balance,
+                context.getBank().getBatchProgress());
+    }
+}
@@ -0,0 +1,53 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the addition of an authorized user to an account.
+ */
+public class AuthorizedUserEntry extends JournalEntry {
+
+    private final String accountID;
+    private final String username;
+
+    /**
+     * Initialize this AuthorizedUserEntry with an accountID and the username of the new owner.
+     *
+     * @param accountID The ID of the account.
+     * @param username  The username of the new owner.
+     */
+    public AuthorizedUserEntry(String accountID, String username) {
+        this.accountID = accountID;
+        this.username = username;
+    }
+
+    /**
+     * Read an AuthorizedUserEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    AuthorizedUserEntry(CodecInput input) throws IOException {
+        accountID = input.readString();
+        username = input.readString();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.AUTHORIZED_USER;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(accountID);
+        output.writeString(username);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().addUser(accountID, username);
+    }
+}
@@ -0,0 +1,49 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * A JournalEntry recording an end-of-day batch finishing, closing every day up to a given day.
+ */
+public class BatchClosedEntry extends JournalEntry {
+
+    private final LocalDate day;
+
+    /**
+     * Initialize this BatchClosedEntry with the day the batch closed.
+     *
+     * @param day The day the batch closed.
+     */
+    public BatchClosedEntry(LocalDate day) {
+        this.day = day;
+    }
+
+    /**
+     * Read a BatchClosedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    BatchClosedEntry(CodecInput input) throws IOException {
+        day = LocalDate.ofEpochDay(input.readLong());
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.BATCH_CLOSED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeLong(day.toEpochDay());
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getBatchProgress().close(day);
+    }
+}
@@ -0,0 +1,48 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording a job of the current end-of-day batch finishing.
+ */
+public class BatchJobCompletedEntry extends JournalEntry {
+
+    private final String name;
+
+    /**
+     * Initialize this BatchJobCompletedEntry with the job which finished.
+     *
+     * @param name The name of the job.
+     */
+    public BatchJobCompletedEntry(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Read a BatchJobCompletedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    BatchJobCompletedEntry(CodecInput input) throws IOException {
+        name = input.readString();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.BATCH_JOB_COMPLETED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(name);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getBatchProgress().complete(name);
+    }
+}
@@ -0,0 +1,70 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording a bill payment, with the sequence number it was given in the outgoing payments file.
+ */
+public class BillPaymentEntry extends JournalEntry {
+
+    private final String fromID;
+    private final double amount;
+    private final Date date;
+    private final String payee;
+    private final long paymentSequence;
+
+    /**
+     * Initialize this BillPaymentEntry with an account, an amount, a date, a payee, and a sequence number.
+     *
+     * @param fromID          The ID of the account from which the bill was paid.
+     * @param amount          The amount of the bill payment.
+     * @param date            The date of the payment.
+     * @param payee           The name of the payee.
+     * @param paymentSequence The sequence number of the payment in the outgoing payments file, or 0 if it was not
+     *                        written to the file.
+     */
+    public BillPaymentEntry(String fromID, double amount, Date date, String payee, long paymentSequence) {
+        this.fromID = fromID;
+        this.amount = amount;
+        this.date = date;
+        this.payee = payee;
+        this.paymentSequence = paymentSequence;
+    }
+
+    /**
+     * Read a BillPaymentEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    BillPaymentEntry(CodecInput input) throws IOException {
+        fromID = input.readString();
+        amount = input.readDouble();
+        date = input.readDate();
+        payee = input.readString();
+        paymentSequence = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.BILL_PAYMENT;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(fromID);
+        output.writeDouble(amount);
+        output.writeDate(date);
+        output.writeString(payee);
+        output.writeLong(paymentSequence);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().payBill(fromID, amount, date, payee, paymentSequence);
+    }
+}
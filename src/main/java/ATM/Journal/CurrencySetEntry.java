@@ -0,0 +1,58 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the currency being set on a Foreign Currency Account, with the balance it was converted to.
+ */
+public class CurrencySetEntry extends JournalEntry {
+
+    private final String accountID;
+    private final String currencyCode;
+    private final long balance;
+
+    /**
+     * Initialize this CurrencySetEntry with an accountID, a currency code, and the converted balance.
+     *
+     * @param accountID    The ID of the account.
+     * @param currencyCode The new currency of the account.
+     * @param balance      The balance of the account in the new currency, in cents.
+     */
+    public CurrencySetEntry(String accountID, String currencyCode, long balance) {
+        this.accountID = accountID;
+        this.currencyCode = currencyCode;
+        this.balance = balance;
+    }
+
+    /**
+     * Read a CurrencySetEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    CurrencySetEntry(CodecInput input) throws IOException {
+        accountID = input.readString();
+        currencyCode = input.readString();
+        balance = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.CURRENCY_SET;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(accountID);
+        output.writeString(currencyCode);
+        output.writeLong(balance);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().setCurrencyType(accountID, currencyCode, balance);
+    }
+}
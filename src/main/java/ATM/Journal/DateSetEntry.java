@@ -0,0 +1,49 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording the date of the bank being set.
+ */
+public class DateSetEntry extends JournalEntry {
+
+    private final Date date;
+
+    /**
+     * Initialize this DateSetEntry with the new date.
+     *
+     * @param date The date that was set.
+     */
+    public DateSetEntry(Date date) {
+        this.date = date;
+    }
+
+    /**
+     * Read a DateSetEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    DateSetEntry(CodecInput input) throws IOException {
+        date = input.readDate();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.DATE_SET;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeDate(date);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getBankTimeManager().setDate(date);
+    }
+}
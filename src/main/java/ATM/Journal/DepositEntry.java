@@ -0,0 +1,59 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording a deposit.
+ */
+public class DepositEntry extends JournalEntry {
+
+    private final String toID;
+    private final double amount;
+    private final Date date;
+
+    /**
+     * Initialize this DepositEntry with the receiving account, an amount, and a date.
+     *
+     * @param toID   The ID of the account receiving the deposit.
+     * @param amount The amount deposited.
+     * @param date   The date of the deposit.
+     */
+    public DepositEntry(String toID, double amount, Date date) {
+        this.toID = toID;
+        this.amount = amount;
+        this.date = date;
+    }
+
+    /**
+     * Read a DepositEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    DepositEntry(CodecInput input) throws IOException {
+        toID = input.readString();
+        amount = input.readDouble();
+        date = input.readDate();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.DEPOSIT;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(toID);
+        output.writeDouble(amount);
+        output.writeDate(date);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().deposit(toID, amount, date);
+    }
+}
@@ -0,0 +1,73 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.DepositSlip;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording the deposits of a DepositSlip posted to one account.
+ */
+public class DepositSlipEntry extends JournalEntry {
+
+    private final String toID;
+    private final long[] amounts;
+    private final long[] chequeNumbers;
+    private final Date date;
+
+    /**
+     * Initialize this DepositSlipEntry with the receiving account, the deposits posted, and a date.
+     *
+     * @param toID          The ID of the account receiving the deposits.
+     * @param amounts       The amount of each deposit posted, in cents.
+     * @param chequeNumbers The cheque number of each deposit posted, or -1 for cash.
+     * @param date          The date of the deposits.
+     */
+    public DepositSlipEntry(String toID, long[] amounts, long[] chequeNumbers, Date date) {
+        this.toID = toID;
+        this.amounts = amounts;
+        this.chequeNumbers = chequeNumbers;
+        this.date = date;
+    }
+
+    /**
+     * Read a DepositSlipEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    DepositSlipEntry(CodecInput input) throws IOException {
+        toID = input.readString();
+        amounts = JournalCodec.readLongs(input);
+        chequeNumbers = JournalCodec.readLongs(input);
+        date = input.readDate();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.DEPOSIT_SLIP;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(toID);
+        JournalCodec.writeLongs(amounts, output);
+        JournalCodec.writeLongs(chequeNumbers, output);
+        output.writeDate(date);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        DepositSlip slip = new DepositSlip();
+        for (int i = 0; i < amounts.length; i++) {
+            if (chequeNumbers[i] < 0) {
+                slip.addCash(amounts[i]);
+            } else {
+                slip.addCheque(amounts[i], chequeNumbers[i]);
+            }
+        }
+        context.getBank().getAccountManager().depositAll(toID, slip, date);
+    }
+}
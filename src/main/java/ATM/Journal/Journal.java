@@ -0,0 +1,188 @@
+package ATM.Journal;
+
+import java.io.*;
+
+/**
+ * An append-only log of the changes made to a Bank since its last snapshot was saved.
+ * <p>
+ * Each entry is written as a sequence number, a length, and the JournalEntry in the format of the JournalCodec.
+ * Entries are flushed to the operating system as soon as they are appended, so they survive a crash of the program,
+ * and are forced to disk in batches of syncBatchSize entries or every syncIntervalMillis milliseconds, whichever comes
+ * first.
+ */
+public class Journal {
+
+    private final static int RECORD_HEADER_SIZE = 12;
+    private final String fileName;
+    private final int syncBatchSize;
+    private final long syncIntervalMillis;
+    private FileOutputStream outputFile;
+    private DataOutputStream output;
+    private long sequence;
+    private int unsyncedEntries;
+    private long lastSyncTime;
+
+    /**
+     * Initialize this Journal with a file name, syncing every 16 entries or every second.
+     *
+     * @param fileName The file to which entries are appended.
+     */
+    public Journal(String fileName) {
+        this(fileName, 16, 1000);
+    }
+
+    /**
+     * Initialize this Journal with a file name and a sync policy.
+     *
+     * @param fileName           The file to which entries are appended.
+     * @param syncBatchSize      The number of entries to write before forcing them to disk.
+     * @param syncIntervalMillis The maximum time between forcing entries to disk, in milliseconds.
+     */
+    public Journal(String fileName, int syncBatchSize, long syncIntervalMillis) {
+        this.fileName = fileName;
+        this.syncBatchSize = syncBatchSize;
+        this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    /**
+     * Replay every entry in the journal file which is newer than the last saved snapshot, then open the file for
+     * appending. An entry which was only partially written before a crash is discarded.
+     *
+     * @param context       The Bank and factories on which to replay the entries.
+     * @param savedSequence The sequence number of the last entry included in the saved snapshot.
+     * @return the number of entries replayed.
+     * @throws IOException if an I/O error occurs while reading or opening the journal file.
+     */
+    public synchronized int open(ReplayContext context, long savedSequence) throws IOException {
+        File file = new File(fileName);
+        long fileLength = file.length();
+        long validLength = 0;
+        int replayed = 0;
+        sequence = savedSequence;
+
+        if (file.exists()) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                while (validLength + RECORD_HEADER_SIZE <= fileLength) {
+                    long entrySequence = input.readLong();
+                    int length = input.readInt();
+                    if (length < 0 || validLength + RECORD_HEADER_SIZE + length > fileLength) {
+                        break;
+                    }
+                    byte[] bytes = new byte[length];
+                    input.readFully(bytes);
+                    validLength += RECORD_HEADER_SIZE + length;
+                    if (entrySequence > sequence) {
+                        replay(bytes, context);
+                        sequence = entrySequence;
+                        replayed++;
+                    }
+                }
+            } finally {
+                input.close();
+            }
+        }
+
+        outputFile = new FileOutputStream(file, true);
+        outputFile.getChannel().truncate(validLength);
+        output = new DataOutputStream(new BufferedOutputStream(outputFile));
+        unsyncedEntries = 0;
+        lastSyncTime = System.currentTimeMillis();
+        return replayed;
+    }
+
+    /**
+     * Read and replay a single entry.
+     *
+     * @param bytes   The written entry.
+     * @param context The Bank and factories on which to replay the entry.
+     */
+    private void replay(byte[] bytes, ReplayContext context) {
+        try {
+            JournalCodec.read(bytes).replay(context);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Warning: a journal entry could not be replayed. " + e);
+        }
+    }
+
+    /**
+     * Append an entry to this Journal. Does nothing if this Journal has not been opened.
+     *
+     * @param entry The entry to append.
+     */
+    public synchronized void append(JournalEntry entry) {
+        if (output == null) {
+            return;
+        }
+        try {
+            byte[] bytes = JournalCodec.write(entry);
+
+            sequence++;
+            output.writeLong(sequence);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            output.flush();
+            unsyncedEntries++;
+            if (unsyncedEntries >= syncBatchSize || System.currentTimeMillis() - lastSyncTime >= syncIntervalMillis) {
+                sync();
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: could not write to the journal. " + e);
+        }
+    }
+
+    /**
+     * Force all appended entries to disk. Does nothing if every entry has already been forced to disk.
+     *
+     * @throws IOException if an I/O error occurs while syncing the journal file.
+     */
+    public synchronized void sync() throws IOException {
+        if (output == null || unsyncedEntries == 0) {
+            return;
+        }
+        output.flush();
+        outputFile.getFD().sync();
+        unsyncedEntries = 0;
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Get the sequence number of the last entry appended to or replayed from this Journal.
+     *
+     * @return the sequence number of the last entry.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Discard all entries in the journal file, once they have been included in a saved snapshot.
+     *
+     * @throws IOException if an I/O error occurs while truncating the journal file.
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (output == null) {
+            return;
+        }
+        output.flush();
+        outputFile.getChannel().truncate(0);
+        outputFile.getFD().sync();
+        unsyncedEntries = 0;
+        lastSyncTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Sync and close the journal file.
+     *
+     * @throws IOException if an I/O error occurs while closing the journal file.
+     */
+    public synchronized void close() throws IOException {
+        if (output == null) {
+            return;
+        }
+        sync();
+        output.close();
+        output = null;
+        outputFile = null;
+    }
+}
@@ -0,0 +1,185 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * A class used to write and read JournalEntries in the compact binary format of the Bank's saved state. Each entry is
+ * written as its type code followed by its fields, with no class descriptors or field names, so an entry stays
+ * readable when the classes it refers to change. New types are given new codes; existing codes are never reused.
+ */
+class JournalCodec {
+
+    final static int ACCOUNT_CREATED = 0;
+    final static int ACCOUNT_REQUEST = 1;
+    final static int ACCOUNT_UPDATED = 2;
+    final static int AUTHORIZED_USER = 3;
+    final static int BATCH_CLOSED = 4;
+    final static int BATCH_JOB_COMPLETED = 5;
+    final static int BILL_PAYMENT = 6;
+    final static int CURRENCY_SET = 7;
+    final static int DATE_SET = 8;
+    final static int DEPOSIT = 9;
+    final static int DEPOSIT_SLIP = 10;
+    final static int PASSWORD_CHANGED = 11;
+    final static int PRODUCT_REQUEST = 12;
+    final static int PRODUCTS_UPDATED = 13;
+    final static int REQUEST_EXECUTED = 14;
+    final static int REQUEST_REMOVED = 15;
+    final static int RESTOCK = 16;
+    final static int REVERT_REQUEST = 17;
+    final static int TRANSFER = 18;
+    final static int TRANSFER_TO_USER = 19;
+    final static int USER_CREATED = 20;
+    final static int WITHDRAWAL = 21;
+
+    /**
+     * Write a JournalEntry.
+     *
+     * @param entry The entry to write.
+     * @return the bytes of the entry.
+     * @throws IOException if an I/O error occurs.
+     */
+    static byte[] write(JournalEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodecOutput output = new CodecOutput(bytes);
+        output.writeByte(entry.getType());
+        entry.write(output);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read a JournalEntry.
+     *
+     * @param bytes The bytes of the entry.
+     * @return the entry read.
+     * @throws IOException if an I/O error occurs, or the entry is of an unknown type.
+     */
+    static JournalEntry read(byte[] bytes) throws IOException {
+        CodecInput input = new CodecInput(new ByteArrayInputStream(bytes));
+        int type = input.readByte();
+        switch (type) {
+            case ACCOUNT_CREATED:
+                return new AccountCreatedEntry(input);
+            case ACCOUNT_REQUEST:
+                return new AccountRequestEntry(input);
+            case ACCOUNT_UPDATED:
+                return new AccountUpdatedEntry(input);
+            case AUTHORIZED_USER:
+                return new AuthorizedUserEntry(input);
+            case BATCH_CLOSED:
+                return new BatchClosedEntry(input);
+            case BATCH_JOB_COMPLETED:
+                return new BatchJobCompletedEntry(input);
+            case BILL_PAYMENT:
+                return new BillPaymentEntry(input);
+            case CURRENCY_SET:
+                return new CurrencySetEntry(input);
+            case DATE_SET:
+                return new DateSetEntry(input);
+            case DEPOSIT:
+                return new DepositEntry(input);
+            case DEPOSIT_SLIP:
+                return new DepositSlipEntry(input);
+            case PASSWORD_CHANGED:
+                return new PasswordChangedEntry(input);
+            case PRODUCT_REQUEST:
+                return new ProductRequestEntry(input);
+            case PRODUCTS_UPDATED:
+                return new ProductsUpdatedEntry(input);
+            case REQUEST_EXECUTED:
+                return new RequestExecutedEntry(input);
+            case REQUEST_REMOVED:
+                return new RequestRemovedEntry(input);
+            case RESTOCK:
+                return new RestockEntry(input);
+            case REVERT_REQUEST:
+                return new RevertRequestEntry(input);
+            case TRANSFER:
+                return new TransferEntry(input);
+            case TRANSFER_TO_USER:
+                return new TransferToUserEntry(input);
+            case USER_CREATED:
+                return new UserCreatedEntry(input);
+            case WITHDRAWAL:
+                return new WithdrawalEntry(input);
+            default:
+                throw new IOException("Unknown journal entry type " + type);
+        }
+    }
+
+    /**
+     * Write an array of ints, which may be null.
+     *
+     * @param values The array to write.
+     * @param output The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeInts(int[] values, CodecOutput output) throws IOException {
+        output.writeBoolean(values != null);
+        if (values != null) {
+            output.writeVarInt(values.length);
+            for (int value : values) {
+                output.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Read an array of ints written by writeInts.
+     *
+     * @param input The stream to read from.
+     * @return the array read, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    static int[] readInts(CodecInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        int[] values = new int[input.readVarInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = input.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Write an array of longs, which may be null.
+     *
+     * @param values The array to write.
+     * @param output The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    static void writeLongs(long[] values, CodecOutput output) throws IOException {
+        output.writeBoolean(values != null);
+        if (values != null) {
+            output.writeVarInt(values.length);
+            for (long value : values) {
+                output.writeLong(value);
+            }
+        }
+    }
+
+    /**
+     * Read an array of longs written by writeLongs.
+     *
+     * @param input The stream to read from.
+     * @return the array read, which may be null.
+     * @throws IOException if an I/O error occurs.
+     */
+    static long[] readLongs(CodecInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        long[] values = new long[input.readVarInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = input.readLong();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,37 @@
+package ATM.Journal;
+
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A class representing a single change to the state of a Bank, recorded in a Journal so that it can be
+ * re-applied on top of the last saved snapshot.
+ * <p>
+ * Each JournalEntry writes its own fields with a CodecOutput, after its type code, and is read back by a constructor
+ * taking a CodecInput (see JournalCodec).
+ */
+public abstract class JournalEntry {
+
+    /**
+     * Get the type code written before this JournalEntry.
+     *
+     * @return the type code, one of the constants of JournalCodec.
+     */
+    abstract int getType();
+
+    /**
+     * Write the fields of this JournalEntry.
+     *
+     * @param output The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    abstract void write(CodecOutput output) throws IOException;
+
+    /**
+     * Re-apply the change recorded by this JournalEntry.
+     *
+     * @param context The Bank and factories on which to re-apply the change.
+     */
+    abstract void replay(ReplayContext context);
+}
@@ -0,0 +1,53 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording a change of password.
+ */
+public class PasswordChangedEntry extends JournalEntry {
+
+    private final String username;
+    private final String password;
+
+    /**
+     * Initialize this PasswordChangedEntry with a username and the new password.
+     *
+     * @param username The username of the user.
+     * @param password The new password.
+     */
+    public PasswordChangedEntry(String username, String password) {
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Read a PasswordChangedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    PasswordChangedEntry(CodecInput input) throws IOException {
+        username = input.readString();
+        password = input.readString();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.PASSWORD_CHANGED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(username);
+        output.writeString(password);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getUserManager().changePassword(username, password);
+    }
+}
@@ -0,0 +1,66 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.Request.ProductRequest;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording a request for a new financial product.
+ */
+public class ProductRequestEntry extends JournalEntry {
+
+    private final String username;
+    private final String productType;
+    private final int duration;
+    private final double investment;
+
+    /**
+     * Initialize this ProductRequestEntry with a username and the details of the requested product.
+     *
+     * @param username    The user who requested the product.
+     * @param productType The type of product requested.
+     * @param duration    The duration of the requested product.
+     * @param investment  The investment of the requested product.
+     */
+    public ProductRequestEntry(String username, String productType, int duration, double investment) {
+        this.username = username;
+        this.productType = productType;
+        this.duration = duration;
+        this.investment = investment;
+    }
+
+    /**
+     * Read a ProductRequestEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    ProductRequestEntry(CodecInput input) throws IOException {
+        username = input.readString();
+        productType = input.readString();
+        duration = input.readInt();
+        investment = input.readDouble();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.PRODUCT_REQUEST;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(username);
+        output.writeString(productType);
+        output.writeInt(duration);
+        output.writeDouble(investment);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        ProductRequest request = new ProductRequest(username, productType, duration, investment,
+                context.getProductsFactory());
+        context.getBank().getRequestManager().addRequest(request);
+    }
+}
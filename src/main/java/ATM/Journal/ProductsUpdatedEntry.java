@@ -0,0 +1,82 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the state of the products sharing an associated account after they were caught up at
+ * month end, the balance of the account after paying or being paid by them, and the batch job which updated them, if
+ * any.
+ */
+public class ProductsUpdatedEntry extends JournalEntry {
+
+    private final String job;
+    private final String accountID;
+    private final long balance;
+    private final int[] products;
+    private final int[] durations;
+    private final long[] investments;
+    private final long[] paymentsDue;
+
+    /**
+     * Initialize this ProductsUpdatedEntry with the job, the account, and the new state of the account and products.
+     *
+     * @param job         The name of the batch job which updated the products, or null if it was not run by a batch.
+     * @param accountID   The ID of the associated account.
+     * @param balance     The balance of the account after the update, in cents.
+     * @param products    The index of each product in its ProductManager.
+     * @param durations   The remaining duration of each product.
+     * @param investments The remaining investment in each product, in cents.
+     * @param paymentsDue The next payment due on each product, in cents.
+     */
+    public ProductsUpdatedEntry(String job, String accountID, long balance, int[] products, int[] durations,
+                                long[] investments, long[] paymentsDue) {
+        this.job = job;
+        this.accountID = accountID;
+        this.balance = balance;
+        this.products = products;
+        this.durations = durations;
+        this.investments = investments;
+        this.paymentsDue = paymentsDue;
+    }
+
+    /**
+     * Read a ProductsUpdatedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    ProductsUpdatedEntry(CodecInput input) throws IOException {
+        job = input.readString();
+        accountID = input.readString();
+        balance = input.readLong();
+        products = JournalCodec.readInts(input);
+        durations = JournalCodec.readInts(input);
+        investments = JournalCodec.readLongs(input);
+        paymentsDue = JournalCodec.readLongs(input);
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.PRODUCTS_UPDATED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(job);
+        output.writeString(accountID);
+        output.writeLong(balance);
+        JournalCodec.writeInts(products, output);
+        JournalCodec.writeInts(durations, output);
+        JournalCodec.writeLongs(investments, output);
+        JournalCodec.writeLongs(paymentsDue, output);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getProductManager().applyUpdate(job, accountID, balance, products, durations, investments,
+                paymentsDue, context.getBank().getBatchProgress());
+    }
+}
@@ -0,0 +1,49 @@
+package ATM.Journal;
+
+import ATM.Account.AccountFactory;
+import ATM.Bank;
+import ATM.FinanceProduct.ProductsFactory;
+import ATM.User.UserFactory;
+
+/**
+ * A class holding the Bank and factories required to replay JournalEntries, or to load a saved Bank.
+ */
+public class ReplayContext {
+
+    private final Bank bank;
+    private final UserFactory userFactory;
+    private final AccountFactory accountFactory;
+    private final ProductsFactory productsFactory;
+
+    /**
+     * Initialize this ReplayContext with a Bank and the factories used to rebuild its users and requests.
+     *
+     * @param bank            The Bank on which entries are replayed.
+     * @param userFactory     A factory used to recreate users.
+     * @param accountFactory  A factory used to recreate account requests.
+     * @param productsFactory A factory used to recreate product requests.
+     */
+    public ReplayContext(Bank bank, UserFactory userFactory, AccountFactory accountFactory,
+                         ProductsFactory productsFactory) {
+        this.bank = bank;
+        this.userFactory = userFactory;
+        this.accountFactory = accountFactory;
+        this.productsFactory = productsFactory;
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public UserFactory getUserFactory() {
+        return userFactory;
+    }
+
+    public AccountFactory getAccountFactory() {
+        return accountFactory;
+    }
+
+    public ProductsFactory getProductsFactory() {
+        return productsFactory;
+    }
+}
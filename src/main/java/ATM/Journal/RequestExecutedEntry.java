@@ -0,0 +1,48 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the successful execution of a request.
+ */
+public class RequestExecutedEntry extends JournalEntry {
+
+    private final long requestID;
+
+    /**
+     * Initialize this RequestExecutedEntry with the ID of the request.
+     *
+     * @param requestID The ID of the request.
+     */
+    public RequestExecutedEntry(long requestID) {
+        this.requestID = requestID;
+    }
+
+    /**
+     * Read a RequestExecutedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    RequestExecutedEntry(CodecInput input) throws IOException {
+        requestID = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.REQUEST_EXECUTED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeLong(requestID);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getRequestManager().executeRequest(requestID);
+    }
+}
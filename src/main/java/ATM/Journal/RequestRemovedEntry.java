@@ -0,0 +1,48 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the removal of a request without executing it.
+ */
+public class RequestRemovedEntry extends JournalEntry {
+
+    private final long requestID;
+
+    /**
+     * Initialize this RequestRemovedEntry with the ID of the request.
+     *
+     * @param requestID The ID of the request.
+     */
+    public RequestRemovedEntry(long requestID) {
+        this.requestID = requestID;
+    }
+
+    /**
+     * Read a RequestRemovedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    RequestRemovedEntry(CodecInput input) throws IOException {
+        requestID = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.REQUEST_REMOVED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeLong(requestID);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getRequestManager().removeRequest(requestID);
+    }
+}
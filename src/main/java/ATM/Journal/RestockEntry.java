@@ -0,0 +1,58 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording bills being added to an ATM terminal.
+ */
+public class RestockEntry extends JournalEntry {
+
+    private final String terminalID;
+    private final int denomination;
+    private final int count;
+
+    /**
+     * Initialize this RestockEntry with a terminal, a bill denomination and count.
+     *
+     * @param terminalID   The ID of the terminal restocked.
+     * @param denomination The bill denomination added.
+     * @param count        The number of bills added.
+     */
+    public RestockEntry(String terminalID, int denomination, int count) {
+        this.terminalID = terminalID;
+        this.denomination = denomination;
+        this.count = count;
+    }
+
+    /**
+     * Read a RestockEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    RestockEntry(CodecInput input) throws IOException {
+        terminalID = input.readString();
+        denomination = input.readInt();
+        count = input.readInt();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.RESTOCK;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(terminalID);
+        output.writeInt(denomination);
+        output.writeInt(count);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getFleet().getTerminal(terminalID).add(denomination, count);
+    }
+}
@@ -0,0 +1,62 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.Request.RevertTransactionRequest;
+import ATM.Transaction.Transaction;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording a request to revert a transaction. The transaction is identified by its position in the
+ * history of an account, counted from the oldest transaction, which does not change as new transactions are added.
+ */
+public class RevertRequestEntry extends JournalEntry {
+
+    private final String username;
+    private final String accountID;
+    private final int position;
+
+    /**
+     * Initialize this RevertRequestEntry with a username and the position of the transaction.
+     *
+     * @param username  The user who requested the reversion.
+     * @param accountID The ID of the account which recorded the transaction.
+     * @param position  The position of the transaction in the account's history, counted from the oldest.
+     */
+    public RevertRequestEntry(String username, String accountID, int position) {
+        this.username = username;
+        this.accountID = accountID;
+        this.position = position;
+    }
+
+    /**
+     * Read a RevertRequestEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    RevertRequestEntry(CodecInput input) throws IOException {
+        username = input.readString();
+        accountID = input.readString();
+        position = input.readInt();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.REVERT_REQUEST;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(username);
+        output.writeString(accountID);
+        output.writeInt(position);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        Transaction transaction = context.getBank().getAccountManager().getTransactionByPosition(accountID, position);
+        context.getBank().getRequestManager().addRequest(new RevertTransactionRequest(username, transaction));
+    }
+}
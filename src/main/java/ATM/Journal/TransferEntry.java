@@ -0,0 +1,70 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording a transfer between two accounts, with the amount credited to the receiving account, so a
+ * transfer between currencies is replayed at the exchange rate it was made at.
+ */
+public class TransferEntry extends JournalEntry {
+
+    private final String fromID;
+    private final String toID;
+    private final double amount;
+    private final Date date;
+    private final long credited;
+
+    /**
+     * Initialize this TransferEntry with two accounts, an amount, a date, and the amount credited.
+     *
+     * @param fromID   The ID of the account from which money was transferred.
+     * @param toID     The ID of the account receiving the transfer.
+     * @param amount   The amount transferred.
+     * @param date     The date of the transfer.
+     * @param credited The amount credited to the receiving account, in cents of its currency.
+     */
+    public TransferEntry(String fromID, String toID, double amount, Date date, long credited) {
+        this.fromID = fromID;
+        this.toID = toID;
+        this.amount = amount;
+        this.date = date;
+        this.credited = credited;
+    }
+
+    /**
+     * Read a TransferEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    TransferEntry(CodecInput input) throws IOException {
+        fromID = input.readString();
+        toID = input.readString();
+        amount = input.readDouble();
+        date = input.readDate();
+        credited = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.TRANSFER;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(fromID);
+        output.writeString(toID);
+        output.writeDouble(amount);
+        output.writeDate(date);
+        output.writeLong(credited);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().transfer(fromID, toID, amount, date, credited);
+    }
+}
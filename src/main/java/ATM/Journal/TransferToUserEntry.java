@@ -0,0 +1,70 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording a transfer to the primary account of another user, with the amount credited to that account.
+ */
+public class TransferToUserEntry extends JournalEntry {
+
+    private final String fromID;
+    private final String toUser;
+    private final double amount;
+    private final Date date;
+    private final long credited;
+
+    /**
+     * Initialize this TransferToUserEntry with an account, a receiving user, an amount, a date, and the amount
+     * credited.
+     *
+     * @param fromID   The ID of the account from which money was transferred.
+     * @param toUser   The username of the user receiving the transfer.
+     * @param amount   The amount transferred.
+     * @param date     The date of the transfer.
+     * @param credited The amount credited to the receiving account, in cents of its currency.
+     */
+    public TransferToUserEntry(String fromID, String toUser, double amount, Date date, long credited) {
+        this.fromID = fromID;
+        this.toUser = toUser;
+        this.amount = amount;
+        this.date = date;
+        this.credited = credited;
+    }
+
+    /**
+     * Read a TransferToUserEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    TransferToUserEntry(CodecInput input) throws IOException {
+        fromID = input.readString();
+        toUser = input.readString();
+        amount = input.readDouble();
+        date = input.readDate();
+        credited = input.readLong();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.TRANSFER_TO_USER;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(fromID);
+        output.writeString(toUser);
+        output.writeDouble(amount);
+        output.writeDate(date);
+        output.writeLong(credited);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().transferToUser(fromID, toUser, amount, date, credited);
+    }
+}
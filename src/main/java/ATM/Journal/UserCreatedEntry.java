@@ -0,0 +1,58 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A JournalEntry recording the creation of a new user.
+ */
+public class UserCreatedEntry extends JournalEntry {
+
+    private final String userType;
+    private final String username;
+    private final String password;
+
+    /**
+     * Initialize this UserCreatedEntry with the user type, username, and password of the new user.
+     *
+     * @param userType The user type, as given to the UserFactory.
+     * @param username The username of the new user.
+     * @param password The password of the new user.
+     */
+    public UserCreatedEntry(String userType, String username, String password) {
+        this.userType = userType;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Read an UserCreatedEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    UserCreatedEntry(CodecInput input) throws IOException {
+        userType = input.readString();
+        username = input.readString();
+        password = input.readString();
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.USER_CREATED;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(userType);
+        output.writeString(username);
+        output.writeString(password);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getUserManager().addUser(context.getUserFactory().getUser(userType, username, password));
+    }
+}
@@ -0,0 +1,71 @@
+package ATM.Journal;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * A JournalEntry recording a cash withdrawal from an ATM terminal, with the bills it dispensed.
+ */
+public class WithdrawalEntry extends JournalEntry {
+
+    private final String terminalID;
+    private final String fromID;
+    private final int amount;
+    private final Date date;
+    private final int[] bills;
+
+    /**
+     * Initialize this WithdrawalEntry with the terminal used, the account withdrawn from, an amount, a date, and the
+     * bills dispensed.
+     *
+     * @param terminalID The ID of the terminal which dispensed the cash.
+     * @param fromID     The ID of the account from which cash was withdrawn.
+     * @param amount     The amount withdrawn.
+     * @param date       The date of the withdrawal.
+     * @param bills      The number of fifties, twenties, tens and fives dispensed.
+     */
+    public WithdrawalEntry(String terminalID, String fromID, int amount, Date date, int[] bills) {
+        this.terminalID = terminalID;
+        this.fromID = fromID;
+        this.amount = amount;
+        this.date = date;
+        this.bills = bills;
+    }
+
+    /**
+     * Read a WithdrawalEntry written by write.
+     *
+     * @param input The stream to read from.
+     * @throws IOException if an I/O error occurs.
+     */
+    WithdrawalEntry(CodecInput input) throws IOException {
+        terminalID = input.readString();
+        fromID = input.readString();
+        amount = input.readInt();
+        date = input.readDate();
+        bills = JournalCodec.readInts(input);
+    }
+
+    @Override
+    int getType() {
+        return JournalCodec.WITHDRAWAL;
+    }
+
+    @Override
+    void write(CodecOutput output) throws IOException {
+        output.writeString(terminalID);
+        output.writeString(fromID);
+        output.writeInt(amount);
+        output.writeDate(date);
+        JournalCodec.writeInts(bills, output);
+    }
+
+    @Override
+    void replay(ReplayContext context) {
+        context.getBank().getAccountManager().withdraw(fromID, amount, date,
+                context.getBank().getFleet().getTerminal(terminalID), bills);
+    }
+}
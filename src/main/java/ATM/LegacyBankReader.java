@@ -0,0 +1,373 @@
+package ATM;
+
+import ATM.Journal.ReplayContext;
+import ATM.LegacyObjectReader.LegacyObject;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A class used to load a Bank saved by the versions of the program which serialized the whole Bank object.
+ * <p>
+ * The classes of that object graph have since changed, and many no longer exist, so the file is read with a
+ * LegacyObjectReader, which needs none of them. The accounts, transactions, products, users and requests found in it
+ * are then written to a snapshot in the current BankCodec format, and the snapshot is read by the BankCodec into the
+ * Bank being loaded. This is the only way a Bank saved in an older format is migrated, so the snapshot must be kept in
+ * step with the BankCodec format.
+ * <p>
+ * The bills of the single ATM are given to the default terminal, amounts kept in dollars are rounded to the nearest
+ * cent, and requests are numbered in the order they are read. Transfers convert their amount at the current exchange
+ * rate when they are reverted, no cheques are known to have been deposited, and every end-of-day batch is treated as
+ * finished on the saved date. Roles and privileges are not read; each user's roles are recreated from their user
+ * type, which is found from the roles they had.
+ */
+class LegacyBankReader {
+
+    /**
+     * Read a serialized Bank from a given file into the empty Bank of a ReplayContext.
+     *
+     * @param filename The file to read from.
+     * @param context  The empty Bank to fill, and the factories used to rebuild its users and requests.
+     * @throws IOException if an I/O error occurs, or the file is not a serialized Bank.
+     */
+    void read(String filename, ReplayContext context) throws IOException {
+        LegacyObject bank;
+        FileInputStream inputFile = new FileInputStream(filename);
+        try {
+            bank = (LegacyObject) new LegacyObjectReader(new BufferedInputStream(inputFile)).readObject();
+        } catch (ClassCastException e) {
+            throw new IOException("Not a serialized Bank.");
+        } finally {
+            inputFile.close();
+        }
+        if (bank == null || !bank.getClassName().equals("ATM.Bank")) {
+            throw new IOException("Not a serialized Bank.");
+        }
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try {
+            writeSnapshot(bank, new CodecOutput(snapshot));
+        } catch (ClassCastException | NullPointerException e) {
+            throw new IOException("The serialized Bank is malformed. " + e);
+        }
+        new BankCodec().read(new ByteArrayInputStream(snapshot.toByteArray()), context);
+
+        BankTimeManager bankTimeManager = context.getBank().getBankTimeManager();
+        if (bankTimeManager.getDate() != null) {
+            context.getBank().getBatchProgress().restore(bankTimeManager.getDay(), new ArrayList<String>(),
+                    new HashMap<String, List<String>>());
+        }
+    }
+
+    /**
+     * Write the data of a serialized Bank as a snapshot in the current BankCodec format, with no end-of-day batch in
+     * progress.
+     *
+     * @param bank   The serialized Bank.
+     * @param output The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeSnapshot(LegacyObject bank, CodecOutput output) throws IOException {
+        output.writeInt(BankCodec.MAGIC);
+        output.writeVarInt(BankCodec.VERSION);
+        output.writeLong(0);
+        output.writeDate(getDate(bank.getObject("bankTimeManager").getObject("bankDate")));
+        output.writeBoolean(false);
+        output.writeVarInt(0);
+        output.writeVarInt(0);
+
+        LegacyObject atm = bank.getObject("atm");
+        output.writeVarInt(1);
+        output.writeString(ATM.DEFAULT_TERMINAL_ID);
+        output.writeInt(atm.getInt("fives"));
+        output.writeInt(atm.getInt("tens"));
+        output.writeInt(atm.getInt("twenties"));
+        output.writeInt(atm.getInt("fifties"));
+
+        Map<LegacyObject, Integer> transactionIndices = writeAccounts(bank.getObject("accountManager"), output);
+        writeProducts(bank.getObject("productManager"), output);
+        writeUsers(bank.getObject("userManager"), output);
+        writeRequests(bank.getObject("requestManager"), output, transactionIndices);
+        output.flush();
+    }
+
+    /**
+     * Write the accounts of a serialized AccountManager, then their transactions, then the history of each account, then
+     * an empty list of deposited cheques.
+     *
+     * @param accountManager The serialized AccountManager.
+     * @param output         The stream to write to.
+     * @return the index of each transaction written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Map<LegacyObject, Integer> writeAccounts(LegacyObject accountManager, CodecOutput output)
+            throws IOException {
+        List<Object> entries = accountManager.getObject("accounts").getContents();
+        output.writeVarInt(entries.size() / 2);
+        Map<LegacyObject, Integer> transactionIndices = new IdentityHashMap<>();
+        List<LegacyObject> transactions = new ArrayList<>();
+        for (int i = 1; i < entries.size(); i += 2) {
+            LegacyObject account = (LegacyObject) entries.get(i);
+            writeAccount(account, output);
+            for (Object transaction : account.getObject("transactions").getContents()) {
+                if (!transactionIndices.containsKey(transaction)) {
+                    transactionIndices.put((LegacyObject) transaction, transactions.size());
+                    transactions.add((LegacyObject) transaction);
+                }
+            }
+        }
+
+        output.writeVarInt(transactions.size());
+        for (LegacyObject transaction : transactions) {
+            writeTransaction(transaction, output);
+        }
+
+        for (int i = 1; i < entries.size(); i += 2) {
+            List<Object> history = ((LegacyObject) entries.get(i)).getObject("transactions").getContents();
+            output.writeVarInt(history.size());
+            for (Object transaction : history) {
+                output.writeVarInt(transactionIndices.get(transaction));
+            }
+        }
+        output.writeVarInt(0);
+        return transactionIndices;
+    }
+
+    /**
+     * Write a single serialized account, without its transactions.
+     *
+     * @param account The serialized account.
+     * @param output  The stream to write to.
+     * @throws IOException if an I/O error occurs, or the account is of an unknown type.
+     */
+    private void writeAccount(LegacyObject account, CodecOutput output) throws IOException {
+        String type = account.getClassName();
+        output.writeByte(getAccountType(type));
+        output.writeString(account.getString("accountID"));
+        output.writeDate(getDate(account.getObject("creationDate")));
+        output.writeLong(Money.toCents(account.getDouble("balance")));
+        List<Object> users = account.getObject("users").getContents();
+        output.writeVarInt(users.size());
+        for (Object username : users) {
+            output.writeString((String) username);
+        }
+        if (type.equals("ATM.Account.ChequingAccount")) {
+            output.writeBoolean(account.getBoolean("primary"));
+        } else if (type.equals("ATM.Account.ForeignCurrencyAccount")) {
+            output.writeBoolean(account.getBoolean("currencyPermanentlySet"));
+            output.writeString(account.getString("currencyCode"));
+        }
+    }
+
+    /**
+     * Get the type code of an account in the BankCodec format.
+     *
+     * @param className The class of the serialized account.
+     * @return the type code.
+     * @throws IOException if the account is of an unknown type.
+     */
+    private int getAccountType(String className) throws IOException {
+        switch (className) {
+            case "ATM.Account.ChequingAccount":
+                return 0;
+            case "ATM.Account.SavingsAccount":
+                return 1;
+            case "ATM.Account.CreditCardAccount":
+                return 2;
+            case "ATM.Account.LineOfCreditAccount":
+                return 3;
+            case "ATM.Account.CashableGIC":
+                return 4;
+            case "ATM.Account.ForeignCurrencyAccount":
+                return 5;
+            default:
+                throw new IOException("Unknown account type " + className);
+        }
+    }
+
+    /**
+     * Write a single serialized transaction. Transfers are written without the amount they credited.
+     *
+     * @param transaction The serialized transaction.
+     * @param output      The stream to write to.
+     * @throws IOException if an I/O error occurs, or the transaction is of an unknown type.
+     */
+    private void writeTransaction(LegacyObject transaction, CodecOutput output) throws IOException {
+        String type = transaction.getClassName();
+        int typeCode;
+        switch (type) {
+            case "ATM.Transaction.DepositTransaction":
+                typeCode = 0;
+                break;
+            case "ATM.Transaction.WithdrawalTransaction":
+                typeCode = 1;
+                break;
+            case "ATM.Transaction.TransferTransaction":
+                typeCode = 2;
+                break;
+            case "ATM.Transaction.TransferToUserTransaction":
+                typeCode = 3;
+                break;
+            case "ATM.Transaction.BillPaymentTransaction":
+                typeCode = 4;
+                break;
+            default:
+                throw new IOException("Unknown transaction type " + type);
+        }
+        output.writeByte(typeCode);
+        output.writeString(transaction.getObject("primary").getString("accountID"));
+        output.writeLong(Money.toCents(transaction.getDouble("amount")));
+        output.writeDate(getDate(transaction.getObject("date")));
+        int flags = (transaction.getBoolean("executable") ? 1 : 0) | (transaction.getBoolean("revertible") ? 2 : 0)
+                | (transaction.getBoolean("reverted") ? 4 : 0) | (transaction.getBoolean("alreadyRequested") ? 8 : 0);
+        output.writeByte(flags);
+        if (typeCode == 3) {
+            output.writeString(transaction.getString("username"));
+        }
+        if (typeCode == 2 || typeCode == 3) {
+            output.writeString(transaction.getObject("secondary").getString("accountID"));
+            output.writeLong(-1);
+        } else if (typeCode == 4) {
+            output.writeString(transaction.getString("payee"));
+        }
+    }
+
+    /**
+     * Write the products of a serialized ProductManager.
+     *
+     * @param productManager The serialized ProductManager.
+     * @param output         The stream to write to.
+     * @throws IOException if an I/O error occurs, or a product is of an unknown type.
+     */
+    private void writeProducts(LegacyObject productManager, CodecOutput output) throws IOException {
+        List<Object> products = productManager.getObject("FinanceProducts").getContents();
+        output.writeVarInt(products.size());
+        for (Object element : products) {
+            LegacyObject product = (LegacyObject) element;
+            switch (product.getClassName()) {
+                case "ATM.FinanceProduct.Mortgage":
+                    output.writeByte(0);
+                    break;
+                case "ATM.FinanceProduct.NonRedeemableGIC":
+                    output.writeByte(1);
+                    break;
+                default:
+                    throw new IOException("Unknown product type " + product.getClassName());
+            }
+            LegacyObject associated = product.getObject("associated");
+            output.writeString(product.getString("username"));
+            output.writeString(associated == null ? null : associated.getString("accountID"));
+            output.writeDate(getDate(product.getObject("creationDate")));
+            output.writeDouble(product.getDouble("InterestRate"));
+            output.writeInt(product.getInt("duration"));
+            output.writeLong(Money.toCents(product.getDouble("Investment")));
+            output.writeLong(Money.toCents(product.getDouble("PaymentDue")));
+            output.writeString(product.getString("InitialInfo"));
+        }
+    }
+
+    /**
+     * Write the users of a serialized UserManager, with the user type each one's roles were created for.
+     *
+     * @param userManager The serialized UserManager.
+     * @param output      The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeUsers(LegacyObject userManager, CodecOutput output) throws IOException {
+        List<Object> entries = userManager.getObject("users").getContents();
+        output.writeVarInt(entries.size() / 2);
+        for (int i = 1; i < entries.size(); i += 2) {
+            LegacyObject user = (LegacyObject) entries.get(i);
+            output.writeString(user.getString("username"));
+            output.writeString(user.getString("password"));
+            output.writeString(getUserType(user.getObject("roles").getContents()));
+        }
+    }
+
+    /**
+     * Get the user type whose roles a user had.
+     *
+     * @param roles The serialized roles of the user.
+     * @return the user type.
+     */
+    private String getUserType(List<Object> roles) {
+        boolean employee = false;
+        boolean maintenance = false;
+        boolean requests = false;
+        for (Object role : roles) {
+            switch (((LegacyObject) role).getClassName()) {
+                case "ATM.User.Role.AdminRole":
+                    return "Bank Manager";
+                case "ATM.User.Role.EmployeeRole":
+                    employee = true;
+                    break;
+                case "ATM.User.Role.ATMMaintenanceRole":
+                    maintenance = true;
+                    break;
+                case "ATM.User.Role.RequestRole":
+                    requests = true;
+                    break;
+            }
+        }
+        if (employee) {
+            return "Bank Employee";
+        } else if (maintenance) {
+            return "ATM Technician";
+        }
+        return requests ? "Customer" : "Youth";
+    }
+
+    /**
+     * Write the requests of a serialized RequestManager, numbered in the order they are written.
+     *
+     * @param requestManager     The serialized RequestManager.
+     * @param output             The stream to write to.
+     * @param transactionIndices The index of each transaction written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeRequests(LegacyObject requestManager, CodecOutput output,
+                               Map<LegacyObject, Integer> transactionIndices) throws IOException {
+        List<Object> accountRequests = requestManager.getObject("accountRequests").getContents();
+        List<Object> revertRequests = requestManager.getObject("revertTransactionRequests").getContents();
+        List<Object> productRequests = requestManager.getObject("productRequests").getContents();
+        long requestID = 0;
+        output.writeLong(accountRequests.size() + revertRequests.size() + productRequests.size());
+
+        output.writeVarInt(accountRequests.size());
+        for (Object element : accountRequests) {
+            LegacyObject request = (LegacyObject) element;
+            output.writeLong(++requestID);
+            output.writeString(request.getString("username"));
+            output.writeString(request.getString("accountType"));
+        }
+
+        output.writeVarInt(revertRequests.size());
+        for (Object element : revertRequests) {
+            LegacyObject request = (LegacyObject) element;
+            output.writeLong(++requestID);
+            output.writeString(request.getString("username"));
+            output.writeVarInt(transactionIndices.get(request.getObject("transaction")));
+        }
+
+        output.writeVarInt(productRequests.size());
+        for (Object element : productRequests) {
+            LegacyObject request = (LegacyObject) element;
+            output.writeLong(++requestID);
+            output.writeString(request.getString("username"));
+            output.writeString(request.getString("productType"));
+            output.writeInt(request.getInt("duration"));
+            output.writeDouble(request.getDouble("investment"));
+        }
+    }
+
+    /**
+     * Get the Date of a serialized Date.
+     *
+     * @param date The serialized Date, which may be null.
+     * @return the Date, or null.
+     * @throws IOException if an I/O error occurs.
+     */
+    private java.util.Date getDate(LegacyObject date) throws IOException {
+        return date == null ? null : new java.util.Date(date.getData().readLong());
+    }
+}
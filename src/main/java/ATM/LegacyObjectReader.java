@@ -0,0 +1,363 @@
+package ATM;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A reader for files written by Java serialization which does not need the classes of the objects it reads.
+ * <p>
+ * Each object is read as a LegacyObject holding its class name and the values of its fields by name, so an object
+ * graph can be read even after its classes have changed or no longer exist. Strings are read as Strings, arrays as
+ * Object arrays, enum constants as the names of the constants, and primitive fields as boxed values. The data written
+ * by an object's own writeObject method is kept as the objects and bytes it contains, in the order they were written;
+ * the elements of ArrayLists and HashMaps and the time of a Date are found there.
+ */
+class LegacyObjectReader {
+
+    private final static short STREAM_MAGIC = (short) 0xACED;
+    private final static int BASE_HANDLE = 0x7E0000;
+    private final static byte TC_NULL = 0x70;
+    private final static byte TC_REFERENCE = 0x71;
+    private final static byte TC_CLASSDESC = 0x72;
+    private final static byte TC_OBJECT = 0x73;
+    private final static byte TC_STRING = 0x74;
+    private final static byte TC_ARRAY = 0x75;
+    private final static byte TC_CLASS = 0x76;
+    private final static byte TC_BLOCKDATA = 0x77;
+    private final static byte TC_ENDBLOCKDATA = 0x78;
+    private final static byte TC_RESET = 0x79;
+    private final static byte TC_BLOCKDATALONG = 0x7A;
+    private final static byte TC_LONGSTRING = 0x7C;
+    private final static byte TC_ENUM = 0x7E;
+    private final static byte SC_WRITE_METHOD = 0x01;
+    private final static byte SC_SERIALIZABLE = 0x02;
+    private final static byte SC_EXTERNALIZABLE = 0x04;
+    private final static byte SC_BLOCK_DATA = 0x08;
+
+    private final DataInputStream input;
+    private final List<Object> handles;
+
+    /**
+     * Initialize this LegacyObjectReader with a stream written by an ObjectOutputStream.
+     *
+     * @param stream The stream to read from.
+     * @throws IOException if an I/O error occurs, or the stream was not written by Java serialization.
+     */
+    LegacyObjectReader(InputStream stream) throws IOException {
+        this.input = new DataInputStream(stream);
+        this.handles = new ArrayList<>();
+        if (input.readShort() != STREAM_MAGIC || input.readShort() != 5) {
+            throw new IOException("Not a serialized object stream.");
+        }
+    }
+
+    /**
+     * Read the next object in the stream.
+     *
+     * @return the object read, which may be null.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    Object readObject() throws IOException {
+        return readContent(input.readByte());
+    }
+
+    /**
+     * Read an object, string, array, enum constant, class or reference which starts with a given type code.
+     *
+     * @param code The type code, which has already been read.
+     * @return the value read.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private Object readContent(byte code) throws IOException {
+        switch (code) {
+            case TC_NULL:
+                return null;
+            case TC_REFERENCE:
+                int handle = input.readInt() - BASE_HANDLE;
+                if (handle < 0 || handle >= handles.size()) {
+                    throw new IOException("Unknown object reference " + handle);
+                }
+                return handles.get(handle);
+            case TC_STRING:
+                return newHandle(input.readUTF());
+            case TC_LONGSTRING:
+                return newHandle(readLongUTF());
+            case TC_OBJECT:
+                return readNewObject();
+            case TC_ARRAY:
+                return readNewArray();
+            case TC_ENUM:
+                readClassDescriptor(input.readByte());
+                int enumHandle = handles.size();
+                newHandle(null);
+                String name = (String) readObject();
+                handles.set(enumHandle, name);
+                return name;
+            case TC_CLASS:
+                ClassDescriptor descriptor = readClassDescriptor(input.readByte());
+                newHandle(descriptor);
+                return descriptor;
+            case TC_CLASSDESC:
+                return readClassDescriptor(code);
+            case TC_RESET:
+                handles.clear();
+                return readObject();
+            default:
+                throw new IOException("Unsupported serialization type code " + code);
+        }
+    }
+
+    /**
+     * Read a class descriptor, or a reference to one, which starts with a given type code.
+     *
+     * @param code The type code, which has already been read.
+     * @return the descriptor, or null.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private ClassDescriptor readClassDescriptor(byte code) throws IOException {
+        if (code == TC_NULL) {
+            return null;
+        } else if (code == TC_REFERENCE) {
+            return (ClassDescriptor) readContent(code);
+        } else if (code != TC_CLASSDESC) {
+            throw new IOException("Unsupported class descriptor type code " + code);
+        }
+        ClassDescriptor descriptor = new ClassDescriptor(input.readUTF());
+        input.readLong();
+        newHandle(descriptor);
+        descriptor.flags = input.readByte();
+        int fieldCount = input.readShort();
+        descriptor.fieldTypes = new char[fieldCount];
+        descriptor.fieldNames = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            descriptor.fieldTypes[i] = (char) input.readByte();
+            descriptor.fieldNames[i] = input.readUTF();
+            if (descriptor.fieldTypes[i] == 'L' || descriptor.fieldTypes[i] == '[') {
+                readObject();
+            }
+        }
+        readAnnotation(new LegacyObject(descriptor.name));
+        descriptor.superclass = readClassDescriptor(input.readByte());
+        return descriptor;
+    }
+
+    /**
+     * Read a new object: its class descriptor, then the fields of each of its classes from the topmost superclass
+     * down, with any data written by their writeObject methods.
+     *
+     * @return the object read.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private LegacyObject readNewObject() throws IOException {
+        ClassDescriptor descriptor = readClassDescriptor(input.readByte());
+        LegacyObject object = new LegacyObject(descriptor.name);
+        newHandle(object);
+        List<ClassDescriptor> hierarchy = new ArrayList<>();
+        for (ClassDescriptor current = descriptor; current != null; current = current.superclass) {
+            hierarchy.add(0, current);
+        }
+        for (ClassDescriptor current : hierarchy) {
+            if ((current.flags & SC_EXTERNALIZABLE) != 0) {
+                if ((current.flags & SC_BLOCK_DATA) == 0) {
+                    throw new IOException("Unsupported externalizable class " + current.name);
+                }
+                readAnnotation(object);
+            } else if ((current.flags & SC_SERIALIZABLE) != 0) {
+                for (int i = 0; i < current.fieldTypes.length; i++) {
+                    object.fields.put(current.fieldNames[i], readValue(current.fieldTypes[i]));
+                }
+                if ((current.flags & SC_WRITE_METHOD) != 0) {
+                    readAnnotation(object);
+                }
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Read a new array, as an Object array whatever its component type.
+     *
+     * @return the array read.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private Object[] readNewArray() throws IOException {
+        ClassDescriptor descriptor = readClassDescriptor(input.readByte());
+        Object[] array = new Object[input.readInt()];
+        newHandle(array);
+        char componentType = descriptor.name.charAt(1);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readValue(componentType);
+        }
+        return array;
+    }
+
+    /**
+     * Read a value of a field or array element.
+     *
+     * @param type The type code of the field: a primitive type, or 'L' or '[' for an object.
+     * @return the value read.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private Object readValue(char type) throws IOException {
+        switch (type) {
+            case 'B':
+                return input.readByte();
+            case 'C':
+                return input.readChar();
+            case 'D':
+                return input.readDouble();
+            case 'F':
+                return input.readFloat();
+            case 'I':
+                return input.readInt();
+            case 'J':
+                return input.readLong();
+            case 'S':
+                return input.readShort();
+            case 'Z':
+                return input.readBoolean();
+            case 'L':
+            case '[':
+                return readObject();
+            default:
+                throw new IOException("Unknown field type " + type);
+        }
+    }
+
+    /**
+     * Read the objects and block data written by a writeObject method, or the annotations of a class, up to the end
+     * of the block.
+     *
+     * @param object The object to which to add the objects and block data.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private void readAnnotation(LegacyObject object) throws IOException {
+        while (true) {
+            byte code = input.readByte();
+            if (code == TC_ENDBLOCKDATA) {
+                return;
+            } else if (code == TC_BLOCKDATA) {
+                byte[] bytes = new byte[input.readUnsignedByte()];
+                input.readFully(bytes);
+                object.data.write(bytes);
+            } else if (code == TC_BLOCKDATALONG) {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                object.data.write(bytes);
+            } else {
+                object.contents.add(readContent(code));
+            }
+        }
+    }
+
+    /**
+     * Read a String written with a long length.
+     *
+     * @return the String read.
+     * @throws IOException if an I/O error occurs.
+     */
+    private String readLongUTF() throws IOException {
+        byte[] bytes = new byte[(int) input.readLong()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Assign the next handle to a value, so later references to it can be resolved.
+     *
+     * @param value The value.
+     * @return the value.
+     */
+    private <T> T newHandle(T value) {
+        handles.add(value);
+        return value;
+    }
+
+    /**
+     * The class name, flags and fields of a serialized class.
+     */
+    private static class ClassDescriptor {
+
+        private final String name;
+        private byte flags;
+        private char[] fieldTypes;
+        private String[] fieldNames;
+        private ClassDescriptor superclass;
+
+        ClassDescriptor(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * An object read from a serialized stream: the name of its class, its fields by name, and the objects and bytes
+     * written by its writeObject methods.
+     */
+    static class LegacyObject {
+
+        private final String className;
+        private final Map<String, Object> fields;
+        private final List<Object> contents;
+        private final ByteArrayOutputStream data;
+
+        LegacyObject(String className) {
+            this.className = className;
+            this.fields = new HashMap<>();
+            this.contents = new ArrayList<>();
+            this.data = new ByteArrayOutputStream();
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        /**
+         * Get the value of a field.
+         *
+         * @param name The name of the field.
+         * @return the value, or null if the object has no such field.
+         */
+        Object get(String name) {
+            return fields.get(name);
+        }
+
+        LegacyObject getObject(String name) {
+            return (LegacyObject) fields.get(name);
+        }
+
+        String getString(String name) {
+            return (String) fields.get(name);
+        }
+
+        double getDouble(String name) {
+            return ((Number) fields.get(name)).doubleValue();
+        }
+
+        int getInt(String name) {
+            return ((Number) fields.get(name)).intValue();
+        }
+
+        boolean getBoolean(String name) {
+            return Boolean.TRUE.equals(fields.get(name));
+        }
+
+        /**
+         * Get the objects written by the writeObject methods of this object, such as the elements of a collection.
+         *
+         * @return the objects, in the order they were written.
+         */
+        List<Object> getContents() {
+            return contents;
+        }
+
+        /**
+         * Get the primitive data written by the writeObject methods of this object.
+         *
+         * @return a stream over the data.
+         */
+        DataInputStream getData() {
+            return new DataInputStream(new ByteArrayInputStream(data.toByteArray()));
+        }
+    }
+}
@@ -2,13 +2,21 @@ package ATM;
 
 import ATM.Account.AccountFactory;
 import ATM.Account.AccountManager;
+import ATM.Batch.*;
 import ATM.FinanceProduct.ProductManager;
 import ATM.FinanceProduct.ProductsFactory;
 import ATM.GUI.GraphicalInputReader;
 import ATM.GUI.LoginDialog;
 import ATM.GUI.MessageDisplay;
+import ATM.Journal.Journal;
+import ATM.Journal.ReplayContext;
+import ATM.Metrics.CommandMetrics;
+import ATM.Metrics.MetricsRegistry;
 import ATM.Request.RequestManager;
+import ATM.Session.MenuCache;
+import ATM.Server.SessionServer;
 import ATM.Session.Session;
+import ATM.Transaction.OutgoingPaymentWriter;
 import ATM.User.Role.Privilege.PrivilegeFactory;
 import ATM.User.Role.RoleFactory;
 import ATM.User.User;
@@ -17,28 +25,94 @@ import ATM.User.UserManager;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main program for the ATM.
  */
 public class Main {
 
-    private final static Frame frame = new JFrame();
-    private final static GraphicalInputReader inputReader = new GraphicalInputReader(frame);
-    private final static MessageDisplay messageDisplay = new MessageDisplay(frame);
-    private final static String saveFileName = "externalFiles/BankData.ser";
+    private final static String serverOption = "--server";
+    private final static int defaultServerPort = 7070;
+    private final static long drainSeconds = 60;
+    private static Frame frame;
+    private static GraphicalInputReader inputReader;
+    private static MessageDisplay messageDisplay;
+    private final static String saveFileName = "externalFiles/BankData.bin";
+    private final static String legacySaveFileName = "externalFiles/BankData.ser";
+    private final static String journalFileName = "externalFiles/BankJournal.log";
+    private final static String outgoingFileName = "externalFiles/outgoing.txt";
+    private final static String statementsDirectory = "externalFiles/statements";
+    private final static String metricsFileName = "externalFiles/metrics.txt";
     private static Bank bank;
+    private static Journal journal;
+    private static OutgoingPaymentWriter outgoingPayments;
+    private static AccountFactory accountFactory;
+    private static ProductsFactory productsFactory;
     private static UserFactory userFactory;
+    private static MenuCache menuCache;
+    private final static CommandMetrics commandMetrics = new CommandMetrics(MetricsRegistry.DEFAULT);
+    private static BatchScheduler scheduler;
 
     /**
-     * Run the ATM program.
+     * Run the ATM program, either with a GUI for one terminal, or as a server for many remote terminals.
+     *
+     * @param args The ID of the ATM terminal this program runs, or nothing for the default terminal; or --server and
+     *             optionally the port to listen on, to run as a server.
      */
-    public static void main(String[] args) throws ClassNotFoundException, IOException {
-        loadBank();
-        initializeFactories();
+    public static void main(String[] args) throws IOException, InterruptedException {
+        boolean serverMode = args.length > 0 && args[0].equals(serverOption);
+        if (!serverMode) {
+            frame = new JFrame();
+            inputReader = new GraphicalInputReader(frame);
+            messageDisplay = new MessageDisplay(frame);
+        }
+        if (!loadBank()) {
+            if (frame != null) {
+                frame.dispose();
+            }
+            return;
+        }
+        openOutgoingPayments();
+        openJournal();
         initializeDefaultUser();
+        startScheduler();
+        registerGauges();
+        LocalDate startDay = bank.getBankTimeManager().getDay();
+
+        if (serverMode) {
+            runServer(args.length > 1 ? Integer.parseInt(args[1]) : defaultServerPort);
+        } else {
+            String terminalID = args.length > 0 ? args[0] : ATM.DEFAULT_TERMINAL_ID;
+            if (!ATM.isValidTerminalID(terminalID)) {
+                System.out.println("Warning: " + terminalID + " is not a valid terminal ID. The default terminal has "
+                        + "been used instead.");
+                terminalID = ATM.DEFAULT_TERMINAL_ID;
+            }
+            bank.getFleet().setCurrentTerminal(terminalID);
+            runTerminal();
+        }
+        if (bank.getBankTimeManager().getDay().equals(startDay)) {
+            bank.getBankTimeManager().updateDate();
+        }
+        scheduler.shutdown();
+        saveBank();
+        outgoingPayments.close();
+        journal.close();
+        bank.getAccountManager().getAccountsCurrencyExchange().shutdown();
+        writeMetrics();
+        if (frame != null) {
+            frame.dispose();
+        }
+    }
 
+    /**
+     * Run Sessions one at a time on this terminal, logging in with the GUI, until a user shuts the ATM down.
+     */
+    private static void runTerminal() {
         User user;
         Session session;
         LoginDialog loginDialog;
@@ -49,53 +123,142 @@ public class Main {
             loginDialog.setVisible(true);
             if (loginDialog.isSucceeded()) {
                 user = bank.getUserManager().getUser(loginDialog.getUsername());
-                session = new Session(user, inputReader, messageDisplay);
+                session = new Session(user, menuCache.getMenu(user), inputReader, messageDisplay);
+                session.setCommandListener(commandMetrics);
                 running = session.run();
             }
         }
-        bank.getBankTimeManager().updateDate();
-        if (bank.getBankTimeManager().isStartOfMonth()) {
-            bank.getAccountManager().updateAll();
-            bank.getProductManager().updateAll();
-        }
-        saveBank();
-        frame.dispose();
     }
 
     /**
-     * Deserialize the Bank save file, or generate a default bank if it doesn't exist.
+     * Run the Sessions of remote terminals until a user shuts the ATM down or the program is stopped, then drain the
+     * Sessions which are still running, so the Bank is saved only once no Session can change it.
+     *
+     * @param port The port to listen on.
+     * @throws IOException          if the port cannot be opened.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    private static void runServer(int port) throws IOException, InterruptedException {
+        int maxSessions = 32 * Runtime.getRuntime().availableProcessors();
+        SessionServer server = new SessionServer(bank, menuCache, maxSessions);
+        server.setCommandListener(commandMetrics);
+        MetricsRegistry.DEFAULT.gauge("Sessions running", server::getActiveSessions);
+        server.start(port);
+        System.out.println("Accepting up to " + maxSessions + " sessions on port " + server.getPort() + ".");
+
+        // Stopping the program drains the server and waits for the Bank to be saved before the program exits
+        Thread mainThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.requestShutdown();
+            try {
+                mainThread.join();
+            } catch (InterruptedException ignored) {
+            }
+        }));
+
+        server.awaitShutdown();
+        server.drain(drainSeconds, TimeUnit.SECONDS);
+        System.out.println(server.getCompletedSessions() + " sessions served.");
+    }
+
+    /**
+     * Load the Bank save file, or migrate a Bank saved by an earlier version of the program if it doesn't exist.
+     * Generate a default bank if neither exists, then initialize the factories for the Bank.
+     * <p>
+     * A save file which exists but cannot be read is reported and left as it is, so it is never saved over.
      *
-     * @throws ClassNotFoundException if a required class cannot be found in the code.
+     * @return true if the Bank was loaded or generated, false if a save file could not be read.
      */
-    private static void loadBank() throws ClassNotFoundException {
-        ObjectSerializer<Bank> serializer = new ObjectSerializer<Bank>();
+    private static boolean loadBank() {
+        bank = createEmptyBank();
+        initializeFactories();
+        ReplayContext context = new ReplayContext(bank, userFactory, accountFactory, productsFactory);
+        String fileName = new File(saveFileName).exists() ? saveFileName : legacySaveFileName;
         try {
-            bank = serializer.readObject(saveFileName);
-        } catch (IOException | ClassCastException e) {
-            String message = ("The bank could not be loaded for the following reason:\n" +
-                    e + "\n\nA default bank will be initialized. Please set the date on your first login.");
-            messageDisplay.showErrorMessage(message, "Default bank");
-
-            ATM atm = new ATM();
-            AccountManager accountManager = new AccountManager();
-            ProductManager productManager = new ProductManager();
-            UserManager userManager = new UserManager();
-            RequestManager requestManager = new RequestManager(accountManager, productManager);
-            BankTimeManager timeManager = new BankTimeManager();
-            bank = new Bank(atm, accountManager, productManager, userManager, requestManager, timeManager);
+            if (fileName.equals(saveFileName)) {
+                new BankCodec().read(saveFileName, context);
+            } else if (new File(legacySaveFileName).exists()) {
+                new LegacyBankReader().read(legacySaveFileName, context);
+            }
+        } catch (IOException e) {
+            String message = ("The bank could not be loaded from " + fileName + " for the following reason:\n" +
+                    e + "\n\nThe file has not been changed. Please restore it from a backup, or move it away to " +
+                    "start with a default bank.");
+            if (messageDisplay == null) {
+                System.out.println("Warning: " + message);
+            } else {
+                messageDisplay.showErrorMessage(message, "Bank not loaded");
+            }
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Create a Bank with no bills, users, accounts, products or requests.
+     *
+     * @return the new Bank.
+     */
+    private static Bank createEmptyBank() {
+        ATM atm = new ATM();
+        AccountManager accountManager = new AccountManager();
+        ProductManager productManager = new ProductManager();
+        UserManager userManager = new UserManager();
+        RequestManager requestManager = new RequestManager(accountManager, productManager);
+        BankTimeManager timeManager = new BankTimeManager();
+        return new Bank(atm, accountManager, productManager, userManager, requestManager, timeManager);
     }
 
     /**
      * Initialize the factories required to instantiate bank objects.
      */
     private static void initializeFactories() {
-        AccountFactory accountFactory = new AccountFactory(bank.getBankTimeManager());
-        ProductsFactory productsFactory = new ProductsFactory(bank.getBankTimeManager(), bank.getAccountManager());
+        accountFactory = new AccountFactory(bank.getBankTimeManager());
+        productsFactory = new ProductsFactory(bank.getBankTimeManager(), bank.getAccountManager());
         PrivilegeFactory privilegeFactory = new PrivilegeFactory(accountFactory, productsFactory);
         RoleFactory roleFactory = new RoleFactory(privilegeFactory);
         userFactory = new UserFactory(bank, roleFactory);
         privilegeFactory.setUserFactory(userFactory);
+        menuCache = new MenuCache(userFactory);
+    }
+
+    /**
+     * Start writing bill payments to the outgoing payments file.
+     *
+     * @throws IOException if the outgoing payments file cannot be opened.
+     */
+    private static void openOutgoingPayments() throws IOException {
+        outgoingPayments = new OutgoingPaymentWriter(outgoingFileName);
+        outgoingPayments.open();
+        bank.getAccountManager().setOutgoingPayments(outgoingPayments);
+    }
+
+    /**
+     * Replay any changes recorded in the journal since the Bank was last saved, then record all further changes.
+     *
+     * @throws IOException if the journal file cannot be read or opened.
+     */
+    private static void openJournal() throws IOException {
+        journal = new Journal(journalFileName);
+        ReplayContext context = new ReplayContext(bank, userFactory, accountFactory, productsFactory);
+        journal.open(context, bank.getJournalSequence());
+        bank.setJournal(journal);
+        outgoingPayments.setJournal(journal);
+    }
+
+    /**
+     * Register the end-of-day and end-of-month jobs, run any batch left open when the Bank was last saved, and run a
+     * batch whenever the day of the Bank moves forward.
+     */
+    private static void startScheduler() {
+        scheduler = new BatchScheduler(bank);
+        scheduler.register(new InterestAccrualJob(), BatchScheduler.Schedule.END_OF_MONTH);
+        scheduler.register(new ProductPaymentJob(), BatchScheduler.Schedule.END_OF_MONTH, InterestAccrualJob.NAME);
+        scheduler.register(new StatementJob(statementsDirectory), BatchScheduler.Schedule.END_OF_MONTH,
+                ProductPaymentJob.NAME);
+        scheduler.register(new AlertCompactionJob(), BatchScheduler.Schedule.END_OF_DAY);
+        bank.getBankTimeManager().addDayListener(scheduler);
+        scheduler.resume();
     }
 
     /**
@@ -109,12 +272,35 @@ public class Main {
     }
 
     /**
-     * Serialize the Bank
+     * Register the gauges of the Bank, which are read whenever the metrics are reported.
+     */
+    private static void registerGauges() {
+        MetricsRegistry.DEFAULT.gauge("ATM cash (dollars)", () -> bank.getFleet().getTotalCash());
+        MetricsRegistry.DEFAULT.gauge("Heap used (bytes)",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+    }
+
+    /**
+     * Write the metrics of this run of the program to the metrics file, so they can be read after it has stopped.
+     */
+    private static void writeMetrics() {
+        try {
+            MetricsRegistry.DEFAULT.writeReport(metricsFileName);
+        } catch (IOException e) {
+            System.out.println("Warning: the metrics could not be written to " + metricsFileName + ".");
+        }
+    }
+
+    /**
+     * Save the Bank, then discard the journal entries it now includes. The journal is only truncated once the save
+     * is on disk, so if saving fails the previous save and the journal still hold every change.
      *
      * @throws IOException if an I/O exception occurs.
      */
     private static void saveBank() throws IOException {
-        ObjectSerializer<Bank> serializer = new ObjectSerializer<Bank>();
-        serializer.writeObject(bank, saveFileName);
+        BankCodec codec = new BankCodec();
+        bank.setJournalSequence(journal.getSequence());
+        codec.write(bank, saveFileName);
+        journal.checkpoint();
     }
 }
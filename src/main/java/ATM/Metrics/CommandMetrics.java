@@ -0,0 +1,47 @@
+package ATM.Metrics;
+
+import ATM.Session.CommandListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the time taken by each command executed by Sessions in a latency histogram of a MetricsRegistry, named
+ * after the option which was chosen.
+ */
+public class CommandMetrics implements CommandListener {
+
+    private final static String PREFIX = "Menu: ";
+
+    private final MetricsRegistry registry;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Initialize this CommandMetrics with a MetricsRegistry.
+     *
+     * @param registry The registry to record in.
+     */
+    public CommandMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandExecuted(String option, long nanos) {
+        LatencyHistogram histogram = histograms.get(option);
+        if (histogram == null) {
+            histogram = registry.histogram(PREFIX + option);
+            histograms.put(option, histogram);
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Get the histogram of the time taken by the command of an option.
+     *
+     * @param option The name of the option.
+     * @return the histogram, which is empty if the command was never executed.
+     */
+    public LatencyHistogram getHistogram(String option) {
+        return registry.histogram(PREFIX + option);
+    }
+}
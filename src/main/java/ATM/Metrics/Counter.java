@@ -0,0 +1,36 @@
+package ATM.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count of events, which many threads may add to at once.
+ */
+public class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Add one to this Counter.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Add an amount to this Counter.
+     *
+     * @param amount The amount to add.
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    /**
+     * Get the count of this Counter.
+     *
+     * @return the count.
+     */
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,9 @@
+package ATM.Metrics;
+
+/**
+ * A value which is read only when the metrics are reported, such as the number of sessions running.
+ */
+@FunctionalInterface
+public interface Gauge {
+    long get();
+}
@@ -0,0 +1,137 @@
+package ATM.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of times, in nanoseconds, from which percentiles are read.
+ * <p>
+ * Like an HdrHistogram, the buckets are log-linear: times below 128 ns each have their own bucket, and every power of
+ * two above that is split into 64 buckets of equal width, so a percentile is never more than about 1.6% above the
+ * true value. Times of about 18 minutes or more are counted as 18 minutes. The buckets are a fixed array of atomic
+ * counts, so recording a time creates no objects and takes no lock, and many threads may record at once.
+ */
+public class LatencyHistogram {
+
+    private final static int SUB_BUCKET_BITS = 7;
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private final static int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private final static int MAX_EXPONENT = 40;
+    private final static long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+    private final static int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a time.
+     *
+     * @param nanos The time, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Record the time since a given start.
+     *
+     * @param startNanos The start, as a value of System.nanoTime().
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Get the number of times recorded.
+     *
+     * @return the number of times.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the mean of the times recorded.
+     *
+     * @return the mean time, in nanoseconds, or 0 if none were recorded.
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n;
+    }
+
+    /**
+     * Get the longest time recorded.
+     *
+     * @return the longest time, in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the time at a percentile of the times recorded: the upper end of the bucket holding it, or the longest time
+     * recorded if that is shorter.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return the time at the percentile, in nanoseconds, or 0 if none were recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Get the bucket of a time.
+     *
+     * @param value The time, from 0 to MAX_VALUE.
+     * @return the index of its bucket.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >> shift) - SUB_BUCKET_HALF);
+    }
+
+    /**
+     * Get the longest time which falls in a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return the longest time in the bucket.
+     */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
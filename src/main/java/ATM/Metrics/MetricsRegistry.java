@@ -0,0 +1,97 @@
+package ATM.Metrics;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A registry of named counters, gauges and latency histograms, reported together in order of their names.
+ * <p>
+ * The classes on the hot paths of the program look up their metrics from the DEFAULT registry once, into static
+ * fields, so recording to them involves no lookup. A metric is created the first time its name is used, and the same
+ * metric is returned for the same name afterwards.
+ */
+public class MetricsRegistry {
+
+    public final static MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Get a counter, creating it if there is none with the given name.
+     *
+     * @param name The name of the counter.
+     * @return the counter.
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, key -> new Counter());
+        }
+        return counter;
+    }
+
+    /**
+     * Get a latency histogram, creating it if there is none with the given name.
+     *
+     * @param name The name of the histogram.
+     * @return the histogram.
+     */
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Register a gauge, replacing any gauge with the same name.
+     *
+     * @param name  The name of the gauge.
+     * @param gauge The gauge.
+     */
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Write a report of every metric to a file, replacing its contents.
+     *
+     * @param filename The file to write to.
+     * @throws IOException if the file cannot be written.
+     */
+    public void writeReport(String filename) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            writer.println("Metrics at " + new Date());
+            writer.println(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%-32s %10s %10s %10s %10s %10s %10s",
+                "Latency (us)", "Count", "Mean", "p50", "p99", "p99.9", "Max"));
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            report.append(String.format("\n%-32s %10d %10.1f %10.1f %10.1f %10.1f %10.1f", entry.getKey(),
+                    histogram.getCount(), histogram.getMean() / 1e3, histogram.getValueAtPercentile(50) / 1e3,
+                    histogram.getValueAtPercentile(99) / 1e3, histogram.getValueAtPercentile(99.9) / 1e3,
+                    histogram.getMax() / 1e3));
+        }
+        report.append("\n\nCounters");
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            report.append(String.format("\n%-32s %10d", entry.getKey(), entry.getValue().get()));
+        }
+        report.append("\n\nGauges");
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            report.append(String.format("\n%-32s %10d", entry.getKey(), entry.getValue().get()));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package ATM;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A utility class for amounts of money stored as a whole number of cents in a long.
+ * <p>
+ * Balances, transaction amounts and product principals are all kept in cents, so adding and subtracting them is exact
+ * and never needs rounding. Amounts entered in dollars are rounded to the nearest cent once, when they are converted,
+ * and interest is rounded with an explicit RoundingMode.
+ */
+public class Money {
+
+    /**
+     * The rounding mode used for interest paid to or charged on an account or product.
+     */
+    public final static RoundingMode INTEREST_ROUNDING = RoundingMode.HALF_EVEN;
+
+    /**
+     * The rounding mode used when an amount is split into instalments.
+     */
+    public final static RoundingMode INSTALMENT_ROUNDING = RoundingMode.HALF_UP;
+
+    private Money() {}
+
+    /**
+     * Convert an amount in dollars to cents, rounding half a cent away from zero.
+     *
+     * @param dollars The amount in dollars.
+     * @return the amount in cents.
+     */
+    public static long toCents(double dollars) {
+        if (dollars < 0) {
+            return -Math.round(-dollars * 100.);
+        }
+        return Math.round(dollars * 100.);
+    }
+
+    /**
+     * Convert an amount in cents to dollars.
+     *
+     * @param cents The amount in cents.
+     * @return the amount in dollars.
+     */
+    public static double toDollars(long cents) {
+        return cents / 100.;
+    }
+
+    /**
+     * Multiply an amount by a rate, such as an interest rate.
+     *
+     * @param cents        The amount in cents.
+     * @param rate         The rate to multiply by.
+     * @param roundingMode How to round the result to a whole number of cents.
+     * @return the product of the amount and the rate, in cents.
+     */
+    public static long multiply(long cents, double rate, RoundingMode roundingMode) {
+        return BigDecimal.valueOf(cents).multiply(BigDecimal.valueOf(rate)).setScale(0, roundingMode).longValue();
+    }
+
+    /**
+     * Divide an amount into a number of equal parts.
+     *
+     * @param cents        The amount in cents.
+     * @param divisor      The number of parts, which must not be 0.
+     * @param roundingMode How to round each part to a whole number of cents.
+     * @return the size of each part, in cents.
+     */
+    public static long divide(long cents, long divisor, RoundingMode roundingMode) {
+        return BigDecimal.valueOf(cents).divide(BigDecimal.valueOf(divisor), 0, roundingMode).longValue();
+    }
+
+    /**
+     * Format an amount with two decimal places, as String.format("%.2f", dollars) would.
+     *
+     * @param cents The amount in cents.
+     * @return the formatted amount.
+     */
+    public static String format(long cents) {
+        StringBuilder formatted = new StringBuilder();
+        if (cents < 0) {
+            formatted.append('-');
+            cents = -cents;
+        }
+        formatted.append(cents / 100).append('.');
+        long remainder = cents % 100;
+        if (remainder < 10) {
+            formatted.append('0');
+        }
+        return formatted.append(remainder).toString();
+    }
+}
@@ -0,0 +1,115 @@
+package ATM;
+
+import ATM.Account.AccountManager;
+import ATM.FinanceProduct.ProductManager;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the monthly update of a Bank's accounts and products, and times each phase.
+ * <p>
+ * Accounts are updated first, spread across a ForkJoinPool, and then products, grouped by their associated account so
+ * that products sharing an account are always applied in the same order. This gives the same result as updating every
+ * account and then every product one at a time.
+ */
+public class MonthEndProcessor {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Initialize this MonthEndProcessor with the common ForkJoinPool.
+     */
+    public MonthEndProcessor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialize this MonthEndProcessor with a ForkJoinPool.
+     *
+     * @param pool The pool in which to update accounts and products.
+     */
+    public MonthEndProcessor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Update every account and then every product in a Bank for the new month.
+     *
+     * @param bank The Bank to update.
+     * @return a report of how many accounts and products were updated, and how long each phase took.
+     */
+    public Report process(Bank bank) {
+        return process(bank, 1);
+    }
+
+    /**
+     * Bring every account and product in a Bank up to date after a number of months have passed. Accounts are updated
+     * once for each month, and products are caught up by every month at once.
+     *
+     * @param bank   The Bank to update.
+     * @param months The number of months which have passed, at least 1.
+     * @return a report of how many accounts and products were updated, and how long each phase took.
+     */
+    public Report process(Bank bank, int months) {
+        AccountManager accountManager = bank.getAccountManager();
+        ProductManager productManager = bank.getProductManager();
+
+        long start = System.nanoTime();
+        int accounts = 0;
+        for (int month = 0; month < months; month++) {
+            accounts = accountManager.updateAll(pool);
+        }
+        long accountsEnd = System.nanoTime();
+        int products = productManager.catchUpAll(months, pool);
+        long productsEnd = System.nanoTime();
+        return new Report(accounts, accountsEnd - start, products, productsEnd - accountsEnd);
+    }
+
+    /**
+     * The number of accounts and products updated by a MonthEndProcessor, and how long each phase took.
+     */
+    public static class Report {
+
+        private final int accounts;
+        private final long accountNanos;
+        private final int products;
+        private final long productNanos;
+
+        /**
+         * Initialize this Report.
+         *
+         * @param accounts     The number of accounts updated.
+         * @param accountNanos The time taken to update the accounts, in nanoseconds.
+         * @param products     The number of products updated.
+         * @param productNanos The time taken to update the products, in nanoseconds.
+         */
+        Report(int accounts, long accountNanos, int products, long productNanos) {
+            this.accounts = accounts;
+            this.accountNanos = accountNanos;
+            this.products = products;
+            this.productNanos = productNanos;
+        }
+
+        public int getAccounts() {
+            return accounts;
+        }
+
+        public long getAccountNanos() {
+            return accountNanos;
+        }
+
+        public int getProducts() {
+            return products;
+        }
+
+        public long getProductNanos() {
+            return productNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Month-end processing: %d accounts in %.3f ms, %d products in %.3f ms",
+                    accounts, accountNanos / 1e6, products, productNanos / 1e6);
+        }
+    }
+}
@@ -21,6 +21,15 @@ public class AccountRequest extends Request {
         this.accountFactory = accountFactory;
     }
 
+    /**
+     * Returns the type of account requested
+     *
+     * @return the type of account requested
+     */
+    public String getAccountType() {
+        return accountType;
+    }
+
     /**
      * Executes the request
      *
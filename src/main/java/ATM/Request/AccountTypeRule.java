@@ -0,0 +1,34 @@
+package ATM.Request;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An ApprovalRule which only allows requests for accounts of the given types. Requests which are not for a new
+ * account are allowed.
+ */
+public class AccountTypeRule implements ApprovalRule {
+
+    private final Set<String> accountTypes;
+
+    /**
+     * Initialize this AccountTypeRule with the account types which may be approved.
+     *
+     * @param accountTypes The account types, as given to the AccountFactory.
+     */
+    public AccountTypeRule(Collection<String> accountTypes) {
+        this.accountTypes = new HashSet<>(accountTypes);
+    }
+
+    @Override
+    public boolean allows(Request request) {
+        return !(request instanceof AccountRequest)
+                || accountTypes.contains(((AccountRequest) request).getAccountType());
+    }
+
+    @Override
+    public String getDescription() {
+        return "Account type not allowed";
+    }
+}
@@ -0,0 +1,22 @@
+package ATM.Request;
+
+/**
+ * A condition a request must meet to be approved by a BulkApprovalEngine without being reviewed by an employee.
+ */
+public interface ApprovalRule {
+
+    /**
+     * Check whether a request meets this rule.
+     *
+     * @param request The request.
+     * @return true if the request may be approved automatically, false otherwise.
+     */
+    boolean allows(Request request);
+
+    /**
+     * Get a description of this rule, shown in the summary of a bulk approval.
+     *
+     * @return the description.
+     */
+    String getDescription();
+}
@@ -0,0 +1,217 @@
+package ATM.Request;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Approves the pending account and product requests of a RequestManager which meet every one of a set of
+ * ApprovalRules, without an employee reviewing each one.
+ * <p>
+ * Requests which break a rule are left pending for an employee to review. The requests which meet every rule are
+ * grouped by the user who made them, and the groups are executed in parallel across a ForkJoinPool. The requests of
+ * one user are executed one at a time in the order they were made, since they may involve the same accounts, so the
+ * result is the same as approving each request in order.
+ */
+public class BulkApprovalEngine {
+
+    private final RequestManager requestManager;
+    private final ForkJoinPool pool;
+    private final List<ApprovalRule> rules;
+
+    /**
+     * Initialize this BulkApprovalEngine with no rules, executing requests in the common ForkJoinPool.
+     *
+     * @param requestManager The RequestManager holding the requests.
+     */
+    public BulkApprovalEngine(RequestManager requestManager) {
+        this(requestManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initialize this BulkApprovalEngine with no rules.
+     *
+     * @param requestManager The RequestManager holding the requests.
+     * @param pool           The pool in which to execute requests.
+     */
+    public BulkApprovalEngine(RequestManager requestManager, ForkJoinPool pool) {
+        this.requestManager = requestManager;
+        this.pool = pool;
+        this.rules = new ArrayList<>();
+    }
+
+    /**
+     * Add a rule which every request must meet to be approved.
+     *
+     * @param rule The rule.
+     */
+    public void addRule(ApprovalRule rule) {
+        rules.add(rule);
+    }
+
+    /**
+     * Approve every pending account and product request which meets all the rules of this BulkApprovalEngine.
+     *
+     * @return a summary of the requests approved, those which could not be executed, and those left pending.
+     */
+    public Summary approveAll() {
+        long start = System.nanoTime();
+        List<Request> pending = new ArrayList<>(requestManager.getAccountRequests());
+        pending.addAll(requestManager.getProductRequests());
+
+        Map<String, Integer> heldByRule = new LinkedHashMap<>();
+        Map<String, List<Long>> matchingByUser = new LinkedHashMap<>();
+        int matching = 0;
+        for (Request request : pending) {
+            ApprovalRule broken = findBrokenRule(request);
+            if (broken != null) {
+                Integer held = heldByRule.get(broken.getDescription());
+                heldByRule.put(broken.getDescription(), held == null ? 1 : held + 1);
+                continue;
+            }
+            List<Long> group = matchingByUser.get(request.getUsername());
+            if (group == null) {
+                group = new ArrayList<>();
+                matchingByUser.put(request.getUsername(), group);
+            }
+            group.add(request.getRequestID());
+            matching++;
+        }
+
+        List<List<Long>> groups = new ArrayList<>(matchingByUser.values());
+        int approved = pool.invoke(new ApproveTask(groups, 0, groups.size()));
+        return new Summary(pending.size(), approved, matching - approved, heldByRule, System.nanoTime() - start);
+    }
+
+    /**
+     * Find the first rule a request breaks.
+     *
+     * @param request The request.
+     * @return the first rule which does not allow the request, or null if it meets every rule.
+     */
+    private ApprovalRule findBrokenRule(Request request) {
+        for (ApprovalRule rule : rules) {
+            if (!rule.allows(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A task which executes a range of groups of requests, splitting the range in half until it is small enough to
+     * execute directly.
+     */
+    private class ApproveTask extends RecursiveTask<Integer> {
+
+        private final static int THRESHOLD = 16;
+        private final List<List<Long>> groups;
+        private final int start;
+        private final int end;
+
+        /**
+         * Initialize this ApproveTask with a range of groups.
+         *
+         * @param groups The IDs of the requests made by each user.
+         * @param start  The index of the first group in the range.
+         * @param end    The index after the last group in the range.
+         */
+        ApproveTask(List<List<Long>> groups, int start, int end) {
+            this.groups = groups;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start <= THRESHOLD) {
+                int approved = 0;
+                for (int i = start; i < end; i++) {
+                    for (long requestID : groups.get(i)) {
+                        try {
+                            if (requestManager.executeRequest(requestID)) {
+                                approved++;
+                            }
+                        } catch (RuntimeException e) {
+                            System.out.println("Warning: request " + requestID + " could not be executed. " + e);
+                        }
+                    }
+                }
+                return approved;
+            }
+            int middle = (start + end) >>> 1;
+            ApproveTask second = new ApproveTask(groups, middle, end);
+            second.fork();
+            return new ApproveTask(groups, start, middle).compute() + second.join();
+        }
+    }
+
+    /**
+     * The result of a bulk approval.
+     */
+    public static class Summary {
+
+        private final int examined;
+        private final int approved;
+        private final int failed;
+        private final Map<String, Integer> heldByRule;
+        private final long nanos;
+
+        /**
+         * Initialize this Summary.
+         *
+         * @param examined   The number of pending requests examined.
+         * @param approved   The number of requests which met every rule and were executed.
+         * @param failed     The number of requests which met every rule but could not be executed.
+         * @param heldByRule The number of requests left pending, by the description of the first rule they broke.
+         * @param nanos      The time taken, in nanoseconds.
+         */
+        Summary(int examined, int approved, int failed, Map<String, Integer> heldByRule, long nanos) {
+            this.examined = examined;
+            this.approved = approved;
+            this.failed = failed;
+            this.heldByRule = heldByRule;
+            this.nanos = nanos;
+        }
+
+        public int getExamined() {
+            return examined;
+        }
+
+        public int getApproved() {
+            return approved;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public int getHeld() {
+            return examined - approved - failed;
+        }
+
+        public Map<String, Integer> getHeldByRule() {
+            return heldByRule;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder();
+            summary.append(String.format("Examined %d requests in %.3f ms\n", examined, nanos / 1e6));
+            summary.append("Approved: ").append(approved).append('\n');
+            summary.append("Could not be executed: ").append(failed).append('\n');
+            summary.append("Left for review: ").append(getHeld());
+            for (Map.Entry<String, Integer> entry : heldByRule.entrySet()) {
+                summary.append("\n    ").append(entry.getKey()).append(": ").append(entry.getValue());
+            }
+            return summary.toString();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ATM.Request;
+
+import ATM.Account.AccountManager;
+
+/**
+ * An ApprovalRule which only allows requests from users in good standing, whose accounts are not in debt overall.
+ */
+public class GoodStandingRule implements ApprovalRule {
+
+    private final AccountManager accountManager;
+
+    /**
+     * Initialize this GoodStandingRule with the AccountManager holding the users' accounts.
+     *
+     * @param accountManager The AccountManager.
+     */
+    public GoodStandingRule(AccountManager accountManager) {
+        this.accountManager = accountManager;
+    }
+
+    @Override
+    public boolean allows(Request request) {
+        return accountManager.isInGoodStanding(request.getUsername());
+    }
+
+    @Override
+    public String getDescription() {
+        return "User not in good standing";
+    }
+}
@@ -0,0 +1,29 @@
+package ATM.Request;
+
+/**
+ * An ApprovalRule which only allows requests for products with an investment no larger than a maximum. Requests
+ * which are not for a new product are allowed.
+ */
+public class MaxInvestmentRule implements ApprovalRule {
+
+    private final double maxInvestment;
+
+    /**
+     * Initialize this MaxInvestmentRule with the largest investment which may be approved.
+     *
+     * @param maxInvestment The maximum investment, in dollars.
+     */
+    public MaxInvestmentRule(double maxInvestment) {
+        this.maxInvestment = maxInvestment;
+    }
+
+    @Override
+    public boolean allows(Request request) {
+        return !(request instanceof ProductRequest) || ((ProductRequest) request).getInvestment() <= maxInvestment;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Investment over $" + maxInvestment;
+    }
+}
@@ -25,13 +25,38 @@ public class ProductRequest extends Request {
         this.investment = investment;
     }
 
+    /**
+     * Returns the type of product requested.
+     * @return the type of product.
+     */
+    public String getProductType() {
+        return productType;
+    }
+
+    /**
+     * Returns the duration of the requested product.
+     * @return the duration in years.
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns the total investment of the requested product.
+     * @return the investment.
+     */
+    public double getInvestment() {
+        return investment;
+    }
+
     /**
      * Execute the request
      * @return a boolean of whether the request was successfully executed.
      */
     boolean execute(){
         FinanceProduct newProduct = productsFactory.getProduct(productType,username,duration,investment);
-        if (newProduct != null && newProduct.initializable()){
+        if (newProduct != null && accountManager.runLocked(newProduct.getAssociatedID(),
+                newProduct::initializable)) {
             productManager.addProduct(newProduct);
             return true;
         }
@@ -8,6 +8,7 @@ import java.io.Serializable;
 public abstract class Request implements Serializable {
 
     final String username;
+    private long requestID;
     AccountManager accountManager;
     ProductManager productManager;
 
@@ -29,6 +30,24 @@ public abstract class Request implements Serializable {
         return username;
     }
 
+    /**
+     * get the ID of this request, given by its RequestManager
+     *
+     * @return the request ID, or 0 if it has not been added to a RequestManager
+     */
+    public long getRequestID() {
+        return requestID;
+    }
+
+    /**
+     * set the ID of this request
+     *
+     * @param requestID a request ID
+     */
+    void setRequestID(long requestID) {
+        this.requestID = requestID;
+    }
+
     /**
      * the account manager of which this request is associated with
      *
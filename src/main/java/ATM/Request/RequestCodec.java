@@ -0,0 +1,102 @@
+package ATM.Request;
+
+import ATM.Account.AccountFactory;
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.FinanceProduct.ProductsFactory;
+import ATM.Transaction.Transaction;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class used to write and read the pending requests of a RequestManager in the compact binary format of the Bank's
+ * saved state. Transactions are written as their index among the Transactions written by the AccountCodec. Each
+ * request is written with its ID, after the ID of the last request added, so requests keep their IDs when the Bank is
+ * loaded and new requests continue the numbering.
+ */
+public class RequestCodec {
+
+    /**
+     * Write the requests of a RequestManager.
+     *
+     * @param requestManager     The RequestManager to write.
+     * @param output             The stream to write to.
+     * @param transactionIndices The index of each Transaction written by the AccountCodec.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(RequestManager requestManager, CodecOutput output,
+                             Map<Transaction, Integer> transactionIndices) throws IOException {
+        output.writeLong(requestManager.getLastRequestID());
+
+        List<Request> accountRequests = requestManager.getAccountRequests();
+        output.writeVarInt(accountRequests.size());
+        for (Request request : accountRequests) {
+            output.writeLong(request.getRequestID());
+            output.writeString(request.getUsername());
+            output.writeString(((AccountRequest) request).getAccountType());
+        }
+
+        List<Request> revertRequests = requestManager.getRevertTransactionRequests();
+        output.writeVarInt(revertRequests.size());
+        for (Request request : revertRequests) {
+            output.writeLong(request.getRequestID());
+            output.writeString(request.getUsername());
+            output.writeVarInt(transactionIndices.get(((RevertTransactionRequest) request).getTransaction()));
+        }
+
+        List<Request> productRequests = requestManager.getProductRequests();
+        output.writeVarInt(productRequests.size());
+        for (Request request : productRequests) {
+            ProductRequest productRequest = (ProductRequest) request;
+            output.writeLong(productRequest.getRequestID());
+            output.writeString(productRequest.getUsername());
+            output.writeString(productRequest.getProductType());
+            output.writeInt(productRequest.getDuration());
+            output.writeDouble(productRequest.getInvestment());
+        }
+    }
+
+    /**
+     * Read requests into a RequestManager.
+     *
+     * @param input           The stream to read from.
+     * @param requestManager  The RequestManager to add the requests to.
+     * @param accountFactory  The factory used by account requests.
+     * @param productsFactory The factory used by product requests.
+     * @param transactions    The Transactions read by the AccountCodec, in the order they were written.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void read(CodecInput input, RequestManager requestManager, AccountFactory accountFactory,
+                            ProductsFactory productsFactory, List<Transaction> transactions) throws IOException {
+        requestManager.setLastRequestID(input.readLong());
+
+        int numAccountRequests = input.readVarInt();
+        for (int i = 0; i < numAccountRequests; i++) {
+            long requestID = input.readLong();
+            String username = input.readString();
+            String accountType = input.readString();
+            requestManager.restoreRequest(new AccountRequest(username, accountType, accountFactory), requestID);
+        }
+
+        int numRevertRequests = input.readVarInt();
+        for (int i = 0; i < numRevertRequests; i++) {
+            long requestID = input.readLong();
+            String username = input.readString();
+            Transaction transaction = transactions.get(input.readVarInt());
+            requestManager.restoreRequest(new RevertTransactionRequest(username, transaction), requestID);
+        }
+
+        int numProductRequests = input.readVarInt();
+        for (int i = 0; i < numProductRequests; i++) {
+            long requestID = input.readLong();
+            String username = input.readString();
+            String productType = input.readString();
+            int duration = input.readInt();
+            double investment = input.readDouble();
+            requestManager.restoreRequest(new ProductRequest(username, productType, duration, investment,
+                    productsFactory), requestID);
+        }
+    }
+}
@@ -2,18 +2,30 @@ package ATM.Request;
 
 import ATM.Account.AccountManager;
 import ATM.FinanceProduct.ProductManager;
+import ATM.Journal.*;
+import ATM.Transaction.Transaction;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The manager of all pending requests.
+ * <p>
+ * Each request is given an ID when it is added, one more than the ID of the request added before it, and is kept in
+ * the RequestQueue for its type. Reviewers address requests by ID rather than by their position in a list, so a
+ * request approved or rejected by one reviewer never shifts the requests another reviewer is looking at, and each
+ * request is found and removed in constant time. Adding a request is synchronized on the RequestManager, so requests
+ * are numbered in the order they are recorded in the Journal and are given the same IDs when it is replayed.
+ */
 public class RequestManager implements Serializable {
 
-    private final List<Request> accountRequests;
-    private final List<Request> revertTransactionRequests;
-    private final List<Request> productRequests;
+    private final RequestQueue accountRequests;
+    private final RequestQueue revertTransactionRequests;
+    private final RequestQueue productRequests;
     private final AccountManager accountManager;
     private final ProductManager productManager;
+    private long lastRequestID;
+    private transient Journal journal;
 
     /**
      * The manager of all requests
@@ -21,33 +33,86 @@ public class RequestManager implements Serializable {
      * @param accountManager the account manager, for executing requests
      */
     public RequestManager(AccountManager accountManager, ProductManager productManager) {
-        accountRequests = new ArrayList<>();
-        revertTransactionRequests = new ArrayList<>();
-        productRequests = new ArrayList<>();
+        accountRequests = new RequestQueue();
+        revertTransactionRequests = new RequestQueue();
+        productRequests = new RequestQueue();
         this.accountManager = accountManager;
         this.productManager = productManager;
     }
 
     /**
-     * Returns the list of account requests
+     * Set the Journal used to record changes to the requests in this RequestManager.
      *
-     * @return list of account requests
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Record an entry in this RequestManager's Journal, if it has one.
+     *
+     * @param entry The entry to record.
+     */
+    private void record(JournalEntry entry) {
+        if (journal != null) {
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * Returns the pending account requests, oldest first
+     *
+     * @return a copy of the list of account requests
      */
     public List<Request> getAccountRequests() {
-        return accountRequests;
+        return accountRequests.getRequests();
     }
 
     /**
-     * Returns the list of revert transaction requests
+     * Returns the pending revert transaction requests, oldest first
      *
-     * @return list of revert transaction requests
+     * @return a copy of the list of revert transaction requests
      */
     public List<Request> getRevertTransactionRequests() {
-        return revertTransactionRequests;
+        return revertTransactionRequests.getRequests();
     }
 
+    /**
+     * Returns the pending product requests, oldest first
+     *
+     * @return a copy of the list of product requests
+     */
     public List<Request> getProductRequests() {
-        return productRequests;
+        return productRequests.getRequests();
+    }
+
+    /**
+     * Returns a pending request of any type
+     *
+     * @param requestID the ID of the request
+     * @return the request, or null if there is no pending request with that ID
+     */
+    public Request getRequest(long requestID) {
+        RequestQueue queue = findQueue(requestID);
+        return queue != null ? queue.get(requestID) : null;
+    }
+
+    /**
+     * Returns the queue holding a pending request
+     *
+     * @param requestID the ID of the request
+     * @return the queue, or null if there is no pending request with that ID
+     */
+    private RequestQueue findQueue(long requestID) {
+        if (accountRequests.get(requestID) != null) {
+            return accountRequests;
+        } else if (revertTransactionRequests.get(requestID) != null) {
+            return revertTransactionRequests;
+        } else if (productRequests.get(requestID) != null) {
+            return productRequests;
+        }
+        return null;
     }
 
     /**
@@ -55,14 +120,23 @@ public class RequestManager implements Serializable {
      *
      * @param request an AccountRequest
      */
-    public void addRequest(AccountRequest request) {
+    public synchronized void addRequest(AccountRequest request) {
         request.setAccountManager(accountManager);
-        accountRequests.add(request);
+        enqueue(accountRequests, request, 0);
+        record(new AccountRequestEntry(request.getUsername(), request.getAccountType()));
     }
 
-    public void addRequest(ProductRequest request) {
+    /**
+     * Adds a product request
+     *
+     * @param request a ProductRequest
+     */
+    public synchronized void addRequest(ProductRequest request) {
         request.setProductManager(productManager);
-        productRequests.add(request);
+        request.setAccountManager(accountManager);
+        enqueue(productRequests, request, 0);
+        record(new ProductRequestEntry(request.getUsername(), request.getProductType(), request.getDuration(),
+                request.getInvestment()));
     }
 
     /**
@@ -71,113 +145,139 @@ public class RequestManager implements Serializable {
      * @param request the transaction request
      * @return a boolean if the request was successfully added
      */
-    public boolean addRequest(RevertTransactionRequest request) {
+    public synchronized boolean addRequest(RevertTransactionRequest request) {
         if (request.isValid() && !request.isRequested()) {
             request.setTransactionAsRequested();
             request.setAccountManager(accountManager);
-            revertTransactionRequests.add(request);
+            enqueue(revertTransactionRequests, request, 0);
+            Transaction transaction = request.getTransaction();
+            String accountID = transaction.getAccountID();
+            int position = accountManager.getTransactionPosition(accountID, transaction);
+            record(new RevertRequestEntry(request.getUsername(), accountID, position));
             return true;
         }
         return false;
     }
 
     /**
-     * Removes a request after having been executed
+     * Give a request its ID and add it to the end of a queue
      *
-     * @param request an Account request
+     * @param queue     the queue for the type of request
+     * @param request   the request
+     * @param requestID the ID of the request, or 0 to give it the next ID
      */
-    private void removeRequest(AccountRequest request) {
-        accountRequests.remove(request);
+    private void enqueue(RequestQueue queue, Request request, long requestID) {
+        if (requestID == 0) {
+            requestID = lastRequestID + 1;
+        }
+        lastRequestID = Math.max(lastRequestID, requestID);
+        request.setRequestID(requestID);
+        queue.add(request);
     }
 
     /**
-     * Removes a request after having been executed
+     * Adds an account request read from the Bank's saved state, without checking or recording it
      *
-     * @param request an Product request
+     * @param request   the request
+     * @param requestID the saved ID of the request, or 0 to give it the next ID
      */
-    private void removeRequest(ProductRequest request) {
-        productRequests.remove(request);
+    synchronized void restoreRequest(AccountRequest request, long requestID) {
+        request.setAccountManager(accountManager);
+        enqueue(accountRequests, request, requestID);
     }
 
     /**
-     * Removes a request after having been executed
+     * Adds a revert transaction request read from the Bank's saved state, without checking or recording it
      *
-     * @param request a RevertTransaction request
+     * @param request   the request
+     * @param requestID the saved ID of the request, or 0 to give it the next ID
      */
-    private void removeRequest(RevertTransactionRequest request) {
-        revertTransactionRequests.remove(request);
+    synchronized void restoreRequest(RevertTransactionRequest request, long requestID) {
+        request.setAccountManager(accountManager);
+        enqueue(revertTransactionRequests, request, requestID);
     }
 
     /**
-     * Removes whichever type of request at the index of the list of that type of request
+     * Adds a product request read from the Bank's saved state, without checking or recording it
      *
-     * @param requestIndex the location of the request in the list
-     * @param requestType  the type of request
+     * @param request   the request
+     * @param requestID the saved ID of the request, or 0 to give it the next ID
      */
-    public void removeRequest(int requestIndex, int requestType) {
-        switch (requestType) {
-            case 1:
-                accountRequests.remove(requestIndex);
-                break;
-            case 2:
-                revertTransactionRequests.remove(requestIndex);
-                break;
-            case 3:
-                productRequests.remove(requestIndex);
-                break;
-        }
+    synchronized void restoreRequest(ProductRequest request, long requestID) {
+        request.setProductManager(productManager);
+        request.setAccountManager(accountManager);
+        enqueue(productRequests, request, requestID);
     }
 
     /**
-     * Returns which ever type of request at that index
+     * Returns the ID given to the most recently added request
      *
-     * @param requestIndex the location of the request in the list
-     * @param requestType  the type of request
-     * @return a request at a particular index
+     * @return the last request ID, or 0 if no request has been added
      */
-    private Request getRequest(int requestIndex, int requestType) {
-        switch (requestType) {
-            case 1:
-                return accountRequests.get(requestIndex);
-            case 2:
-                return revertTransactionRequests.get(requestIndex);
-            case 3:
-                return productRequests.get(requestIndex);
-            default:
-                return null;
+    synchronized long getLastRequestID() {
+        return lastRequestID;
+    }
+
+    /**
+     * Sets the ID given to the most recently added request, so the next request continues from it
+     *
+     * @param lastRequestID the last request ID
+     */
+    synchronized void setLastRequestID(long lastRequestID) {
+        this.lastRequestID = Math.max(this.lastRequestID, lastRequestID);
+    }
+
+    /**
+     * Removes a request without executing it
+     *
+     * @param requestID the ID of the request
+     * @return true if the request was removed, false if it is not pending or is being executed
+     */
+    public boolean removeRequest(long requestID) {
+        RequestQueue queue = findQueue(requestID);
+        if (queue != null && queue.remove(requestID)) {
+            record(new RequestRemovedEntry(requestID));
+            return true;
         }
+        return false;
     }
 
     /**
-     * Executes the request
+     * Executes a request, then removes it if it succeeded. A request can only be executed by one reviewer at a time.
      *
-     * @param requestIndex the location of the request in the list
-     * @param requestType  the type of request
+     * @param requestID the ID of the request
      * @return the operation's success/failure
      */
-    public boolean executeRequest(int requestIndex, int requestType) {
+    public boolean executeRequest(long requestID) {
+        RequestQueue queue = findQueue(requestID);
+        Request requestToBeExecuted = queue != null ? queue.claim(requestID) : null;
+        if (requestToBeExecuted == null) {
+            return false;
+        }
         boolean success = false;
-        Request requestToBeExecuted = getRequest(requestIndex, requestType);
-        switch (requestType) {
-            case 1:
-                if (requestToBeExecuted != null && requestToBeExecuted.execute()) {
-                    removeRequest((AccountRequest) requestToBeExecuted);
-                    success = true;
-                }
-                break;
-            case 2:
-                if (requestToBeExecuted != null && requestToBeExecuted.execute()) {
-                    removeRequest((RevertTransactionRequest) requestToBeExecuted);
-                    success = true;
-                }
-                break;
-            case 3:
-                if (requestToBeExecuted != null && requestToBeExecuted.execute()) {
-                    removeRequest((ProductRequest) requestToBeExecuted);
-                    success = true;
-                }
-                break;
+        try {
+            success = requestToBeExecuted.execute();
+        } finally {
+            queue.finish(requestID, success);
+        }
+        if (success) {
+            recordExecution(requestID, queue);
         }
         return success;
     }
+
+    /**
+     * Record the execution of a request. Account requests are recorded as a removal, since the new account is
+     * recorded by the AccountManager so that it keeps its accountID when replayed.
+     *
+     * @param requestID the ID of the request
+     * @param queue     the queue which held the request
+     */
+    private void recordExecution(long requestID, RequestQueue queue) {
+        if (queue == accountRequests) {
+            record(new RequestRemovedEntry(requestID));
+        } else {
+            record(new RequestExecutedEntry(requestID));
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package ATM.Request;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A queue of pending requests of one type, indexed by request ID.
+ * <p>
+ * Requests are kept in the order they were added, and are found and removed by ID in constant time. A reviewer must
+ * claim a request before executing it, so two reviewers can never execute the same request, and a claimed request
+ * cannot be rejected until its execution has finished. A request whose execution fails is released and stays in its
+ * place in the queue. All methods are synchronized on the queue.
+ */
+public class RequestQueue implements Serializable {
+
+    private final LinkedHashMap<Long, Request> requests;
+    private final Set<Long> claimed;
+
+    /**
+     * Initialize this RequestQueue with no requests.
+     */
+    RequestQueue() {
+        this.requests = new LinkedHashMap<>();
+        this.claimed = new HashSet<>();
+    }
+
+    /**
+     * Add a request to the end of this queue.
+     *
+     * @param request The request, which must already have its ID.
+     */
+    synchronized void add(Request request) {
+        requests.put(request.getRequestID(), request);
+    }
+
+    /**
+     * Get a request in this queue.
+     *
+     * @param requestID The ID of the request.
+     * @return the request, or null if there is no pending request with the given ID.
+     */
+    synchronized Request get(long requestID) {
+        return requests.get(requestID);
+    }
+
+    /**
+     * Claim a request for execution.
+     *
+     * @param requestID The ID of the request.
+     * @return the request, or null if it is not in this queue or has already been claimed.
+     */
+    synchronized Request claim(long requestID) {
+        Request request = requests.get(requestID);
+        if (request == null || !claimed.add(requestID)) {
+            return null;
+        }
+        return request;
+    }
+
+    /**
+     * Finish the execution of a claimed request.
+     *
+     * @param requestID The ID of the request.
+     * @param executed  Whether the request was executed, in which case it is removed from this queue.
+     */
+    synchronized void finish(long requestID, boolean executed) {
+        claimed.remove(requestID);
+        if (executed) {
+            requests.remove(requestID);
+        }
+    }
+
+    /**
+     * Remove a request which has not been claimed.
+     *
+     * @param requestID The ID of the request.
+     * @return true if the request was removed, false if it is not in this queue or is being executed.
+     */
+    synchronized boolean remove(long requestID) {
+        if (claimed.contains(requestID)) {
+            return false;
+        }
+        return requests.remove(requestID) != null;
+    }
+
+    /**
+     * Get the requests in this queue, in the order they were added.
+     *
+     * @return a copy of the pending requests.
+     */
+    synchronized List<Request> getRequests() {
+        return new ArrayList<>(requests.values());
+    }
+
+    /**
+     * Get the number of pending requests in this queue.
+     *
+     * @return the number of requests.
+     */
+    synchronized int size() {
+        return requests.size();
+    }
+}
@@ -17,6 +17,15 @@ public class RevertTransactionRequest extends Request {
         this.transaction = transaction;
     }
 
+    /**
+     * Returns the transaction being requested
+     *
+     * @return the transaction
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
     /**
      * Returns whether or not the transaction has been requested before
      *
@@ -44,7 +53,7 @@ public class RevertTransactionRequest extends Request {
 
     @Override
     public boolean execute() {
-        return transaction.revert();
+        return accountManager.revert(transaction);
     }
 
     @Override
@@ -0,0 +1,290 @@
+package ATM.Server;
+
+import ATM.ATM;
+import ATM.Bank;
+import ATM.LoginManager;
+import ATM.Session.CommandListener;
+import ATM.Session.MenuCache;
+import ATM.Session.Session;
+import ATM.User.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A server which runs the Sessions of many remote ATM terminals at once, all sharing one Bank. Terminals connect to a
+ * port of the local machine and speak the text protocol of TerminalChannel.
+ * <p>
+ * Each connection is one Session, run on its own thread of a pool, so the number of sessions which can run at once is
+ * the size of the pool; a terminal which connects while every thread is busy is told so and disconnected. Each thread
+ * is bound to the terminal named by its connection, so the privileges of a Session act on that terminal. Only the
+ * terminals already in the Bank's fleet may be named; a connection naming any other ID is told so and disconnected.
+ * <p>
+ * The server runs until shutdown is requested, by an employee choosing "Shutdown ATM" or by the program being stopped.
+ * It then drains: it stops accepting connections, and waits for the sessions which are running to end. Sessions which
+ * are still running after a grace period are disconnected, which ends them at their next prompt, so a change is never
+ * left half made. Only then is it safe to save the Bank.
+ */
+public class SessionServer {
+
+    private final static int MAX_LOGIN_ATTEMPTS = 3;
+    private final static String DEFAULT_TERMINAL_PROMPT = "Enter the ID of this ATM terminal, or nothing for the "
+            + "default terminal";
+
+    private final Bank bank;
+    private final MenuCache menuCache;
+    private final LoginManager loginManager;
+    private final ThreadPoolExecutor sessionPool;
+    private final Set<Socket> connections;
+    private final CountDownLatch shutdownRequested;
+    private final AtomicLong completedSessions;
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+    private CommandListener commandListener;
+
+    /**
+     * Initialize this SessionServer.
+     *
+     * @param bank        The Bank which every session operates on.
+     * @param menuCache   The cache of the menus of the users.
+     * @param maxSessions The number of sessions which can run at once.
+     */
+    public SessionServer(Bank bank, MenuCache menuCache, int maxSessions) {
+        this.bank = bank;
+        this.menuCache = menuCache;
+        this.loginManager = new LoginManager(bank.getUserManager());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sessionPool = new ThreadPoolExecutor(maxSessions, maxSessions, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(),
+                runnable -> new Thread(runnable, "ATM session " + threadCount.incrementAndGet()));
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.shutdownRequested = new CountDownLatch(1);
+        this.completedSessions = new AtomicLong();
+    }
+
+    /**
+     * Set a listener to be told of each command executed by the sessions of this server.
+     *
+     * @param commandListener The listener, which must allow calls from many threads at once.
+     */
+    public void setCommandListener(CommandListener commandListener) {
+        this.commandListener = commandListener;
+    }
+
+    /**
+     * Start accepting connections from terminals on the local machine.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException if the port cannot be opened.
+     */
+    public void start(int port) throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        acceptor = new Thread(this::acceptConnections, "ATM session acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Get the port this server listens on.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Get the number of sessions running.
+     *
+     * @return the number of connected terminals.
+     */
+    public int getActiveSessions() {
+        return connections.size();
+    }
+
+    /**
+     * Get the number of sessions which have ended.
+     *
+     * @return the number of sessions ended.
+     */
+    public long getCompletedSessions() {
+        return completedSessions.get();
+    }
+
+    /**
+     * Ask this server to shut down. The caller of awaitShutdown will then drain it.
+     */
+    public void requestShutdown() {
+        shutdownRequested.countDown();
+    }
+
+    /**
+     * Wait until shutdown of this server is requested.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void awaitShutdown() throws InterruptedException {
+        shutdownRequested.await();
+    }
+
+    /**
+     * Stop accepting connections, and wait for the running sessions to end. Sessions still running after the grace
+     * period are disconnected.
+     *
+     * @param gracePeriod How long to wait for sessions to end by themselves.
+     * @param unit        The unit of the grace period.
+     * @return true if every session ended by itself, false if some were disconnected.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public boolean drain(long gracePeriod, TimeUnit unit) throws InterruptedException {
+        requestShutdown();
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Warning: the server socket could not be closed. " + e);
+        }
+        acceptor.join();
+        sessionPool.shutdown();
+        if (sessionPool.awaitTermination(gracePeriod, unit)) {
+            return true;
+        }
+        System.out.println("Warning: disconnecting " + connections.size() + " sessions which did not end in time.");
+        for (Socket socket : connections) {
+            close(socket);
+        }
+        sessionPool.awaitTermination(gracePeriod, unit);
+        return false;
+    }
+
+    /**
+     * Accept connections until the server socket is closed, starting a session for each.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.out.println("Warning: a terminal could not connect. " + e);
+                }
+                continue;
+            }
+            try {
+                sessionPool.execute(() -> runSession(socket));
+            } catch (RejectedExecutionException e) {
+                try {
+                    TerminalChannel channel = new TerminalChannel(null, writer(socket));
+                    channel.send(TerminalChannel.ERROR, "Server busy",
+                            "No more sessions can run at once. Please try again later.");
+                    channel.flush();
+                } catch (IOException ignored) {
+                }
+                close(socket);
+            }
+        }
+    }
+
+    /**
+     * Run the session of one connected terminal, from choosing the terminal and logging in until the user exits.
+     *
+     * @param socket The connection to the terminal.
+     */
+    private void runSession(Socket socket) {
+        connections.add(socket);
+        try {
+            socket.setTcpNoDelay(true);
+            TerminalChannel channel = new TerminalChannel(new BufferedReader(new InputStreamReader(
+                    socket.getInputStream(), StandardCharsets.UTF_8)), writer(socket));
+            TerminalInputReader inputReader = new TerminalInputReader(channel);
+            String terminalID = inputReader.getString(DEFAULT_TERMINAL_PROMPT, "Terminal");
+            if (terminalID.isEmpty()) {
+                terminalID = ATM.DEFAULT_TERMINAL_ID;
+            }
+            if (!bank.getFleet().containsTerminal(terminalID)) {
+                channel.send(TerminalChannel.ERROR, "Unknown terminal", "There is no terminal with that ID.");
+                channel.sendBye();
+                return;
+            }
+            bank.getFleet().setCurrentTerminal(terminalID);
+
+            User user = logIn(inputReader, channel);
+            if (user != null) {
+                Session session = new Session(user, menuCache.getMenu(user), inputReader,
+                        new TerminalMessageDisplay(channel));
+                session.setCommandListener(commandListener);
+                if (!session.run()) {
+                    requestShutdown();
+                }
+            }
+            channel.sendBye();
+        } catch (IOException | RuntimeException e) {
+            if (!socket.isClosed()) {
+                System.out.println("Warning: a session on " + Thread.currentThread().getName() + " ended early. "
+                        + e.getMessage());
+            }
+        } finally {
+            bank.getFleet().clearCurrentTerminal();
+            connections.remove(socket);
+            close(socket);
+            completedSessions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Ask a terminal for a username and password until they are valid, or the terminal has made too many attempts.
+     *
+     * @param inputReader The reader of input from the terminal.
+     * @param channel     The connection to the terminal.
+     * @return the User logged in, or null if every attempt failed.
+     */
+    private User logIn(TerminalInputReader inputReader, TerminalChannel channel) {
+        for (int attempt = 0; attempt < MAX_LOGIN_ATTEMPTS; attempt++) {
+            String username = inputReader.getString("Username", "Log in");
+            String password = inputReader.getString("Password", "Log in");
+            if (loginManager.login(username, password)) {
+                return bank.getUserManager().getUser(username);
+            }
+            channel.send(TerminalChannel.ERROR, "Log in", "Incorrect username or password");
+        }
+        return null;
+    }
+
+    /**
+     * Open a writer of lines to a connection.
+     *
+     * @param socket The connection.
+     * @return the writer.
+     * @throws IOException if the connection is closed.
+     */
+    private static PrintWriter writer(Socket socket) throws IOException {
+        return new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Close a connection, ignoring any error.
+     *
+     * @param socket The connection.
+     */
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
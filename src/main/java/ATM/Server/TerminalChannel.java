@@ -0,0 +1,113 @@
+package ATM.Server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * The connection to one remote terminal, which speaks a line-based text protocol. Each line the server sends is a
+ * command followed by tab-separated fields, with tabs and line breaks within a field escaped as \t and \n:
+ * <ul>
+ * <li>PROMPT title message: the terminal answers with a line of text.</li>
+ * <li>SELECT title option...: the terminal answers with the index of an option, or the start of its text.</li>
+ * <li>MESSAGE title message and ERROR title message: the terminal shows the message, and does not answer.</li>
+ * <li>BYE: the session is over, and the server closes the connection.</li>
+ * </ul>
+ * Commands are buffered until the server waits for an answer, so a message and the prompt which follows it reach the
+ * terminal together.
+ */
+class TerminalChannel {
+
+    final static String PROMPT = "PROMPT";
+    final static String SELECT = "SELECT";
+    final static String MESSAGE = "MESSAGE";
+    final static String ERROR = "ERROR";
+    final static String BYE = "BYE";
+
+    private final BufferedReader input;
+    private final PrintWriter output;
+
+    /**
+     * Initialize this TerminalChannel with the streams of a connection.
+     *
+     * @param input  The stream of lines from the terminal.
+     * @param output The stream of lines to the terminal.
+     */
+    TerminalChannel(BufferedReader input, PrintWriter output) {
+        this.input = input;
+        this.output = output;
+    }
+
+    /**
+     * Send a command with a title and a message.
+     *
+     * @param command The command.
+     * @param title   The title.
+     * @param message The message.
+     */
+    void send(String command, String title, String message) {
+        output.print(command + '\t' + escape(title) + '\t' + escape(message) + '\n');
+    }
+
+    /**
+     * Send a SELECT command with a title and its options.
+     *
+     * @param title   The title.
+     * @param options The options, as their text.
+     */
+    void sendOptions(String title, List<?> options) {
+        StringBuilder line = new StringBuilder(SELECT).append('\t').append(escape(title));
+        for (Object option : options) {
+            line.append('\t').append(escape(option.toString()));
+        }
+        output.print(line.append('\n'));
+    }
+
+    /**
+     * Send the BYE command.
+     */
+    void sendBye() {
+        output.print(BYE + '\n');
+        output.flush();
+    }
+
+    /**
+     * Send every command not yet sent.
+     */
+    void flush() {
+        output.flush();
+    }
+
+    /**
+     * Send every command not yet sent, then read the next line from the terminal.
+     *
+     * @return the line, without leading or trailing whitespace.
+     * @throws UncheckedIOException  if the connection fails.
+     * @throws IllegalStateException if the terminal has closed the connection.
+     */
+    String readLine() {
+        String line;
+        output.flush();
+        try {
+            line = input.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            throw new IllegalStateException("The terminal closed the connection.");
+        }
+        return line.trim();
+    }
+
+    /**
+     * Escape the tabs and line breaks of a field.
+     *
+     * @param field The field.
+     * @return the escaped field.
+     */
+    private static String escape(String field) {
+        return field == null ? "" : field.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,47 @@
+package ATM.Server;
+
+import ATM.GUI.GraphicalInputReader;
+import ATM.Headless.ScriptedInputReader;
+
+import java.util.List;
+
+/**
+ * A GraphicalInputReader which opens no dialogs, and instead prompts a remote terminal for each input.
+ */
+class TerminalInputReader extends GraphicalInputReader {
+
+    private final TerminalChannel channel;
+
+    /**
+     * Initialize this TerminalInputReader with the connection to a terminal.
+     *
+     * @param channel The connection to the terminal.
+     */
+    TerminalInputReader(TerminalChannel channel) {
+        super(null);
+        this.channel = channel;
+    }
+
+    @Override
+    public String getString(String message, String title) {
+        channel.send(TerminalChannel.PROMPT, title, message);
+        return channel.readLine();
+    }
+
+    @Override
+    public int getSelectionFromOptions(List<?> options, String title) {
+        while (true) {
+            channel.sendOptions(title, options);
+            int index = ScriptedInputReader.findOption(options, channel.readLine());
+            if (index >= 0) {
+                return index;
+            }
+            channel.send(TerminalChannel.ERROR, title, "Select one of the options");
+        }
+    }
+
+    @Override
+    protected void showInputError(String message, String title) {
+        channel.send(TerminalChannel.ERROR, title, message);
+    }
+}
@@ -0,0 +1,31 @@
+package ATM.Server;
+
+import ATM.GUI.MessageDisplay;
+
+/**
+ * A MessageDisplay which opens no dialogs, and instead sends each message to a remote terminal.
+ */
+class TerminalMessageDisplay extends MessageDisplay {
+
+    private final TerminalChannel channel;
+
+    /**
+     * Initialize this TerminalMessageDisplay with the connection to a terminal.
+     *
+     * @param channel The connection to the terminal.
+     */
+    TerminalMessageDisplay(TerminalChannel channel) {
+        super(null);
+        this.channel = channel;
+    }
+
+    @Override
+    public void showMessage(String message, String title) {
+        channel.send(TerminalChannel.MESSAGE, title, message);
+    }
+
+    @Override
+    public void showErrorMessage(String message, String title) {
+        channel.send(TerminalChannel.ERROR, title, message);
+    }
+}
@@ -1,9 +1,10 @@
 package ATM.Session;
 
 /**
- * An interface used to execute commands from user input.
+ * An interface used to execute commands from user input. The Session executing the command is passed in, so a command
+ * can be shared by the menus of many Sessions.
  */
 @FunctionalInterface
 public interface Command {
-    void execute();
+    void execute(Session session);
 }
@@ -0,0 +1,16 @@
+package ATM.Session;
+
+/**
+ * An interface used to observe the commands executed by a Session.
+ */
+@FunctionalInterface
+public interface CommandListener {
+
+    /**
+     * Called after a Session executes the command of an option.
+     *
+     * @param option The name of the option.
+     * @param nanos  The time taken to execute the command, in nanoseconds.
+     */
+    void commandExecuted(String option, long nanos);
+}
@@ -0,0 +1,73 @@
+package ATM.Session;
+
+import ATM.User.Role.ATMMaintenanceRole;
+import ATM.User.Role.Role;
+import ATM.User.User;
+import ATM.User.UserFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the menus shown to users, one for each combination of roles.
+ * <p>
+ * The menu of a combination of roles is built the first time a user with those roles logs in, and shared by every
+ * later Session of a user with the same roles. Since its commands are bound to a Session only when they are executed,
+ * the time to start a Session does not depend on how many roles and privileges its user has.
+ */
+public class MenuCache {
+
+    private final UserFactory userFactory;
+    private final Map<Integer, OptionsTree> menus;
+
+    /**
+     * Initialize this MenuCache with a UserFactory.
+     *
+     * @param userFactory The factory used to look up the Roles of each user.
+     */
+    public MenuCache(UserFactory userFactory) {
+        this.userFactory = userFactory;
+        this.menus = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the menu of a user.
+     *
+     * @param user The user.
+     * @return the shared menu of every user with the same roles as the given user.
+     */
+    public OptionsTree getMenu(User user) {
+        OptionsTree menu = menus.get(user.getRoleBits());
+        if (menu == null) {
+            menu = menus.computeIfAbsent(user.getRoleBits(), roleBits -> buildMenu(userFactory.getRoles(user)));
+        }
+        return menu;
+    }
+
+    /**
+     * Build the menu of a list of Roles.
+     *
+     * @param roles The Roles, in the order their menus are shown.
+     * @return the menu.
+     */
+    private static OptionsTree buildMenu(List<Role> roles) {
+        OptionsTree optionsTree = new OptionsTree();
+
+        for (Role role : roles) {
+            OptionsTree newOptionsTree = role.getOptionsTree();
+
+            // Add additional options for terminating the ATM and exiting a menu
+            if (role.getName().equals(ATMMaintenanceRole.name)) {
+                newOptionsTree.add("Shutdown ATM", Session::terminateProgram);
+            }
+            newOptionsTree.add("Go back", Session::resetCurrentOption);
+
+            optionsTree.add(newOptionsTree);
+        }
+
+        // Add an option to exit the Session
+        optionsTree.add("Exit session", Session::exit);
+        return optionsTree;
+    }
+}
@@ -7,6 +7,9 @@ import java.util.List;
 
 /**
  * Tree used to represent a branching user options menu.
+ * <p>
+ * An OptionsTree holds no state of a Session, so once built, a tree is shared by every Session with the same menu
+ * (see MenuCache), and must not be modified.
  */
 public class OptionsTree {
 
@@ -22,7 +25,7 @@ public class OptionsTree {
     public OptionsTree(String option) {
         this.option = option;
         this.children = new ArrayList<>();
-        this.command = () -> {}; // Empty command
+        this.command = session -> {}; // Empty command
     }
 
     /**
@@ -45,9 +48,11 @@ public class OptionsTree {
 
     /**
      * Execute this OptionTree's command.
+     *
+     * @param session The Session executing the command.
      */
-    void executeCommand() {
-        this.command.execute();
+    void executeCommand(Session session) {
+        this.command.execute(session);
     }
 
     /**
@@ -2,13 +2,14 @@ package ATM.Session;
 
 import ATM.GUI.GraphicalInputReader;
 import ATM.GUI.MessageDisplay;
-import ATM.User.Role.ATMMaintenanceRole;
-import ATM.User.Role.Role;
 import ATM.User.User;
 
 /**
  * Represents an ATM session, which prompts the user to select options
  * and translates their input into appropriate method calls.
+ * <p>
+ * The menu of a Session is shared with every other Session of a user with the same roles. The commands of the menu
+ * are bound to this Session only when they are executed, when they get the user and GUI elements from it.
  */
 public class Session {
 
@@ -16,22 +17,25 @@ public class Session {
     private boolean running;
     private boolean continueProgram = true;
     private OptionsTree currentOption;
-    private OptionsTree optionsTree;
+    private final OptionsTree optionsTree;
     private final GraphicalInputReader inputReader;
     private final MessageDisplay messageDisplay;
+    private CommandListener commandListener;
 
     /**
-     * Initialize this Session with a User and an input reader.
+     * Initialize this Session with a User, their menu and an input reader.
      *
      * @param user           The User associated with this Session.
+     * @param optionsTree    The menu of the User, from a MenuCache.
      * @param inputReader    A reader used to get input from the user.
      * @param messageDisplay A display used to show messages to the user.
      */
-    public Session(User user, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public Session(User user, OptionsTree optionsTree, GraphicalInputReader inputReader,
+                   MessageDisplay messageDisplay) {
         this.user = user;
+        this.optionsTree = optionsTree;
         this.inputReader = inputReader;
         this.messageDisplay = messageDisplay;
-        generateOptionsTree();
     }
 
     /**
@@ -46,8 +50,13 @@ public class Session {
         while (running) {
             if (currentOption.hasChildren()) {
                 currentOption = currentOption.getChildFromUserInput(inputReader);
+            } else if (commandListener == null) {
+                currentOption.executeCommand(this);
+                resetCurrentOption();
             } else {
-                currentOption.executeCommand();
+                long start = System.nanoTime();
+                currentOption.executeCommand(this);
+                commandListener.commandExecuted(currentOption.toString(), System.nanoTime() - start);
                 resetCurrentOption();
             }
         }
@@ -55,49 +64,63 @@ public class Session {
     }
 
     /**
-     * Generate the OptionsTree for this Session.
+     * Set a listener to be told of each command this Session executes, and how long it took.
+     *
+     * @param commandListener The listener.
      */
-    private void generateOptionsTree() {
-        optionsTree = new OptionsTree();
-
-        for (Role role : user.getRoles()) {
-            OptionsTree newOptionsTree = role.getOptionsTree(inputReader, messageDisplay);
-
-            // Add additional options for terminating the ATM and exiting a menu
-            if (role.getName().equals(ATMMaintenanceRole.name)) {
-                newOptionsTree.add("Shutdown ATM", this::terminateProgram);
-            }
-            newOptionsTree.add("Go back", this::resetCurrentOption);
-
-            optionsTree.add(newOptionsTree);
-        }
-
-        // Add an option to exit the Session
-        optionsTree.add("Exit session", this::exit);
+    public void setCommandListener(CommandListener commandListener) {
+        this.commandListener = commandListener;
     }
 
     /**
      * Exit this Session.
      */
-    private void exit() {
+    void exit() {
         running = false;
     }
 
     /**
      * Go back to the root option in this Session's OptionsTree.
      */
-    private void resetCurrentOption() {
+    void resetCurrentOption() {
         currentOption = optionsTree;
     }
 
     /**
      * Exit this session and instruct the main program to terminate.
      */
-    private void terminateProgram() {
+    void terminateProgram() {
         continueProgram = false;
         exit();
     }
 
+    /**
+     * Get the name of this Session's User.
+     *
+     * @return the username.
+     */
+    public String getUsername() {
+        return user.getUsername();
+    }
+
+    /**
+     * Get the reader used to get input from this Session's User.
+     *
+     * @return the input reader.
+     */
+    public GraphicalInputReader getInputReader() {
+        return inputReader;
+    }
+
+    /**
+     * Get the display used to show messages to this Session's User.
+     *
+     * @return the message display.
+     */
+    public MessageDisplay getMessageDisplay() {
+        return messageDisplay;
+    }
+
     /**
      * Set this Session's User.
      *
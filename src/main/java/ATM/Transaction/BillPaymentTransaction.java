@@ -1,11 +1,10 @@
 package ATM.Transaction;
 
 import ATM.Account.Account;
+import ATM.Money;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.Date;
+import java.util.function.LongConsumer;
 
 /**
  * A class representing a bill payment transaction, which transfers money out
@@ -13,12 +12,14 @@ import java.util.Date;
  */
 public class BillPaymentTransaction extends Transaction {
 
-    private final static String outgoingFileName = "externalFiles/outgoing.txt";
     private final String payee;
+    private final transient OutgoingPaymentWriter outgoing;
+    private final transient LongConsumer recorder;
+    private transient long paymentSequence;
 
     /**
      * Initialize this BillPaymentTransaction with a primary account, an amount,
-     * a date, and a payee.
+     * a date, and a payee. The payment is not written to the outgoing payments file.
      *
      * @param primary The account from which money is to be transferred.
      * @param amount  The amount to be transferred.
@@ -26,13 +27,65 @@ public class BillPaymentTransaction extends Transaction {
      * @param payee   The name of the payee.
      */
     public BillPaymentTransaction(Account primary, double amount, Date date, String payee) {
+        this(primary, amount, date, payee, null);
+    }
+
+    /**
+     * Initialize this BillPaymentTransaction with a primary account, an amount,
+     * a date, a payee, and the channel to the outgoing payments file.
+     *
+     * @param primary  The account from which money is to be transferred.
+     * @param amount   The amount to be transferred.
+     * @param date     The date of the transfer.
+     * @param payee    The name of the payee.
+     * @param outgoing The channel to which the payment is written when it is executed, or null.
+     */
+    public BillPaymentTransaction(Account primary, double amount, Date date, String payee,
+                                  OutgoingPaymentWriter outgoing) {
+        this(primary, amount, date, payee, outgoing, null);
+    }
+
+    /**
+     * Initialize this BillPaymentTransaction with a primary account, an amount, a date, a payee, the channel to the
+     * outgoing payments file, and a recorder given the sequence number of the payment before it is queued.
+     *
+     * @param primary  The account from which money is to be transferred.
+     * @param amount   The amount to be transferred.
+     * @param date     The date of the transfer.
+     * @param payee    The name of the payee.
+     * @param outgoing The channel to which the payment is written when it is executed, or null.
+     * @param recorder Given the sequence number of the payment, or 0 if it is not written, when it is executed, or
+     *                 null.
+     */
+    public BillPaymentTransaction(Account primary, double amount, Date date, String payee,
+                                  OutgoingPaymentWriter outgoing, LongConsumer recorder) {
         super(primary, amount, date);
         this.payee = payee;
+        this.outgoing = outgoing;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Get the name of the payee of this bill payment.
+     *
+     * @return the name of the payee.
+     */
+    String getPayee() {
+        return payee;
+    }
+
+    /**
+     * Get the sequence number the outgoing payments file gave this bill payment.
+     *
+     * @return the sequence number, or 0 if the payment was not written to the file.
+     */
+    public long getPaymentSequence() {
+        return paymentSequence;
     }
 
     @Override
     boolean canExecute() {
-        boolean canTransferOut = primary.canTransferOut(amount);
+        boolean canTransferOut = primary.canTransferOutCents(amount);
         return canTransferOut && isExecutable();
     }
 
@@ -41,36 +94,43 @@ public class BillPaymentTransaction extends Transaction {
         return false;
     }
 
+    /**
+     * Debit the account and queue the payment to be written to outgoing.txt. If the outgoing payments file can no
+     * longer be written, the debit is undone and the payment fails.
+     *
+     * @return true if the payment was made, false otherwise.
+     */
     @Override
-    void performExecution() {
-        primary.withdraw(amount);
-        updateOutgoing();
+    boolean performExecution() {
+        primary.withdrawCents(amount);
+        if (!updateOutgoing()) {
+            primary.depositCents(amount);
+            return false;
+        }
+        return true;
     }
 
     @Override
     void performReversion() {
-        primary.deposit(amount);
+        primary.depositCents(amount);
     }
 
     /**
-     * Updates current bill payment information to outgoing.txt
+     * Queues current bill payment information to be written to outgoing.txt
+     *
+     * @return false if the outgoing payments file can no longer be written, true otherwise.
      */
-    private void updateOutgoing() {
-        StringBuilder toWrite = new StringBuilder();
-        toWrite.append(toString());
-        toWrite.append("\n");
-        try {
-            FileWriter outFile = new FileWriter(outgoingFileName, true);
-            BufferedWriter writer = new BufferedWriter(outFile);
-            writer.write(toWrite.toString());
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("Something went wrong.");
+    private boolean updateOutgoing() {
+        if (outgoing != null) {
+            paymentSequence = outgoing.submit(toString(), recorder);
+        } else if (recorder != null) {
+            recorder.accept(0);
         }
+        return paymentSequence >= 0;
     }
 
     @Override
     String transactionInfo() {
-        return "Bill payment of $" + String.format("%.2f", amount) + " from: " + primary + " to: " + payee;
+        return "Bill payment of $" + Money.format(amount) + " from: " + primary + " to: " + payee;
     }
 }
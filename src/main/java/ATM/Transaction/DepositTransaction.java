@@ -1,6 +1,7 @@
 package ATM.Transaction;
 
 import ATM.Account.Account;
+import ATM.Money;
 
 import java.util.Date;
 
@@ -22,28 +23,29 @@ public class DepositTransaction extends Transaction {
 
     @Override
     boolean canExecute() {
-        boolean canDeposit = primary.canDeposit(amount);
+        boolean canDeposit = primary.canDepositCents(amount);
         return canDeposit && isExecutable();
     }
 
     @Override
     public boolean canRevert() {
-        boolean canWithdraw = primary.canWithdraw(amount);
+        boolean canWithdraw = primary.canWithdrawCents(amount);
         return canWithdraw && isRevertible();
     }
 
     @Override
-    void performExecution() {
-        primary.deposit(amount);
+    boolean performExecution() {
+        primary.depositCents(amount);
+        return true;
     }
 
     @Override
     void performReversion() {
-        primary.withdraw(amount);
+        primary.withdrawCents(amount);
     }
 
     @Override
     String transactionInfo() {
-        return "Deposit of $" + String.format("%.2f", amount) + " to: " + primary;
+        return "Deposit of $" + Money.format(amount) + " to: " + primary;
     }
 }
@@ -0,0 +1,389 @@
+package ATM.Transaction;
+
+import ATM.Journal.Journal;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * A channel which appends bill payments to the outgoing payments file on a background thread.
+ * <p>
+ * Each payment is given a sequence number and placed in a bounded queue, so the payment does not wait for the file.
+ * The background thread collects payments into a batch of up to batchSize payments, or whatever has arrived within
+ * batchIntervalMillis milliseconds of the first, then writes the batch and forces it to disk once. Each line of the
+ * file is the sequence number of the payment, a tab, and the payment. When the file is opened, a line which was only
+ * partially written before a crash is discarded, and numbering continues after the last complete line. The number of
+ * that line is kept, so payments replayed from the Journal which already reached the file are not written again.
+ * <p>
+ * The Journal entry of each bill payment is appended before the payment is queued, and the Journal is forced to disk
+ * before each batch is written, so the file never holds a payment whose debit could be lost in a crash.
+ * <p>
+ * If a batch cannot be written, the file is truncated back to the end of the last batch written, so no partial line
+ * is left in it, and the batch is tried again. If it still cannot be written, the writer stops: the payments which
+ * were not written are never reported as durable, and no more payments are accepted. Their bill payments are in the
+ * Journal, so they are written when it is replayed the next time the program starts.
+ */
+public class OutgoingPaymentWriter {
+
+    private final static Payment CLOSE = new Payment(0, null);
+    private final static int WRITE_ATTEMPTS = 3;
+    private final static long RETRY_MILLIS = 100;
+    private final String fileName;
+    private final int batchSize;
+    private final long batchIntervalMillis;
+    private final BlockingQueue<Payment> queue;
+    private final Object submitLock = new Object();
+    private FileChannel channel;
+    private Thread writerThread;
+    private long sequence;
+    private long durableSequence;
+    private long recoveredSequence;
+    private long writtenLength;
+    private volatile boolean failed;
+    private volatile Journal journal;
+
+    /**
+     * Initialize this OutgoingPaymentWriter with a file name, queueing up to 1024 payments and writing batches of up to
+     * 64 payments every 20 milliseconds.
+     *
+     * @param fileName The file to which payments are appended.
+     */
+    public OutgoingPaymentWriter(String fileName) {
+        this(fileName, 1024, 64, 20);
+    }
+
+    /**
+     * Initialize this OutgoingPaymentWriter with a file name and a batching policy.
+     *
+     * @param fileName            The file to which payments are appended.
+     * @param capacity            The number of payments which can wait to be written before submit blocks.
+     * @param batchSize           The maximum number of payments written and forced to disk together.
+     * @param batchIntervalMillis The maximum time to wait for more payments to fill a batch, in milliseconds.
+     */
+    public OutgoingPaymentWriter(String fileName, int capacity, int batchSize, long batchIntervalMillis) {
+        this.fileName = fileName;
+        this.batchSize = batchSize;
+        this.batchIntervalMillis = batchIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Set the Journal in which bill payments are recorded. It is forced to disk before each batch is written.
+     *
+     * @param journal The Journal.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Open the outgoing payments file for appending, and start the background thread which writes to it.
+     *
+     * @throws IOException if an I/O error occurs while reading or opening the file.
+     */
+    public void open() throws IOException {
+        synchronized (submitLock) {
+            channel = new RandomAccessFile(fileName, "rw").getChannel();
+            long validLength = recoverSequence();
+            channel.truncate(validLength);
+            channel.position(validLength);
+            writtenLength = validLength;
+            failed = false;
+            synchronized (this) {
+                durableSequence = sequence;
+                recoveredSequence = sequence;
+            }
+
+            writerThread = new Thread(this::writeBatches, "Outgoing payment writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Find the sequence number of the last complete line of the file.
+     *
+     * @return the length of the file up to the end of its last complete line.
+     * @throws IOException if an I/O error occurs while reading the file.
+     */
+    private long recoverSequence() throws IOException {
+        long length = channel.size();
+        int tailLength = (int) Math.min(length, 4096);
+        long tailStart = length - tailLength;
+        ByteBuffer tail = ByteBuffer.allocate(tailLength);
+        while (tail.hasRemaining()) {
+            if (channel.read(tail, tailStart + tail.position()) < 0) {
+                break;
+            }
+        }
+        byte[] bytes = tail.array();
+
+        int end = tailLength - 1;
+        while (end >= 0 && bytes[end] != '\n') {
+            end--;
+        }
+        if (end < 0) {
+            return tailStart > 0 ? length : 0;
+        }
+        int start = end - 1;
+        while (start >= 0 && bytes[start] != '\n') {
+            start--;
+        }
+        long lastSequence = 0;
+        for (int i = start + 1; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            lastSequence = lastSequence * 10 + (bytes[i] - '0');
+        }
+        sequence = lastSequence;
+        return tailStart + end + 1;
+    }
+
+    /**
+     * Queue a payment to be appended to the outgoing payments file. This only waits if the queue is full.
+     *
+     * @param payment The payment to append, without a line separator.
+     * @return the sequence number of the payment, 0 if this OutgoingPaymentWriter is not open, or -1 if it stopped
+     * because the file could not be written.
+     */
+    public long submit(String payment) {
+        return submit(payment, null);
+    }
+
+    /**
+     * Queue a payment to be appended to the outgoing payments file, first recording it with the sequence number it is
+     * given. Payments are numbered and recorded in the order they are queued.
+     *
+     * @param payment  The payment to append, without a line separator.
+     * @param recorder Given the sequence number of the payment, or 0 if this OutgoingPaymentWriter is not open, before
+     *                 the payment is queued. It is not called if the payment is refused. May be null.
+     * @return the sequence number of the payment, 0 if this OutgoingPaymentWriter is not open, or -1 if it stopped
+     * because the file could not be written.
+     */
+    public long submit(String payment, LongConsumer recorder) {
+        synchronized (submitLock) {
+            if (failed && writerThread != null) {
+                return -1;
+            }
+            long paymentSequence = writerThread == null ? 0 : ++sequence;
+            if (recorder != null) {
+                recorder.accept(paymentSequence);
+            }
+            if (paymentSequence > 0) {
+                putUninterruptibly(new Payment(paymentSequence, payment));
+            }
+            return paymentSequence;
+        }
+    }
+
+    /**
+     * Place a payment in the queue, waiting for space if necessary, without losing an interrupt.
+     *
+     * @param payment The payment to queue.
+     */
+    private void putUninterruptibly(Payment payment) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(payment);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write batches of payments until this OutgoingPaymentWriter is closed.
+     */
+    private void writeBatches() {
+        StringBuilder batch = new StringBuilder();
+        boolean closing = false;
+        while (!closing) {
+            try {
+                Payment payment = queue.take();
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchIntervalMillis);
+                long lastSequence = 0;
+                int count = 0;
+                batch.setLength(0);
+                while (payment != null) {
+                    if (payment == CLOSE) {
+                        closing = true;
+                        break;
+                    }
+                    batch.append(payment.sequence).append('\t').append(payment.text).append('\n');
+                    lastSequence = payment.sequence;
+                    if (++count >= batchSize) {
+                        break;
+                    }
+                    payment = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                if (count > 0 && !write(batch, lastSequence)) {
+                    stop();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Force the Journal to disk, then append a batch of payments to the file and force it to disk, trying again if
+     * either cannot be written.
+     *
+     * @param batch        The lines to append.
+     * @param lastSequence The sequence number of the last payment in the batch.
+     * @return true if the batch was written, false if every attempt failed.
+     * @throws InterruptedException if the thread is interrupted while waiting to try again.
+     */
+    private boolean write(CharSequence batch, long lastSequence) throws InterruptedException {
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            try {
+                Journal current = journal;
+                if (current != null) {
+                    current.sync();
+                }
+                ByteBuffer bytes = StandardCharsets.UTF_8.encode(batch.toString());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+                writtenLength = channel.position();
+                synchronized (this) {
+                    durableSequence = lastSequence;
+                    notifyAll();
+                }
+                return true;
+            } catch (IOException e) {
+                System.out.println("Warning: could not write to the outgoing payments file. " + e);
+                if (!discardPartialBatch()) {
+                    return false;
+                }
+            }
+            Thread.sleep(RETRY_MILLIS);
+        }
+        return false;
+    }
+
+    /**
+     * Truncate the file back to the end of the last batch written, removing any part of a batch which failed.
+     *
+     * @return true if the file was truncated, false if it could not be.
+     */
+    private boolean discardPartialBatch() {
+        try {
+            channel.truncate(writtenLength);
+            channel.position(writtenLength);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Warning: could not truncate the outgoing payments file. " + e);
+            return false;
+        }
+    }
+
+    /**
+     * Stop accepting payments after a batch could not be written, and drop the payments still queued. They are not
+     * lost: each was recorded in the Journal, and is written again when the Journal is replayed.
+     */
+    private void stop() {
+        failed = true;
+        System.out.println("Warning: bill payments are no longer being written to the outgoing payments file. They "
+                + "will be written when the program is next started.");
+        queue.clear();
+    }
+
+    /**
+     * Get the sequence number of the last payment which has been forced to disk.
+     *
+     * @return the sequence number of the last durable payment.
+     */
+    public synchronized long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Get the sequence number of the last payment in the file when it was opened. Every payment numbered up to it
+     * reached the file before the program last stopped.
+     *
+     * @return the sequence number of the last payment recovered from the file.
+     */
+    public synchronized long getRecoveredSequence() {
+        return recoveredSequence;
+    }
+
+    /**
+     * Wait until a payment has been forced to disk.
+     *
+     * @param paymentSequence The sequence number of the payment.
+     * @param timeoutMillis   The maximum time to wait, in milliseconds.
+     * @return true if the payment is durable, false if the time ran out first.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public synchronized boolean awaitDurable(long paymentSequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (durableSequence < paymentSequence) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Write every queued payment, then stop the background thread and close the file.
+     *
+     * @throws IOException if an I/O error occurs while closing the file.
+     */
+    public void close() throws IOException {
+        Thread thread;
+        synchronized (submitLock) {
+            thread = writerThread;
+            if (thread == null) {
+                return;
+            }
+            if (failed) {
+                queue.offer(CLOSE);
+            } else {
+                putUninterruptibly(CLOSE);
+            }
+            writerThread = null;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * A payment waiting to be written, with its sequence number.
+     */
+    private static class Payment {
+
+        private final long sequence;
+        private final String text;
+
+        /**
+         * Initialize this Payment.
+         *
+         * @param sequence The sequence number of the payment.
+         * @param text     The payment.
+         */
+        Payment(long sequence, String text) {
+            this.sequence = sequence;
+            this.text = text;
+        }
+    }
+}
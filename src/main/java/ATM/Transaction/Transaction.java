@@ -1,6 +1,7 @@
 package ATM.Transaction;
 
 import ATM.Account.Account;
+import ATM.Money;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -12,7 +13,7 @@ import java.util.Date;
 public abstract class Transaction implements Serializable {
 
     final Account primary;
-    final double amount;
+    final long amount;
     private final Date date;
     private boolean revertible;
     private boolean executable;
@@ -23,12 +24,12 @@ public abstract class Transaction implements Serializable {
      * Initialize this Transaction with a primary Account, an amount, and a date.
      *
      * @param primary The primary account associated with this Transaction.
-     * @param amount  The amount of money associated with this Transaction.
+     * @param amount  The amount of money associated with this Transaction, in dollars. It is stored in cents.
      * @param date    The date on which this Transaction was created.
      */
     Transaction(Account primary, double amount, Date date) {
         this.primary = primary;
-        this.amount = amount;
+        this.amount = Money.toCents(amount);
         this.date = date;
         setExecutable(true);
         setRevertible(false);
@@ -36,6 +37,24 @@ public abstract class Transaction implements Serializable {
         setAlreadyRequested(false);
     }
 
+    /**
+     * Get the ID of the primary Account associated with this Transaction.
+     *
+     * @return the ID of the primary Account.
+     */
+    public String getAccountID() {
+        return primary.getID();
+    }
+
+    /**
+     * Get the ID of the other Account whose balance this Transaction changes, if it moves money between two.
+     *
+     * @return the ID of the other Account, or the ID of the primary Account if there is no other.
+     */
+    public String getOtherAccountID() {
+        return getAccountID();
+    }
+
     /**
      * Returns whether or not this transaction has been requested to be reverted already
      *
@@ -95,7 +114,7 @@ public abstract class Transaction implements Serializable {
      *
      * @return true if this Transaction was reverted, false otherwise.
      */
-    private boolean isReverted() {
+    boolean isReverted() {
         return reverted;
     }
 
@@ -108,6 +127,21 @@ public abstract class Transaction implements Serializable {
         this.reverted = reverted;
     }
 
+    /**
+     * Restore the state of this Transaction when it is read from the Bank's saved state.
+     *
+     * @param executable       Whether this Transaction is executable.
+     * @param revertible       Whether this Transaction is revertible.
+     * @param reverted         Whether this Transaction has been reverted.
+     * @param alreadyRequested Whether this Transaction has been requested to be reverted.
+     */
+    void restoreState(boolean executable, boolean revertible, boolean reverted, boolean alreadyRequested) {
+        setExecutable(executable);
+        setRevertible(revertible);
+        setReverted(reverted);
+        setAlreadyRequested(alreadyRequested);
+    }
+
     /**
      * Get the date of this Transaction.
      *
@@ -135,8 +169,10 @@ public abstract class Transaction implements Serializable {
 
     /**
      * Perform the operations required to execute this Transaction.
+     *
+     * @return true if the Transaction was performed, false if it could not be and nothing was changed.
      */
-    abstract void performExecution();
+    abstract boolean performExecution();
 
     /**
      * Perform the operations required to revert this Transaction.
@@ -156,14 +192,13 @@ public abstract class Transaction implements Serializable {
      * @return true if the Transaction was executed successfully, false otherwise.
      */
     public boolean execute() {
-        boolean canExecute = canExecute();
-        if (canExecute) {
-            performExecution();
+        boolean executed = canExecute() && performExecution();
+        if (executed) {
             recordTransaction();
             setExecutable(false);
             setRevertible(true);
         }
-        return canExecute;
+        return executed;
     }
 
     /**
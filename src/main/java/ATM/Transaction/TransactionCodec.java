@@ -0,0 +1,123 @@
+package ATM.Transaction;
+
+import ATM.ATM;
+import ATM.Account.Account;
+import ATM.CodecInput;
+import ATM.CodecOutput;
+import ATM.CurrencyExchange;
+import ATM.Money;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A class used to write and read Transactions in the compact binary format of the Bank's saved state. Accounts are
+ * written as their IDs, and transfers are written with the amount they credited to the secondary account, or -1 if it
+ * is not known, in which case the amount is converted at the current exchange rate when the transfer is reverted.
+ */
+public class TransactionCodec {
+
+    private final static int DEPOSIT = 0;
+    private final static int WITHDRAWAL = 1;
+    private final static int TRANSFER = 2;
+    private final static int TRANSFER_TO_USER = 3;
+    private final static int BILL_PAYMENT = 4;
+
+    /**
+     * Write a Transaction.
+     *
+     * @param transaction The Transaction to write.
+     * @param output      The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(Transaction transaction, CodecOutput output) throws IOException {
+        int type = getType(transaction);
+        output.writeByte(type);
+        output.writeString(transaction.primary.getID());
+        output.writeLong(transaction.amount);
+        output.writeDate(transaction.getDate());
+        int flags = (transaction.isExecutable() ? 1 : 0) | (transaction.isRevertible() ? 2 : 0)
+                | (transaction.isReverted() ? 4 : 0) | (transaction.isAlreadyRequested() ? 8 : 0);
+        output.writeByte(flags);
+        switch (type) {
+            case TRANSFER_TO_USER:
+                output.writeString(((TransferToUserTransaction) transaction).getUsername());
+                output.writeString(((TransferTransaction) transaction).getSecondary().getID());
+                output.writeLong(((TransferTransaction) transaction).credited);
+                break;
+            case TRANSFER:
+                output.writeString(((TransferTransaction) transaction).getSecondary().getID());
+                output.writeLong(((TransferTransaction) transaction).credited);
+                break;
+            case BILL_PAYMENT:
+                output.writeString(((BillPaymentTransaction) transaction).getPayee());
+                break;
+        }
+    }
+
+    /**
+     * Read a Transaction.
+     *
+     * @param input            The stream to read from.
+     * @param accounts         The accounts which the Transaction may refer to, by ID.
+     * @param atm              The ATM used by withdrawals.
+     * @param currencyExchange The currency exchange used by transfers.
+     * @return the Transaction read.
+     * @throws IOException if an I/O error occurs or the Transaction is malformed.
+     */
+    public static Transaction read(CodecInput input, Map<String, Account> accounts, ATM atm,
+                                   CurrencyExchange currencyExchange) throws IOException {
+        int type = input.readByte();
+        Account primary = accounts.get(input.readString());
+        double amount = Money.toDollars(input.readLong());
+        Date date = input.readDate();
+        int flags = input.readByte();
+        Transaction transaction;
+        switch (type) {
+            case DEPOSIT:
+                transaction = new DepositTransaction(primary, amount, date);
+                break;
+            case WITHDRAWAL:
+                transaction = new WithdrawalTransaction(primary, amount, date, atm);
+                break;
+            case TRANSFER:
+                Account secondary = accounts.get(input.readString());
+                transaction = new TransferTransaction(primary, secondary, amount, date, currencyExchange,
+                        input.readLong());
+                break;
+            case TRANSFER_TO_USER:
+                String username = input.readString();
+                Account recipient = accounts.get(input.readString());
+                transaction = new TransferToUserTransaction(primary, recipient, amount, date, username,
+                        currencyExchange, input.readLong());
+                break;
+            case BILL_PAYMENT:
+                transaction = new BillPaymentTransaction(primary, amount, date, input.readString());
+                break;
+            default:
+                throw new IOException("Unknown transaction type " + type);
+        }
+        transaction.restoreState((flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0, (flags & 8) != 0);
+        return transaction;
+    }
+
+    /**
+     * Get the type code of a Transaction.
+     *
+     * @param transaction The Transaction.
+     * @return the type code of the Transaction.
+     */
+    private static int getType(Transaction transaction) {
+        if (transaction instanceof TransferToUserTransaction) {
+            return TRANSFER_TO_USER;
+        } else if (transaction instanceof TransferTransaction) {
+            return TRANSFER;
+        } else if (transaction instanceof WithdrawalTransaction) {
+            return WITHDRAWAL;
+        } else if (transaction instanceof BillPaymentTransaction) {
+            return BILL_PAYMENT;
+        }
+        return DEPOSIT;
+    }
+}
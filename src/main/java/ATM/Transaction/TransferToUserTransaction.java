@@ -2,6 +2,7 @@ package ATM.Transaction;
 
 import ATM.Account.Account;
 import ATM.CurrencyExchange;
+import ATM.Money;
 
 import java.util.Date;
 
@@ -23,13 +24,39 @@ public class TransferToUserTransaction extends TransferTransaction {
      * @param username  The username to the user receiving the transfer.
      */
     public TransferToUserTransaction(Account primary, Account secondary, double amount, Date date, String username, CurrencyExchange currencyExchange) {
-        super(primary, secondary, amount, date, currencyExchange);
+        this(primary, secondary, amount, date, username, currencyExchange, -1);
+    }
+
+    /**
+     * Initialize this TransferToUserTransaction with the amount it credited to the secondary account when it was first
+     * executed.
+     *
+     * @param primary   The account from which money is to be transferred.
+     * @param secondary The account to which money is to be transferred.
+     * @param amount    The amount to transfer.
+     * @param date      The date of the transfer.
+     * @param username  The username to the user receiving the transfer.
+     * @param credited  The amount credited to the secondary account in cents of its currency, or -1 if it is to be
+     *                  converted at the current exchange rate.
+     */
+    public TransferToUserTransaction(Account primary, Account secondary, double amount, Date date, String username,
+                                     CurrencyExchange currencyExchange, long credited) {
+        super(primary, secondary, amount, date, currencyExchange, credited);
         this.username = username;
     }
 
+    /**
+     * Get the username of the user receiving this transfer.
+     *
+     * @return the username.
+     */
+    String getUsername() {
+        return username;
+    }
+
     @Override
     String transactionInfo() {
         String string = "Transfer of " + primary.getCurrencySymbol();
-        return string + String.format("%.2f", amount) + " from: " + primary + " to: " + username;
+        return string + Money.format(amount) + " from: " + primary + " to: " + username;
     }
 }
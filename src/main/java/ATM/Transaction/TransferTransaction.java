@@ -3,16 +3,23 @@ package ATM.Transaction;
 import ATM.Account.Account;
 import ATM.Account.ForeignCurrencyAccount;
 import ATM.CurrencyExchange;
+import ATM.Money;
 
 import java.util.Date;
 
 /**
  * A class representing a transfer transaction, which moves money between two accounts.
+ * <p>
+ * When one of the accounts holds a foreign currency, the amount credited to the secondary account is converted at the
+ * exchange rate when the transfer is executed, and kept. Reverting the transfer takes back the amount credited, and a
+ * transfer replayed from the Journal credits the amount recorded, rather than converting it again. The amount is
+ * converted at the rate in the currency exchange's rate table, which is prefetched before the accounts are locked.
  */
 public class TransferTransaction extends Transaction {
 
     private final Account secondary;
     private final CurrencyExchange currencyExchange;
+    long credited;
 
     /**
      * Initialize this TransferTransaction with a primary adn secondary account, an amount, and a date.
@@ -23,20 +30,73 @@ public class TransferTransaction extends Transaction {
      * @param date      The date of the transfer.
      */
     public TransferTransaction(Account primary, Account secondary, double amount, Date date, CurrencyExchange currencyExchange) {
+        this(primary, secondary, amount, date, currencyExchange, -1);
+    }
+
+    /**
+     * Initialize this TransferTransaction with the amount it credited to the secondary account when it was first
+     * executed.
+     *
+     * @param primary   The account from which money is to be transferred.
+     * @param secondary The account to which money is to be transferred.
+     * @param amount    The amount to transfer.
+     * @param date      The date of the transfer.
+     * @param credited  The amount credited to the secondary account in cents of its currency, or -1 if it is to be
+     *                  converted at the current exchange rate.
+     */
+    public TransferTransaction(Account primary, Account secondary, double amount, Date date,
+                               CurrencyExchange currencyExchange, long credited) {
         super(primary, amount, date);
         this.secondary = secondary;
         this.currencyExchange = currencyExchange;
+        this.credited = credited;
     }
 
-    @Override
-    boolean canExecute() {
-        boolean canTransferOut = primary.canTransferOut(amount);
-        boolean canDeposit = secondary.canDeposit(amount);
-        if (primary instanceof ForeignCurrencyAccount) {
-            canDeposit = secondary.canDeposit(convertedAmountOriginalTypeIsForeign());
+    /**
+     * Get the amount credited to the secondary account. Until this transfer is executed, the amount is converted at
+     * the current exchange rate each time it is asked for.
+     *
+     * @return the amount credited, in cents of the secondary account's currency.
+     */
+    public long getCreditedCents() {
+        if (credited >= 0) {
+            return credited;
+        } else if (primary instanceof ForeignCurrencyAccount) {
+            return convertedAmountOriginalTypeIsForeign();
         } else if (secondary instanceof ForeignCurrencyAccount) {
-            canDeposit = secondary.canDeposit(convertedAmountSecondaryTypeIsForeign());
+            return convertedAmountSecondaryTypeIsForeign();
         }
+        return amount;
+    }
+
+    /**
+     * Make sure the currency exchange holds the rate this transfer converts its amount at, fetching it if necessary.
+     * Called before the accounts are locked, since the fetch may wait for the exchange rate API.
+     *
+     * @return true if the amount credited is known or can be converted, false if the rate is unavailable.
+     */
+    public boolean prefetchRate() {
+        boolean converts = primary instanceof ForeignCurrencyAccount || secondary instanceof ForeignCurrencyAccount;
+        if (credited >= 0 || !converts) {
+            return true;
+        }
+        return currencyExchange.prefetchRate(getCurrencyCode(primary), getCurrencyCode(secondary));
+    }
+
+    /**
+     * Get the currency of an account: its currency code if it is a foreign currency account, CAD otherwise.
+     *
+     * @param account The account.
+     * @return the currency code.
+     */
+    private static String getCurrencyCode(Account account) {
+        return account instanceof ForeignCurrencyAccount ? ((ForeignCurrencyAccount) account).getCurrencyCode() : "CAD";
+    }
+
+    @Override
+    boolean canExecute() {
+        boolean canTransferOut = primary.canTransferOutCents(amount);
+        boolean canDeposit = secondary.canDepositCents(getCreditedCents());
         return canTransferOut && canDeposit && isExecutable();
     }
 
@@ -46,46 +106,30 @@ public class TransferTransaction extends Transaction {
      */
     @Override
     public boolean canRevert() {
-        boolean canDeposit = primary.canDeposit(amount);
-        boolean canWithdraw = secondary.canWithdraw(amount);
-        if (primary instanceof ForeignCurrencyAccount) {
-            canWithdraw = secondary.canWithdraw(convertedAmountOriginalTypeIsForeign());
-        } else if (secondary instanceof ForeignCurrencyAccount) {
-            canWithdraw = secondary.canWithdraw(convertedAmountSecondaryTypeIsForeign());
-        }
+        boolean canDeposit = primary.canDepositCents(amount);
+        boolean canWithdraw = secondary.canWithdrawCents(getCreditedCents());
         return canDeposit && canWithdraw && isRevertible();
     }
 
     /**
      * Executes the transaction, takes into account the exchange rates between currency types
-     * and will convert "amount" to the proper quantity and currency
+     * and will convert "amount" to the proper quantity and currency, which is kept as the amount credited
      */
     @Override
-    void performExecution() {
-        primary.withdraw(amount);
-        if (primary instanceof ForeignCurrencyAccount) {
-            secondary.deposit(convertedAmountOriginalTypeIsForeign());
-        } else if (secondary instanceof ForeignCurrencyAccount) {
-            secondary.deposit(convertedAmountSecondaryTypeIsForeign());
-        } else {
-            secondary.deposit(amount);
-        }
+    boolean performExecution() {
+        credited = getCreditedCents();
+        primary.withdrawCents(amount);
+        secondary.depositCents(credited);
+        return true;
     }
 
     /**
-     * Reverts the transaction, takes into account the exchange rates between currency types
-     * and will convert "amount" to the proper quantity and currency
+     * Reverts the transaction, taking back the amount credited to the secondary account
      */
     @Override
     void performReversion() {
-        if (primary instanceof ForeignCurrencyAccount) {
-            secondary.withdraw(convertedAmountOriginalTypeIsForeign());
-        } else if (secondary instanceof ForeignCurrencyAccount) {
-            secondary.withdraw(convertedAmountSecondaryTypeIsForeign());
-        } else {
-            secondary.withdraw(amount);
-        }
-        primary.deposit(amount);
+        secondary.withdrawCents(getCreditedCents());
+        primary.depositCents(amount);
     }
 
     /**
@@ -93,13 +137,15 @@ public class TransferTransaction extends Transaction {
      * currency type 1 to currency type 2
      * @return the converted amount
      */
-    private double convertedAmountOriginalTypeIsForeign() {
+    private long convertedAmountOriginalTypeIsForeign() {
         String origCurrency = ((ForeignCurrencyAccount) primary).getCurrencyCode();
         String toCurrency = "CAD";
         if (secondary instanceof ForeignCurrencyAccount) {
             toCurrency = ((ForeignCurrencyAccount) secondary).getCurrencyCode();
         }
-        return currencyExchange.getActualConvertedAmount(amount, origCurrency, toCurrency);
+        double convertedAmount = currencyExchange.getPrefetchedConvertedAmount(Money.toDollars(amount), origCurrency,
+                toCurrency);
+        return Money.toCents(convertedAmount);
     }
 
     /**
@@ -107,10 +153,26 @@ public class TransferTransaction extends Transaction {
      * currency type 2
      * @return the converted amount
      */
-    private double convertedAmountSecondaryTypeIsForeign() {
+    private long convertedAmountSecondaryTypeIsForeign() {
         String origCurrency = "CAD";
         String toCurrency = ((ForeignCurrencyAccount) secondary).getCurrencyCode();
-        return currencyExchange.getActualConvertedAmount(amount, origCurrency, toCurrency);
+        double convertedAmount = currencyExchange.getPrefetchedConvertedAmount(Money.toDollars(amount), origCurrency,
+                toCurrency);
+        return Money.toCents(convertedAmount);
+    }
+
+    /**
+     * Get the account receiving this transfer.
+     *
+     * @return the secondary account.
+     */
+    Account getSecondary() {
+        return secondary;
+    }
+
+    @Override
+    public String getOtherAccountID() {
+        return secondary.getID();
     }
 
     @Override
@@ -122,6 +184,6 @@ public class TransferTransaction extends Transaction {
     @Override
     String transactionInfo() {
         String string = "Transfer of " + primary.getCurrencySymbol();
-        return string + String.format("%.2f", amount) + " from: " + primary + " to: " + secondary;
+        return string + Money.format(amount) + " from: " + primary + " to: " + secondary;
     }
 }
\ No newline at end of file
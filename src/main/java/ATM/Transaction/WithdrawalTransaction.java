@@ -2,15 +2,23 @@ package ATM.Transaction;
 
 import ATM.ATM;
 import ATM.Account.Account;
+import ATM.DispenseReservation;
+import ATM.Money;
 
 import java.util.Date;
 
 /**
  * A class representing a withdrawal transaction, which can remove money from an account.
+ * <p>
+ * The bills dispensed are kept once the withdrawal is executed, so a withdrawal replayed from the Journal removes the
+ * same bills from the ATM instead of choosing them again.
  */
 public class WithdrawalTransaction extends Transaction {
 
+    private final static long HOLD_MILLIS = 10000;
     private final ATM atm;
+    private transient DispenseReservation reservation;
+    private transient int[] dispensed;
 
     /**
      * Initialize this WithdrawalTransaction with a primary account, an amount, and a date.
@@ -21,36 +29,97 @@ public class WithdrawalTransaction extends Transaction {
      * @param atm     The ATM assigned for this withdrawal.
      */
     public WithdrawalTransaction(Account primary, double amount, Date date, ATM atm) {
+        this(primary, amount, date, atm, null);
+    }
+
+    /**
+     * Initialize this WithdrawalTransaction with the bills dispensed when it was first executed.
+     *
+     * @param primary   The account from which to withdraw money.
+     * @param amount    The amount want to withdraw.
+     * @param date      The date of the withdrawal.
+     * @param atm       The ATM assigned for this withdrawal.
+     * @param dispensed The number of fifties, twenties, tens and fives dispensed, or null if the bills are to be
+     *                  chosen by the ATM.
+     */
+    public WithdrawalTransaction(Account primary, double amount, Date date, ATM atm, int[] dispensed) {
         super(primary, amount, date);
         this.atm = atm;
+        this.dispensed = dispensed;
+    }
+
+    /**
+     * Get the bills dispensed by this withdrawal.
+     *
+     * @return the number of fifties, twenties, tens and fives dispensed, or null if it has not been executed.
+     */
+    public int[] getDispensedBills() {
+        return dispensed;
     }
 
+    /**
+     * Check whether the account can cover this withdrawal, then reserve the bills for it in the ATM, unless the bills
+     * dispensed are already known. The bills are dispensed by performExecution, or released when the reservation
+     * expires.
+     *
+     * @return true if the withdrawal can proceed, false otherwise.
+     */
     @Override
     boolean canExecute() {
-        boolean accountCanWithdraw = primary.canWithdraw(amount);
-        boolean atmCanWithdraw = atm.canWithdraw((int) amount);
-        return accountCanWithdraw && atmCanWithdraw && isExecutable();
+        if (!primary.canWithdrawCents(amount) || !isExecutable()) {
+            return false;
+        } else if (dispensed != null) {
+            return true;
+        }
+        if (reservation != null) {
+            atm.release(reservation);
+        }
+        reservation = atm.reserve((int) (amount / 100), HOLD_MILLIS);
+        return reservation != null;
     }
 
     @Override
     public boolean canRevert() {
-        boolean canDeposit = primary.canDeposit(amount);
+        boolean canDeposit = primary.canDepositCents(amount);
         return canDeposit && isRevertible();
     }
 
+    /**
+     * Dispense the reserved bills, then debit the account. If the reservation expired and its bills were released,
+     * the bills are chosen again; if that fails too, no cash is dispensed and the account is not debited. If the bills
+     * dispensed are already known, those bills are removed from the ATM instead.
+     *
+     * @return true if the cash was dispensed and the account debited, false otherwise.
+     */
     @Override
-    void performExecution() {
-        atm.withdraw((int) amount);
-        primary.withdraw(amount);
+    boolean performExecution() {
+        if (dispensed != null) {
+            atm.removeDispensed(dispensed);
+        } else {
+            if (!atm.commit(reservation)) {
+                reservation = atm.reserve((int) (amount / 100), 0);
+                if (reservation == null || !atm.commit(reservation)) {
+                    reservation = null;
+                    return false;
+                }
+            }
+            dispensed = new int[4];
+            for (int i = 0; i < dispensed.length; i++) {
+                dispensed[i] = reservation.getBillAmount(i);
+            }
+            reservation = null;
+        }
+        primary.withdrawCents(amount);
+        return true;
     }
 
     @Override
     void performReversion() {
-        primary.deposit(amount);
+        primary.depositCents(amount);
     }
 
     @Override
     String transactionInfo() {
-        return "Withdrawal of $" + String.format("%.2f", amount) + " from: " + primary;
+        return "Withdrawal of $" + Money.format(amount) + " from: " + primary;
     }
 }
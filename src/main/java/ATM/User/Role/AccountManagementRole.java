@@ -8,14 +8,13 @@ class AccountManagementRole extends Role {
     private final static String name = "Account options";
 
     /**
-     * Initialize this AccountManagementRole with a username, a bank, and a privilege factory.
+     * Initialize this AccountManagementRole with a bank and a privilege factory.
      *
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
      * @param privilegeFactory A factory used to create the necessary privileges.
      */
-    public AccountManagementRole(String username, Bank bank, PrivilegeFactory privilegeFactory) {
-        super(name, username, bank, privilegeFactory);
+    public AccountManagementRole(Bank bank, PrivilegeFactory privilegeFactory) {
+        super(name, bank, privilegeFactory);
     }
 
     @Override
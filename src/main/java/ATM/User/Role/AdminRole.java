@@ -8,14 +8,13 @@ class AdminRole extends Role {
     private final static String name = "Administrator options";
 
     /**
-     * Initialize this AdminRole with a username, a bank, and a privilege factory.
+     * Initialize this AdminRole with a bank and a privilege factory.
      *
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
      * @param privilegeFactory A factory used to create the necessary privileges.
      */
-    public AdminRole(String username, Bank bank, PrivilegeFactory privilegeFactory) {
-        super(name, username, bank, privilegeFactory);
+    public AdminRole(Bank bank, PrivilegeFactory privilegeFactory) {
+        super(name, bank, privilegeFactory);
     }
 
     @Override
@@ -24,6 +23,7 @@ class AdminRole extends Role {
         privilegeNames.add("Approve Account Creation");
         privilegeNames.add("Approve New Product");
         privilegeNames.add("Approve Revert");
+        privilegeNames.add("Auto-approve Requests");
     }
 
 }
@@ -8,18 +8,18 @@ class EmployeeRole extends Role {
     private final static String name = "Bank management";
 
     /**
-     * Initialize this EmployeeRole with a username, a bank, and a privilege factory.
+     * Initialize this EmployeeRole with a bank and a privilege factory.
      *
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
      * @param privilegeFactory A factory used to create the necessary privileges.
      */
-    public EmployeeRole(String username, Bank bank, PrivilegeFactory privilegeFactory) {
-        super(name, username, bank, privilegeFactory);
+    public EmployeeRole(Bank bank, PrivilegeFactory privilegeFactory) {
+        super(name, bank, privilegeFactory);
     }
 
     @Override
     void setPrivilegeNames() {
         privilegeNames.add("Set Time");
+        privilegeNames.add("View Metrics");
     }
 }
@@ -11,28 +11,28 @@ import ATM.User.User;
 public class ChangePasswordPrivilege extends Privilege {
 
     /**
-     * Initialize this ChangePasswordPrivilege with a username and a bank.
+     * Initialize this ChangePasswordPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ChangePasswordPrivilege(String username, Bank bank) {
-        super("Change your password", username, bank);
+    public ChangePasswordPrivilege(Bank bank) {
+        super("Change your password", bank);
     }
 
     /**
      * Prompt the user to change their password.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         String oldPassword = inputReader.getString("Enter your old password", "Old password");
         String newPassword = inputReader.getString("Enter your new password", "New password");
         User user = userManager.getUser(username);
         if (user.isValidPassword(oldPassword)) {
-            user.setPassword(newPassword);
+            userManager.changePassword(username, newPassword);
             messageDisplay.showMessage("Password changed successfully", "Password changed");
         } else {
             messageDisplay.showErrorMessage("Old password invalid", "Failed to change password");
@@ -4,7 +4,7 @@ import ATM.Bank;
 import ATM.GUI.GraphicalInputReader;
 import ATM.GUI.MessageDisplay;
 import ATM.User.Role.Privilege.Privilege;
-import ATM.User.Role.TransactionRole;
+import ATM.User.Role.RoleFactory;
 
 /**
  * A class used to add an additional user to a bank account.
@@ -12,28 +12,29 @@ import ATM.User.Role.TransactionRole;
 public class AddAuthorizedUserPrivilege extends Privilege {
 
     /**
-     * Initialize this AddAuthorizedUserPrivilege with a username and a bank.
+     * Initialize this AddAuthorizedUserPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public AddAuthorizedUserPrivilege(String username, Bank bank) {
-        super("Add an authorized user", username, bank);
+    public AddAuthorizedUserPrivilege(Bank bank) {
+        super("Add an authorized user", bank);
     }
 
     /**
      * Prompt the user to add a new authorized user to an account.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String accountID = selectAccount(inputReader, "Select an account to add a user");
-        String username = inputReader.getString("Enter the user you wish to add", "Enter username");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String accountID = selectAccount(username, inputReader, "Select an account to add a user");
+        String authorizedUser = inputReader.getString("Enter the user you wish to add", "Enter username");
 
-        if (userManager.containsUser(username) && userManager.getUser(username).containsRole(TransactionRole.name)) {
-            accountManager.addUser(accountID, username);
+        if (userManager.containsUser(authorizedUser)
+                && userManager.getUser(authorizedUser).containsRole(RoleFactory.TRANSACTION)) {
+            accountManager.addUser(accountID, authorizedUser);
             messageDisplay.showMessage("User added successfully", "Success");
         } else {
             messageDisplay.showErrorMessage("Invalid user", "Failed to add");
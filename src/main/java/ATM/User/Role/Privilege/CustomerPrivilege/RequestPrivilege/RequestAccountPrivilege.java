@@ -17,25 +17,25 @@ public class RequestAccountPrivilege extends Privilege {
     private final AccountFactory accountFactory;
 
     /**
-     * Initialize this RequestAccountPrivilege with a username, a bank, and an account factory.
+     * Initialize this RequestAccountPrivilege with a bank and an account factory.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank           The Bank on which this Privilege operates.
      * @param accountFactory A factory used to generate the new accounts.
      */
-    public RequestAccountPrivilege(String username, Bank bank, AccountFactory accountFactory) {
-        super("Request a new account", username, bank);
+    public RequestAccountPrivilege(Bank bank, AccountFactory accountFactory) {
+        super("Request a new account", bank);
         this.accountFactory = accountFactory;
     }
 
     /**
      * Prompt the user to request the creation of a new account.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<String> accountTypes = AccountFactory.getAvailableAccountTypes();
         int accountTypeIndex = inputReader.getSelectionFromOptions(accountTypes, "Select an account type");
         String accountType = accountTypes.get(accountTypeIndex);
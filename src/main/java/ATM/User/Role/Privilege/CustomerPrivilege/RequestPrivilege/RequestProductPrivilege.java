@@ -17,25 +17,25 @@ public class RequestProductPrivilege extends Privilege {
     private final ProductsFactory productsFactory;
 
     /**
-     * Initialize this RequestProductPrivilege with a username, a bank, and a products factory.
+     * Initialize this RequestProductPrivilege with a bank and a products factory.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank            The Bank on which this Privilege operates.
      * @param productsFactory A factory used to generate the new financial products.
      */
-    public RequestProductPrivilege(String username, Bank bank, ProductsFactory productsFactory) {
-        super("Request a new product", username, bank);
+    public RequestProductPrivilege(Bank bank, ProductsFactory productsFactory) {
+        super("Request a new product", bank);
         this.productsFactory = productsFactory;
     }
 
     /**
      * Prompt the user to request the creation of a new financial product.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<String> productTypes = ProductsFactory.getAvailableProductTypes();
         double investment = 0;
         int productTypeIndex = inputReader.getSelectionFromOptions(productTypes, "Select a product type.");
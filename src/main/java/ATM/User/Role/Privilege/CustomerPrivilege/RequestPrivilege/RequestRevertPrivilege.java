@@ -12,28 +12,29 @@ import java.util.List;
 public class RequestRevertPrivilege extends Privilege {
 
     /**
-     * Initialize this RequestRevertPrivilege with a username and a bank.
+     * Initialize this RequestRevertPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public RequestRevertPrivilege(String username, Bank bank) {
-        super("Revert a transaction", username, bank);
+    public RequestRevertPrivilege(Bank bank) {
+        super("Revert a transaction", bank);
     }
 
     /**
      * Prompt the user to request that a transaction be reverted.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String accountID = selectAccount(inputReader, "Select the account to revert a transaction");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String accountID = selectAccount(username, inputReader, "Select the account to revert a transaction");
         List<Transaction> transactionList = accountManager.getRecentAccountTransactions(accountID, 10);
         if (transactionList.size() >0) {
             int transactionIndex = inputReader.getSelectionFromOptions(transactionList, "Select the transaction to revert");
-            Transaction transaction = accountManager.getTransactionByIndex(accountID, transactionIndex);
+            // The list is a snapshot, so it still holds the chosen transaction if another session adds one meanwhile
+            Transaction transaction = transactionList.get(transactionIndex);
             boolean success = requestManager.addRequest(new RevertTransactionRequest(username, transaction));
 
             if (success) {
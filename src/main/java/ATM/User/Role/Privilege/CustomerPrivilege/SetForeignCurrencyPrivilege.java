@@ -11,23 +11,23 @@ import ATM.User.Role.Privilege.Privilege;
 public class SetForeignCurrencyPrivilege extends Privilege {
 
     /**
-     * Initialize this SetForeignCurrencyPrivilege with a username and a bank.
+     * Initialize this SetForeignCurrencyPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public SetForeignCurrencyPrivilege(String username, Bank bank) {
-        super("Set foreign currency", username, bank);
+    public SetForeignCurrencyPrivilege(Bank bank) {
+        super("Set foreign currency", bank);
     }
 
     /**
      * Prompt the user to set the currency of a ForeignCurrencyAccount.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         if (accountManager.getListOfForeignCurrencyAccounts(username).size() == 0) {
             messageDisplay.showErrorMessage("You currently do not have a Foreign Currency account", "No account of this type");
         } else {
@@ -11,24 +11,24 @@ import ATM.User.Role.Privilege.Privilege;
 public class PayBillPrivilege extends Privilege {
 
     /**
-     * Initialize this PayBillPrivilege with a username and a bank.
+     * Initialize this PayBillPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public PayBillPrivilege(String username, Bank bank) {
-        super("Pay a bill", username, bank);
+    public PayBillPrivilege(Bank bank) {
+        super("Pay a bill", bank);
     }
 
     /**
      * Prompt the user to make a bill payment.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String accountID = selectAccount(inputReader, "Select an account to transfer from");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String accountID = selectAccount(username, inputReader, "Select an account to transfer from");
         String payee = inputReader.getString("Enter the payee name:", "Enter payee");
         double amount = inputReader.getPositiveDouble("Please enter an amount to transfer: ", "Amount");
         boolean success = accountManager.payBill(accountID, amount, timeManager.getCurrentTime(), payee);
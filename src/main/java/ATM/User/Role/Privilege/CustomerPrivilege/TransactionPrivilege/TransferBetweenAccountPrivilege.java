@@ -11,25 +11,25 @@ import ATM.User.Role.Privilege.Privilege;
 public class TransferBetweenAccountPrivilege extends Privilege {
 
     /**
-     * Initialize this TransferBetweenAccountPrivilege with a username and a bank.
+     * Initialize this TransferBetweenAccountPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public TransferBetweenAccountPrivilege(String username, Bank bank) {
-        super("Make a transfer", username, bank);
+    public TransferBetweenAccountPrivilege(Bank bank) {
+        super("Make a transfer", bank);
     }
 
     /**
      * Prompt the user to transfer funds between accounts.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String fromID = selectAccount(inputReader, "Select an account to transfer from");
-        String toID = selectAccount(inputReader, "Select an account to transfer to");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String fromID = selectAccount(username, inputReader, "Select an account to transfer from");
+        String toID = selectAccount(username, inputReader, "Select an account to transfer to");
         double amount = inputReader.getPositiveDouble("Please enter an amount to transfer: ", "Enter transfer amount");
         boolean success = accountManager.transfer(fromID, toID, amount, timeManager.getCurrentTime());
 
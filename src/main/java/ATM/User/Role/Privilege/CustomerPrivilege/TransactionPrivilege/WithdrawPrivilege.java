@@ -11,27 +11,27 @@ import ATM.User.Role.Privilege.Privilege;
 public class WithdrawPrivilege extends Privilege {
 
     /**
-     * Initialize this WithdrawPrivilege with a username and a bank.
+     * Initialize this WithdrawPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public WithdrawPrivilege(String username, Bank bank) {
-        super("Make a withdrawal", username, bank);
+    public WithdrawPrivilege(Bank bank) {
+        super("Make a withdrawal", bank);
     }
 
     /**
      * Prompt the user to make a cash withdrawal from the ATM.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String accountID = selectAccount(inputReader, "Select an account to withdraw from");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String accountID = selectAccount(username, inputReader, "Select an account to withdraw from");
         double amount = inputReader.getPositiveDouble("Please enter an amount \n (input will be rounded to a multiple of 5):", "Enter withdrawal amount");
         amount = 5 * (Math.floor(Math.abs(amount / 5)));
-        boolean success = accountManager.withdraw(accountID, (int) amount, timeManager.getCurrentTime(), atm);
+        boolean success = accountManager.withdraw(accountID, (int) amount, timeManager.getCurrentTime(), getATM());
 
         if (success) {
             messageDisplay.showMessage("Successfully withdrew $" + amount, "Successful withdrawal");
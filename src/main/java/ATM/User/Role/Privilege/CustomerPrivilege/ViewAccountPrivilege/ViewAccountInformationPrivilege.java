@@ -11,24 +11,24 @@ import ATM.User.Role.Privilege.Privilege;
 public class ViewAccountInformationPrivilege extends Privilege {
 
     /**
-     * Initialize this ViewAccountInformationPrivilege with a username and a bank.
+     * Initialize this ViewAccountInformationPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ViewAccountInformationPrivilege(String username, Bank bank) {
-        super("View account information", username, bank);
+    public ViewAccountInformationPrivilege(Bank bank) {
+        super("View account information", bank);
     }
 
     /**
      * Prompt the user to display information for a specific account.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        String accountID = selectAccount(inputReader, "Select an account to view");
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        String accountID = selectAccount(username, inputReader, "Select an account to view");
         String accountSummary = accountManager.getAccountSummaryString(accountID);
         messageDisplay.showMessage(accountSummary, "Account summary");
     }
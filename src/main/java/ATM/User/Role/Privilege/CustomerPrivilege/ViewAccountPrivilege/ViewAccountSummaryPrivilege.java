@@ -11,23 +11,23 @@ import ATM.User.Role.Privilege.Privilege;
 public class ViewAccountSummaryPrivilege extends Privilege {
 
     /**
-     * Initialize this ViewAccountSummaryPrivilege with a username and a bank.
+     * Initialize this ViewAccountSummaryPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ViewAccountSummaryPrivilege(String username, Bank bank) {
-        super("View account summary", username, bank);
+    public ViewAccountSummaryPrivilege(Bank bank) {
+        super("View account summary", bank);
     }
 
     /**
      * Displays a summary of this User's accounts in a String.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         String accountsOwnedSummary = accountManager.getAccountsOwnedSummaryString(username);
         messageDisplay.showMessage(accountsOwnedSummary, "Account summary");
     }
@@ -11,23 +11,23 @@ import ATM.User.Role.Privilege.Privilege;
 public class ViewProductInfoPrivilege extends Privilege {
 
     /**
-     * Initialize this ViewProductInfoPrivilege with a username and a bank.
+     * Initialize this ViewProductInfoPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ViewProductInfoPrivilege(String username, Bank bank) {
-        super("View financial products information", username, bank);
+    public ViewProductInfoPrivilege(Bank bank) {
+        super("View financial products information", bank);
     }
 
     /**
      * Displays a summary of this User's financial products in a String.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         String productInfo = productManager.getOwnerProductInfo(username);
         messageDisplay.showMessage(productInfo, "All product info");
     }
@@ -14,16 +14,16 @@ import java.util.List;
 public class ViewExchangeRatesPrivilege extends Privilege {
 
     /**
-     * Initialize this SetForeignCurrencyPrivilege with a username and a bank.
+     * Initialize this SetForeignCurrencyPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ViewExchangeRatesPrivilege(String username, Bank bank) {
-        super("View exchange rates", username, bank);
+    public ViewExchangeRatesPrivilege(Bank bank) {
+        super("View exchange rates", bank);
     }
 
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    @Override
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<String> currencyOptions = accountManager.getAccountsCurrencyExchange().getSupportedCurrencies();
         int fromCurrencyIndex = inputReader.getSelectionFromOptions(currencyOptions, "From currency");
         int toCurrencyIndex = inputReader.getSelectionFromOptions(currencyOptions, "To currency");
@@ -15,26 +15,27 @@ import java.util.List;
 public class ApproveAccountCreationRequestPrivilege extends Privilege {
 
     /**
-     * Initialize this ApproveAccountCreationRequestPrivilege with a username and a bank.
+     * Initialize this ApproveAccountCreationRequestPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ApproveAccountCreationRequestPrivilege(String username, Bank bank) {
-        super("Review account creation requests", username, bank);
+    public ApproveAccountCreationRequestPrivilege(Bank bank) {
+        super("Review account creation requests", bank);
     }
 
     /**
      * Prompt the Bank Manager to create a new account from a list of account creation requests.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<Request> accountRequests = requestManager.getAccountRequests();
         if (accountRequests.size() > 0) {
             int requestIndex = inputReader.getSelectionFromOptions(accountRequests, "Select a request to assess");
+            long requestID = accountRequests.get(requestIndex).getRequestID();
 
             List<String> options = new ArrayList<>();
             options.add("Yes");
@@ -42,14 +43,17 @@ public class ApproveAccountCreationRequestPrivilege extends Privilege {
             int selection = inputReader.getSelectionFromOptions(options, "Create account?");
 
             if (selection == 0) {
-                if (requestManager.executeRequest(requestIndex, 1)) {
+                if (requestManager.executeRequest(requestID)) {
                     messageDisplay.showMessage("Successfully created account", "Successful action");
                 } else {
                     messageDisplay.showMessage("Failed to create account", "Action failed");
                 }
             } else {
-                messageDisplay.showMessage("Request rejected", "Rejected");
-                requestManager.removeRequest(requestIndex, 1);
+                if (requestManager.removeRequest(requestID)) {
+                    messageDisplay.showMessage("Request rejected", "Rejected");
+                } else {
+                    messageDisplay.showMessage("Request was already assessed", "Action failed");
+                }
             }
         } else {
             messageDisplay.showMessage("No current requests", "Account Requests");
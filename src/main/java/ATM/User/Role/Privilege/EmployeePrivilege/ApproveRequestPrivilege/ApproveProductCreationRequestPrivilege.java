@@ -15,26 +15,27 @@ import java.util.List;
 public class ApproveProductCreationRequestPrivilege extends Privilege {
 
     /**
-     * Initialize this ApproveProductCreationRequestPrivilege with a username and a bank.
+     * Initialize this ApproveProductCreationRequestPrivilege with a bank.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ApproveProductCreationRequestPrivilege(String username, Bank bank) {
-        super("Review product creation requests", username, bank);
+    public ApproveProductCreationRequestPrivilege(Bank bank) {
+        super("Review product creation requests", bank);
     }
 
     /**
      * Prompt the Bank Manager to create a financial product from a list of product creation requests.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<Request> productRequests = requestManager.getProductRequests();
         if (productRequests.size() > 0) {
             int requestIndex = inputReader.getSelectionFromOptions(productRequests, "Select a request to assess");
+            long requestID = productRequests.get(requestIndex).getRequestID();
 
             List<String> options = new ArrayList<>();
             options.add("Yes");
@@ -42,14 +43,17 @@ public class ApproveProductCreationRequestPrivilege extends Privilege {
             int selection = inputReader.getSelectionFromOptions(options, "Set up new product?");
 
             if (selection == 0) {
-                if (requestManager.executeRequest(requestIndex, 3)) {
+                if (requestManager.executeRequest(requestID)) {
                     messageDisplay.showMessage("Successfully set up new product", "Successful action");
                 } else {
                     messageDisplay.showMessage("Failed to set up new product", "Action failed");
                 }
             } else {
-                messageDisplay.showMessage("Request rejected", "Rejected");
-                requestManager.removeRequest(requestIndex, 3);
+                if (requestManager.removeRequest(requestID)) {
+                    messageDisplay.showMessage("Request rejected", "Rejected");
+                } else {
+                    messageDisplay.showMessage("Request was already assessed", "Action failed");
+                }
             }
         } else {
             messageDisplay.showMessage("No current requests", "Product Requests");
@@ -15,26 +15,27 @@ import java.util.List;
 public class ApproveRevertRequestPrivilege extends Privilege {
 
     /**
-     * Initialize this ApproveRevertRequestPrivilege with a username, a bank, and GUI input and output objects.
+     * Initialize this ApproveRevertRequestPrivilege with a bank and GUI input and output objects.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param bank The Bank on which this Privilege operates.
      */
-    public ApproveRevertRequestPrivilege(String username, Bank bank) {
-        super("Review transaction reversion requests", username, bank);
+    public ApproveRevertRequestPrivilege(Bank bank) {
+        super("Review transaction reversion requests", bank);
     }
 
     /**
      * Prompt the Bank Manager to revert a transaction from a list of reversion requests.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<Request> revertRequests = requestManager.getRevertTransactionRequests();
         if (revertRequests.size() > 0) {
             int requestIndex = inputReader.getSelectionFromOptions(revertRequests, "Select a request to assess");
+            long requestID = revertRequests.get(requestIndex).getRequestID();
 
             List<String> options = new ArrayList<>();
             options.add("Yes");
@@ -42,14 +43,17 @@ public class ApproveRevertRequestPrivilege extends Privilege {
             int selection = inputReader.getSelectionFromOptions(options, "Revert transaction?");
 
             if (selection == 0) {
-                if (requestManager.executeRequest(requestIndex, 2)) {
+                if (requestManager.executeRequest(requestID)) {
                     messageDisplay.showMessage("Successfully reverted transaction", "Successful action");
                 } else {
                     messageDisplay.showMessage("Failed to revert transaction", "Action failed");
                 }
             } else {
-                messageDisplay.showMessage("Request rejected", "Rejected");
-                requestManager.removeRequest(requestIndex, 2);
+                if (requestManager.removeRequest(requestID)) {
+                    messageDisplay.showMessage("Request rejected", "Rejected");
+                } else {
+                    messageDisplay.showMessage("Request was already assessed", "Action failed");
+                }
             }
         } else {
             messageDisplay.showMessage("No current requests", "Revert Transaction Requests");
@@ -0,0 +1,61 @@
+package ATM.User.Role.Privilege.EmployeePrivilege.ApproveRequestPrivilege;
+
+import ATM.Account.AccountFactory;
+import ATM.Bank;
+import ATM.GUI.GraphicalInputReader;
+import ATM.GUI.MessageDisplay;
+import ATM.Request.AccountTypeRule;
+import ATM.Request.BulkApprovalEngine;
+import ATM.Request.GoodStandingRule;
+import ATM.Request.MaxInvestmentRule;
+import ATM.User.Role.Privilege.Privilege;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class used to approve every account and product request which meets a set of rules at once.
+ */
+public class AutoApproveRequestsPrivilege extends Privilege {
+
+    private final static String DONE = "Done";
+
+    /**
+     * Initialize this AutoApproveRequestsPrivilege with a bank.
+     *
+     * @param bank The Bank on which this Privilege operates.
+     */
+    public AutoApproveRequestsPrivilege(Bank bank) {
+        super("Auto-approve account and product requests", bank);
+    }
+
+    /**
+     * Prompt the Bank Manager for the account types and the largest investment to approve, then approve every request
+     * from a user in good standing which meets them, and show a summary. Other requests are left for review.
+     *
+     * @param username       The name of the user performing this privilege.
+     * @param inputReader    A reader to get input from the user.
+     * @param messageDisplay A display to show messages to the user.
+     */
+    @Override
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        List<String> options = new ArrayList<>(AccountFactory.getAvailableAccountTypes());
+        options.add(DONE);
+        List<String> accountTypes = new ArrayList<>();
+        String title = "Select an account type to approve";
+        String selection = options.get(inputReader.getSelectionFromOptions(options, title));
+        while (!selection.equals(DONE)) {
+            accountTypes.add(selection);
+            options.remove(selection);
+            selection = options.get(inputReader.getSelectionFromOptions(options, "Select another account type"));
+        }
+        double maxInvestment = inputReader.getPositiveDouble("Enter the largest investment to approve",
+                "Maximum investment");
+
+        BulkApprovalEngine engine = new BulkApprovalEngine(requestManager);
+        engine.addRule(new AccountTypeRule(accountTypes));
+        engine.addRule(new MaxInvestmentRule(maxInvestment));
+        engine.addRule(new GoodStandingRule(accountManager));
+        messageDisplay.showMessage(engine.approveAll().toString(), "Auto-approval");
+    }
+}
@@ -7,7 +7,7 @@ import ATM.Bank;
 import ATM.GUI.GraphicalInputReader;
 import ATM.GUI.MessageDisplay;
 import ATM.User.Role.Privilege.Privilege;
-import ATM.User.Role.TransactionRole;
+import ATM.User.Role.RoleFactory;
 import ATM.User.User;
 import ATM.User.UserFactory;
 
@@ -22,15 +22,14 @@ public class CreateUserPrivilege extends Privilege {
     private final AccountFactory accountFactory;
 
     /**
-     * Initialize this CreateUserPrivilege with a username, a bank, and factories for user and account creation.
+     * Initialize this CreateUserPrivilege with a bank and factories for user and account creation.
      *
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
-     * @param userFactory A factory used to create new users.
+     * @param bank           The Bank on which this Privilege operates.
+     * @param userFactory    A factory used to create new users.
      * @param accountFactory A factory used to create default accounts for new users.
      */
-    public CreateUserPrivilege(String username, Bank bank, UserFactory userFactory, AccountFactory accountFactory) {
-        super("Create a new user", username, bank);
+    public CreateUserPrivilege(Bank bank, UserFactory userFactory, AccountFactory accountFactory) {
+        super("Create a new user", bank);
         this.userFactory = userFactory;
         this.accountFactory = accountFactory;
     }
@@ -38,27 +37,28 @@ public class CreateUserPrivilege extends Privilege {
     /**
      * Prompt the creation of a new user.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
     @Override
-    public void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
         List<String> userTypes = UserFactory.getAvailableUserTypes();
         int userTypeIndex = inputReader.getSelectionFromOptions(userTypes, "Select a user type");
         String userType = userTypes.get(userTypeIndex);
-        String username = inputReader.getString("New customer username:", "Enter username");
+        String newUsername = inputReader.getString("New customer username:", "Enter username");
         String password = inputReader.getString("New customer password:", "Enter password");
 
-        if (userManager.containsUser(username)) {
-            messageDisplay.showErrorMessage("User " + username + " already exists", "Failed to create user");
+        if (userManager.containsUser(newUsername)) {
+            messageDisplay.showErrorMessage("User " + newUsername + " already exists", "Failed to create user");
         } else {
-            User user = userFactory.getUser(userType, username, password);
+            User user = userFactory.getUser(userType, newUsername, password);
             userManager.addUser(user);
-            messageDisplay.showMessage("Successfully created user " + username, "User created successfully");
+            messageDisplay.showMessage("Successfully created user " + newUsername, "User created successfully");
 
             // Add a default chequing account
-            if (user.containsRole(TransactionRole.name)) {
-                Account defaultAccount = accountFactory.getAccount("Chequing Account", username);
+            if (user.containsRole(RoleFactory.TRANSACTION)) {
+                Account defaultAccount = accountFactory.getAccount("Chequing Account", newUsername);
                 ((ChequingAccount) defaultAccount).setPrimary(true);
                 accountManager.addAccount(defaultAccount);
             }
@@ -0,0 +1,34 @@
+package ATM.User.Role.Privilege.EmployeePrivilege;
+
+import ATM.Bank;
+import ATM.GUI.GraphicalInputReader;
+import ATM.GUI.MessageDisplay;
+import ATM.Metrics.MetricsRegistry;
+import ATM.User.Role.Privilege.Privilege;
+
+/**
+ * A class used to view the metrics of the program: how long its operations take, and how often they happen.
+ */
+public class ViewMetricsPrivilege extends Privilege {
+
+    /**
+     * Initialize this ViewMetricsPrivilege with a bank.
+     *
+     * @param bank The Bank on which this Privilege operates.
+     */
+    public ViewMetricsPrivilege(Bank bank) {
+        super("View metrics", bank);
+    }
+
+    /**
+     * Show the latency percentiles, counters and gauges of the program since it started.
+     *
+     * @param username       The name of the user performing this privilege.
+     * @param inputReader    A reader to get input from the user.
+     * @param messageDisplay A display to show messages to the user.
+     */
+    @Override
+    public void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+        messageDisplay.showMessage(MetricsRegistry.DEFAULT.toString(), "Metrics");
+    }
+}
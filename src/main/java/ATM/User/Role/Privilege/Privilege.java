@@ -1,6 +1,7 @@
 package ATM.User.Role.Privilege;
 
 import ATM.ATM;
+import ATM.ATMFleet;
 import ATM.Account.AccountManager;
 import ATM.Bank;
 import ATM.BankTimeManager;
@@ -9,20 +10,23 @@ import ATM.GUI.GraphicalInputReader;
 import ATM.GUI.MessageDisplay;
 import ATM.Request.RequestManager;
 import ATM.Session.OptionsTree;
+import ATM.Session.Session;
 import ATM.User.UserManager;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A class representing an individual privilege or action that a user can perform.
+ * <p>
+ * A Privilege holds no state of its own user: one instance of each type is shared by every user with a role granting
+ * it, and the name of the user performing it is passed in each time it is performed.
  */
-public abstract class Privilege implements Serializable {
+public abstract class Privilege {
 
     private final String name;
-    protected final String username;
-    protected final ATM atm;
+    private final Bank bank;
+    protected final ATMFleet fleet;
     protected final AccountManager accountManager;
     protected final ProductManager productManager;
     protected final UserManager userManager;
@@ -30,16 +34,15 @@ public abstract class Privilege implements Serializable {
     protected final BankTimeManager timeManager;
 
     /**
-     * Initialize this privilege with a name, a username, a bank, and GUI input and output objects.
+     * Initialize this privilege with a name and a bank.
      *
-     * @param name     The name of this Privilege.
-     * @param username The name of the User associated with this privilege.
-     * @param bank     The Bank on which this Privilege operates.
+     * @param name The name of this Privilege.
+     * @param bank The Bank on which this Privilege operates.
      */
-    protected Privilege(String name, String username, Bank bank) {
+    protected Privilege(String name, Bank bank) {
         this.name = name;
-        this.username = username;
-        this.atm = bank.getATM();
+        this.bank = bank;
+        this.fleet = bank.getFleet();
         this.accountManager = bank.getAccountManager();
         this.productManager = bank.getProductManager();
         this.userManager = bank.getUserManager();
@@ -47,31 +50,54 @@ public abstract class Privilege implements Serializable {
         this.timeManager = bank.getBankTimeManager();
     }
 
+    /**
+     * Check whether this privilege operates on a Bank.
+     *
+     * @param bank The Bank.
+     * @return true if this privilege was created for the given Bank, false otherwise.
+     */
+    boolean operatesOn(Bank bank) {
+        return this.bank == bank;
+    }
+
+    /**
+     * Get the ATM terminal this privilege is being performed at, which is the terminal bound to the current thread.
+     *
+     * @return the current ATM terminal.
+     */
+    protected ATM getATM() {
+        return fleet.getCurrentTerminal();
+    }
+
     /**
      * Perform this privilege.
      *
+     * @param username       The name of the user performing this privilege.
      * @param inputReader    A reader to get input from the user.
      * @param messageDisplay A display to show messages to the user.
      */
-    protected abstract void perform(GraphicalInputReader inputReader, MessageDisplay messageDisplay);
+    protected abstract void perform(String username, GraphicalInputReader inputReader, MessageDisplay messageDisplay);
 
     /**
-     * Return an OptionsTree used to perform this privilege.
+     * Return an OptionsTree used to perform this privilege. The tree may be shared by many Sessions: the user
+     * performing the privilege, and the GUI elements used, are taken from the Session which executes it.
      *
-     * @param inputReader    A reader to get input from the user.
-     * @param messageDisplay A display to show messages to the user.
+     * @return an OptionsTree, whose command performs this privilege.
      */
-    public OptionsTree getOptionsTree(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
-        return new OptionsTree(name, () -> perform(inputReader, messageDisplay));
+    public OptionsTree getOptionsTree() {
+        return new OptionsTree(name,
+                session -> perform(session.getUsername(), session.getInputReader(), session.getMessageDisplay()));
     }
 
     /**
      * Prompt the user to select one of their accounts.
      *
-     * @param title The title bar text of the user prompt.
+     * @param username    The name of the user.
+     * @param inputReader A reader to get input from the user.
+     * @param title       The title bar text of the user prompt.
      * @return the ID of the account selected by the user.
      */
-    protected String selectAccount(GraphicalInputReader inputReader, String title) {
+    protected String selectAccount(String username, GraphicalInputReader inputReader, String title) {
         List<String> options = new ArrayList<>();
         List<String> accountIDs = accountManager.getAccountIDs(username);
         for (String id : accountIDs) {
@@ -18,19 +18,24 @@ import ATM.User.Role.Privilege.EmployeePrivilege.ATMMaintenancePrivilege.ViewATM
 import ATM.User.Role.Privilege.EmployeePrivilege.ApproveRequestPrivilege.ApproveAccountCreationRequestPrivilege;
 import ATM.User.Role.Privilege.EmployeePrivilege.ApproveRequestPrivilege.ApproveProductCreationRequestPrivilege;
 import ATM.User.Role.Privilege.EmployeePrivilege.ApproveRequestPrivilege.ApproveRevertRequestPrivilege;
+import ATM.User.Role.Privilege.EmployeePrivilege.ApproveRequestPrivilege.AutoApproveRequestsPrivilege;
 import ATM.User.Role.Privilege.EmployeePrivilege.CreateUserPrivilege;
 import ATM.User.Role.Privilege.EmployeePrivilege.SetTimePrivilege;
+import ATM.User.Role.Privilege.EmployeePrivilege.ViewMetricsPrivilege;
 import ATM.User.UserFactory;
 
-import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * A class used to instantiate privileges.
+ * A class used to instantiate privileges. Privileges hold no state of their own user, so one instance of each type is
+ * created for a Bank and shared by every role which grants it.
  */
-public class PrivilegeFactory implements Serializable {
+public class PrivilegeFactory {
 
     private final AccountFactory accountFactory;
     private final ProductsFactory productsFactory;
+    private final Map<String, Privilege> privileges;
     private UserFactory userFactory;
 
     /**
@@ -41,88 +46,112 @@ public class PrivilegeFactory implements Serializable {
     public PrivilegeFactory(AccountFactory accountFactory, ProductsFactory productsFactory) {
         this.productsFactory = productsFactory;
         this.accountFactory = accountFactory;
+        this.privileges = new HashMap<>();
     }
 
     public void setUserFactory(UserFactory userFactory) {
         this.userFactory = userFactory;
     }
 
+    /**
+     * Get the shared privilege of a type, creating it the first time it is needed for a Bank.
+     *
+     * @param privilegeType The privilege type.
+     * @param bank          The bank that the privilege operates on.
+     * @return the privilege, or null if an invalid privilegeType was given.
+     */
+    public synchronized Privilege getPrivilege(String privilegeType, Bank bank) {
+        Privilege privilege = privileges.get(privilegeType);
+        if (privilege == null || !privilege.operatesOn(bank)) {
+            privilege = createPrivilege(privilegeType, bank);
+            if (privilege != null) {
+                privileges.put(privilegeType, privilege);
+            }
+        }
+        return privilege;
+    }
+
     /**
      * Initialize a new privilege.
      *
      * @param privilegeType The new privilege type.
-     * @param username      The name of the user exercising the privilege.
      * @param bank          The bank that the privilege operates on.
      * @return the new privilege, or null if an invalid privilegeType was given.
      */
-    public Privilege getPrivilege(String privilegeType, String username, Bank bank) {
+    private Privilege createPrivilege(String privilegeType, Bank bank) {
         Privilege privilege = null;
         switch (privilegeType) {
             case "Change Password":
-                privilege = new ChangePasswordPrivilege(username, bank);
+                privilege = new ChangePasswordPrivilege(bank);
                 break;
             case "Request Account":
-                privilege = new RequestAccountPrivilege(username, bank, accountFactory);
+                privilege = new RequestAccountPrivilege(bank, accountFactory);
                 break;
             case "Request Revert":
-                privilege = new RequestRevertPrivilege(username, bank);
+                privilege = new RequestRevertPrivilege(bank);
                 break;
             case "Request Product":
-                privilege = new RequestProductPrivilege(username, bank, productsFactory);
+                privilege = new RequestProductPrivilege(bank, productsFactory);
                 break;
             case "Deposit":
-                privilege = new DepositPrivilege(username, bank);
+                privilege = new DepositPrivilege(bank);
                 break;
             case "Transfer Between Accounts":
-                privilege = new TransferBetweenAccountPrivilege(username, bank);
+                privilege = new TransferBetweenAccountPrivilege(bank);
                 break;
             case "Transfer to User":
-                privilege = new TransferToUserPrivilege(username, bank);
+                privilege = new TransferToUserPrivilege(bank);
                 break;
             case "Pay Bill":
-                privilege = new PayBillPrivilege(username, bank);
+                privilege = new PayBillPrivilege(bank);
                 break;
             case "Withdraw":
-                privilege = new WithdrawPrivilege(username, bank);
+                privilege = new WithdrawPrivilege(bank);
                 break;
             case "View Account Information":
-                privilege = new ViewAccountInformationPrivilege(username, bank);
+                privilege = new ViewAccountInformationPrivilege(bank);
                 break;
             case "View Account Summary":
-                privilege = new ViewAccountSummaryPrivilege(username, bank);
+                privilege = new ViewAccountSummaryPrivilege(bank);
                 break;
             case "View Products info":
-                privilege = new ViewProductInfoPrivilege(username, bank);
+                privilege = new ViewProductInfoPrivilege(bank);
                 break;
             case "Approve Account Creation":
-                privilege = new ApproveAccountCreationRequestPrivilege(username, bank);
+                privilege = new ApproveAccountCreationRequestPrivilege(bank);
                 break;
             case "Approve New Product":
-                privilege = new ApproveProductCreationRequestPrivilege(username, bank);
+                privilege = new ApproveProductCreationRequestPrivilege(bank);
                 break;
             case "Approve Revert":
-                privilege = new ApproveRevertRequestPrivilege(username, bank);
+                privilege = new ApproveRevertRequestPrivilege(bank);
+                break;
+            case "Auto-approve Requests":
+                privilege = new AutoApproveRequestsPrivilege(bank);
                 break;
             case "Restock ATM":
-                privilege = new RestockATMPrivilege(username, bank);
+                privilege = new RestockATMPrivilege(bank);
                 break;
             case "View ATM Alerts":
-                privilege = new ViewATMAlertPrivilege(username, bank);
+                privilege = new ViewATMAlertPrivilege(bank);
                 break;
             case "Create User":
-                privilege = new CreateUserPrivilege(username, bank, userFactory, accountFactory);
+                privilege = new CreateUserPrivilege(bank, userFactory, accountFactory);
                 break;
             case "Set Time":
-                privilege = new SetTimePrivilege(username, bank);
+                privilege = new SetTimePrivilege(bank);
+                break;
+            case "View Metrics":
+                privilege = new ViewMetricsPrivilege(bank);
                 break;
             case "Set Currency Type":
-                privilege = new SetForeignCurrencyPrivilege(username, bank);
+                privilege = new SetForeignCurrencyPrivilege(bank);
                 break;
             case "Add Authorized User":
-                privilege = new AddAuthorizedUserPrivilege(username, bank);
+                privilege = new AddAuthorizedUserPrivilege(bank);
                 break;
             case "View Exchange Rates":
-                privilege = new ViewExchangeRatesPrivilege(username, bank);
+                privilege = new ViewExchangeRatesPrivilege(bank);
                 break;
         }
         return privilege;
@@ -8,14 +8,13 @@ class RequestRole extends Role {
     private final static String name = "Make a request";
 
     /**
-     * Initialize this RequestRole with a username, a bank, and a privilege factory.
+     * Initialize this RequestRole with a bank and a privilege factory.
      *
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
      * @param privilegeFactory A factory used to create the necessary privileges.
      */
-    public RequestRole(String username, Bank bank, PrivilegeFactory privilegeFactory) {
-        super(name, username, bank, privilegeFactory);
+    public RequestRole(Bank bank, PrivilegeFactory privilegeFactory) {
+        super(name, bank, privilegeFactory);
     }
 
     @Override
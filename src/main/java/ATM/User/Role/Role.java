@@ -1,39 +1,36 @@
 package ATM.User.Role;
 
 import ATM.Bank;
-import ATM.GUI.GraphicalInputReader;
-import ATM.GUI.MessageDisplay;
 import ATM.Session.OptionsTree;
 import ATM.User.Role.Privilege.Privilege;
 import ATM.User.Role.Privilege.PrivilegeFactory;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A class representing a Role, which contains a small collection of Privileges.
+ * <p>
+ * Like its Privileges, a Role holds no state of its own user: one instance of each type is shared by every user with
+ * that role, and the name of the user is taken from the Session which executes the role's options.
  */
-public abstract class Role implements Serializable {
+public abstract class Role {
 
     final List<String> privilegeNames;
     private final String name;
-    private final String username;
     private final Bank bank;
     private final PrivilegeFactory privilegeFactory;
     private final List<Privilege> privileges;
 
     /**
-     * Initialize this Role with a role name, a username, a bank, and a privilege factory.
+     * Initialize this Role with a role name, a bank, and a privilege factory.
      *
      * @param name             The name of this Role.
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
-     * @param privilegeFactory A factory used to create the necessary privileges.
+     * @param privilegeFactory A factory used to get the necessary privileges.
      */
-    Role(String name, String username, Bank bank, PrivilegeFactory privilegeFactory) {
+    Role(String name, Bank bank, PrivilegeFactory privilegeFactory) {
         this.name = name;
-        this.username = username;
         this.bank = bank;
         this.privilegeFactory = privilegeFactory;
         this.privileges = new ArrayList<>();
@@ -47,14 +44,24 @@ public abstract class Role implements Serializable {
      *
      * @return an OptionsTree, containing options to execute this Role's Privileges.
      */
-    public OptionsTree getOptionsTree(GraphicalInputReader inputReader, MessageDisplay messageDisplay) {
+    public OptionsTree getOptionsTree() {
         OptionsTree options = new OptionsTree(name);
         for (Privilege p : privileges) {
-            options.add(p.getOptionsTree(inputReader, messageDisplay));
+            options.add(p.getOptionsTree());
         }
         return options;
     }
 
+    /**
+     * Check whether this Role operates on a Bank.
+     *
+     * @param bank The Bank.
+     * @return true if this Role was created for the given Bank, false otherwise.
+     */
+    boolean operatesOn(Bank bank) {
+        return this.bank == bank;
+    }
+
     /**
      * Generate a list of privilege names associated with this role. These names
      * must correspond to the privilege types in PrivilegeFactory.
@@ -62,11 +69,11 @@ public abstract class Role implements Serializable {
     abstract void setPrivilegeNames();
 
     /**
-     * Generate this Role's Privileges.
+     * Get this Role's shared Privileges from the privilege factory.
      */
     private void generatePrivileges() {
         for (String privilegeType : privilegeNames) {
-            privileges.add(privilegeFactory.getPrivilege(privilegeType, username, bank));
+            privileges.add(privilegeFactory.getPrivilege(privilegeType, bank));
         }
     }
 
@@ -3,14 +3,37 @@ package ATM.User.Role;
 import ATM.Bank;
 import ATM.User.Role.Privilege.PrivilegeFactory;
 
-import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A class used to instantiate roles.
+ * <p>
+ * Roles hold no state of the user exercising them, so one Role of each type is created per Bank and shared by every
+ * user. A user's roles are kept as a set of bits, one per role type, and the roles are looked up from the bits when
+ * the user logs in, in the order of the bits.
  */
-public class RoleFactory implements Serializable {
+public class RoleFactory {
+
+    public final static int TRANSACTION = 1;
+    public final static int VIEW_ACCOUNT = 1 << 1;
+    public final static int REQUEST = 1 << 2;
+    public final static int ACCOUNT_MANAGEMENT = 1 << 3;
+    public final static int EMPLOYEE = 1 << 4;
+    public final static int ATM_MAINTENANCE = 1 << 5;
+    public final static int ADMIN = 1 << 6;
+    public final static int USER = 1 << 7;
+
+    /**
+     * The role types, in the order of their bits.
+     */
+    private final static String[] ROLE_TYPES = {"Transaction", "View Account", "Request", "Account Management",
+            "Employee", "ATM Maintenance", "Admin", "User"};
 
     private final PrivilegeFactory privilegeFactory;
+    private final Map<String, Role> roles;
 
     /**
      * Initialize this RoleFactory with a PrivilegeFactory.
@@ -19,42 +42,92 @@ public class RoleFactory implements Serializable {
      */
     public RoleFactory(PrivilegeFactory privilegeFactory) {
         this.privilegeFactory = privilegeFactory;
+        this.roles = new HashMap<>();
+    }
+
+    /**
+     * Get the shared role of a type, creating it the first time it is needed.
+     *
+     * @param roleType The role type.
+     * @param bank     The bank which the role operates on.
+     * @return the role, or null if an invalid roleType was given.
+     */
+    public synchronized Role getRole(String roleType, Bank bank) {
+        Role role = roles.get(roleType);
+        if (role == null || !role.operatesOn(bank)) {
+            role = createRole(roleType, bank);
+            if (role != null) {
+                roles.put(roleType, role);
+            }
+        }
+        return role;
+    }
+
+    /**
+     * Get the shared roles of a set of role bits, in the order of the bits.
+     *
+     * @param roleBits The role bits, as returned by getRoleBit.
+     * @param bank     The bank which the roles operate on.
+     * @return the roles.
+     */
+    public List<Role> getRoles(int roleBits, Bank bank) {
+        List<Role> result = new ArrayList<>();
+        for (int i = 0; i < ROLE_TYPES.length; i++) {
+            if ((roleBits & (1 << i)) != 0) {
+                result.add(getRole(ROLE_TYPES[i], bank));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the bit representing a role type.
+     *
+     * @param roleType The role type.
+     * @return the bit of the role type, or 0 if an invalid roleType was given.
+     */
+    public static int getRoleBit(String roleType) {
+        for (int i = 0; i < ROLE_TYPES.length; i++) {
+            if (ROLE_TYPES[i].equals(roleType)) {
+                return 1 << i;
+            }
+        }
+        return 0;
     }
 
     /**
      * Initialize a new role.
      *
      * @param roleType The new role type.
-     * @param username The name of the user exercising the role.
      * @param bank     The bank which the new role operates on.
      * @return the new role, or null if an invalid roleType was given.
      */
-    public Role getRole(String roleType, String username, Bank bank) {
+    private Role createRole(String roleType, Bank bank) {
         Role role = null;
         switch (roleType) {
             case "Admin":
-                role = new AdminRole(username, bank, privilegeFactory);
+                role = new AdminRole(bank, privilegeFactory);
                 break;
             case "ATM Maintenance":
-                role = new ATMMaintenanceRole(username, bank, privilegeFactory);
+                role = new ATMMaintenanceRole(bank, privilegeFactory);
                 break;
             case "Employee":
-                role = new EmployeeRole(username, bank, privilegeFactory);
+                role = new EmployeeRole(bank, privilegeFactory);
                 break;
             case "Request":
-                role = new RequestRole(username, bank, privilegeFactory);
+                role = new RequestRole(bank, privilegeFactory);
                 break;
             case "Transaction":
-                role = new TransactionRole(username, bank, privilegeFactory);
+                role = new TransactionRole(bank, privilegeFactory);
                 break;
             case "User":
-                role = new UserRole(username, bank, privilegeFactory);
+                role = new UserRole(bank, privilegeFactory);
                 break;
             case "View Account":
-                role = new ViewAccountRole(username, bank, privilegeFactory);
+                role = new ViewAccountRole(bank, privilegeFactory);
                 break;
             case "Account Management":
-                role = new AccountManagementRole(username, bank, privilegeFactory);
+                role = new AccountManagementRole(bank, privilegeFactory);
                 break;
         }
         return role;
@@ -8,14 +8,13 @@ public class TransactionRole extends Role {
     public final static String name = "Make a transaction";
 
     /**
-     * Initialize this TransactionRole with a username, a bank, and a privilege factory.
+     * Initialize this TransactionRole with a bank and a privilege factory.
      *
-     * @param username         The user which possesses this Role.
      * @param bank             The Bank which this Role operates on.
      * @param privilegeFactory A factory used to create the necessary privileges.
      */
-    public TransactionRole(String username, Bank bank, PrivilegeFactory privilegeFactory) {
-        super(name, username, bank, privilegeFactory);
+    public TransactionRole(Bank bank, PrivilegeFactory privilegeFactory) {
+        super(name, bank, privilegeFactory);
     }
 
     @Override
@@ -1,37 +1,46 @@
 package ATM.User;
 
-import ATM.User.Role.Role;
-
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
- * A class representing a bank user, which can log in and interact with the bank.
+ * A class representing a bank user, which can log in and interact with the bank. The roles of a user are kept as a set
+ * of the role bits of RoleFactory, rather than a list of Role objects, since the Roles themselves are shared.
  */
 public class User implements Serializable {
 
     private final String username;
-    private String password;
-    private final List<Role> roles;
+    private final String userType;
+    private volatile String password;
+    private volatile int roles;
 
     /**
-     * Initialize this User with a username, password, and bank.
+     * Initialize this User with a username, password, and user type.
      *
      * @param username The username of this user.
      * @param password The password of this user.
+     * @param userType The user type which determined this user's roles.
      */
-    User(String username, String password) {
+    User(String username, String password, String userType) {
         this.username = username;
         this.password = password;
-        this.roles = new ArrayList<>();
+        this.userType = userType;
     }
 
-    public void addRole(Role role) {
-        roles.add(role);
+    /**
+     * Give this User one or more roles.
+     *
+     * @param roleBits The role bits of the roles to add.
+     */
+    public void addRoles(int roleBits) {
+        roles |= roleBits;
     }
 
-    public List<Role> getRoles() {
+    /**
+     * Get the roles of this User.
+     *
+     * @return the role bits of this User's roles.
+     */
+    public int getRoleBits() {
         return roles;
     }
 
@@ -63,18 +72,31 @@ public class User implements Serializable {
         return username;
     }
 
+    /**
+     * Get this User's user type.
+     *
+     * @return the user type.
+     */
+    public String getUserType() {
+        return userType;
+    }
+
+    /**
+     * Get this User's password.
+     *
+     * @return the password.
+     */
+    String getPassword() {
+        return password;
+    }
+
     /**
      * Check whether this User contains a certain Role.
      *
-     * @param name The name of the Role.
+     * @param roleBit The role bit of the Role.
      * @return true if this User contains the given Role, false otherwise.
      */
-    public boolean containsRole(String name) {
-        for (Role role : roles) {
-            if (role.getName().equals(name)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean containsRole(int roleBit) {
+        return (roles & roleBit) != 0;
     }
 }
@@ -0,0 +1,48 @@
+package ATM.User;
+
+import ATM.CodecInput;
+import ATM.CodecOutput;
+
+import java.io.IOException;
+
+/**
+ * A class used to write and read the users of a UserManager in the compact binary format of the Bank's saved state.
+ * Only the username, password, and user type of each user are written, and their roles are recreated by a
+ * UserFactory when they are read.
+ */
+public class UserCodec {
+
+    /**
+     * Write the users of a UserManager.
+     *
+     * @param userManager The UserManager to write.
+     * @param output      The stream to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void write(UserManager userManager, CodecOutput output) throws IOException {
+        output.writeVarInt(userManager.getUsers().size());
+        for (User user : userManager.getUsers()) {
+            output.writeString(user.getUsername());
+            output.writeString(user.getPassword());
+            output.writeString(user.getUserType());
+        }
+    }
+
+    /**
+     * Read users into a UserManager.
+     *
+     * @param input       The stream to read from.
+     * @param userManager The UserManager to add the users to.
+     * @param userFactory The factory used to recreate each user.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void read(CodecInput input, UserManager userManager, UserFactory userFactory) throws IOException {
+        int numUsers = input.readVarInt();
+        for (int i = 0; i < numUsers; i++) {
+            String username = input.readString();
+            String password = input.readString();
+            String userType = input.readString();
+            userManager.addUser(userFactory.getUser(userType, username, password));
+        }
+    }
+}
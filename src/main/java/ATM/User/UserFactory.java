@@ -1,16 +1,16 @@
 package ATM.User;
 
 import ATM.Bank;
+import ATM.User.Role.Role;
 import ATM.User.Role.RoleFactory;
 
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A class used to instantiate new users.
  */
-public class UserFactory implements Serializable {
+public class UserFactory {
 
     private final Bank bank;
     private final RoleFactory roleFactory;
@@ -45,36 +45,37 @@ public class UserFactory implements Serializable {
      * @return The new user.
      */
     public User getUser(String userType, String username, String password) {
-        User user = new User(username, password);
+        User user = new User(username, password, userType);
         switch (userType) {
             case "Customer":
-                user.addRole(roleFactory.getRole("Transaction", username, bank));
-                user.addRole(roleFactory.getRole("View Account", username, bank));
-                user.addRole(roleFactory.getRole("Request", username, bank));
-                user.addRole(roleFactory.getRole("Account Management", username, bank));
+                user.addRoles(RoleFactory.TRANSACTION | RoleFactory.VIEW_ACCOUNT | RoleFactory.REQUEST
+                        | RoleFactory.ACCOUNT_MANAGEMENT);
                 break;
             case "Bank Employee":
-                user.addRole(roleFactory.getRole("Employee", username, bank));
-                user.addRole(roleFactory.getRole("ATM Maintenance", username, bank));
+                user.addRoles(RoleFactory.EMPLOYEE | RoleFactory.ATM_MAINTENANCE);
                 break;
             case "Bank Manager":
-                user.addRole(roleFactory.getRole("Employee", username, bank));
-                user.addRole(roleFactory.getRole("ATM Maintenance", username, bank));
-                user.addRole(roleFactory.getRole("Admin", username, bank));
+                user.addRoles(RoleFactory.EMPLOYEE | RoleFactory.ATM_MAINTENANCE | RoleFactory.ADMIN);
                 break;
             case "ATM Technician":
-                user.addRole(roleFactory.getRole("ATM Maintenance", username, bank));
-                user.addRole(roleFactory.getRole("Transaction", username, bank));
-                user.addRole(roleFactory.getRole("View Account", username, bank));
-                user.addRole(roleFactory.getRole("Request", username, bank));
-                user.addRole(roleFactory.getRole("Account Management", username, bank));
+                user.addRoles(RoleFactory.ATM_MAINTENANCE | RoleFactory.TRANSACTION | RoleFactory.VIEW_ACCOUNT
+                        | RoleFactory.REQUEST | RoleFactory.ACCOUNT_MANAGEMENT);
                 break;
             case "Youth":
-                user.addRole(roleFactory.getRole("Transaction", username, bank));
-                user.addRole(roleFactory.getRole("View Account", username, bank));
+                user.addRoles(RoleFactory.TRANSACTION | RoleFactory.VIEW_ACCOUNT);
                 break;
         }
-        user.addRole(roleFactory.getRole("User", username, bank));
+        user.addRoles(RoleFactory.USER);
         return user;
     }
+
+    /**
+     * Get the shared Roles of a user, in the order in which their menus are shown.
+     *
+     * @param user The user.
+     * @return the user's Roles.
+     */
+    public List<Role> getRoles(User user) {
+        return roleFactory.getRoles(user.getRoleBits(), bank);
+    }
 }
@@ -1,20 +1,36 @@
 package ATM.User;
 
+import ATM.Journal.Journal;
+import ATM.Journal.PasswordChangedEntry;
+import ATM.Journal.UserCreatedEntry;
+
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A class used for managing a collection of accounts.
+ * A class used for managing a collection of accounts. The users are kept in a concurrent map, so users may log in
+ * while other sessions add users or change passwords.
  */
 public class UserManager implements Serializable {
 
-    private final HashMap<String, User> users;
+    private final ConcurrentHashMap<String, User> users;
+    private transient Journal journal;
 
     /**
      * Initialize this AccountManager with an empty collection of accounts.
      */
     public UserManager() {
-        this.users = new HashMap<>();
+        this.users = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Set the Journal used to record changes to the users in this UserManager.
+     *
+     * @param journal The Journal to record changes in.
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
     /**
@@ -24,6 +40,22 @@ public class UserManager implements Serializable {
      */
     public void addUser(User user) {
         users.put(user.getUsername(), user);
+        if (journal != null) {
+            journal.append(new UserCreatedEntry(user.getUserType(), user.getUsername(), user.getPassword()));
+        }
+    }
+
+    /**
+     * Set a new password for a User in this UserManager.
+     *
+     * @param username    The username of the user.
+     * @param newPassword The new password.
+     */
+    public void changePassword(String username, String newPassword) {
+        users.get(username).setPassword(newPassword);
+        if (journal != null) {
+            journal.append(new PasswordChangedEntry(username, newPassword));
+        }
     }
 
     /**
@@ -36,6 +68,15 @@ public class UserManager implements Serializable {
         return users.get(username);
     }
 
+    /**
+     * Get all the users in this UserManager.
+     *
+     * @return the users.
+     */
+    Collection<User> getUsers() {
+        return users.values();
+    }
+
     /**
      * See if a user is in this UserManager.
      *
@@ -0,0 +1,130 @@
+package ATM;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Compares the time taken to plan a withdrawal by the ATM's dispense planner against the recursive search it replaced,
+ * across withdrawal amounts and stock levels, and checks that both choose the same bills. Run with a time limit per
+ * measurement in milliseconds as an optional argument.
+ */
+public class ATMCalculatorBenchmark {
+
+    private final static int[] AMOUNTS = {85, 185, 385, 585, 1000};
+    private final static int[] STOCK_LEVELS = {20, 100, 1000};
+
+    public static void main(String[] args) throws InterruptedException {
+        long limitMillis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+
+        System.out.printf("%-8s %-8s %16s %16s %6s%n", "Amount", "Stock", "Planner (us)", "Recursive (us)", "Same");
+        for (int stock : STOCK_LEVELS) {
+            ATM atm = new ATM();
+            atm.add(50, stock);
+            atm.add(20, stock);
+            atm.add(10, stock);
+            atm.add(5, stock);
+            int[] billStock = {stock, stock, stock, stock};
+            for (int amount : AMOUNTS) {
+                double plannerMicros = time(() -> atm.canWithdraw(amount), limitMillis);
+                int[] planned = plan(amount, stock);
+
+                int[][] recursive = new int[1][];
+                Thread search = new Thread(() -> recursive[0] = recursiveSearch(amount, billStock));
+                search.setDaemon(true);
+                search.start();
+                search.join(limitMillis);
+                String recursiveMicros = "> limit";
+                String same = "?";
+                if (recursive[0] != null) {
+                    recursiveMicros = String.format("%.2f", time(() -> recursiveSearch(amount, billStock),
+                            limitMillis));
+                    same = String.valueOf(Arrays.equals(planned, recursive[0]));
+                }
+                System.out.printf("%-8d %-8d %16.2f %16s %6s%n", amount, stock, plannerMicros, recursiveMicros,
+                        same);
+            }
+        }
+    }
+
+    /**
+     * Find the bills the planner dispenses for a withdrawal from a fresh ATM.
+     *
+     * @param amount The amount to withdraw.
+     * @param stock  The number of each bill in the ATM.
+     * @return the number of fifties, twenties, tens and fives dispensed, or -1 for each if none.
+     */
+    private static int[] plan(int amount, int stock) {
+        ATM atm = new ATM();
+        atm.add(50, stock);
+        atm.add(20, stock);
+        atm.add(10, stock);
+        atm.add(5, stock);
+        if (!atm.withdraw(amount)) {
+            return new int[]{-1, -1, -1, -1};
+        }
+        return new int[]{stock - atm.getFifties(), stock - atm.getTwenties(), stock - atm.getTens(),
+                stock - atm.getFives()};
+    }
+
+    /**
+     * Repeatedly run a task until a time limit has passed.
+     *
+     * @param task        The task to run.
+     * @param limitMillis The time limit, in milliseconds.
+     * @return the average time per run, in microseconds.
+     */
+    private static double time(Runnable task, long limitMillis) {
+        for (int i = 0; i < 1000; i++) {
+            task.run();
+        }
+        long runs = 0;
+        long start = System.nanoTime();
+        long end = start + limitMillis * 1000000L / 4;
+        long now;
+        do {
+            task.run();
+            runs++;
+            now = System.nanoTime();
+        } while (now < end);
+        return (now - start) / 1000. / runs;
+    }
+
+    /**
+     * The recursive search used before the dispense planner, kept for comparison.
+     */
+    private static int[] recursiveSearch(int dollars, int[] billStock) {
+        ArrayList<Integer[]> solutions = findWithdrawalSolutions(dollars, new int[]{50, 20, 10, 5}, billStock,
+                new int[]{0, 0, 0, 0}, 0);
+        if (solutions.size() == 0) {
+            return new int[]{-1, -1, -1, -1};
+        }
+        Integer[] solution = solutions.get(0);
+        return new int[]{solution[0], solution[1], solution[2], solution[3]};
+    }
+
+    private static ArrayList<Integer[]> findWithdrawalSolutions(int dollars, int[] denominations, int[] billStock,
+                                                              int[] billStockingVariation, int position) {
+        ArrayList<Integer[]> viableVariations = new ArrayList<>();
+        int combinationValue = 0;
+        for (int i = 0; i < billStockingVariation.length; i++) {
+            combinationValue += denominations[i] * billStockingVariation[i];
+        }
+        if (combinationValue == dollars) {
+            Integer[] copy = new Integer[billStockingVariation.length];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = billStockingVariation[i];
+            }
+            viableVariations.add(copy);
+        } else if (combinationValue < dollars) {
+            for (int i = position; i < denominations.length; i++) {
+                if (billStock[i] > billStockingVariation[i]) {
+                    int[] newVariation = billStockingVariation.clone();
+                    newVariation[i]++;
+                    viableVariations.addAll(findWithdrawalSolutions(dollars, denominations, billStock, newVariation,
+                            i));
+                }
+            }
+        }
+        return viableVariations;
+    }
+}
@@ -0,0 +1,78 @@
+package ATM;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ATMFleetTest {
+
+    private ATMFleet fleet;
+
+    @Before
+    public void setUp() {
+        fleet = new ATMFleet();
+    }
+
+    @Test
+    public void testTotalsFollowTerminals() {
+        ATM lobby = fleet.getTerminal("lobby");
+        ATM mall = fleet.getTerminal("mall");
+        lobby.add(50, 10);
+        mall.add(20, 30);
+        assertEquals(1100, fleet.getTotalCash());
+
+        assertTrue(lobby.withdraw(100));
+        assertFalse(mall.restock(20, 1000));
+        assertTrue(mall.restock(5, 4));
+        assertEquals(8, fleet.getTotalBills(50));
+        assertEquals(30, fleet.getTotalBills(20));
+        assertEquals(1020, fleet.getTotalCash());
+        assertEquals(Arrays.asList("lobby", "mall"), fleet.getTerminalIDs());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTerminalIDOutsideExternalFilesRejected() {
+        fleet.getTerminal("../lobby");
+    }
+
+    @Test
+    public void testAddTerminalReplacesTotals() {
+        fleet.getTerminal("lobby").add(50, 10);
+        ATM replacement = new ATM("lobby");
+        replacement.add(10, 3);
+        fleet.addTerminal(replacement);
+        assertSame(replacement, fleet.getTerminal("lobby"));
+        assertEquals(30, fleet.getTotalCash());
+    }
+
+    @Test
+    public void testCurrentTerminal() {
+        assertSame(fleet.getDefaultTerminal(), fleet.getCurrentTerminal());
+        fleet.setCurrentTerminal("lobby");
+        assertEquals("lobby", fleet.getCurrentTerminal().getTerminalID());
+        fleet.clearCurrentTerminal();
+        assertEquals(ATM.DEFAULT_TERMINAL_ID, fleet.getCurrentTerminal().getTerminalID());
+    }
+
+    @Test
+    public void testConcurrentRestocks() throws InterruptedException {
+        final ATM atm = fleet.getTerminal("lobby");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 400; i++) {
+                    atm.restock(20, 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(atm.getBillQuantityLimit(), atm.getTwenties());
+        assertEquals(atm.getBillQuantityLimit(), fleet.getTotalBills(20));
+    }
+}
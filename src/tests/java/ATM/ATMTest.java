@@ -3,7 +3,7 @@ package ATM;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class ATMTest {
 
@@ -25,4 +25,101 @@ public class ATMTest {
         assertEquals(atm.getTens(), 50);
         assertEquals(atm.getFives(), 50);
     }
+
+    @Test
+    public void testWithdrawUsesLargestBills() {
+        atm.add(50, 30);
+        atm.add(20, 30);
+        atm.add(10, 30);
+        atm.add(5, 30);
+        assertTrue(atm.withdraw(185));
+        assertEquals(27, atm.getFifties());
+        assertEquals(29, atm.getTwenties());
+        assertEquals(29, atm.getTens());
+        assertEquals(29, atm.getFives());
+        assertFalse(atm.withdraw(7));
+        assertFalse(atm.withdraw(-5));
+    }
+
+    @Test
+    public void testWithdrawMatchesExhaustiveSearch() {
+        for (int fifties = 0; fifties <= 3; fifties++) {
+            for (int twenties = 0; twenties <= 4; twenties++) {
+                for (int tens = 0; tens <= 3; tens++) {
+                    for (int fives = 0; fives <= 3; fives++) {
+                        for (int dollars = 0; dollars <= 260; dollars += 5) {
+                            int[] expected = search(dollars, fifties, twenties, tens, fives);
+                            ATM atm = new ATM();
+                            atm.add(50, fifties);
+                            atm.add(20, twenties);
+                            atm.add(10, tens);
+                            atm.add(5, fives);
+                            assertEquals(expected != null, atm.canWithdraw(dollars));
+                            assertEquals(expected != null, atm.withdraw(dollars));
+                            if (expected != null) {
+                                assertEquals(fifties - expected[0], atm.getFifties());
+                                assertEquals(twenties - expected[1], atm.getTwenties());
+                                assertEquals(tens - expected[2], atm.getTens());
+                                assertEquals(fives - expected[3], atm.getFives());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the combination of bills with the most fifties, then twenties, then tens, by trying every combination.
+     */
+    private int[] search(int dollars, int fifties, int twenties, int tens, int fives) {
+        for (int f = fifties; f >= 0; f--) {
+            for (int t = twenties; t >= 0; t--) {
+                for (int te = tens; te >= 0; te--) {
+                    for (int fi = fives; fi >= 0; fi--) {
+                        if (50 * f + 20 * t + 10 * te + 5 * fi == dollars) {
+                            return new int[]{f, t, te, fi};
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testReservationHoldsBills() {
+        atm.add(50, 2);
+        DispenseReservation reservation = atm.reserve(100, 10000);
+        assertNotNull(reservation);
+        assertEquals(2, reservation.getBillAmount(0));
+        assertNull(atm.reserve(50, 10000));
+        assertFalse(atm.canWithdraw(50));
+
+        atm.release(reservation);
+        assertTrue(atm.canWithdraw(50));
+        assertFalse(atm.commit(reservation));
+        assertEquals(2, atm.getFifties());
+    }
+
+    @Test
+    public void testCommitDispensesReservedBills() {
+        atm.add(50, 2);
+        atm.add(20, 5);
+        DispenseReservation reservation = atm.reserve(70, 10000);
+        atm.add(20, 5);
+        assertTrue(atm.commit(reservation));
+        assertFalse(atm.commit(reservation));
+        assertEquals(1, atm.getFifties());
+        assertEquals(9, atm.getTwenties());
+    }
+
+    @Test
+    public void testExpiredReservationReleased() throws InterruptedException {
+        atm.add(50, 1);
+        DispenseReservation reservation = atm.reserve(50, 0);
+        Thread.sleep(1);
+        assertNotNull(atm.reserve(50, 10000));
+        assertFalse(atm.commit(reservation));
+    }
 }
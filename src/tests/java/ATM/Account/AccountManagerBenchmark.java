@@ -0,0 +1,88 @@
+package ATM.Account;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the throughput of concurrent transfers and deposits between accounts of one AccountManager as
+ * the number of threads grows, up to the number of available cores. Run with the number of accounts as an optional
+ * argument; fewer accounts means more contention.
+ */
+public class AccountManagerBenchmark {
+
+    private final static long WARMUP_MILLIS = 1000;
+    private final static long MEASURE_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int numAccounts = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        AccountManager manager = new AccountManager();
+        List<String> accountIDs = new ArrayList<>();
+        for (int i = 0; i < numAccounts; i++) {
+            Account account = new ChequingAccount("customer" + i, new Date());
+            manager.addAccount(account);
+            manager.deposit(account.getID(), 1000000, new Date());
+            accountIDs.add(account.getID());
+        }
+
+        System.out.println(numAccounts + " accounts, " + cores + " cores");
+        System.out.printf("%-8s %14s %8s%n", "Threads", "Ops/second", "Scaling");
+        double singleThreaded = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            run(manager, accountIDs, threads, WARMUP_MILLIS);
+            double throughput = run(manager, accountIDs, threads, MEASURE_MILLIS);
+            if (threads == 1) {
+                singleThreaded = throughput;
+            }
+            System.out.printf("%-8d %14.0f %7.2fx%n", threads, throughput, throughput / singleThreaded);
+        }
+    }
+
+    /**
+     * Run random operations on a number of threads for a given time.
+     *
+     * @param manager    The AccountManager to operate on.
+     * @param accountIDs The IDs of the accounts in the AccountManager.
+     * @param numThreads The number of threads to run.
+     * @param millis     How long to run for, in milliseconds.
+     * @return the number of operations completed per second.
+     */
+    private static double run(AccountManager manager, List<String> accountIDs, int numThreads, long millis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                Date date = new Date();
+                while (running.get()) {
+                    String fromID = accountIDs.get(random.nextInt(accountIDs.size()));
+                    String toID = accountIDs.get(random.nextInt(accountIDs.size()));
+                    if (random.nextInt(4) == 0) {
+                        manager.deposit(fromID, 10, date);
+                    } else {
+                        manager.transfer(fromID, toID, 10, date);
+                    }
+                    operations.increment();
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return operations.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+}
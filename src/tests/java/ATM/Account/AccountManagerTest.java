@@ -1,9 +1,17 @@
 package ATM.Account;
 
+import ATM.DepositSlip;
+import ATM.DepositSummary;
+import ATM.Transaction.Transaction;
 import org.junit.Test;
 import org.junit.Before;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -33,6 +41,10 @@ public class AccountManagerTest {
         when(account3.ownedBy("Jim")).thenReturn(true);
         when(account3.ownedBy("Sally")).thenReturn(true);
 
+        when(account1.getUsers()).thenReturn(Arrays.asList("Bob"));
+        when(account2.getUsers()).thenReturn(Arrays.asList("Jim"));
+        when(account3.getUsers()).thenReturn(Arrays.asList("Jim", "Sally"));
+
         when(account1.getID()).thenReturn("1");
         when(account2.getID()).thenReturn("2");
         when(account3.getID()).thenReturn("3");
@@ -81,4 +93,136 @@ public class AccountManagerTest {
         assertEquals("account1", accountString);
     }
 
+    @Test
+    public void testAddUser() {
+        AccountManager manager = new AccountManager();
+        ChequingAccount account = new ChequingAccount("Bob", new Date());
+        account.setPrimary(true);
+        manager.addAccount(account);
+        manager.addUser(account.getID(), "Jim");
+        manager.addUser(account.getID(), "Jim");
+
+        assertEquals(Arrays.asList(account.getID()), manager.getAccountIDs("Jim"));
+        assertEquals(account.getID(), manager.getPrimaryAccountID("Jim"));
+        assertTrue(manager.getAccountIDs("Sally").isEmpty());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentTransfers() throws InterruptedException {
+        AccountManager manager = new AccountManager();
+        final List<String> accountIDs = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Account account = new ChequingAccount("Bob", new Date());
+            manager.addAccount(account);
+            manager.deposit(account.getID(), 1000, new Date());
+            accountIDs.add(account.getID());
+        }
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 5000; i++) {
+                    String fromID = accountIDs.get(random.nextInt(accountIDs.size()));
+                    String toID = accountIDs.get(random.nextInt(accountIDs.size()));
+                    manager.transfer(fromID, toID, 1 + random.nextInt(50), new Date());
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long total = 0;
+        for (Account account : manager.getAccounts()) {
+            total += account.getBalanceCents();
+        }
+        assertEquals(8 * 100000, total);
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentRevertsAndTransfers() throws InterruptedException {
+        AccountManager manager = new AccountManager();
+        final List<String> accountIDs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Account account = new ChequingAccount("Bob", new Date());
+            manager.addAccount(account);
+            manager.deposit(account.getID(), 1000, new Date());
+            accountIDs.add(account.getID());
+        }
+        final List<Transaction> transfers = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            manager.transfer(accountIDs.get(i % 4), accountIDs.get((i + 1) % 4), 1, new Date());
+            transfers.add(manager.getTransactionByIndex(accountIDs.get(i % 4), 0));
+        }
+
+        Thread reverter = new Thread(() -> {
+            for (Transaction transfer : transfers) {
+                manager.revert(transfer);
+            }
+        });
+        Thread transferrer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 5000; i++) {
+                manager.transfer(accountIDs.get(random.nextInt(4)), accountIDs.get(random.nextInt(4)),
+                        1 + random.nextInt(50), new Date());
+            }
+        });
+        reverter.start();
+        transferrer.start();
+        reverter.join();
+        transferrer.join();
+
+        long total = 0;
+        for (Account account : manager.getAccounts()) {
+            total += account.getBalanceCents();
+        }
+        assertEquals(4 * 100000, total);
+    }
+
+    @Test
+    public void testDepositAll() {
+        AccountManager manager = new AccountManager();
+        ChequingAccount account = new ChequingAccount("Bob", new Date());
+        manager.addAccount(account);
+        DepositSlip slip = new DepositSlip();
+        slip.addCash(10000);
+        slip.addCheque(2550, 17);
+        slip.addCheque(2550, 17);
+        slip.addCash(0);
+
+        DepositSummary summary = manager.depositAll(account.getID(), slip, new Date());
+
+        assertEquals(2, summary.getPostedDeposits());
+        assertEquals(12550, summary.getPostedCents());
+        assertEquals(1, summary.getFailedDeposits());
+        assertEquals(1, summary.getDuplicateCheques());
+        assertEquals(12550, account.getBalanceCents());
+        assertEquals(0, manager.depositAll("missing", slip, new Date()).getPostedDeposits());
+    }
+
+    @Test
+    public void testDepositAllRejectsChequesAlreadyDeposited() {
+        AccountManager manager = new AccountManager();
+        ChequingAccount account = new ChequingAccount("Bob", new Date());
+        manager.addAccount(account);
+        DepositSlip slip = new DepositSlip();
+        slip.addCash(1000);
+        slip.addCheque(2550, 17);
+        manager.depositAll(account.getID(), slip, new Date());
+
+        DepositSummary summary = manager.depositAll(account.getID(), slip, new Date());
+
+        assertEquals(1, summary.getPostedDeposits());
+        assertEquals(1, summary.getDuplicateCheques());
+        assertEquals(4550, account.getBalanceCents());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testGetPrimaryAccountIDMissing() {
+        manager.getPrimaryAccountID("Bob");
+    }
+
 }
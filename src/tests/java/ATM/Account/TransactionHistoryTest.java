@@ -0,0 +1,84 @@
+package ATM.Account;
+
+import ATM.Transaction.BillPaymentTransaction;
+import ATM.Transaction.OutgoingPaymentWriter;
+import ATM.Transaction.Transaction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class TransactionHistoryTest {
+
+    private TransactionHistory history;
+    private Transaction[] transactions;
+
+    @Before
+    public void setUp() {
+        history = new TransactionHistory();
+        transactions = new Transaction[20];
+        for (int i = 0; i < transactions.length; i++) {
+            transactions[i] = mock(Transaction.class);
+            history.add(transactions[i]);
+        }
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(20, history.size());
+        assertSame(transactions[19], history.get(0));
+        assertSame(transactions[0], history.get(19));
+        assertSame(transactions[3], history.getByPosition(3));
+        assertEquals(3, history.getPosition(transactions[3]));
+        assertEquals(-1, history.getPosition(mock(Transaction.class)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        history.get(20);
+    }
+
+    @Test
+    public void testGetRecent() {
+        List<Transaction> recent = history.getRecent(5);
+        assertEquals(5, recent.size());
+        assertSame(transactions[19], recent.get(0));
+        assertSame(transactions[15], recent.get(4));
+        assertEquals(20, history.getRecent(50).size());
+        assertEquals(20, history.getAll().size());
+    }
+
+    @Test
+    public void testViewUnaffectedByLaterTransactions() {
+        List<Transaction> recent = history.getRecent(3);
+        for (int i = 0; i < 100; i++) {
+            history.add(mock(Transaction.class));
+        }
+        assertEquals(3, recent.size());
+        assertSame(transactions[19], recent.get(0));
+        assertSame(transactions[17], recent.get(2));
+    }
+
+    @Test
+    public void testSerializesBillPayments() throws IOException, ClassNotFoundException {
+        TransactionHistory payments = new TransactionHistory();
+        payments.add(new BillPaymentTransaction(new ChequingAccount("Bob", new Date()), 10, new Date(), "Hydro",
+                new OutgoingPaymentWriter("outgoing.txt")));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(payments);
+        }
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(1, ((TransactionHistory) input.readObject()).size());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ATM;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AlertLogTest {
+
+    private File file;
+    private File offsetsFile;
+    private AlertLog alertLog;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("alerts", ".txt");
+        offsetsFile = File.createTempFile("alertOffsets", ".txt");
+        offsetsFile.delete();
+        alertLog = new AlertLog(file.getPath(), offsetsFile.getPath());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        offsetsFile.delete();
+    }
+
+    @Test
+    public void testConsumersReadIndependently() throws IOException {
+        alertLog.append("first");
+        assertEquals("first\n", alertLog.readNew("alice"));
+        alertLog.append("second");
+        assertEquals("second\n", alertLog.readNew("alice"));
+        assertEquals("", alertLog.readNew("alice"));
+        assertEquals("first\nsecond\n", alertLog.readNew("bob"));
+    }
+
+    @Test
+    public void testOffsetsSaved() throws IOException {
+        alertLog.append("first");
+        alertLog.readNew("alice");
+        alertLog.append("second");
+
+        AlertLog reopened = new AlertLog(file.getPath(), offsetsFile.getPath());
+        assertEquals("second\n", reopened.readNew("alice"));
+    }
+
+    @Test
+    public void testATMAlertsOncePerCrossing() throws IOException {
+        ATM atm = new ATM();
+        atm.setAlertLog(alertLog);
+        atm.add(50, 21);
+        atm.add(20, 30);
+        atm.add(10, 30);
+        atm.add(5, 30);
+        assertEquals("", alertLog.readNew("employee"));
+
+        atm.withdraw(100);
+        atm.canWithdraw(50);
+        atm.withdraw(50);
+        assertEquals("Need to restock: $50 bills.\n", alertLog.readNew("employee"));
+
+        atm.add(50, 10);
+        atm.withdraw(500);
+        atm.canWithdraw(50);
+        assertEquals("Need to restock: $50 bills.\n", alertLog.readNew("employee"));
+    }
+
+    @Test
+    public void testCompactRemovesAlertsEveryoneRead() throws IOException {
+        alertLog.append("first");
+        alertLog.append("second");
+        alertLog.readNew("alice");
+        alertLog.append("third");
+        assertEquals("first\nsecond\nthird\n", alertLog.readNew("bob"));
+
+        assertEquals("first\nsecond\n".length(), alertLog.compact());
+        assertEquals(0, alertLog.compact());
+        assertEquals("third\n", alertLog.readNew("alice"));
+        assertEquals("", alertLog.readNew("bob"));
+        alertLog.append("fourth");
+        assertEquals("fourth\n", new AlertLog(file.getPath(), offsetsFile.getPath()).readNew("bob"));
+    }
+
+    @Test
+    public void testCompactLeavesOffsetsUnchanged() throws IOException {
+        alertLog.append("first");
+        alertLog.append("second");
+        alertLog.readNew("alice");
+        byte[] offsets = Files.readAllBytes(offsetsFile.toPath());
+
+        assertEquals("first\nsecond\n".length(), alertLog.compact());
+        assertArrayEquals(offsets, Files.readAllBytes(offsetsFile.toPath()));
+        alertLog.append("third");
+        assertEquals("third\n", new AlertLog(file.getPath(), offsetsFile.getPath()).readNew("alice"));
+    }
+
+    @Test
+    public void testIdleConsumerDoesNotPinCompaction() throws IOException {
+        VirtualClock clock = new VirtualClock(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+        AlertLog log = new AlertLog(file.getPath(), offsetsFile.getPath(), Duration.ofDays(1).toMillis(), clock);
+        log.append("first");
+        log.readNew("idle");
+        log.append("second");
+        clock.advance(Duration.ofHours(12));
+        log.readNew("active");
+        assertEquals("first\n".length(), log.compact());
+
+        clock.advance(Duration.ofHours(12));
+        assertEquals("second\n".length(), log.compact());
+        log.append("third");
+        assertEquals("third\n", new AlertLog(file.getPath(), offsetsFile.getPath()).readNew("idle"));
+        assertEquals("third\n", log.readNew("active"));
+    }
+}
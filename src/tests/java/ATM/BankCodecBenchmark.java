@@ -0,0 +1,100 @@
+package ATM;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Account.ChequingAccount;
+import ATM.Journal.ReplayContext;
+
+import java.io.*;
+import java.util.Date;
+
+/**
+ * Compares the time taken to save and load a Bank, and the size of the saved file, between Java serialization of the
+ * whole Bank and BankCodec. Run with the number of customers as an optional argument.
+ */
+public class BankCodecBenchmark {
+
+    private final static int WARMUP_ITERATIONS = 5;
+    private final static int ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int numCustomers = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        ReplayContext context = new BankFixture().getContext();
+        Bank bank = context.getBank();
+        populate(bank, context, numCustomers);
+
+        File serFile = File.createTempFile("BankData", ".ser");
+        File binFile = File.createTempFile("BankData", ".bin");
+        BankCodec codec = new BankCodec();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            serialize(bank, serFile);
+            deserialize(serFile);
+            codec.write(bank, binFile.getPath());
+            codec.read(binFile.getPath(), new BankFixture().getContext());
+        }
+
+        long serSave = 0, serLoad = 0, binSave = 0, binLoad = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            serialize(bank, serFile);
+            serSave += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            deserialize(serFile);
+            serLoad += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            codec.write(bank, binFile.getPath());
+            binSave += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            codec.read(binFile.getPath(), new BankFixture().getContext());
+            binLoad += System.nanoTime() - start;
+        }
+
+        System.out.println(numCustomers + " customers, " + ITERATIONS + " iterations");
+        System.out.printf("%-16s %10s %10s %12s%n", "Format", "Save (ms)", "Load (ms)", "Size (bytes)");
+        System.out.printf("%-16s %10.2f %10.2f %12d%n", "Serialization", serSave / 1e6 / ITERATIONS,
+                serLoad / 1e6 / ITERATIONS, serFile.length());
+        System.out.printf("%-16s %10.2f %10.2f %12d%n", "BankCodec", binSave / 1e6 / ITERATIONS,
+                binLoad / 1e6 / ITERATIONS, binFile.length());
+
+        serFile.delete();
+        binFile.delete();
+    }
+
+    private static void serialize(Bank bank, File file) throws IOException {
+        try (ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeObject(bank);
+        }
+    }
+
+    private static Object deserialize(File file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return input.readObject();
+        }
+    }
+
+    private static void populate(Bank bank, ReplayContext context, int numCustomers) {
+        bank.getBankTimeManager().setDate(new Date());
+        bank.getATM().add(20, 1000);
+        AccountManager accountManager = bank.getAccountManager();
+        AccountFactory accountFactory = context.getAccountFactory();
+        for (int i = 0; i < numCustomers; i++) {
+            String username = "customer" + i;
+            bank.getUserManager().addUser(context.getUserFactory().getUser("Customer", username, "password"));
+            ChequingAccount chequing = (ChequingAccount) accountFactory.getAccount("Chequing Account", username);
+            chequing.setPrimary(true);
+            Account savings = accountFactory.getAccount("Savings Account", username);
+            accountManager.addAccount(chequing);
+            accountManager.addAccount(savings);
+            for (int j = 0; j < 10; j++) {
+                accountManager.deposit(chequing.getID(), 100, new Date());
+                accountManager.transfer(chequing.getID(), savings.getID(), 25, new Date());
+                accountManager.payBill(chequing.getID(), 5, new Date(), "Hydro");
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ATM;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Account.ChequingAccount;
+import ATM.FinanceProduct.FinanceProduct;
+import ATM.Journal.ReplayContext;
+import ATM.Request.AccountRequest;
+import ATM.Request.ProductRequest;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class BankCodecTest {
+
+    @Test
+    public void testSaveReplacesFile() throws IOException {
+        Path directory = Files.createTempDirectory("bank");
+        Path file = directory.resolve("BankData.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        Bank bank = new BankFixture().getBank();
+        bank.setJournalSequence(9);
+        new BankCodec().write(bank, file.toString());
+
+        ReplayContext loadedContext = new BankFixture().getContext();
+        Bank loaded = loadedContext.getBank();
+        new BankCodec().read(file.toString(), loadedContext);
+        assertEquals(9, loaded.getJournalSequence());
+        assertFalse(Files.exists(directory.resolve("BankData.bin.tmp")));
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ReplayContext context = new BankFixture().getContext();
+        Bank bank = context.getBank();
+        bank.getBankTimeManager().setDate(new Date(1546300800000L));
+        bank.setJournalSequence(42);
+        bank.getBatchProgress().restore(LocalDate.of(2018, 12, 31), Collections.singletonList("Interest accrual"),
+                Collections.singletonMap("Product payments", Collections.singletonList("chequing")));
+        bank.getATM().add(20, 30);
+        bank.getATM().add(50, 10);
+        bank.getFleet().getTerminal("lobby").add(10, 25);
+        bank.getUserManager().addUser(context.getUserFactory().getUser("Customer", "bob", "secret"));
+        bank.getUserManager().addUser(context.getUserFactory().getUser("Bank Manager", "admin", "admin"));
+
+        AccountManager accountManager = bank.getAccountManager();
+        AccountFactory accountFactory = context.getAccountFactory();
+        ChequingAccount primary = (ChequingAccount) accountFactory.getAccount("Chequing Account", "bob");
+        primary.setPrimary(true);
+        Account savingsAccount = accountFactory.getAccount("Savings Account", "bob");
+        accountManager.addAccount(primary);
+        accountManager.addAccount(savingsAccount);
+        Account creditCard = accountFactory.getAccount("Credit Card Account", "bob");
+        accountManager.addAccount(creditCard);
+        String chequing = primary.getID();
+        String savings = savingsAccount.getID();
+        accountManager.deposit(chequing, 500, new Date());
+        accountManager.transfer(chequing, savings, 125.5, new Date());
+        accountManager.withdraw(chequing, 40, new Date(), bank.getATM());
+        accountManager.payBill(chequing, 10, new Date(), "Hydro");
+        DepositSlip slip = new DepositSlip();
+        slip.addCheque(2550, 17);
+        assertEquals(1, accountManager.depositAll(creditCard.getID(), slip, new Date()).getPostedDeposits());
+
+        FinanceProduct product = context.getProductsFactory().getProduct("Mortgage", "bob", 12, 1000);
+        bank.getProductManager().addProduct(product);
+        bank.getRequestManager().addRequest(new AccountRequest("bob", "Chequing Account", accountFactory));
+        bank.getRequestManager().removeRequest(1);
+        bank.getRequestManager().addRequest(new AccountRequest("bob", "Cashable GIC", accountFactory));
+        bank.getRequestManager().addRequest(new ProductRequest("bob", "non Redeemable GIC", 6, 200,
+                context.getProductsFactory()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new BankCodec().write(bank, bytes);
+
+        ReplayContext loadedContext = new BankFixture().getContext();
+        Bank loaded = loadedContext.getBank();
+        new BankCodec().read(new ByteArrayInputStream(bytes.toByteArray()), loadedContext);
+
+        assertEquals(42, loaded.getJournalSequence());
+        assertEquals(bank.getBankTimeManager().getDate(), loaded.getBankTimeManager().getDate());
+        assertEquals(LocalDate.of(2018, 12, 31), loaded.getBatchProgress().getClosedDay());
+        assertEquals(Collections.singletonList("Interest accrual"), loaded.getBatchProgress().getCompletedJobs());
+        assertTrue(loaded.getBatchProgress().isUpdated("Product payments", "chequing"));
+        assertEquals(bank.getATM().stockLevel(), loaded.getATM().stockLevel());
+        assertEquals(bank.getFleet().getTerminalIDs(), loaded.getFleet().getTerminalIDs());
+        assertEquals(25, loaded.getFleet().getTerminal("lobby").getTens());
+        assertEquals(bank.getFleet().getTotalCash(), loaded.getFleet().getTotalCash());
+        assertTrue(loaded.getUserManager().containsUser("bob"));
+        assertTrue(loaded.getUserManager().containsUser("admin"));
+        assertEquals(bank.getAccountManager().getAccountsOwnedSummaryString("bob"),
+                loaded.getAccountManager().getAccountsOwnedSummaryString("bob"));
+        assertEquals(bank.getAccountManager().getRecentAccountTransactions(chequing, 10).toString(),
+                loaded.getAccountManager().getRecentAccountTransactions(chequing, 10).toString());
+        assertSame(loaded.getAccountManager().getTransactionByIndex(chequing, 2),
+                loaded.getAccountManager().getTransactionByIndex(savings, 0));
+        assertEquals(bank.getProductManager().toString(), loaded.getProductManager().toString());
+        assertEquals(1, loaded.getRequestManager().getAccountRequests().size());
+        assertEquals(1, loaded.getRequestManager().getProductRequests().size());
+        assertEquals(2, loaded.getRequestManager().getAccountRequests().get(0).getRequestID());
+        assertEquals(3, loaded.getRequestManager().getProductRequests().get(0).getRequestID());
+        loaded.getRequestManager().addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+        assertEquals(4, loaded.getRequestManager().getAccountRequests().get(1).getRequestID());
+        assertEquals(1, loaded.getAccountManager().depositAll(savings, slip, new Date()).getDuplicateCheques());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOlderVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodecOutput output = new CodecOutput(bytes);
+        output.writeInt(BankCodec.MAGIC);
+        output.writeVarInt(BankCodec.VERSION - 1);
+        output.writeLong(7);
+        output.flush();
+
+        new BankCodec().read(new ByteArrayInputStream(bytes.toByteArray()), new BankFixture().getContext());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsUnknownFormat() throws IOException {
+        byte[] bytes = {(byte) 0xAC, (byte) 0xED, 0, 5, 1, 2, 3, 4};
+        new BankCodec().read(new ByteArrayInputStream(bytes), new BankFixture().getContext());
+    }
+}
@@ -0,0 +1,64 @@
+package ATM;
+
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.FinanceProduct.ProductManager;
+import ATM.FinanceProduct.ProductsFactory;
+import ATM.Journal.ReplayContext;
+import ATM.Request.RequestManager;
+import ATM.User.Role.Privilege.PrivilegeFactory;
+import ATM.User.Role.RoleFactory;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+
+/**
+ * An empty Bank for tests and benchmarks, wired to the factories which create its accounts, products and users.
+ */
+public class BankFixture {
+
+    private final Bank bank;
+    private final AccountFactory accountFactory;
+    private final ProductsFactory productsFactory;
+    private final PrivilegeFactory privilegeFactory;
+    private final UserFactory userFactory;
+
+    public BankFixture() {
+        AccountManager accountManager = new AccountManager();
+        ProductManager productManager = new ProductManager();
+        bank = new Bank(new ATM(), accountManager, productManager, new UserManager(),
+                new RequestManager(accountManager, productManager), new BankTimeManager());
+        accountFactory = new AccountFactory(bank.getBankTimeManager());
+        productsFactory = new ProductsFactory(bank.getBankTimeManager(), accountManager);
+        privilegeFactory = new PrivilegeFactory(accountFactory, productsFactory);
+        userFactory = new UserFactory(bank, new RoleFactory(privilegeFactory));
+        privilegeFactory.setUserFactory(userFactory);
+    }
+
+    public Bank getBank() {
+        return bank;
+    }
+
+    public AccountManager getAccountManager() {
+        return bank.getAccountManager();
+    }
+
+    public UserManager getUserManager() {
+        return bank.getUserManager();
+    }
+
+    public AccountFactory getAccountFactory() {
+        return accountFactory;
+    }
+
+    public PrivilegeFactory getPrivilegeFactory() {
+        return privilegeFactory;
+    }
+
+    public UserFactory getUserFactory() {
+        return userFactory;
+    }
+
+    public ReplayContext getContext() {
+        return new ReplayContext(bank, userFactory, accountFactory, productsFactory);
+    }
+}
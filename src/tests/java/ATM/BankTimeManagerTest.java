@@ -0,0 +1,125 @@
+package ATM;
+
+import ATM.Journal.DateSetEntry;
+import ATM.Journal.Journal;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class BankTimeManagerTest {
+
+    private final static ZoneId ZONE = ZoneId.of("America/Toronto");
+
+    private BankTimeManager timeManager;
+    private Clock clock;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(LocalDateTime.of(2020, 3, 10, 14, 25, 37).atZone(ZONE).toInstant(), ZONE);
+        timeManager = new BankTimeManager();
+        timeManager.setClock(clock);
+    }
+
+    private long at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    @Test
+    public void testUnsetDateUsesClockDay() {
+        assertEquals(at(2020, 3, 10, 14, 25), timeManager.now());
+        assertEquals(LocalDate.of(2020, 3, 10), timeManager.getDay());
+        assertNull(timeManager.getDate());
+    }
+
+    @Test
+    public void testBankDayWithClockTimeOfDay() {
+        timeManager.setDate(2019, 1, 31);
+        assertEquals(at(2019, 1, 31, 14, 25), timeManager.now());
+        assertEquals(new Date(at(2019, 1, 31, 14, 25)), timeManager.getCurrentTime());
+        assertEquals(new Date(at(2019, 1, 31, 0, 0)), timeManager.getDate());
+    }
+
+    @Test
+    public void testOffsetRecomputedWhenClockDayChanges() {
+        timeManager.setDate(2019, 1, 31);
+        assertEquals(at(2019, 1, 31, 14, 25), timeManager.now());
+        timeManager.setClock(Clock.offset(clock, Duration.ofHours(10)));
+        assertEquals(at(2019, 1, 31, 0, 25), timeManager.now());
+    }
+
+    @Test
+    public void testSetDateFromDate() {
+        timeManager.setDate(new Date(at(2018, 6, 15, 23, 59)));
+        assertEquals(LocalDate.of(2018, 6, 15), timeManager.getDay());
+        assertEquals(at(2018, 6, 15, 14, 25), timeManager.now());
+    }
+
+    @Test(expected = DateTimeException.class)
+    public void testInvalidDateRejected() {
+        timeManager.setDate(2019, 2, 30);
+    }
+
+    @Test
+    public void testUpdateDate() {
+        timeManager.setDate(2019, 1, 31);
+        assertFalse(timeManager.isStartOfMonth());
+        timeManager.updateDate();
+        assertTrue(timeManager.isStartOfMonth());
+        assertEquals(at(2019, 2, 1, 14, 25), timeManager.now());
+    }
+
+    @Test
+    public void testDayRollsOverWithClock() {
+        VirtualClock virtualClock = new VirtualClock(clock.instant(), ZONE);
+        timeManager.setClock(virtualClock);
+        final List<LocalDate> changes = new ArrayList<>();
+        timeManager.addDayListener(new DayListener() {
+            @Override
+            public void dayChanged(LocalDate from, LocalDate to) {
+                changes.add(from);
+                changes.add(to);
+            }
+        });
+        timeManager.setDate(2019, 1, 31);
+        assertEquals(at(2019, 1, 31, 14, 25), timeManager.now());
+
+        virtualClock.advance(Duration.ofHours(10));
+        assertEquals(at(2019, 2, 1, 0, 25), timeManager.now());
+        assertEquals(LocalDate.of(2019, 2, 1), timeManager.getDay());
+        assertEquals(Arrays.asList(LocalDate.of(2019, 1, 31), LocalDate.of(2019, 2, 1)), changes);
+
+        timeManager.setDate(2019, 1, 1);
+        assertEquals(2, changes.size());
+        timeManager.updateDate();
+        assertEquals(LocalDate.of(2019, 1, 2), changes.get(3));
+    }
+
+    @Test
+    public void testRolloverJournaled() {
+        VirtualClock virtualClock = new VirtualClock(clock.instant(), ZONE);
+        timeManager.setClock(virtualClock);
+        Journal journal = mock(Journal.class);
+        timeManager.setJournal(journal);
+        timeManager.setDate(2019, 1, 31);
+        assertEquals(at(2019, 1, 31, 14, 25), timeManager.now());
+        verify(journal, times(1)).append(any(DateSetEntry.class));
+
+        virtualClock.advance(Duration.ofHours(10));
+        assertEquals(at(2019, 2, 1, 0, 25), timeManager.now());
+        verify(journal, times(2)).append(any(DateSetEntry.class));
+    }
+}
@@ -0,0 +1,177 @@
+package ATM.Batch;
+
+import ATM.ATM;
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Bank;
+import ATM.BankTimeManager;
+import ATM.FinanceProduct.ProductManager;
+import ATM.Money;
+import ATM.Request.RequestManager;
+import ATM.User.UserManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BatchSchedulerTest {
+
+    private ForkJoinPool pool;
+    private Bank bank;
+    private BatchScheduler scheduler;
+    private List<String> order;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        AccountManager accountManager = new AccountManager();
+        ProductManager productManager = new ProductManager();
+        RequestManager requestManager = new RequestManager(accountManager, productManager);
+        bank = new Bank(new ATM(), accountManager, productManager, new UserManager(), requestManager,
+                new BankTimeManager());
+        bank.getBankTimeManager().setDate(2019, 1, 30);
+        scheduler = new BatchScheduler(bank, pool);
+        order = Collections.synchronizedList(new ArrayList<String>());
+        assertNull(scheduler.runPending());
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+        pool.shutdown();
+    }
+
+    private BatchJob job(final String name, final Runnable action) {
+        return new BatchJob() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void run(BatchRun run) {
+                action.run();
+                order.add(name);
+            }
+        };
+    }
+
+    private BatchJob job(String name) {
+        return job(name, new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    @Test
+    public void testDependenciesRunFirst() {
+        scheduler.register(job("a"), BatchScheduler.Schedule.END_OF_DAY);
+        scheduler.register(job("b"), BatchScheduler.Schedule.END_OF_DAY, "a");
+        scheduler.register(job("c"), BatchScheduler.Schedule.END_OF_DAY, "b", "a");
+
+        bank.getBankTimeManager().setDate(2019, 1, 31);
+        BatchScheduler.Report report = scheduler.runPending();
+        assertEquals(Arrays.asList("a", "b", "c"), order);
+        assertEquals(BatchScheduler.Status.RAN, report.getStatus("c"));
+        assertEquals(LocalDate.of(2019, 1, 31), bank.getBatchProgress().getClosedDay());
+        assertNull(scheduler.runPending());
+    }
+
+    @Test
+    public void testIndependentJobsRunInParallel() {
+        final CountDownLatch latch = new CountDownLatch(2);
+        Runnable meet = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+                try {
+                    assertTrue(latch.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        scheduler.register(job("left", meet), BatchScheduler.Schedule.END_OF_DAY);
+        scheduler.register(job("right", meet), BatchScheduler.Schedule.END_OF_DAY);
+
+        bank.getBankTimeManager().setDate(2019, 1, 31);
+        BatchScheduler.Report report = scheduler.runPending();
+        assertEquals(BatchScheduler.Status.RAN, report.getStatus("left"));
+        assertEquals(BatchScheduler.Status.RAN, report.getStatus("right"));
+    }
+
+    @Test
+    public void testMonthEndJobsOnlyAtMonthEnd() {
+        scheduler.register(job("daily"), BatchScheduler.Schedule.END_OF_DAY);
+        scheduler.register(job("monthly"), BatchScheduler.Schedule.END_OF_MONTH, "daily");
+
+        bank.getBankTimeManager().setDate(2019, 1, 31);
+        assertEquals(BatchScheduler.Status.NOT_DUE, scheduler.runPending().getStatus("monthly"));
+        bank.getBankTimeManager().setDate(2019, 2, 1);
+        assertEquals(BatchScheduler.Status.RAN, scheduler.runPending().getStatus("monthly"));
+        assertEquals(Arrays.asList("daily", "daily", "monthly"), order);
+    }
+
+    @Test
+    public void testFailedJobResumedWithoutRerunningOthers() {
+        final boolean[] broken = {true};
+        scheduler.register(job("first"), BatchScheduler.Schedule.END_OF_DAY);
+        scheduler.register(job("flaky", new Runnable() {
+            @Override
+            public void run() {
+                if (broken[0]) {
+                    throw new IllegalStateException("disk full");
+                }
+            }
+        }), BatchScheduler.Schedule.END_OF_DAY, "first");
+        scheduler.register(job("last"), BatchScheduler.Schedule.END_OF_DAY, "flaky");
+
+        bank.getBankTimeManager().setDate(2019, 1, 31);
+        BatchScheduler.Report report = scheduler.runPending();
+        assertEquals(BatchScheduler.Status.FAILED, report.getStatus("flaky"));
+        assertEquals(BatchScheduler.Status.BLOCKED, report.getStatus("last"));
+        assertEquals(LocalDate.of(2019, 1, 30), bank.getBatchProgress().getClosedDay());
+        assertEquals(Collections.singletonList("first"), bank.getBatchProgress().getCompletedJobs());
+
+        broken[0] = false;
+        report = scheduler.runPending();
+        assertEquals(BatchScheduler.Status.ALREADY_RAN, report.getStatus("first"));
+        assertEquals(Arrays.asList("first", "flaky", "last"), order);
+        assertEquals(LocalDate.of(2019, 1, 31), bank.getBatchProgress().getClosedDay());
+        assertTrue(bank.getBatchProgress().getCompletedJobs().isEmpty());
+    }
+
+    @Test
+    public void testDayChangeTriggersBatch() {
+        scheduler.register(new InterestAccrualJob(), BatchScheduler.Schedule.END_OF_MONTH);
+        scheduler.register(new ProductPaymentJob(), BatchScheduler.Schedule.END_OF_MONTH, InterestAccrualJob.NAME);
+        bank.getBankTimeManager().addDayListener(scheduler);
+        Account savings = new AccountFactory(bank.getBankTimeManager()).getAccount("Savings Account", "user");
+        savings.depositCents(100000);
+        bank.getAccountManager().addAccount(savings);
+
+        bank.getBankTimeManager().setDate(2019, 3, 1);
+        scheduler.shutdown();
+        long afterFebruary = 100000 + Money.multiply(100000, 0.001, Money.INTEREST_ROUNDING);
+        long afterMarch = afterFebruary + Money.multiply(afterFebruary, 0.001, Money.INTEREST_ROUNDING);
+        assertEquals("Savings Account | Balance: $" + Money.format(afterMarch), savings.toString());
+        assertEquals(LocalDate.of(2019, 3, 1), bank.getBatchProgress().getClosedDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownDependencyRejected() {
+        scheduler.register(job("a"), BatchScheduler.Schedule.END_OF_DAY, "b");
+    }
+}
@@ -0,0 +1,129 @@
+package ATM;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CurrencyExchangeTest {
+
+    private HttpServer server;
+    private String url;
+    private AtomicInteger requests;
+    private volatile String rate;
+    private volatile boolean failing;
+
+    @Before
+    public void setUp() throws IOException {
+        requests = new AtomicInteger();
+        rate = "0.75";
+        failing = false;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/pair", exchange -> {
+            requests.incrementAndGet();
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            byte[] body = ("{\"result\":\"success\",\"from\":\"" + parts[2] + "\",\"to\":\"" + parts[3] +
+                    "\",\"rate\":" + rate + "}").getBytes("UTF-8");
+            exchange.sendResponseHeaders(failing ? 500 : 200, failing ? -1 : body.length);
+            if (!failing) {
+                OutputStream output = exchange.getResponseBody();
+                output.write(body);
+                output.close();
+            }
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/pair";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void awaitRate(CurrencyExchange exchange, double expected) throws InterruptedException {
+        for (int i = 0; i < 200 && exchange.getConversionRate("CAD", "USD") != expected; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testRateIsCached() {
+        CurrencyExchange exchange = new CurrencyExchange(url, 60000);
+        assertEquals(75., exchange.getActualConvertedAmount(100, "CAD", "USD"), 1e-9);
+        assertEquals(75., exchange.getActualConvertedAmount(100, "CAD", "USD"), 1e-9);
+        assertEquals(1, requests.get());
+        assertEquals(100., exchange.getActualConvertedAmount(100, "USD", "USD"), 1e-9);
+        assertEquals(1, requests.get());
+        exchange.shutdown();
+    }
+
+    @Test
+    public void testStaleRateIsUsedWhileRefreshing() throws InterruptedException {
+        CurrencyExchange exchange = new CurrencyExchange(url, 50);
+        assertEquals(0.75, exchange.getConversionRate("CAD", "USD"), 1e-9);
+        rate = "0.8";
+        Thread.sleep(60);
+        awaitRate(exchange, 0.8);
+        assertEquals(0.8, exchange.getConversionRate("CAD", "USD"), 1e-9);
+        exchange.shutdown();
+    }
+
+    @Test
+    public void testStaleRateIsKeptWhenRefreshFails() throws InterruptedException {
+        CurrencyExchange exchange = new CurrencyExchange(url, 50);
+        assertEquals(0.75, exchange.getConversionRate("CAD", "USD"), 1e-9);
+        failing = true;
+        int before = requests.get();
+        Thread.sleep(60);
+        exchange.getConversionRate("CAD", "USD");
+        for (int i = 0; i < 200 && requests.get() == before; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0.75, exchange.getConversionRate("CAD", "USD"), 1e-9);
+        exchange.shutdown();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnavailableRate() {
+        failing = true;
+        new CurrencyExchange(url, 60000).getConversionRate("CAD", "EUR");
+    }
+
+    @Test
+    public void testPrefetchedConversionNeverFetches() {
+        CurrencyExchange exchange = new CurrencyExchange(url, 60000);
+        try {
+            exchange.getPrefetchedConvertedAmount(100, "CAD", "USD");
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals(0, requests.get());
+        }
+        assertTrue(exchange.prefetchRate("CAD", "USD"));
+        assertEquals(75., exchange.getPrefetchedConvertedAmount(100, "CAD", "USD"), 1e-9);
+        assertEquals(1, requests.get());
+        exchange.shutdown();
+    }
+
+    @Test
+    public void testRateTooOldIsNotUsed() throws InterruptedException {
+        CurrencyExchange exchange = new CurrencyExchange(url, 20, 50);
+        assertTrue(exchange.prefetchRate("CAD", "USD"));
+        failing = true;
+        Thread.sleep(60);
+        assertFalse(exchange.prefetchRate("CAD", "USD"));
+        try {
+            exchange.getPrefetchedConvertedAmount(100, "CAD", "USD");
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        exchange.shutdown();
+    }
+}
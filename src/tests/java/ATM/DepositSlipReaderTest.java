@@ -0,0 +1,75 @@
+package ATM;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DepositSlipReaderTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("deposits", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private void write(String contents) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(contents);
+        }
+    }
+
+    @Test
+    public void testReadCashAndCheques() throws IOException {
+        write("cash $100\ncheque $900.5 #12345\r\n\n  cash $0.07  \ncheque $50000 #1234587");
+        DepositSlip slip = DepositSlipReader.read(file.getPath());
+
+        assertEquals(4, slip.size());
+        assertEquals(10000, slip.getAmount(0));
+        assertFalse(slip.isCheque(0));
+        assertEquals(90050, slip.getAmount(1));
+        assertEquals(12345, slip.getChequeNumber(1));
+        assertEquals(7, slip.getAmount(2));
+        assertEquals(5000000, slip.getAmount(3));
+        assertEquals(1234587, slip.getChequeNumber(3));
+        assertEquals(0, slip.getMalformedLines());
+    }
+
+    @Test
+    public void testMalformedLines() throws IOException {
+        write("cash 100\ncash $\ncheque $10 #\ncheque $10 12\ncheque $10 #12x\ncash $5\n");
+        DepositSlip slip = DepositSlipReader.read(file.getPath());
+
+        assertEquals(1, slip.size());
+        assertEquals(500, slip.getAmount(0));
+        assertEquals(5, slip.getMalformedLines());
+    }
+
+    @Test
+    public void testDuplicateCheques() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            contents.append("cheque $1 #").append(i % 15000).append('\n');
+        }
+        write(contents.toString());
+        DepositSlip slip = DepositSlipReader.read(file.getPath());
+
+        assertEquals(15000, slip.size());
+        assertEquals(5000, slip.getDuplicateCheques());
+        assertEquals(14999, slip.getChequeNumber(14999));
+    }
+}
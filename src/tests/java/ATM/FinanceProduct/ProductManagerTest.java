@@ -0,0 +1,147 @@
+package ATM.FinanceProduct;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.BankTimeManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ProductManagerTest {
+
+    private ProductManager manager;
+    private AccountFactory accountFactory;
+
+    @Before
+    public void setUp() {
+        manager = new ProductManager();
+        accountFactory = new AccountFactory(new BankTimeManager());
+    }
+
+    private FinanceProduct addMortgage(String username, Account account, double principal) {
+        FinanceProduct mortgage = new Mortgage(username, 1, new Date(), 0.02, principal);
+        mortgage.setAssociated(account);
+        mortgage.setInitialInfo();
+        manager.addProduct(mortgage);
+        return mortgage;
+    }
+
+    private FinanceProduct addGIC(String username, Account account, double investment) {
+        FinanceProduct gic = new NonRedeemableGIC(username, 1, new Date(), 0.02, investment);
+        gic.setAssociated(account);
+        gic.setInitialInfo();
+        manager.addProduct(gic);
+        return gic;
+    }
+
+    @Test
+    public void testOwnerProductInfo() {
+        Account bobAccount = accountFactory.getAccount("Chequing Account", "bob");
+        Account jimAccount = accountFactory.getAccount("Chequing Account", "jim");
+        FinanceProduct bobMortgage = addMortgage("bob", bobAccount, 1200);
+        addMortgage("jim", jimAccount, 600);
+        FinanceProduct bobGIC = addGIC("bob", bobAccount, 300);
+
+        assertEquals(bobMortgage.toString() + bobGIC.toString(), manager.getOwnerProductInfo("bob"));
+        assertEquals("No products.", manager.getOwnerProductInfo("sally"));
+    }
+
+    @Test
+    public void testSummaryChangesAfterUpdate() {
+        Account account = accountFactory.getAccount("Chequing Account", "bob");
+        account.depositCents(100000);
+        FinanceProduct mortgage = addMortgage("bob", account, 1200);
+        String before = mortgage.toString();
+        assertSame(mortgage.getTerms(), mortgage.getTerms());
+
+        manager.updateAll(ForkJoinPool.commonPool());
+        assertNotEquals(before, mortgage.toString());
+        assertTrue(mortgage.toString().contains("Will last for 11 months"));
+        assertTrue(mortgage.toString().contains("Associated account: " + account));
+    }
+
+    @Test
+    public void testExposureTotals() {
+        long expectedMortgages = 0;
+        long expectedGICs = 0;
+        for (int i = 0; i < 50; i++) {
+            Account account = accountFactory.getAccount("Chequing Account", "user" + i);
+            account.depositCents(i % 2 == 0 ? 1000000 : 0);
+            addMortgage("user" + i, account, 1000 + i);
+            addGIC("user" + i, account, 500 + i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int month = 0; month < 3; month++) {
+            manager.updateAll(pool);
+        }
+        pool.shutdown();
+        for (FinanceProduct product : manager.getProducts()) {
+            if (product instanceof Mortgage) {
+                expectedMortgages += product.getInvestment();
+            } else {
+                expectedGICs += product.getInvestment();
+            }
+        }
+
+        assertEquals(expectedMortgages, manager.getMortgagePrincipal());
+        assertEquals(expectedGICs, manager.getGICLiability());
+    }
+
+    @Test
+    public void testCatchUpMatchesMonthlyUpdates() {
+        Account steppedAccount = accountFactory.getAccount("Chequing Account", "bob");
+        Account caughtUpAccount = accountFactory.getAccount("Chequing Account", "jim");
+        steppedAccount.depositCents(1000000);
+        caughtUpAccount.depositCents(1000000);
+        FinanceProduct stepped = new Mortgage("bob", 2, new Date(), 0.05, 5000);
+        stepped.setAssociated(steppedAccount);
+        FinanceProduct caughtUp = new Mortgage("jim", 2, new Date(), 0.05, 5000);
+        caughtUp.setAssociated(caughtUpAccount);
+
+        for (int month = 0; month < 18; month++) {
+            stepped.update();
+        }
+        caughtUp.catchUp(18);
+
+        assertEquals(stepped.getDuration(), caughtUp.getDuration());
+        assertEquals(stepped.getInvestment(), caughtUp.getInvestment(), 10);
+        assertEquals(stepped.getPaymentDue(), caughtUp.getPaymentDue(), 10);
+    }
+
+    @Test
+    public void testCatchUpWhenFundsRunShort() {
+        Account steppedAccount = accountFactory.getAccount("Savings Account", "bob");
+        Account caughtUpAccount = accountFactory.getAccount("Savings Account", "jim");
+        steppedAccount.depositCents(30000);
+        caughtUpAccount.depositCents(30000);
+        FinanceProduct stepped = new Mortgage("bob", 1, new Date(), 0.03, 1200);
+        stepped.setAssociated(steppedAccount);
+        FinanceProduct caughtUp = new Mortgage("jim", 1, new Date(), 0.03, 1200);
+        caughtUp.setAssociated(caughtUpAccount);
+
+        for (int month = 0; month < 15; month++) {
+            stepped.update();
+        }
+        caughtUp.catchUp(15);
+
+        assertEquals(stepped.getDuration(), caughtUp.getDuration());
+        assertEquals(stepped.getInvestment(), caughtUp.getInvestment(), 10);
+        assertEquals(stepped.getPaymentDue(), caughtUp.getPaymentDue(), 10);
+    }
+
+    @Test
+    public void testCatchUpAllAdjustsExposure() {
+        Account account = accountFactory.getAccount("Chequing Account", "bob");
+        account.depositCents(1000000);
+        FinanceProduct mortgage = addMortgage("bob", account, 1200);
+
+        manager.catchUpAll(6, ForkJoinPool.commonPool());
+        assertEquals(mortgage.getInvestment(), manager.getMortgagePrincipal());
+        assertEquals(6, mortgage.getDuration());
+        assertTrue(mortgage.toString().contains("Will last for 6 months"));
+    }
+}
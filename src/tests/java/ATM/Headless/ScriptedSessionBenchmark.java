@@ -0,0 +1,114 @@
+package ATM.Headless;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.BankFixture;
+import ATM.Metrics.CommandMetrics;
+import ATM.Metrics.MetricsRegistry;
+import ATM.Session.MenuCache;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Drives scripted Sessions of many customers on one thread per core, each Session making random transfers between
+ * the customer's accounts and viewing their summary, and prints the latency of each operation. Run with the number
+ * of customers as an optional argument.
+ */
+public class ScriptedSessionBenchmark {
+
+    private final static int SESSIONS_PER_THREAD = 2000;
+    private final static int OPERATIONS_PER_SESSION = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int numCustomers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        BankFixture fixture = new BankFixture();
+        AccountManager accountManager = fixture.getAccountManager();
+        UserManager userManager = fixture.getUserManager();
+        AccountFactory accountFactory = fixture.getAccountFactory();
+        UserFactory userFactory = fixture.getUserFactory();
+        for (int i = 0; i < numCustomers; i++) {
+            userManager.addUser(userFactory.getUser("Customer", "user" + i, "password"));
+            Account chequing = accountFactory.getAccount("Chequing Account", "user" + i);
+            accountManager.addAccount(chequing);
+            accountManager.addAccount(accountFactory.getAccount("Savings Account", "user" + i));
+            accountManager.deposit(chequing.getID(), 1000000, new Date());
+        }
+
+        MetricsRegistry registry = new MetricsRegistry();
+        CommandMetrics commandMetrics = new CommandMetrics(registry);
+        MenuCache menuCache = new MenuCache(userFactory);
+        Thread[] threads = new Thread[cores];
+        for (int t = 0; t < cores; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                ScriptedSessionDriver driver = new ScriptedSessionDriver(userManager, menuCache, commandMetrics);
+                Random random = new Random(seed);
+                for (int s = 0; s < SESSIONS_PER_THREAD; s++) {
+                    driver.run("user" + random.nextInt(numCustomers), "password", new CustomerSteps(random));
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println(numCustomers + " customers, " + cores + " threads");
+        System.out.printf("%.0f sessions/second%n", cores * SESSIONS_PER_THREAD / seconds);
+        System.out.println(registry);
+    }
+
+    /**
+     * The generated steps of one customer Session: random transfers and summaries, then exiting.
+     */
+    private static class CustomerSteps implements Iterator<String> {
+
+        private final Random random;
+        private String[] operation = new String[0];
+        private int step;
+        private int operations;
+
+        CustomerSteps(Random random) {
+            this.random = random;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return operations <= OPERATIONS_PER_SESSION || step < operation.length;
+        }
+
+        @Override
+        public String next() {
+            if (step == operation.length) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                operations++;
+                step = 0;
+                if (operations > OPERATIONS_PER_SESSION) {
+                    operation = new String[]{"Exit session"};
+                } else if (random.nextInt(4) == 0) {
+                    operation = new String[]{"Bank account information", "View account summary"};
+                } else {
+                    boolean toSavings = random.nextBoolean();
+                    operation = new String[]{"Make a transaction", "Make a transfer",
+                            toSavings ? "Chequing Account" : "Savings Account",
+                            toSavings ? "Savings Account" : "Chequing Account", "1"};
+                }
+            }
+            return operation[step++];
+        }
+    }
+}
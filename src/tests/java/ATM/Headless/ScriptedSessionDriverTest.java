@@ -0,0 +1,102 @@
+package ATM.Headless;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.BankFixture;
+import ATM.Metrics.CommandMetrics;
+import ATM.Metrics.MetricsRegistry;
+import ATM.Session.MenuCache;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScriptedSessionDriverTest {
+
+    private AccountManager accountManager;
+    private CommandMetrics commandMetrics;
+    private ScriptedSessionDriver driver;
+    private String chequingID;
+    private String savingsID;
+
+    @Before
+    public void setUp() {
+        BankFixture fixture = new BankFixture();
+        accountManager = fixture.getAccountManager();
+        UserManager userManager = fixture.getUserManager();
+        AccountFactory accountFactory = fixture.getAccountFactory();
+        UserFactory userFactory = fixture.getUserFactory();
+        userManager.addUser(userFactory.getUser("Customer", "alice", "secret"));
+
+        Account chequing = accountFactory.getAccount("Chequing Account", "alice");
+        Account savings = accountFactory.getAccount("Savings Account", "alice");
+        accountManager.addAccount(chequing);
+        accountManager.addAccount(savings);
+        accountManager.deposit(chequing.getID(), 100, new Date());
+        chequingID = chequing.getID();
+        savingsID = savings.getID();
+
+        commandMetrics = new CommandMetrics(new MetricsRegistry());
+        driver = new ScriptedSessionDriver(userManager, new MenuCache(userFactory), commandMetrics);
+    }
+
+    @Test
+    public void testTransferScript() {
+        ScriptedSessionDriver.Result result = driver.run("alice", "secret", Arrays.asList(
+                "Make a transaction", "Make a transfer", "Chequing Account", "Savings Account", "25",
+                "Exit session").iterator());
+        assertTrue(result.isCompleted());
+        assertTrue(result.isContinueProgram());
+        assertEquals(6, result.getSteps());
+        assertEquals(1, result.getMessages());
+        assertEquals(0, result.getErrors());
+        assertTrue(accountManager.getAccountString(chequingID).endsWith("75.00"));
+        assertTrue(accountManager.getAccountString(savingsID).endsWith("25.00"));
+        assertEquals(1, commandMetrics.getHistogram("Make a transfer").getCount());
+        assertEquals(1, commandMetrics.getHistogram(ScriptedSessionDriver.LOGIN).getCount());
+        assertTrue(commandMetrics.getHistogram("Make a transfer").getValueAtPercentile(50) > 0);
+    }
+
+    @Test
+    public void testInvalidInputStopsSession() {
+        ScriptedSessionDriver.Result result = driver.run("alice", "secret", Arrays.asList(
+                "Make a transaction", "Make a transfer", "Chequing Account", "Savings Account", "lots").iterator());
+        assertFalse(result.isCompleted());
+        assertNotNull(result.getFailure());
+        assertTrue(accountManager.getAccountString(chequingID).endsWith("100.00"));
+    }
+
+    @Test
+    public void testScriptEndingStopsSession() {
+        ScriptedSessionDriver.Result result = driver.run("alice", "secret",
+                Arrays.asList("Make a transaction").iterator());
+        assertFalse(result.isCompleted());
+        assertEquals(1, result.getSteps());
+    }
+
+    @Test
+    public void testScriptFile() throws IOException {
+        String script = "# Two sessions\n"
+                + "login alice secret\n"
+                + "Bank account information\n"
+                + "View account summary\n"
+                + "Exit session\n"
+                + "\n"
+                + "login alice wrong\n"
+                + "Exit session\n";
+        List<ScriptedSessionDriver.Result> results = driver.runScript(new BufferedReader(new StringReader(script)));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isCompleted());
+        assertFalse(results.get(1).isLoggedIn());
+    }
+}
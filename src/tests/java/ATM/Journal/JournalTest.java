@@ -0,0 +1,219 @@
+package ATM.Journal;
+
+import ATM.ATM;
+import ATM.Account.Account;
+import ATM.Account.AccountManager;
+import ATM.Account.ChequingAccount;
+import ATM.Account.AccountFactory;
+import ATM.Bank;
+import ATM.BankTimeManager;
+import ATM.FinanceProduct.ProductManager;
+import ATM.Request.RequestManager;
+import ATM.Transaction.OutgoingPaymentWriter;
+import ATM.User.UserManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JournalTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("journal", ".log");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private Bank createBank() {
+        AccountManager accountManager = new AccountManager();
+        ProductManager productManager = new ProductManager();
+        RequestManager requestManager = new RequestManager(accountManager, productManager);
+        return new Bank(new ATM(), accountManager, productManager, new UserManager(), requestManager,
+                new BankTimeManager());
+    }
+
+    private Journal openJournal(Bank bank, long savedSequence) throws IOException {
+        Journal journal = new Journal(file.getPath());
+        journal.open(new ReplayContext(bank, null, null, null), savedSequence);
+        bank.getAccountManager().setJournal(journal);
+        bank.getProductManager().setJournal(journal);
+        bank.getBatchProgress().setJournal(journal);
+        return journal;
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        Account account = new ChequingAccount("Bob", new Date());
+        bank.getAccountManager().addAccount(account);
+        bank.getAccountManager().deposit(account.getID(), 100, new Date());
+        bank.getAccountManager().deposit(account.getID(), -5, new Date());
+        journal.close();
+        assertEquals(2, journal.getSequence());
+
+        Bank recovered = createBank();
+        Journal recoveredJournal = openJournal(recovered, 0);
+        assertEquals(2, recoveredJournal.getSequence());
+        assertEquals("Chequing Account | Balance: $100.00", recovered.getAccountManager().getAccountString(account.getID()));
+        recoveredJournal.close();
+    }
+
+    @Test
+    public void testAccountCreatedReplayKeepsIDAndOwners() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        ChequingAccount account = new ChequingAccount("alice", new Date());
+        account.setPrimary(true);
+        bank.getAccountManager().addAccount(account);
+        journal.close();
+
+        Bank recovered = createBank();
+        Journal recoveredJournal = openJournal(recovered, 0);
+        AccountManager accountManager = recovered.getAccountManager();
+        assertEquals(Collections.singletonList(account.getID()), accountManager.getAccountIDs("alice"));
+        Account sender = new ChequingAccount("bob", new Date());
+        accountManager.addAccount(sender);
+        accountManager.deposit(sender.getID(), 20, new Date());
+        assertTrue(accountManager.transferToUser(sender.getID(), "alice", 10, new Date()));
+        assertEquals("Chequing Account | Balance: $10.00", accountManager.getAccountString(account.getID()));
+        recoveredJournal.close();
+    }
+
+    @Test
+    public void testEntryWrittenWithoutJavaSerialization() throws IOException {
+        byte[] bytes = JournalCodec.write(new WithdrawalEntry(ATM.DEFAULT_TERMINAL_ID, "chequing", 40, new Date(0),
+                null));
+        assertEquals(JournalCodec.WITHDRAWAL, bytes[0]);
+        JournalEntry entry = JournalCodec.read(bytes);
+        assertTrue(entry instanceof WithdrawalEntry);
+        assertArrayEquals(bytes, JournalCodec.write(entry));
+    }
+
+    @Test
+    public void testReplayResumesInterruptedBatchJob() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        Account account = new AccountFactory(bank.getBankTimeManager()).getAccount("Savings Account", "Bob");
+        bank.getAccountManager().addAccount(account);
+        bank.getAccountManager().deposit(account.getID(), 1000, new Date());
+        bank.getAccountManager().updateAll(ForkJoinPool.commonPool(), 1, "Interest accrual", bank.getBatchProgress());
+        journal.close();
+        String updated = bank.getAccountManager().getAccountString(account.getID());
+
+        Bank recovered = createBank();
+        Journal recoveredJournal = openJournal(recovered, 0);
+        assertEquals(updated, recovered.getAccountManager().getAccountString(account.getID()));
+        assertTrue(recovered.getBatchProgress().isUpdated("Interest accrual", account.getID()));
+        recovered.getAccountManager().updateAll(ForkJoinPool.commonPool(), 1, "Interest accrual",
+                recovered.getBatchProgress());
+        assertEquals(updated, recovered.getAccountManager().getAccountString(account.getID()));
+        recoveredJournal.close();
+    }
+
+    @Test
+    public void testTransferReplayCreditsRecordedAmount() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        Account from = new ChequingAccount("Bob", new Date());
+        Account to = new ChequingAccount("Bob", new Date());
+        bank.getAccountManager().addAccount(from);
+        bank.getAccountManager().addAccount(to);
+        bank.getAccountManager().deposit(from.getID(), 100, new Date());
+        journal.close();
+
+        Bank recovered = createBank();
+        Journal recoveredJournal = openJournal(recovered, 0);
+        recoveredJournal.close();
+        recovered.getAccountManager().setJournal(null);
+        new TransferEntry(from.getID(), to.getID(), 10, new Date(), 1250)
+                .replay(new ReplayContext(recovered, null, null, null));
+        assertEquals("Chequing Account | Balance: $90.00", recovered.getAccountManager().getAccountString(from.getID()));
+        assertEquals("Chequing Account | Balance: $12.50", recovered.getAccountManager().getAccountString(to.getID()));
+    }
+
+    @Test
+    public void testBillPaymentReplayNotWrittenTwice() throws IOException {
+        File outgoingFile = File.createTempFile("outgoing", ".txt");
+        try {
+            Bank bank = createBank();
+            OutgoingPaymentWriter outgoing = new OutgoingPaymentWriter(outgoingFile.getPath());
+            outgoing.open();
+            bank.getAccountManager().setOutgoingPayments(outgoing);
+            Journal journal = openJournal(bank, 0);
+            Account account = new ChequingAccount("Bob", new Date());
+            bank.getAccountManager().addAccount(account);
+            bank.getAccountManager().deposit(account.getID(), 100, new Date());
+            bank.getAccountManager().payBill(account.getID(), 30, new Date(), "Hydro");
+            outgoing.close();
+            journal.close();
+
+            Bank recovered = createBank();
+            OutgoingPaymentWriter recoveredOutgoing = new OutgoingPaymentWriter(outgoingFile.getPath());
+            recoveredOutgoing.open();
+            recovered.getAccountManager().setOutgoingPayments(recoveredOutgoing);
+            Journal recoveredJournal = openJournal(recovered, 0);
+            recoveredOutgoing.close();
+            recoveredJournal.close();
+            assertEquals("Chequing Account | Balance: $70.00", recovered.getAccountManager().getAccountString(account.getID()));
+            assertEquals(1, Files.readAllLines(outgoingFile.toPath(), StandardCharsets.UTF_8).size());
+        } finally {
+            outgoingFile.delete();
+        }
+    }
+
+    @Test
+    public void testReplaySkipsSavedEntries() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        Account account = new ChequingAccount("Bob", new Date());
+        bank.getAccountManager().addAccount(account);
+        bank.getAccountManager().deposit(account.getID(), 100, new Date());
+        journal.close();
+
+        Bank recovered = createBank();
+        recovered.getAccountManager().addAccount(account);
+        Journal recoveredJournal = openJournal(recovered, 2);
+        assertEquals(2, recoveredJournal.getSequence());
+        assertEquals("Chequing Account | Balance: $100.00", recovered.getAccountManager().getAccountString(account.getID()));
+        recoveredJournal.close();
+    }
+
+    @Test
+    public void testPartialEntryDiscarded() throws IOException {
+        Bank bank = createBank();
+        Journal journal = openJournal(bank, 0);
+        Account account = new ChequingAccount("Bob", new Date());
+        bank.getAccountManager().addAccount(account);
+        bank.getAccountManager().deposit(account.getID(), 100, new Date());
+        journal.close();
+
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+
+        Bank recovered = createBank();
+        Journal recoveredJournal = openJournal(recovered, 0);
+        assertEquals(1, recoveredJournal.getSequence());
+        assertEquals("Chequing Account | Balance: $0.00", recovered.getAccountManager().getAccountString(account.getID()));
+        recoveredJournal.close();
+    }
+}
@@ -0,0 +1,58 @@
+package ATM;
+
+import ATM.LegacyObjectReader.LegacyObject;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LegacyObjectReaderTest {
+
+    static class Owner implements Serializable {
+        String name = "bob";
+        double balance = 12.5;
+        boolean primary = true;
+        Date created = new Date(1546300800000L);
+        List<Object> items = new ArrayList<>();
+        Map<String, Owner> others = new HashMap<>();
+    }
+
+    private Object roundTrip(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(value);
+        output.close();
+        return new LegacyObjectReader(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+
+    @Test
+    public void testReadsFieldsAndCollections() throws IOException {
+        Owner owner = new Owner();
+        Owner other = new Owner();
+        other.name = "kid";
+        owner.items.add("first");
+        owner.items.add(other);
+        owner.others.put("kid", other);
+
+        LegacyObject read = (LegacyObject) roundTrip(owner);
+        assertEquals(Owner.class.getName(), read.getClassName());
+        assertEquals("bob", read.getString("name"));
+        assertEquals(12.5, read.getDouble("balance"), 0);
+        assertTrue(read.getBoolean("primary"));
+        assertEquals(1546300800000L, read.getObject("created").getData().readLong());
+
+        List<Object> items = read.getObject("items").getContents();
+        assertEquals("first", items.get(0));
+        List<Object> others = read.getObject("others").getContents();
+        assertEquals("kid", others.get(0));
+        assertSame(items.get(1), others.get(1));
+        assertEquals("kid", ((LegacyObject) others.get(1)).getString("name"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherStreams() throws IOException {
+        new LegacyObjectReader(new ByteArrayInputStream(new byte[]{0x42, 0x41, 0x4E, 0x4B}));
+    }
+}
@@ -0,0 +1,62 @@
+package ATM.Metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBounds() {
+        long[] values = {0, 1, 127, 128, 129, 255, 256, 1000, 123456789L, (1L << 40) - 1};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.highestValueAt(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestValueAt(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        assertEquals(100000, histogram.getCount());
+        assertEquals(100000000, histogram.getMax());
+        assertEquals(50000500, histogram.getMean(), 1);
+        assertEquals(50000000, histogram.getValueAtPercentile(50), 50000000 * 0.016);
+        assertEquals(99000000, histogram.getValueAtPercentile(99), 99000000 * 0.016);
+        assertEquals(99900000, histogram.getValueAtPercentile(99.9), 99900000 * 0.016);
+        assertEquals(100000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmptyAndOutOfRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals((1L << 40) - 1, histogram.getMax());
+    }
+
+    @Test
+    public void testRegistry() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.histogram("Transfer"), registry.histogram("Transfer"));
+        assertSame(registry.counter("Failures"), registry.counter("Failures"));
+        registry.counter("Failures").add(3);
+        registry.histogram("Transfer").record(2500);
+        registry.gauge("Sessions", () -> 7);
+
+        String report = registry.toString();
+        assertTrue(report.contains("Transfer"));
+        assertTrue(report.matches("(?s).*Failures +3.*"));
+        assertTrue(report.matches("(?s).*Sessions +7.*"));
+    }
+}
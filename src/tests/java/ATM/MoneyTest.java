@@ -0,0 +1,43 @@
+package ATM;
+
+import org.junit.Test;
+
+import java.math.RoundingMode;
+
+import static org.junit.Assert.assertEquals;
+
+public class MoneyTest {
+
+    @Test
+    public void testToCents() {
+        assertEquals(123, Money.toCents(1.23456));
+        assertEquals(-123, Money.toCents(-1.23456));
+        assertEquals(1, Money.toCents(0.005));
+        assertEquals(-1, Money.toCents(-0.005));
+        assertEquals(10000000, Money.toCents(100000));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("1.23", Money.format(123));
+        assertEquals("-100000.00", Money.format(-10000000));
+        assertEquals(String.format("%.2f", 98.77), Money.format(Money.toCents(98.77)));
+    }
+
+    @Test
+    public void testMultiply() {
+        assertEquals(10, Money.multiply(10000, 0.001, RoundingMode.HALF_EVEN));
+        assertEquals(2, Money.multiply(2500, 0.001, RoundingMode.HALF_EVEN));
+        assertEquals(4, Money.multiply(3500, 0.001, RoundingMode.HALF_EVEN));
+        assertEquals(3, Money.multiply(2500, 0.001, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    public void testDivide() {
+        assertEquals(8333, Money.divide(100000, 12, RoundingMode.HALF_UP));
+        assertEquals(8334, Money.divide(100000, 12, RoundingMode.UP));
+    }
+}
@@ -0,0 +1,81 @@
+package ATM;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Account.ChequingAccount;
+import ATM.FinanceProduct.FinanceProduct;
+import ATM.FinanceProduct.ProductManager;
+import ATM.FinanceProduct.ProductsFactory;
+import ATM.Request.RequestManager;
+import ATM.User.UserManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MonthEndProcessorTest {
+
+    private ForkJoinPool pool;
+    private Bank bank;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        AccountManager accountManager = new AccountManager();
+        ProductManager productManager = new ProductManager();
+        RequestManager requestManager = new RequestManager(accountManager, productManager);
+        bank = new Bank(new ATM(), accountManager, productManager, new UserManager(), requestManager,
+                new BankTimeManager());
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testAccountsUpdated() {
+        AccountFactory accountFactory = new AccountFactory(bank.getBankTimeManager());
+        Account[] accounts = new Account[500];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = accountFactory.getAccount("Savings Account", "user" + i);
+            accounts[i].depositCents(1000 * i + 7);
+            bank.getAccountManager().addAccount(accounts[i]);
+        }
+        MonthEndProcessor.Report report = new MonthEndProcessor(pool).process(bank);
+
+        assertEquals(500, report.getAccounts());
+        assertEquals(0, report.getProducts());
+        for (int i = 0; i < accounts.length; i++) {
+            long balance = 1000 * i + 7;
+            long expected = balance + Money.multiply(balance, 0.001, Money.INTEREST_ROUNDING);
+            assertEquals("Savings Account | Balance: $" + Money.format(expected), accounts[i].toString());
+        }
+    }
+
+    @Test
+    public void testProductsSharingAccountAppliedInOrder() {
+        ChequingAccount chequing = new ChequingAccount("user", new Date());
+        chequing.setPrimary(true);
+        chequing.deposit(150);
+        bank.getAccountManager().addAccount(chequing);
+        ProductsFactory productsFactory = new ProductsFactory(bank.getBankTimeManager(), bank.getAccountManager());
+        FinanceProduct[] mortgages = new FinanceProduct[3];
+        for (int i = 0; i < mortgages.length; i++) {
+            mortgages[i] = productsFactory.getProduct("Mortgage", "user", 1, 1200);
+            bank.getProductManager().addProduct(mortgages[i]);
+        }
+        MonthEndProcessor.Report report = new MonthEndProcessor(pool).process(bank);
+
+        assertEquals(3, report.getProducts());
+        assertEquals("Chequing Account | Balance: $-50.00", chequing.toString());
+        assertTrue(mortgages[0].toString().contains("Will last for 11 months"));
+        assertTrue(mortgages[1].toString().contains("Will last for 11 months"));
+        assertTrue(mortgages[2].toString().contains("Amount due next: 200"));
+    }
+}
@@ -0,0 +1,93 @@
+package ATM.Request;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Account.ChequingAccount;
+import ATM.BankTimeManager;
+import ATM.FinanceProduct.ProductManager;
+import ATM.FinanceProduct.ProductsFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BulkApprovalEngineTest {
+
+    private ForkJoinPool pool;
+    private AccountManager accountManager;
+    private RequestManager requestManager;
+    private AccountFactory accountFactory;
+    private ProductsFactory productsFactory;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+        BankTimeManager timeManager = new BankTimeManager();
+        accountManager = new AccountManager();
+        requestManager = new RequestManager(accountManager, new ProductManager());
+        accountFactory = new AccountFactory(timeManager);
+        productsFactory = new ProductsFactory(timeManager, accountManager);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private void addPrimaryAccount(String username) {
+        ChequingAccount primary = (ChequingAccount) accountFactory.getAccount("Chequing Account", username);
+        primary.setPrimary(true);
+        accountManager.addAccount(primary);
+    }
+
+    @Test(timeout = 10000)
+    public void testApproveMatchingRequests() {
+        for (int i = 0; i < 200; i++) {
+            addPrimaryAccount("user" + i);
+            requestManager.addRequest(new AccountRequest("user" + i, "Savings Account", accountFactory));
+            requestManager.addRequest(new AccountRequest("user" + i, "Credit Card Account", accountFactory));
+            requestManager.addRequest(new ProductRequest("user" + i, "non Redeemable GIC", 1, 60000,
+                    productsFactory));
+            requestManager.addRequest(new ProductRequest("user" + i, "Mortgage", 10, 900000, productsFactory));
+        }
+        BulkApprovalEngine engine = new BulkApprovalEngine(requestManager, pool);
+        engine.addRule(new AccountTypeRule(Arrays.asList("Savings Account")));
+        engine.addRule(new MaxInvestmentRule(100000));
+        BulkApprovalEngine.Summary summary = engine.approveAll();
+
+        assertEquals(800, summary.getExamined());
+        assertEquals(400, summary.getHeld());
+        assertEquals(200, (int) summary.getHeldByRule().get("Account type not allowed"));
+        assertEquals(200, (int) summary.getHeldByRule().get("Investment over $100000.0"));
+        assertEquals(400 - summary.getFailed(), summary.getApproved());
+        assertEquals(200, requestManager.getAccountRequests().size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(2, accountManager.getAccountIDs("user" + i).size());
+        }
+    }
+
+    @Test
+    public void testUsersNotInGoodStandingLeftForReview() {
+        addPrimaryAccount("bob");
+        addPrimaryAccount("jim");
+        Account lineOfCredit = accountFactory.getAccount("Line of Credit Account", "jim");
+        accountManager.addAccount(lineOfCredit);
+        assertTrue(accountManager.payBill(lineOfCredit.getID(), 100, new Date(), "Hydro"));
+        requestManager.addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+        requestManager.addRequest(new AccountRequest("jim", "Savings Account", accountFactory));
+
+        BulkApprovalEngine engine = new BulkApprovalEngine(requestManager, pool);
+        engine.addRule(new GoodStandingRule(accountManager));
+        BulkApprovalEngine.Summary summary = engine.approveAll();
+
+        assertEquals(1, summary.getApproved());
+        assertEquals(1, summary.getHeld());
+        assertEquals("jim", requestManager.getAccountRequests().get(0).getUsername());
+    }
+}
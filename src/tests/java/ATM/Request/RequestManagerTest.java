@@ -0,0 +1,96 @@
+package ATM.Request;
+
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.BankTimeManager;
+import ATM.FinanceProduct.ProductManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RequestManagerTest {
+
+    private AccountManager accountManager;
+    private RequestManager requestManager;
+    private AccountFactory accountFactory;
+
+    @Before
+    public void setUp() {
+        accountManager = new AccountManager();
+        requestManager = new RequestManager(accountManager, new ProductManager());
+        accountFactory = new AccountFactory(new BankTimeManager());
+    }
+
+    @Test
+    public void testRequestIDsIncrease() {
+        requestManager.addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+        requestManager.addRequest(new ProductRequest("bob", "Mortgage", 12, 1000, null));
+        requestManager.addRequest(new AccountRequest("jim", "Savings Account", accountFactory));
+
+        List<Request> accountRequests = requestManager.getAccountRequests();
+        assertEquals(1, accountRequests.get(0).getRequestID());
+        assertEquals(3, accountRequests.get(1).getRequestID());
+        assertEquals(2, requestManager.getProductRequests().get(0).getRequestID());
+        assertSame(accountRequests.get(1), requestManager.getRequest(3));
+        assertNull(requestManager.getRequest(4));
+    }
+
+    @Test
+    public void testRemoveKeepsOtherRequests() {
+        for (int i = 0; i < 5; i++) {
+            requestManager.addRequest(new AccountRequest("user" + i, "Savings Account", accountFactory));
+        }
+        assertTrue(requestManager.removeRequest(2));
+        assertFalse(requestManager.removeRequest(2));
+        assertTrue(requestManager.executeRequest(4));
+        assertFalse(requestManager.executeRequest(4));
+
+        List<Request> remaining = requestManager.getAccountRequests();
+        assertEquals(3, remaining.size());
+        assertEquals("user0", remaining.get(0).getUsername());
+        assertEquals("user2", remaining.get(1).getUsername());
+        assertEquals("user4", remaining.get(2).getUsername());
+        assertEquals(1, accountManager.getAccountIDs("user3").size());
+    }
+
+    @Test
+    public void testFailedRequestStaysInPlace() {
+        requestManager.addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+        requestManager.addRequest(new AccountRequest("bob", "No Such Account", accountFactory));
+        requestManager.addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+
+        assertFalse(requestManager.executeRequest(2));
+        assertEquals(2, requestManager.getAccountRequests().get(1).getRequestID());
+        assertTrue(requestManager.removeRequest(2));
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentReviewers() throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            requestManager.addRequest(new AccountRequest("bob", "Savings Account", accountFactory));
+        }
+        final AtomicInteger executed = new AtomicInteger();
+        Thread[] reviewers = new Thread[8];
+        for (int t = 0; t < reviewers.length; t++) {
+            reviewers[t] = new Thread(() -> {
+                for (long requestID = 1; requestID <= 1000; requestID++) {
+                    if (requestManager.executeRequest(requestID)) {
+                        executed.incrementAndGet();
+                    }
+                }
+            });
+            reviewers[t].start();
+        }
+        for (Thread reviewer : reviewers) {
+            reviewer.join();
+        }
+
+        assertEquals(1000, executed.get());
+        assertEquals(1000, accountManager.getAccountIDs("bob").size());
+        assertTrue(requestManager.getAccountRequests().isEmpty());
+    }
+}
@@ -0,0 +1,137 @@
+package ATM.Server;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Bank;
+import ATM.BankFixture;
+import ATM.Session.MenuCache;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the sessions per second, and per core, of a SessionServer as the number of terminals connected at once
+ * grows. Each terminal repeatedly logs in as a random customer, makes five transfers, and exits. Run with the number
+ * of customers as an optional argument.
+ */
+public class SessionServerBenchmark {
+
+    private final static long WARMUP_MILLIS = 1000;
+    private final static long MEASURE_MILLIS = 3000;
+    private final static int TRANSFERS_PER_SESSION = 5;
+    private final static int MAX_TERMINALS = 256;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numCustomers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        BankFixture fixture = new BankFixture();
+        Bank bank = fixture.getBank();
+        AccountManager accountManager = fixture.getAccountManager();
+        UserManager userManager = fixture.getUserManager();
+        AccountFactory accountFactory = fixture.getAccountFactory();
+        UserFactory userFactory = fixture.getUserFactory();
+        bank.getBankTimeManager().setDate(new Date());
+        for (int i = 0; i < numCustomers; i++) {
+            userManager.addUser(userFactory.getUser("Customer", "user" + i, "password"));
+            Account chequing = accountFactory.getAccount("Chequing Account", "user" + i);
+            accountManager.addAccount(chequing);
+            accountManager.addAccount(accountFactory.getAccount("Savings Account", "user" + i));
+            accountManager.deposit(chequing.getID(), 1000000, new Date());
+        }
+
+        SessionServer server = new SessionServer(bank, new MenuCache(userFactory), MAX_TERMINALS);
+        server.start(0);
+        System.out.println(numCustomers + " customers, " + cores + " cores");
+        System.out.printf("%-10s %16s %16s%n", "Terminals", "Sessions/second", "Per core");
+        for (int terminals = 1; terminals <= MAX_TERMINALS; terminals *= 4) {
+            run(server.getPort(), numCustomers, terminals, WARMUP_MILLIS);
+            double throughput = run(server.getPort(), numCustomers, terminals, MEASURE_MILLIS);
+            System.out.printf("%-10d %16.0f %16.0f%n", terminals, throughput, throughput / cores);
+        }
+        server.drain(1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run sessions from a number of terminals at once for a given time.
+     *
+     * @param port         The port of the server.
+     * @param numCustomers The number of customers to log in as.
+     * @param numTerminals The number of terminals.
+     * @param millis       How long to run for, in milliseconds.
+     * @return the number of sessions completed per second.
+     */
+    private static double run(int port, int numCustomers, int numTerminals, long millis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder sessions = new LongAdder();
+        Thread[] threads = new Thread[numTerminals];
+        for (int t = 0; t < numTerminals; t++) {
+            final int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                while (running.get()) {
+                    try {
+                        runSession(port, "user" + random.nextInt(numCustomers));
+                        sessions.increment();
+                    } catch (IOException e) {
+                        System.out.println("Warning: a session failed. " + e);
+                        return;
+                    }
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return sessions.sum() / ((System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Connect, log in as a customer, make transfers between their accounts, and exit.
+     *
+     * @param port     The port of the server.
+     * @param username The customer to log in as.
+     */
+    private static void runSession(int port, String username) throws IOException {
+        try (Socket socket = new Socket("localhost", port)) {
+            BufferedReader input = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            PrintWriter output = new PrintWriter(socket.getOutputStream(), true);
+            String[] answers = new String[3 + 5 * TRANSFERS_PER_SESSION + 1];
+            answers[0] = "";
+            answers[1] = username;
+            answers[2] = "password";
+            for (int i = 0; i < TRANSFERS_PER_SESSION; i++) {
+                System.arraycopy(new String[]{"Make a transaction", "Make a transfer", "Chequing Account",
+                        "Savings Account", "1"}, 0, answers, 3 + 5 * i, 5);
+            }
+            answers[answers.length - 1] = "Exit session";
+            int next = 0;
+            String line;
+            while ((line = input.readLine()) != null && !line.equals(TerminalChannel.BYE)) {
+                if (line.startsWith(TerminalChannel.PROMPT) || line.startsWith(TerminalChannel.SELECT)) {
+                    output.println(answers[next++]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package ATM.Server;
+
+import ATM.Account.Account;
+import ATM.Account.AccountFactory;
+import ATM.Account.AccountManager;
+import ATM.Bank;
+import ATM.BankFixture;
+import ATM.Session.MenuCache;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SessionServerTest {
+
+    private final static int CUSTOMERS = 8;
+
+    private AccountManager accountManager;
+    private Bank bank;
+    private SessionServer server;
+    private final List<String> chequingIDs = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        BankFixture fixture = new BankFixture();
+        bank = fixture.getBank();
+        accountManager = fixture.getAccountManager();
+        UserManager userManager = fixture.getUserManager();
+        AccountFactory accountFactory = fixture.getAccountFactory();
+        UserFactory userFactory = fixture.getUserFactory();
+        userManager.addUser(userFactory.getUser("Bank Employee", "employee", "secret"));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            userManager.addUser(userFactory.getUser("Customer", "user" + i, "secret"));
+            Account chequing = accountFactory.getAccount("Chequing Account", "user" + i);
+            accountManager.addAccount(chequing);
+            accountManager.addAccount(accountFactory.getAccount("Savings Account", "user" + i));
+            accountManager.deposit(chequing.getID(), 100, new Date());
+            chequingIDs.add(chequing.getID());
+        }
+
+        server = new SessionServer(bank, new MenuCache(userFactory), CUSTOMERS);
+        server.start(0);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        server.drain(1, TimeUnit.SECONDS);
+    }
+
+    private List<String> transferScript(String username, int transfers) {
+        List<String> answers = new ArrayList<>(Arrays.asList("", username, "secret"));
+        for (int i = 0; i < transfers; i++) {
+            answers.addAll(Arrays.asList("Make a transaction", "Make a transfer", "Chequing Account",
+                    "Savings Account", "1"));
+        }
+        answers.add("Exit session");
+        return answers;
+    }
+
+    @Test(timeout = 10000)
+    public void testSessionOverSocket() throws IOException {
+        TerminalClient client = new TerminalClient(server.getPort());
+        List<String> received = client.run(transferScript("user0", 3).iterator());
+        assertEquals(TerminalChannel.BYE, received.get(received.size() - 1));
+        assertEquals(3, client.messages);
+        assertTrue(accountManager.getAccountString(chequingIDs.get(0)).endsWith("97.00"));
+    }
+
+    @Test(timeout = 10000)
+    public void testWrongPasswordAndInvalidSelection() throws IOException {
+        TerminalClient client = new TerminalClient(server.getPort());
+        client.run(Arrays.asList("", "user1", "wrong", "user1", "secret", "Nothing", "Exit session").iterator());
+        assertEquals(2, client.errors);
+        assertEquals(TerminalChannel.BYE, client.last);
+    }
+
+    @Test(timeout = 10000)
+    public void testUnknownTerminalRefused() throws IOException {
+        TerminalClient client = new TerminalClient(server.getPort());
+        client.run(Arrays.asList("../lobby", "user1", "secret").iterator());
+        assertEquals(1, client.errors);
+        assertEquals(TerminalChannel.BYE, client.last);
+        assertFalse(bank.getFleet().containsTerminal("../lobby"));
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentSessions() throws InterruptedException {
+        Thread[] threads = new Thread[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            final List<String> script = transferScript("user" + i, 20);
+            threads[i] = new Thread(() -> {
+                try {
+                    new TerminalClient(server.getPort()).run(script.iterator());
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (String chequingID : chequingIDs) {
+            assertTrue(accountManager.getAccountString(chequingID).endsWith("80.00"));
+        }
+        assertTrue(server.drain(1, TimeUnit.SECONDS));
+        assertEquals(CUSTOMERS, server.getCompletedSessions());
+    }
+
+    @Test(timeout = 10000)
+    public void testShutdownATMThenDrain() throws IOException, InterruptedException {
+        TerminalClient idle = new TerminalClient(server.getPort());
+        idle.answer(Arrays.asList("", "user2", "secret").iterator());
+
+        TerminalClient employee = new TerminalClient(server.getPort());
+        employee.run(Arrays.asList("", "employee", "secret", "ATM maintenance", "Shutdown ATM").iterator());
+        server.awaitShutdown();
+
+        assertFalse(server.drain(200, TimeUnit.MILLISECONDS));
+        assertEquals(0, server.getActiveSessions());
+        List<String> received = idle.run(new ArrayList<String>().iterator());
+        assertFalse(received.contains(TerminalChannel.BYE));
+    }
+
+    /**
+     * A terminal which answers each prompt of the server from a script.
+     */
+    private static class TerminalClient {
+
+        private final BufferedReader input;
+        private final PrintWriter output;
+        private int messages;
+        private int errors;
+        private String last;
+
+        TerminalClient(int port) throws IOException {
+            Socket socket = new Socket("localhost", port);
+            input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            output = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        /**
+         * Answer prompts until the script runs out, then keep reading until the session ends.
+         *
+         * @param answers The answers to the prompts.
+         * @return every command received.
+         */
+        List<String> run(Iterator<String> answers) throws IOException {
+            List<String> received = answer(answers);
+            String line;
+            while ((line = input.readLine()) != null) {
+                record(line, received);
+            }
+            return received;
+        }
+
+        /**
+         * Answer prompts until the script runs out.
+         *
+         * @param answers The answers to the prompts.
+         * @return every command received.
+         */
+        List<String> answer(Iterator<String> answers) throws IOException {
+            List<String> received = new ArrayList<>();
+            while (answers.hasNext()) {
+                String line = input.readLine();
+                if (line == null) {
+                    break;
+                }
+                String command = record(line, received);
+                if (command.equals(TerminalChannel.PROMPT) || command.equals(TerminalChannel.SELECT)) {
+                    output.println(answers.next());
+                }
+            }
+            return received;
+        }
+
+        private String record(String line, List<String> received) {
+            String command = line.split("\t")[0];
+            if (command.equals(TerminalChannel.MESSAGE)) {
+                messages++;
+            } else if (command.equals(TerminalChannel.ERROR)) {
+                errors++;
+            }
+            received.add(command);
+            last = command;
+            return command;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ATM.Session;
+
+import ATM.BankFixture;
+import ATM.GUI.GraphicalInputReader;
+import ATM.GUI.MessageDisplay;
+import ATM.User.User;
+import ATM.User.UserFactory;
+import ATM.User.UserManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MenuCacheTest {
+
+    private UserManager userManager;
+    private UserFactory userFactory;
+    private MenuCache menuCache;
+
+    @Before
+    public void setUp() {
+        BankFixture fixture = new BankFixture();
+        userManager = fixture.getUserManager();
+        userFactory = fixture.getUserFactory();
+        menuCache = new MenuCache(userFactory);
+    }
+
+    private User addUser(String userType, String username) {
+        User user = userFactory.getUser(userType, username, "password");
+        userManager.addUser(user);
+        return user;
+    }
+
+    @Test
+    public void testMenuSharedBySameRoles() {
+        OptionsTree first = menuCache.getMenu(addUser("Customer", "first"));
+        assertSame(first, menuCache.getMenu(addUser("Customer", "second")));
+        assertNotSame(first, menuCache.getMenu(addUser("Youth", "youth")));
+    }
+
+    @Test
+    public void testCommandsBoundToSession() {
+        User first = addUser("Youth", "first");
+        User second = addUser("Youth", "second");
+        GraphicalInputReader inputReader = mock(GraphicalInputReader.class);
+        // User options, Change Password, then Exit session; the User role follows Transaction and View Account
+        when(inputReader.getSelectionFromOptions(any(List.class), anyString())).thenReturn(2, 0, 3);
+        when(inputReader.getString(anyString(), anyString())).thenReturn("password", "changed");
+
+        Session session = new Session(second, menuCache.getMenu(second), inputReader, mock(MessageDisplay.class));
+        assertTrue(session.run());
+        assertTrue(first.isValidPassword("password"));
+        assertTrue(second.isValidPassword("changed"));
+    }
+
+    @Test
+    public void testShutdownOption() {
+        User employee = addUser("Bank Employee", "employee");
+        GraphicalInputReader inputReader = mock(GraphicalInputReader.class);
+        // ATM maintenance, then Shutdown ATM after its two privileges
+        when(inputReader.getSelectionFromOptions(any(List.class), anyString())).thenReturn(1, 2);
+
+        Session session = new Session(employee, menuCache.getMenu(employee), inputReader, mock(MessageDisplay.class));
+        assertFalse(session.run());
+    }
+}
@@ -0,0 +1,131 @@
+package ATM.Transaction;
+
+import ATM.Journal.Journal;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class OutgoingPaymentWriterTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("outgoing", ".txt");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private List<String> readLines() throws IOException {
+        return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testPaymentsWrittenInOrder() throws IOException, InterruptedException {
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter(file.getPath(), 16, 10, 5);
+        writer.open();
+        long last = 0;
+        for (int i = 1; i <= 100; i++) {
+            last = writer.submit("payment " + i);
+            assertEquals(i, last);
+        }
+        assertTrue(writer.awaitDurable(last, 5000));
+        assertEquals(100, writer.getDurableSequence());
+        writer.close();
+
+        List<String> lines = readLines();
+        assertEquals(100, lines.size());
+        assertEquals("1\tpayment 1", lines.get(0));
+        assertEquals("100\tpayment 100", lines.get(99));
+    }
+
+    @Test
+    public void testReopenContinuesSequence() throws IOException {
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter(file.getPath());
+        writer.open();
+        writer.submit("first");
+        writer.submit("second");
+        writer.close();
+
+        FileOutputStream output = new FileOutputStream(file, true);
+        output.write("3\tpartially writ".getBytes(StandardCharsets.UTF_8));
+        output.close();
+
+        writer = new OutgoingPaymentWriter(file.getPath());
+        writer.open();
+        assertEquals(2, writer.getDurableSequence());
+        assertEquals(3, writer.submit("third"));
+        writer.close();
+
+        List<String> lines = readLines();
+        assertEquals(3, lines.size());
+        assertEquals("2\tsecond", lines.get(1));
+        assertEquals("3\tthird", lines.get(2));
+    }
+
+    @Test
+    public void testSubmitBeforeOpen() {
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter(file.getPath());
+        assertEquals(0, writer.submit("payment"));
+        assertEquals(0, file.length());
+    }
+
+    @Test
+    public void testFailedWriteStopsWriter() throws IOException, InterruptedException {
+        Assume.assumeTrue(new File("/dev/full").exists());
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter("/dev/full", 16, 10, 5);
+        writer.open();
+        long sequence = writer.submit("lost");
+        assertEquals(1, sequence);
+        assertFalse(writer.awaitDurable(sequence, 1000));
+        assertEquals(0, writer.getDurableSequence());
+        assertEquals(-1, writer.submit("refused"));
+        writer.close();
+    }
+
+    @Test
+    public void testJournalSyncedBeforeBatchWritten() throws IOException, InterruptedException {
+        Journal journal = mock(Journal.class);
+        List<Long> recorded = new ArrayList<>();
+        doAnswer(invocation -> {
+            assertEquals(recorded.size(), readLines().size() + 1);
+            return null;
+        }).when(journal).sync();
+
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter(file.getPath(), 16, 10, 5);
+        writer.setJournal(journal);
+        writer.open();
+        long sequence = writer.submit("payment", recorded::add);
+        assertEquals(1, sequence);
+        assertTrue(writer.awaitDurable(sequence, 5000));
+        writer.close();
+
+        assertEquals(Collections.singletonList(1L), recorded);
+        verify(journal, atLeastOnce()).sync();
+        assertEquals(1, readLines().size());
+    }
+
+    @Test
+    public void testRecorderGivenZeroBeforeOpen() {
+        OutgoingPaymentWriter writer = new OutgoingPaymentWriter(file.getPath());
+        List<Long> recorded = new ArrayList<>();
+        assertEquals(0, writer.submit("payment", recorded::add));
+        assertEquals(Collections.singletonList(0L), recorded);
+    }
+}
@@ -0,0 +1,53 @@
+package ATM.Transaction;
+
+import ATM.ATM;
+import ATM.Account.Account;
+import ATM.DispenseReservation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class WithdrawalTransactionTest {
+
+    private Account account;
+    private ATM atm;
+
+    @Before
+    public void setUp() {
+        account = mock(Account.class);
+        when(account.canWithdrawCents(anyLong())).thenReturn(true);
+        atm = mock(ATM.class);
+        when(atm.reserve(anyInt(), anyLong())).thenReturn(mock(DispenseReservation.class));
+    }
+
+    @Test
+    public void testCommittedReservationDebitsAccount() {
+        when(atm.commit(any(DispenseReservation.class))).thenReturn(true);
+        assertTrue(new WithdrawalTransaction(account, 40, new Date(), atm).execute());
+        verify(account).withdrawCents(4000);
+        verify(account).addTransaction(any(Transaction.class));
+    }
+
+    @Test
+    public void testExpiredReservationFallsBackToNewBills() {
+        when(atm.commit(any(DispenseReservation.class))).thenReturn(false, true);
+        assertTrue(new WithdrawalTransaction(account, 40, new Date(), atm).execute());
+        verify(atm).reserve(40, 0);
+        verify(account).withdrawCents(4000);
+    }
+
+    @Test
+    public void testNoCashDispensedLeavesAccountUntouched() {
+        when(atm.commit(any(DispenseReservation.class))).thenReturn(false);
+        assertFalse(new WithdrawalTransaction(account, 40, new Date(), atm).execute());
+        verify(account, never()).withdrawCents(anyLong());
+        verify(account, never()).addTransaction(any(Transaction.class));
+    }
+}
@@ -0,0 +1,61 @@
+package ATM.User;
+
+import ATM.Bank;
+import ATM.BankFixture;
+import ATM.User.Role.Privilege.PrivilegeFactory;
+import ATM.User.Role.Role;
+import ATM.User.Role.RoleFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UserFactoryTest {
+
+    private Bank bank;
+    private PrivilegeFactory privilegeFactory;
+    private UserFactory userFactory;
+
+    @Before
+    public void setUp() {
+        BankFixture fixture = new BankFixture();
+        bank = fixture.getBank();
+        privilegeFactory = fixture.getPrivilegeFactory();
+        userFactory = fixture.getUserFactory();
+    }
+
+    @Test
+    public void testRoleBits() {
+        User customer = userFactory.getUser("Customer", "customer", "password");
+        assertTrue(customer.containsRole(RoleFactory.TRANSACTION));
+        assertTrue(customer.containsRole(RoleFactory.USER));
+        assertFalse(customer.containsRole(RoleFactory.EMPLOYEE));
+
+        User manager = userFactory.getUser("Bank Manager", "manager", "password");
+        assertTrue(manager.containsRole(RoleFactory.ADMIN));
+        assertFalse(manager.containsRole(RoleFactory.TRANSACTION));
+        assertEquals(RoleFactory.ADMIN, RoleFactory.getRoleBit("Admin"));
+        assertEquals(0, RoleFactory.getRoleBit("Nothing"));
+    }
+
+    @Test
+    public void testRolesInBitOrder() {
+        User technician = userFactory.getUser("ATM Technician", "technician", "password");
+        List<Role> roles = userFactory.getRoles(technician);
+        assertEquals(6, roles.size());
+        assertEquals("Make a transaction", roles.get(0).getName());
+        assertEquals("ATM maintenance", roles.get(4).getName());
+        assertEquals("User options", roles.get(5).getName());
+    }
+
+    @Test
+    public void testRolesAndPrivilegesShared() {
+        List<Role> first = userFactory.getRoles(userFactory.getUser("Customer", "first", "password"));
+        List<Role> second = userFactory.getRoles(userFactory.getUser("Youth", "second", "password"));
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertSame(privilegeFactory.getPrivilege("Withdraw", bank), privilegeFactory.getPrivilege("Withdraw", bank));
+    }
+}
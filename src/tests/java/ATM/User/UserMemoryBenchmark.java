@@ -0,0 +1,69 @@
+package ATM.User;
+
+import ATM.BankFixture;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Measures the heap used by the users of a UserManager, and the size of the UserManager when it is saved by Java
+ * serialization, as the whole Bank was saved before BankCodec. Run with the number of customers as an optional argument.
+ */
+public class UserMemoryBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int numCustomers = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        BankFixture fixture = new BankFixture();
+        UserFactory userFactory = fixture.getUserFactory();
+
+        long before = usedHeap();
+        UserManager userManager = fixture.getUserManager();
+        for (int i = 0; i < numCustomers; i++) {
+            userManager.addUser(userFactory.getUser("Customer", "user" + i, "password" + i));
+        }
+        long after = usedHeap();
+
+        CountingStream counter = new CountingStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(counter)) {
+            output.writeObject(userManager);
+        }
+
+        System.out.println(numCustomers + " customers");
+        System.out.printf("Heap:       %12d bytes (%.1f per user)%n", after - before,
+                (after - before) / (double) numCustomers);
+        System.out.printf("Serialized: %12d bytes (%.1f per user)%n", counter.count,
+                counter.count / (double) numCustomers);
+    }
+
+    /**
+     * Get the heap in use after collecting garbage.
+     *
+     * @return the heap in use, in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * A stream which only counts the bytes written to it.
+     */
+    private static class CountingStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}